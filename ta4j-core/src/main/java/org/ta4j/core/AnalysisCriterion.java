@@ -26,6 +26,7 @@ package org.ta4j.core;
 import java.util.List;
 
 import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.backtest.BarSeriesManager;
 import org.ta4j.core.num.Num;
 
@@ -61,6 +62,20 @@ public interface AnalysisCriterion {
      */
     Num calculate(BarSeries series, TradingRecord tradingRecord);
 
+    /**
+     * Calculates the criterion value for the positions of a trading record from the
+     * shared data of an {@link AnalysisContext} (e.g. its cash flow or returns), so
+     * that several criteria evaluated on the same trading record do not calculate
+     * them again.
+     *
+     * @param context the analysis context, not null
+     * @return the criterion value for the positions (the same value as
+     *         {@link #calculate(BarSeries, TradingRecord)})
+     */
+    default Num calculate(AnalysisContext context) {
+        return calculate(context.getBarSeries(), context.getTradingRecord());
+    }
+
     /**
      * @param manager    the bar series manager with entry type of BUY
      * @param strategies a list of strategies
@@ -78,11 +93,13 @@ public interface AnalysisCriterion {
      * @param strategies a list of strategies
      * @return the best strategy (among the provided ones) according to the
      *         criterion
+     * @see org.ta4j.core.backtest.StrategyRanker StrategyRanker to rank many
+     *      strategies concurrently
      */
     default Strategy chooseBest(BarSeriesManager manager, TradeType tradeType, List<Strategy> strategies) {
 
         Strategy bestStrategy = strategies.get(0);
-        Num bestCriterionValue = calculate(manager.getBarSeries(), manager.run(bestStrategy));
+        Num bestCriterionValue = calculate(manager.getBarSeries(), manager.run(bestStrategy, tradeType));
 
         for (int i = 1; i < strategies.size(); i++) {
             Strategy currentStrategy = strategies.get(i);
@@ -25,6 +25,7 @@ package org.ta4j.core;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.ta4j.core.rules.RuleTracer;
 
 /**
  * Base implementation of a {@link Strategy}.
@@ -191,6 +192,7 @@ public class BaseStrategy implements Strategy {
      * @param enter true if the strategy should enter, false otherwise
      */
     protected void traceShouldEnter(int index, boolean enter) {
+        RuleTracer.traceShouldEnter(this, index, enter);
         if (log.isTraceEnabled()) {
             log.trace(">>> {}#shouldEnter({}): {}", className, index, enter);
         }
@@ -203,6 +205,7 @@ public class BaseStrategy implements Strategy {
      * @param exit  true if the strategy should exit, false otherwise
      */
     protected void traceShouldExit(int index, boolean exit) {
+        RuleTracer.traceShouldExit(this, index, exit);
         if (log.isTraceEnabled()) {
             log.trace(">>> {}#shouldExit({}): {}", className, index, exit);
         }
@@ -0,0 +1,418 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.analysis.cost.CostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * A memory efficient {@link TradingRecord} storing its trades in primitive
+ * columns.
+ *
+ * <p>
+ * Unlike {@link BaseTradingRecord}, which keeps every {@link Trade} and
+ * {@link Position} (and several lists of them) as objects, this record stores
+ * the index, price, amount and transaction cost of each trade in primitive
+ * arrays and the trade types in a bit set, i.e. about 28 bytes per trade. Only
+ * the current position is kept as object. The {@link #getTrades() trades} and
+ * {@link #getPositions() positions} are lazily created views.
+ *
+ * <p>
+ * Prices, amounts and costs are stored as {@code double}, so the views of a
+ * record operated with {@code DecimalNum}s have double precision. Use it for
+ * large backtests (e.g. high-frequency strategies with millions of trades)
+ * where memory matters more than decimal precision.
+ */
+public class CompactTradingRecord implements TradingRecord {
+
+    private static final long serialVersionUID = 4012486711582342893L;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The name of the trading record. */
+    private String name;
+
+    /** The start of the recording (included). */
+    private final Integer startIndex;
+
+    /** The end of the recording (included). */
+    private final Integer endIndex;
+
+    /** The entry type (BUY or SELL) in the trading session. */
+    private final TradeType startingType;
+
+    /** The number of recorded trades. */
+    private int tradeCount;
+
+    /** The bar indexes of the trades. */
+    private int[] indexes = new int[INITIAL_CAPACITY];
+
+    /** The prices per asset of the trades. */
+    private double[] prices = new double[INITIAL_CAPACITY];
+
+    /** The amounts of the trades. */
+    private double[] amounts = new double[INITIAL_CAPACITY];
+
+    /** The transaction costs of the trades. */
+    private double[] costs = new double[INITIAL_CAPACITY];
+
+    /** The types of the trades (set for SELL). */
+    private final BitSet sellTrades = new BitSet();
+
+    /** The position of the last BUY and SELL trade, -1 if none. */
+    private int lastBuy = -1;
+    private int lastSell = -1;
+
+    /** The current non-closed position (there's always one). */
+    private Position currentPosition;
+
+    /** The factory to create the prices and amounts of the views. */
+    private transient NumFactory numFactory;
+
+    /** The cost model for transactions of the asset. */
+    private final transient CostModel transactionCostModel;
+
+    /** The cost model for holding asset (e.g. borrowing). */
+    private final transient CostModel holdingCostModel;
+
+    /** Constructor with {@link #startingType} = BUY. */
+    public CompactTradingRecord() {
+        this(TradeType.BUY);
+    }
+
+    /**
+     * Constructor with {@link #startingType} = BUY.
+     *
+     * @param name the name of the trading record
+     */
+    public CompactTradingRecord(String name) {
+        this(TradeType.BUY);
+        this.name = name;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tradeType the {@link TradeType trade type} of entries in the trading
+     *                  session
+     */
+    public CompactTradingRecord(TradeType tradeType) {
+        this(tradeType, new ZeroCostModel(), new ZeroCostModel());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entryTradeType       the {@link TradeType trade type} of entries in
+     *                             the trading session
+     * @param transactionCostModel the cost model for transactions of the asset
+     * @param holdingCostModel     the cost model for holding the asset (e.g.
+     *                             borrowing)
+     */
+    public CompactTradingRecord(TradeType entryTradeType, CostModel transactionCostModel, CostModel holdingCostModel) {
+        this(entryTradeType, null, null, transactionCostModel, holdingCostModel);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entryTradeType       the {@link TradeType trade type} of entries in
+     *                             the trading session
+     * @param startIndex           the start of the recording (included)
+     * @param endIndex             the end of the recording (included)
+     * @param transactionCostModel the cost model for transactions of the asset
+     * @param holdingCostModel     the cost model for holding the asset (e.g.
+     *                             borrowing)
+     * @throws NullPointerException if entryTradeType is null
+     */
+    public CompactTradingRecord(TradeType entryTradeType, Integer startIndex, Integer endIndex,
+            CostModel transactionCostModel, CostModel holdingCostModel) {
+        Objects.requireNonNull(entryTradeType, "Starting type must not be null");
+        this.startingType = entryTradeType;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.transactionCostModel = transactionCostModel;
+        this.holdingCostModel = holdingCostModel;
+        currentPosition = new Position(entryTradeType, transactionCostModel, holdingCostModel);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public TradeType getStartingType() {
+        return startingType;
+    }
+
+    @Override
+    public Position getCurrentPosition() {
+        return currentPosition;
+    }
+
+    @Override
+    public void operate(int index, Num price, Num amount) {
+        if (currentPosition.isClosed()) {
+            // Current position closed, should not occur
+            throw new IllegalStateException("Current position should not be closed");
+        }
+        Trade trade = currentPosition.operate(index, price, amount);
+        recordTrade(trade);
+    }
+
+    @Override
+    public boolean enter(int index, Num price, Num amount) {
+        if (currentPosition.isNew()) {
+            operate(index, price, amount);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean exit(int index, Num price, Num amount) {
+        if (currentPosition.isOpened()) {
+            operate(index, price, amount);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public CostModel getTransactionCostModel() {
+        return transactionCostModel;
+    }
+
+    @Override
+    public CostModel getHoldingCostModel() {
+        return holdingCostModel;
+    }
+
+    /**
+     * @return a view of the recorded closed positions (each element is created on
+     *         access)
+     */
+    @Override
+    public List<Position> getPositions() {
+        return new AbstractList<>() {
+            @Override
+            public Position get(int i) {
+                Objects.checkIndex(i, size());
+                return new Position(getTrade(2 * i), getTrade(2 * i + 1), transactionCostModel, holdingCostModel);
+            }
+
+            @Override
+            public int size() {
+                return getPositionCount();
+            }
+        };
+    }
+
+    @Override
+    public int getPositionCount() {
+        return tradeCount / 2;
+    }
+
+    /**
+     * @return a view of the recorded trades (each element is created on access)
+     */
+    @Override
+    public List<Trade> getTrades() {
+        return new AbstractList<>() {
+            @Override
+            public Trade get(int i) {
+                Objects.checkIndex(i, tradeCount);
+                return getTrade(i);
+            }
+
+            @Override
+            public int size() {
+                return tradeCount;
+            }
+        };
+    }
+
+    @Override
+    public Trade getLastTrade() {
+        return tradeCount == 0 ? null : getTrade(tradeCount - 1);
+    }
+
+    @Override
+    public Trade getLastTrade(TradeType tradeType) {
+        int position = TradeType.BUY == tradeType ? lastBuy : lastSell;
+        return position < 0 ? null : getTrade(position);
+    }
+
+    @Override
+    public Trade getLastEntry() {
+        // entries and exits alternate, entries are at even positions
+        int lastEntry = (tradeCount - 1) & ~1;
+        return tradeCount == 0 ? null : getTrade(lastEntry);
+    }
+
+    @Override
+    public Trade getLastExit() {
+        int lastExit = tradeCount % 2 == 0 ? tradeCount - 1 : tradeCount - 2;
+        return lastExit < 0 ? null : getTrade(lastExit);
+    }
+
+    @Override
+    public Integer getStartIndex() {
+        return startIndex;
+    }
+
+    @Override
+    public Integer getEndIndex() {
+        return endIndex;
+    }
+
+    /** @return the number of recorded trades */
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * @param i the position of the trade within the recorded trades
+     * @return the bar index of the trade
+     */
+    public int getTradeIndex(int i) {
+        return indexes[Objects.checkIndex(i, tradeCount)];
+    }
+
+    /**
+     * @param i the position of the trade within the recorded trades
+     * @return the type of the trade
+     */
+    public TradeType getTradeType(int i) {
+        return sellTrades.get(Objects.checkIndex(i, tradeCount)) ? TradeType.SELL : TradeType.BUY;
+    }
+
+    /**
+     * @param i the position of the trade within the recorded trades
+     * @return the price per asset of the trade
+     */
+    public double getTradePrice(int i) {
+        return prices[Objects.checkIndex(i, tradeCount)];
+    }
+
+    /**
+     * @param i the position of the trade within the recorded trades
+     * @return the amount of the trade
+     */
+    public double getTradeAmount(int i) {
+        return amounts[Objects.checkIndex(i, tradeCount)];
+    }
+
+    /**
+     * @param i the position of the trade within the recorded trades
+     * @return the transaction cost of the trade
+     */
+    public double getTradeCost(int i) {
+        return costs[Objects.checkIndex(i, tradeCount)];
+    }
+
+    /**
+     * Records a trade and starts a new position if the current one is closed.
+     *
+     * @param trade the trade to be recorded
+     * @throws NullPointerException if trade is null
+     */
+    private void recordTrade(Trade trade) {
+        Objects.requireNonNull(trade, "Trade should not be null");
+        if (numFactory == null && !trade.getPricePerAsset().isNaN()) {
+            numFactory = trade.getPricePerAsset().getNumFactory();
+        }
+        if (tradeCount == indexes.length) {
+            int capacity = indexes.length * 2;
+            indexes = Arrays.copyOf(indexes, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+        indexes[tradeCount] = trade.getIndex();
+        prices[tradeCount] = toDouble(trade.getPricePerAsset());
+        amounts[tradeCount] = toDouble(trade.getAmount());
+        costs[tradeCount] = toDouble(trade.getCost());
+        if (trade.isSell()) {
+            sellTrades.set(tradeCount);
+            lastSell = tradeCount;
+        } else {
+            lastBuy = tradeCount;
+        }
+        tradeCount++;
+
+        // only the current position is kept as object
+        if (currentPosition.isClosed()) {
+            currentPosition = new Position(startingType, transactionCostModel, holdingCostModel);
+        }
+    }
+
+    /**
+     * @param i the position of the trade within the recorded trades
+     * @return a new trade view of the recorded trade
+     */
+    private Trade getTrade(int i) {
+        if (i == tradeCount - 1 && currentPosition.isOpened()) {
+            return currentPosition.getEntry();
+        }
+        return new Trade(indexes[i], getTradeType(i), toNum(prices[i]), toNum(amounts[i]), transactionCostModel);
+    }
+
+    private static double toDouble(Num num) {
+        return num == null || num.isNaN() ? Double.NaN : num.doubleValue();
+    }
+
+    private Num toNum(double value) {
+        if (Double.isNaN(value)) {
+            return NaN.NaN;
+        }
+        if (numFactory == null) {
+            numFactory = DoubleNumFactory.getInstance();
+        }
+        return numFactory.numOf(value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append("CompactTradingRecord: ")
+                .append(name == null ? "" : name)
+                .append(System.lineSeparator());
+        for (Trade trade : getTrades()) {
+            sb.append(trade.toString()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
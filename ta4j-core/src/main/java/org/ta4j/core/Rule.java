@@ -23,10 +23,13 @@
  */
 package org.ta4j.core;
 
+import java.util.BitSet;
+
 import org.ta4j.core.rules.AndRule;
 import org.ta4j.core.rules.NotRule;
 import org.ta4j.core.rules.OrRule;
 import org.ta4j.core.rules.XorRule;
+import org.ta4j.core.rules.helper.EvaluationOrder;
 
 /**
  * A rule (also called "trading rule") used to build a {@link Strategy trading
@@ -43,6 +46,16 @@ public interface Rule {
         return new AndRule(this, rule);
     }
 
+    /**
+     * @param rule  another trading rule
+     * @param order the evaluation order of both rules
+     * @return a rule which is the AND combination of this rule with the provided
+     *         one
+     */
+    default Rule and(Rule rule, EvaluationOrder order) {
+        return new AndRule(this, rule, order);
+    }
+
     /**
      * @param rule another trading rule
      * @return a rule which is the OR combination of this rule with the provided one
@@ -51,6 +64,15 @@ public interface Rule {
         return new OrRule(this, rule);
     }
 
+    /**
+     * @param rule  another trading rule
+     * @param order the evaluation order of both rules
+     * @return a rule which is the OR combination of this rule with the provided one
+     */
+    default Rule or(Rule rule, EvaluationOrder order) {
+        return new OrRule(this, rule, order);
+    }
+
     /**
      * @param rule another trading rule
      * @return a rule which is the XOR combination of this rule with the provided
@@ -83,4 +105,29 @@ public interface Rule {
      *         otherwise
      */
     boolean isSatisfied(int index, TradingRecord tradingRecord);
+
+    /**
+     * Evaluates this rule for a range of bars without trading record (i.e. for
+     * rules which do not use the {@code tradingRecord}).
+     *
+     * <p>
+     * The indicator rules and the boolean combinations override it to scan the
+     * range in a single loop or to combine the bit sets. In contrast to
+     * {@link #isSatisfied(int, TradingRecord)}, the combinations evaluate both
+     * rules for all bars (no short-circuit).
+     *
+     * @param from the first bar index (inclusive)
+     * @param to   the last bar index (inclusive)
+     * @return the bit set of the bar indexes (not relative to {@code from}) for
+     *         which this rule is satisfied
+     */
+    default BitSet evaluate(int from, int to) {
+        BitSet satisfied = new BitSet();
+        for (int i = from; i <= to; i++) {
+            if (isSatisfied(i, null)) {
+                satisfied.set(i);
+            }
+        }
+        return satisfied;
+    }
 }
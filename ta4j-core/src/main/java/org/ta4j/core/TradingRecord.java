@@ -120,6 +120,17 @@ public interface TradingRecord extends Serializable {
         return !getCurrentPosition().isOpened();
     }
 
+    /**
+     * @return the type (BUY or SELL) of the next trade to be placed, i.e. the entry
+     *         type if no position is open, otherwise the exit type of the current
+     *         position
+     */
+    default TradeType getNextTradeType() {
+        Position currentPosition = getCurrentPosition();
+        return currentPosition.isNew() ? currentPosition.getStartingType()
+                : currentPosition.getStartingType().complementType();
+    }
+
     /**
      * @return the transaction cost model
      */
@@ -0,0 +1,275 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.Returns.ReturnType;
+import org.ta4j.core.num.Num;
+
+/**
+ * The shared analysis data of a {@link TradingRecord trading record} over a
+ * {@link BarSeries bar series}.
+ *
+ * <p>
+ * The {@link CashFlow cash flow}, the {@link Returns returns} and the profit
+ * and loss of all closed positions are calculated once (on first use) and can
+ * then be read by any number of {@link AnalysisCriterion criteria} via
+ * {@link AnalysisCriterion#calculate(AnalysisContext)}. The context is
+ * thread-safe, the trading record must not be changed while it is used.
+ */
+public class AnalysisContext {
+
+    private final BarSeries series;
+    private final TradingRecord tradingRecord;
+
+    private CashFlow cashFlow;
+    private final Map<ReturnType, Returns> returns = new EnumMap<>(ReturnType.class);
+    private ReturnStatistics returnStatistics;
+    private BenchmarkStatistics benchmarkStatistics;
+
+    /** The closed positions of the trading record. */
+    private List<Position> closedPositions;
+
+    /** The (net) profits of the closed positions. */
+    private List<Num> profits;
+
+    /** The gross profits (without trading costs) of the closed positions. */
+    private List<Num> grossProfits;
+
+    private Num totalProfitLoss;
+    private Num totalProfitLossPercentage;
+    private Num totalProfit;
+    private Num totalLoss;
+    private Num totalGrossProfit;
+    private Num totalGrossLoss;
+    private int winningPositionCount;
+    private int losingPositionCount;
+    private int breakEvenPositionCount;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    public AnalysisContext(BarSeries series, TradingRecord tradingRecord) {
+        this.series = Objects.requireNonNull(series, "series must not be null");
+        this.tradingRecord = Objects.requireNonNull(tradingRecord, "tradingRecord must not be null");
+    }
+
+    /** @return {@link #series} */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /** @return {@link #tradingRecord} */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @return the cash flow of the trading record (must not be changed)
+     */
+    public synchronized CashFlow getCashFlow() {
+        if (cashFlow == null) {
+            cashFlow = new CashFlow(series, tradingRecord);
+        }
+        return cashFlow;
+    }
+
+    /**
+     * @param type the return type
+     * @return the returns of the trading record (must not be changed)
+     */
+    public synchronized Returns getReturns(ReturnType type) {
+        return returns.computeIfAbsent(type, t -> new Returns(series, tradingRecord, t));
+    }
+
+    /**
+     * @return the statistics of the {@link ReturnType#ARITHMETIC arithmetic}
+     *         returns from the start to the end of the trading record, with a
+     *         threshold of zero
+     */
+    public synchronized ReturnStatistics getReturnStatistics() {
+        if (returnStatistics == null) {
+            returnStatistics = new ReturnStatistics(getReturns(ReturnType.ARITHMETIC),
+                    tradingRecord.getStartIndex(series), tradingRecord.getEndIndex(series), series.numFactory().zero());
+        }
+        return returnStatistics;
+    }
+
+    /**
+     * @return the statistics of the {@link ReturnType#ARITHMETIC arithmetic}
+     *         returns from the start to the end of the trading record relative to
+     *         the enter-and-hold returns of the bar series
+     */
+    public synchronized BenchmarkStatistics getBenchmarkStatistics() {
+        if (benchmarkStatistics == null) {
+            benchmarkStatistics = new BenchmarkStatistics(getReturns(ReturnType.ARITHMETIC), null,
+                    tradingRecord.getStartIndex(series), tradingRecord.getEndIndex(series));
+        }
+        return benchmarkStatistics;
+    }
+
+    /** @return the closed positions of the trading record */
+    public List<Position> getClosedPositions() {
+        calculatePositions();
+        return closedPositions;
+    }
+
+    /**
+     * @return the (net) profits of the {@link #getClosedPositions() closed
+     *         positions}
+     */
+    public List<Num> getProfits() {
+        calculatePositions();
+        return profits;
+    }
+
+    /**
+     * @return the gross profits (without trading costs) of the
+     *         {@link #getClosedPositions() closed positions}
+     */
+    public List<Num> getGrossProfits() {
+        calculatePositions();
+        return grossProfits;
+    }
+
+    /** @return the sum of the (net) profits of all closed positions */
+    public Num getTotalProfitLoss() {
+        calculatePositions();
+        return totalProfitLoss;
+    }
+
+    /**
+     * @return the sum of the (net) profits of all closed positions in percent of
+     *         their entry values
+     */
+    public Num getTotalProfitLossPercentage() {
+        calculatePositions();
+        return totalProfitLossPercentage;
+    }
+
+    /**
+     * @param excludeCosts true to exclude trading costs
+     * @return the sum of the profits of all closed winning positions
+     */
+    public Num getTotalProfit(boolean excludeCosts) {
+        calculatePositions();
+        return excludeCosts ? totalGrossProfit : totalProfit;
+    }
+
+    /**
+     * @param excludeCosts true to exclude trading costs
+     * @return the sum of the (negative) profits of all closed losing positions
+     */
+    public Num getTotalLoss(boolean excludeCosts) {
+        calculatePositions();
+        return excludeCosts ? totalGrossLoss : totalLoss;
+    }
+
+    /** @return the number of closed positions with a (net) profit */
+    public int getWinningPositionCount() {
+        calculatePositions();
+        return winningPositionCount;
+    }
+
+    /** @return the number of closed positions with a (net) loss */
+    public int getLosingPositionCount() {
+        calculatePositions();
+        return losingPositionCount;
+    }
+
+    /** @return the number of closed positions without (net) profit or loss */
+    public int getBreakEvenPositionCount() {
+        calculatePositions();
+        return breakEvenPositionCount;
+    }
+
+    /**
+     * Calculates the profits of all closed positions in one pass.
+     */
+    private synchronized void calculatePositions() {
+        if (closedPositions != null) {
+            return;
+        }
+        Num zero = series.numFactory().zero();
+        Num hundred = series.numFactory().hundred();
+        List<Position> positions = new ArrayList<>();
+        List<Num> netProfits = new ArrayList<>();
+        List<Num> netGrossProfits = new ArrayList<>();
+        Num profitLoss = zero;
+        Num profitLossPercentage = zero;
+        Num profit = zero;
+        Num loss = zero;
+        Num grossProfit = zero;
+        Num grossLoss = zero;
+        for (Position position : tradingRecord.getPositions()) {
+            if (!position.isClosed()) {
+                continue;
+            }
+            Num positionProfit = position.getProfit();
+            Num positionGrossProfit = position.getGrossProfit();
+            positions.add(position);
+            netProfits.add(positionProfit);
+            netGrossProfits.add(positionGrossProfit);
+            profitLoss = profitLoss.plus(positionProfit);
+            profitLossPercentage = profitLossPercentage
+                    .plus(positionProfit.dividedBy(position.getEntry().getValue()).multipliedBy(hundred));
+            if (positionProfit.isPositive()) {
+                profit = profit.plus(positionProfit);
+                winningPositionCount++;
+            } else if (positionProfit.isNegative()) {
+                loss = loss.plus(positionProfit);
+                losingPositionCount++;
+            } else if (positionProfit.isZero()) {
+                breakEvenPositionCount++;
+            }
+            if (positionGrossProfit.isPositive()) {
+                grossProfit = grossProfit.plus(positionGrossProfit);
+            } else if (positionGrossProfit.isNegative()) {
+                grossLoss = grossLoss.plus(positionGrossProfit);
+            }
+        }
+        profits = Collections.unmodifiableList(netProfits);
+        grossProfits = Collections.unmodifiableList(netGrossProfits);
+        totalProfitLoss = profitLoss;
+        totalProfitLossPercentage = profitLossPercentage;
+        totalProfit = profit;
+        totalLoss = loss;
+        totalGrossProfit = grossProfit;
+        totalGrossLoss = grossLoss;
+        closedPositions = Collections.unmodifiableList(positions);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Streaming statistics of a series of arithmetic returns relative to the
+ * returns of a benchmark, as needed by benchmark-relative criteria (e.g. alpha,
+ * beta, tracking error and information ratio).
+ *
+ * <p>
+ * All statistics are updated in {@code O(1)} per {@link #add(Num, Num) added}
+ * pair of returns in one pass: the means, the variance of the benchmark
+ * returns, the covariance of both returns and the variance of the active
+ * returns (i.e. the returns minus the benchmark returns) with Welford's
+ * algorithm. Annualisation is based on the time period of the bars.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class BenchmarkStatistics {
+
+    private final NumFactory numFactory;
+
+    /** The number of bars per year. */
+    private final Num periodsPerYear;
+
+    private int count;
+    private Num mean;
+    private Num benchmarkMean;
+    private Num activeMean;
+    private Num benchmarkSumOfSquaredDeviations;
+    private Num sumOfCoDeviations;
+    private Num activeSumOfSquaredDeviations;
+
+    /**
+     * Constructor.
+     *
+     * @param numFactory the num factory
+     * @param barPeriod  the time period of a bar (used for annualisation)
+     */
+    public BenchmarkStatistics(NumFactory numFactory, Duration barPeriod) {
+        this.numFactory = Objects.requireNonNull(numFactory, "numFactory must not be null");
+        this.periodsPerYear = numFactory.numOf(ReturnStatistics.getPeriodsPerYear(barPeriod));
+        Num zero = numFactory.zero();
+        this.mean = zero;
+        this.benchmarkMean = zero;
+        this.activeMean = zero;
+        this.benchmarkSumOfSquaredDeviations = zero;
+        this.sumOfCoDeviations = zero;
+        this.activeSumOfSquaredDeviations = zero;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param returns          the arithmetic returns
+     * @param benchmarkReturns the arithmetic returns of the benchmark by bar index
+     *                         (e.g. the {@link Returns} of another trading record),
+     *                         or null for the enter-and-hold returns of the bar
+     *                         series (i.e. the returns of its close prices)
+     * @param beginIndex       the index of the first bar (its return is excluded,
+     *                         as the returns are relative to it)
+     * @param endIndex         the index of the last bar
+     * @throws IllegalArgumentException if the returns are not arithmetic
+     */
+    public BenchmarkStatistics(Returns returns, Indicator<Num> benchmarkReturns, int beginIndex, int endIndex) {
+        this(returns.getBarSeries().numFactory(), ReturnStatistics.getBarPeriod(returns.getBarSeries()));
+        if (returns.getType() != Returns.ReturnType.ARITHMETIC) {
+            throw new IllegalArgumentException("Benchmark statistics require arithmetic returns");
+        }
+        BarSeries series = returns.getBarSeries();
+        int lastIndex = Math.min(endIndex, returns.getValues().size() - 1);
+        for (int i = Math.max(beginIndex + 1, series.getBeginIndex() + 1); i <= lastIndex; i++) {
+            Num benchmarkRate = benchmarkReturns == null
+                    ? series.getBar(i)
+                            .getClosePrice()
+                            .dividedBy(series.getBar(i - 1).getClosePrice())
+                            .minus(numFactory.one())
+                    : benchmarkReturns.getValue(i);
+            add(returns.getValue(i), benchmarkRate);
+        }
+    }
+
+    /**
+     * Adds the returns of the next period.
+     *
+     * @param rate          the arithmetic return (e.g. 0.01 for +1%)
+     * @param benchmarkRate the arithmetic return of the benchmark
+     */
+    public void add(Num rate, Num benchmarkRate) {
+        count++;
+        Num n = numFactory.numOf(count);
+        Num delta = rate.minus(mean);
+        Num benchmarkDelta = benchmarkRate.minus(benchmarkMean);
+        mean = mean.plus(delta.dividedBy(n));
+        benchmarkMean = benchmarkMean.plus(benchmarkDelta.dividedBy(n));
+        benchmarkSumOfSquaredDeviations = benchmarkSumOfSquaredDeviations
+                .plus(benchmarkDelta.multipliedBy(benchmarkRate.minus(benchmarkMean)));
+        sumOfCoDeviations = sumOfCoDeviations.plus(delta.multipliedBy(benchmarkRate.minus(benchmarkMean)));
+
+        Num activeRate = rate.minus(benchmarkRate);
+        Num activeDelta = activeRate.minus(activeMean);
+        activeMean = activeMean.plus(activeDelta.dividedBy(n));
+        activeSumOfSquaredDeviations = activeSumOfSquaredDeviations
+                .plus(activeDelta.multipliedBy(activeRate.minus(activeMean)));
+    }
+
+    /** @return the number of pairs of returns */
+    public int getCount() {
+        return count;
+    }
+
+    /** @return the number of bars per year */
+    public Num getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /** @return the mean return per period */
+    public Num getMean() {
+        return mean;
+    }
+
+    /** @return the mean benchmark return per period */
+    public Num getBenchmarkMean() {
+        return benchmarkMean;
+    }
+
+    /**
+     * @return the beta, i.e. the covariance of the returns with the benchmark
+     *         returns divided by the variance of the benchmark returns, NaN if the
+     *         variance is zero
+     */
+    public Num getBeta() {
+        if (count < 2 || benchmarkSumOfSquaredDeviations.isZero()) {
+            return NaN.NaN;
+        }
+        return sumOfCoDeviations.dividedBy(benchmarkSumOfSquaredDeviations);
+    }
+
+    /**
+     * @return the annualised (Jensen's) alpha with a risk-free rate of zero, i.e.
+     *         the mean return not explained by the beta to the benchmark, NaN if
+     *         the beta is undefined
+     */
+    public Num getAlpha() {
+        Num beta = getBeta();
+        if (beta.isNaN()) {
+            return NaN.NaN;
+        }
+        return mean.minus(beta.multipliedBy(benchmarkMean)).multipliedBy(periodsPerYear);
+    }
+
+    /**
+     * @return the annualised tracking error, i.e. the sample standard deviation of
+     *         the active returns, zero for less than two returns
+     */
+    public Num getTrackingError() {
+        if (count < 2) {
+            return numFactory.zero();
+        }
+        return activeSumOfSquaredDeviations.dividedBy(numFactory.numOf(count - 1))
+                .sqrt()
+                .multipliedBy(periodsPerYear.sqrt());
+    }
+
+    /**
+     * @return the information ratio, i.e. the annualised mean active return divided
+     *         by the tracking error, NaN if the tracking error is zero
+     */
+    public Num getInformationRatio() {
+        Num trackingError = getTrackingError();
+        if (trackingError.isZero()) {
+            return NaN.NaN;
+        }
+        return activeMean.multipliedBy(periodsPerYear).dividedBy(trackingError);
+    }
+}
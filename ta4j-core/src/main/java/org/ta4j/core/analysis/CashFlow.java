@@ -36,6 +36,20 @@ import org.ta4j.core.num.Num;
 /**
  * Allows to follow the money cash flow involved by a list of positions over a
  * bar series.
+ *
+ * <p>
+ * A cash flow built from a {@link TradingRecord} is incremental: whenever it is
+ * queried, it extends its values with the bars appended to the bar series and
+ * the trades placed in the trading record since the last query. Values of
+ * closed positions are calculated only once; the accrued values of the open
+ * position are extended by one value per new bar (they are only recalculated if
+ * the holding cost per period changes). The peak, drawdown, maximum drawdown
+ * and return of the cash flow are maintained on the fly, so that they can be
+ * queried in constant time after every bar (e.g. for live equity tracking).
+ *
+ * <p>
+ * This class is not thread-safe while its bar series or trading record is
+ * modified.
  */
 public class CashFlow implements Indicator<Num> {
 
@@ -45,6 +59,44 @@ public class CashFlow implements Indicator<Num> {
     /** The (accrued) cash flow sequence (without trading costs). */
     private final List<Num> values;
 
+    /** The followed trading record, {@code null} for a single position. */
+    private final TradingRecord tradingRecord;
+
+    /**
+     * The index up until cash flows of open positions are considered, {@code null}
+     * to follow the end index of the {@link #tradingRecord}.
+     */
+    private final Integer finalIndex;
+
+    /** The number of closed positions of the trading record already calculated. */
+    private int calculatedPositions;
+
+    /** The number of values calculated for the closed positions. */
+    private int closedSize;
+
+    /** The entry index of the accrued open position, -1 if none. */
+    private int openEntryIndex = -1;
+
+    /** The last index of the accrued open position, -1 if none. */
+    private int openEndIndex = -1;
+
+    /** The holding cost per period used for the accrued open position. */
+    private Num openAverageCost;
+
+    /** The series end index and final index of the last update. */
+    private int lastSeriesEndIndex = -1;
+    private int lastFinalIndex = -1;
+
+    /** The running statistics up to {@link #statsIndex}. */
+    private Num peak;
+    private Num maximumDrawdown;
+    private int statsIndex = -1;
+
+    /** The running statistics up to {@link #closedSize}. */
+    private Num closedPeak;
+    private Num closedMaximumDrawdown;
+    private int closedStatsIndex = -1;
+
     /**
      * Constructor for cash flows of a closed position.
      *
@@ -53,20 +105,29 @@ public class CashFlow implements Indicator<Num> {
      */
     public CashFlow(BarSeries barSeries, Position position) {
         this.barSeries = barSeries;
+        this.tradingRecord = null;
+        this.finalIndex = null;
         values = new ArrayList<>(Collections.singletonList(barSeries.numFactory().one()));
+        resetStats();
 
         calculate(position);
         fillToTheEnd(barSeries.getEndIndex());
+        updateStats();
     }
 
     /**
      * Constructor for cash flows of closed positions of a trading record.
      *
+     * <p>
+     * The cash flow follows the end index of the trading record (or of the bar
+     * series, if the trading record has none), i.e. it is extended as new bars or
+     * trades arrive.
+     *
      * @param barSeries     the bar series
      * @param tradingRecord the trading record
      */
     public CashFlow(BarSeries barSeries, TradingRecord tradingRecord) {
-        this(barSeries, tradingRecord, tradingRecord.getEndIndex(barSeries));
+        this(barSeries, tradingRecord, null);
     }
 
     /**
@@ -78,11 +139,20 @@ public class CashFlow implements Indicator<Num> {
      *                      considered
      */
     public CashFlow(BarSeries barSeries, TradingRecord tradingRecord, int finalIndex) {
+        this(barSeries, tradingRecord, Integer.valueOf(finalIndex));
+    }
+
+    private CashFlow(BarSeries barSeries, TradingRecord tradingRecord, Integer finalIndex) {
         this.barSeries = barSeries;
+        this.tradingRecord = tradingRecord;
+        this.finalIndex = finalIndex;
         values = new ArrayList<>(Collections.singletonList(getBarSeries().numFactory().one()));
+        resetStats();
+        closedPeak = peak;
+        closedMaximumDrawdown = maximumDrawdown;
+        closedSize = values.size();
 
-        calculate(tradingRecord, finalIndex);
-        fillToTheEnd(finalIndex);
+        update();
     }
 
     /**
@@ -91,6 +161,7 @@ public class CashFlow implements Indicator<Num> {
      */
     @Override
     public Num getValue(int index) {
+        update();
         return values.get(index);
     }
 
@@ -111,6 +182,161 @@ public class CashFlow implements Indicator<Num> {
         return barSeries.getBarCount();
     }
 
+    /**
+     * @return the highest cash flow value since the start of the trading record
+     */
+    public Num getPeak() {
+        update();
+        return peak;
+    }
+
+    /**
+     * @return the current drawdown, i.e. the decline of the last cash flow value
+     *         from the {@link #getPeak() peak} (e.g. 0.1 for 10%)
+     */
+    public Num getDrawdown() {
+        update();
+        return peak.minus(getLastValue()).dividedBy(peak);
+    }
+
+    /**
+     * @return the maximum drawdown since the start of the trading record (equal to
+     *         the {@code MaximumDrawdownCriterion})
+     */
+    public Num getMaximumDrawdown() {
+        update();
+        return maximumDrawdown;
+    }
+
+    /**
+     * @return the return of the last cash flow value (e.g. 0.05 for +5%)
+     */
+    public Num getReturn() {
+        update();
+        return getLastValue().minus(values.get(0));
+    }
+
+    /**
+     * @return the cash flow value at the end of the bar series
+     */
+    private Num getLastValue() {
+        return values.get(Math.max(0, Math.min(values.size() - 1, barSeries.getEndIndex())));
+    }
+
+    /**
+     * Extends the cash flow with the bars and trades added since the last update.
+     */
+    private void update() {
+        if (tradingRecord == null) {
+            return;
+        }
+        int seriesEndIndex = barSeries.getEndIndex();
+        int endIndex = finalIndex == null ? tradingRecord.getEndIndex(barSeries) : finalIndex;
+        int positionCount = tradingRecord.getPositionCount();
+        Position currentPosition = tradingRecord.getCurrentPosition();
+        int entryIndex = currentPosition.isOpened() ? currentPosition.getEntry().getIndex() : -1;
+        if (positionCount == calculatedPositions && entryIndex == openEntryIndex && endIndex == lastFinalIndex
+                && seriesEndIndex == lastSeriesEndIndex) {
+            return;
+        }
+
+        if (positionCount != calculatedPositions) {
+            truncate();
+            List<Position> positions = tradingRecord.getPositions();
+            for (int i = calculatedPositions; i < positionCount; i++) {
+                calculate(positions.get(i));
+            }
+            calculatedPositions = positionCount;
+            closedSize = values.size();
+            updateStats();
+            closedPeak = peak;
+            closedMaximumDrawdown = maximumDrawdown;
+            closedStatsIndex = statsIndex;
+        }
+
+        // Add accrued cash flow of open position
+        if (entryIndex >= 0) {
+            accrue(currentPosition, endIndex);
+        } else if (values.size() > closedSize) {
+            truncate();
+        }
+        fillToTheEnd(endIndex);
+        updateStats();
+        lastFinalIndex = endIndex;
+        lastSeriesEndIndex = seriesEndIndex;
+    }
+
+    /**
+     * Calculates the accrued cash flow of the open position. If the open position
+     * has already been accrued with the same holding cost per period, only the
+     * values of the new bars are added.
+     *
+     * @param position   the open position
+     * @param finalIndex index up until cash flow of open positions is considered
+     */
+    private void accrue(Position position, int finalIndex) {
+        int entryIndex = position.getEntry().getIndex();
+        int endIndex = determineEndIndex(position, finalIndex, barSeries.getEndIndex());
+        Num averageCost = getAverageHoldingCost(position, endIndex);
+        if (entryIndex == openEntryIndex && openEndIndex > entryIndex && openEndIndex == values.size() - 1
+                && endIndex >= openEndIndex && averageCost.compareTo(openAverageCost) == 0) {
+            boolean isLongTrade = position.getEntry().isBuy();
+            Num netEntryPrice = position.getEntry().getNetPrice();
+            for (int i = openEndIndex + 1; i <= endIndex; i++) {
+                Num intermediateNetPrice = addCost(barSeries.getBar(i).getClosePrice(), averageCost, isLongTrade);
+                Num ratio = getIntermediateRatio(isLongTrade, netEntryPrice, intermediateNetPrice);
+                values.add(values.get(entryIndex).multipliedBy(ratio));
+            }
+        } else {
+            truncate();
+            calculate(position, finalIndex);
+        }
+        openEntryIndex = entryIndex;
+        openAverageCost = averageCost;
+        openEndIndex = values.size() - 1 == endIndex ? endIndex : -1;
+    }
+
+    /**
+     * Removes the values of the open position and the padding.
+     */
+    private void truncate() {
+        if (values.size() > closedSize) {
+            values.subList(closedSize, values.size()).clear();
+        }
+        peak = closedPeak;
+        maximumDrawdown = closedMaximumDrawdown;
+        statsIndex = closedStatsIndex;
+        openEntryIndex = -1;
+        openEndIndex = -1;
+        openAverageCost = null;
+    }
+
+    private void resetStats() {
+        peak = barSeries.numFactory().zero();
+        maximumDrawdown = peak;
+        statsIndex = -1;
+    }
+
+    /**
+     * Updates the running peak and maximum drawdown with the values added since the
+     * last update.
+     */
+    private void updateStats() {
+        int beginIndex = tradingRecord == null ? barSeries.getBeginIndex() : tradingRecord.getStartIndex(barSeries);
+        int endIndex = Math.min(values.size() - 1, barSeries.getEndIndex());
+        for (int i = Math.max(statsIndex + 1, beginIndex); i <= endIndex; i++) {
+            Num value = values.get(i);
+            if (value.isGreaterThan(peak)) {
+                peak = value;
+            }
+            Num drawdown = peak.minus(value).dividedBy(peak);
+            if (drawdown.isGreaterThan(maximumDrawdown)) {
+                maximumDrawdown = drawdown;
+            }
+        }
+        statsIndex = Math.max(statsIndex, endIndex);
+    }
+
     /**
      * Calculates the cash flow for a single closed position.
      *
@@ -144,9 +370,7 @@ public class CashFlow implements Indicator<Num> {
         if (values.get(values.size() - 1).isGreaterThan(values.get(0).getNumFactory().numOf(0))) {
             int startingIndex = Math.max(begin, 1);
 
-            int nPeriods = endIndex - entryIndex;
-            Num holdingCost = position.getHoldingCost(endIndex);
-            Num avgCost = holdingCost.dividedBy(holdingCost.getNumFactory().numOf(nPeriods));
+            Num avgCost = getAverageHoldingCost(position, endIndex);
 
             // Add intermediate cash flows during position
             Num netEntryPrice = position.getEntry().getNetPrice();
@@ -168,6 +392,17 @@ public class CashFlow implements Indicator<Num> {
         }
     }
 
+    /**
+     * @param position the position
+     * @param endIndex the last index of the position
+     * @return the holding cost of the position per period
+     */
+    private static Num getAverageHoldingCost(Position position, int endIndex) {
+        int nPeriods = endIndex - position.getEntry().getIndex();
+        Num holdingCost = position.getHoldingCost(endIndex);
+        return holdingCost.dividedBy(holdingCost.getNumFactory().numOf(nPeriods));
+    }
+
     /**
      * Calculates the ratio of intermediate prices.
      *
@@ -186,33 +421,6 @@ public class CashFlow implements Indicator<Num> {
         return ratio;
     }
 
-    /**
-     * Calculates the cash flow for the closed positions of a trading record.
-     *
-     * @param tradingRecord the trading record
-     */
-    private void calculate(TradingRecord tradingRecord) {
-        // For each position...
-        tradingRecord.getPositions().forEach(this::calculate);
-    }
-
-    /**
-     * Calculates the cash flow for all positions of a trading record, including
-     * accrued cash flow of an open position.
-     *
-     * @param tradingRecord the trading record
-     * @param finalIndex    index up until cash flows of open positions are
-     *                      considered
-     */
-    private void calculate(TradingRecord tradingRecord, int finalIndex) {
-        calculate(tradingRecord);
-
-        // Add accrued cash flow of open position
-        if (tradingRecord.getCurrentPosition().isOpened()) {
-            calculate(tradingRecord.getCurrentPosition(), finalIndex);
-        }
-    }
-
     /**
      * Adjusts (intermediate) price to incorporate trading costs.
      *
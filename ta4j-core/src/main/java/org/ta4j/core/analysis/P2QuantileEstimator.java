@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile estimator using the P&sup2; (piecewise-parabolic)
+ * algorithm of Jain and Chlamtac.
+ *
+ * <p>
+ * Estimates a single quantile of a stream of observations in {@code O(1)} time
+ * and memory per observation by maintaining five markers (minimum,
+ * {@code p/2}-, {@code p}-, {@code (1+p)/2}-quantile and maximum) whose heights
+ * are adjusted with a piecewise-parabolic prediction. The first five
+ * observations are kept exactly, so the estimate is exact (nearest-rank) until
+ * then.
+ *
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see <a href="https://www.cse.wustl.edu/~jain/papers/ftp/psqr.pdf">The
+ *      P&sup2; Algorithm for Dynamic Calculation of Quantiles and Histograms
+ *      Without Storing Observations</a>
+ */
+public class P2QuantileEstimator {
+
+    private static final int MARKERS = 5;
+
+    /** The quantile to estimate within [0, 1]. */
+    private final double p;
+
+    /** The marker heights. */
+    private final double[] heights = new double[MARKERS];
+
+    /** The actual marker positions (1-based). */
+    private final double[] positions = new double[MARKERS];
+
+    /** The desired marker positions. */
+    private final double[] desiredPositions = new double[MARKERS];
+
+    /** The increments of the desired marker positions. */
+    private final double[] increments;
+
+    /** The number of observations. */
+    private long count;
+
+    /**
+     * Constructor.
+     *
+     * @param p the quantile to estimate within [0, 1] (e.g. 0.05 for the 5th
+     *          percentile)
+     * @throws IllegalArgumentException if {@code p} is not within [0, 1]
+     */
+    public P2QuantileEstimator(double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Quantile must be within [0, 1]");
+        }
+        this.p = p;
+        this.increments = new double[] { 0, p / 2, p, (1 + p) / 2, 1 };
+    }
+
+    /**
+     * Adds an observation.
+     *
+     * @param value the observation (NaN values are ignored)
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count < MARKERS) {
+            heights[(int) count] = value;
+            count++;
+            if (count == MARKERS) {
+                Arrays.sort(heights);
+                for (int i = 0; i < MARKERS; i++) {
+                    positions[i] = i + 1;
+                }
+                desiredPositions[0] = 1;
+                desiredPositions[1] = 1 + 2 * p;
+                desiredPositions[2] = 1 + 4 * p;
+                desiredPositions[3] = 3 + 2 * p;
+                desiredPositions[4] = 5;
+            }
+            return;
+        }
+        count++;
+
+        // find the cell k with heights[k] <= value < heights[k + 1]
+        int k;
+        if (value < heights[0]) {
+            heights[0] = value;
+            k = 0;
+        } else if (value >= heights[MARKERS - 1]) {
+            heights[MARKERS - 1] = value;
+            k = MARKERS - 2;
+        } else {
+            k = 0;
+            while (value >= heights[k + 1]) {
+                k++;
+            }
+        }
+        for (int i = k + 1; i < MARKERS; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < MARKERS; i++) {
+            desiredPositions[i] += increments[i];
+        }
+
+        // adjust the heights of the inner markers if necessary
+        for (int i = 1; i < MARKERS - 1; i++) {
+            double d = desiredPositions[i] - positions[i];
+            if ((d >= 1 && positions[i + 1] - positions[i] > 1) || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int sign = d > 0 ? 1 : -1;
+                double height = parabolic(i, sign);
+                if (heights[i - 1] < height && height < heights[i + 1]) {
+                    heights[i] = height;
+                } else {
+                    heights[i] = linear(i, sign);
+                }
+                positions[i] += sign;
+            }
+        }
+    }
+
+    private double parabolic(int i, int d) {
+        return heights[i] + d / (positions[i + 1] - positions[i - 1])
+                * ((positions[i] - positions[i - 1] + d) * (heights[i + 1] - heights[i])
+                        / (positions[i + 1] - positions[i])
+                        + (positions[i + 1] - positions[i] - d) * (heights[i] - heights[i - 1])
+                                / (positions[i] - positions[i - 1]));
+    }
+
+    private double linear(int i, int d) {
+        return heights[i] + d * (heights[i + d] - heights[i]) / (positions[i + d] - positions[i]);
+    }
+
+    /**
+     * @return the estimated quantile or {@code NaN} if there are no observations
+     *         yet
+     */
+    public double getQuantile() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count <= MARKERS) {
+            int n = (int) count;
+            double[] sorted = Arrays.copyOf(heights, n);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(p * n);
+            return sorted[Math.max(rank - 1, 0)];
+        }
+        return heights[2];
+    }
+
+    /** @return the quantile to estimate */
+    public double getP() {
+        return p;
+    }
+
+    /** @return the number of observations */
+    public long getCount() {
+        return count;
+    }
+
+    /** @return the lowest observation or {@code NaN} if there is none */
+    public double getMin() {
+        return count == 0 ? Double.NaN : count < MARKERS ? min(heights, (int) count) : heights[0];
+    }
+
+    /** @return the highest observation or {@code NaN} if there is none */
+    public double getMax() {
+        return count == 0 ? Double.NaN : count < MARKERS ? max(heights, (int) count) : heights[MARKERS - 1];
+    }
+
+    /**
+     * Removes all observations.
+     */
+    public void reset() {
+        count = 0;
+        Arrays.fill(heights, 0);
+    }
+
+    private static double min(double[] values, int n) {
+        double min = values[0];
+        for (int i = 1; i < n; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    private static double max(double[] values, int n) {
+        double max = values[0];
+        for (int i = 1; i < n; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Streaming statistics of a series of arithmetic returns, as needed by
+ * risk-adjusted return criteria (e.g. Sharpe, Sortino, Calmar, Omega and
+ * Ulcer).
+ *
+ * <p>
+ * All statistics are updated in {@code O(1)} per {@link #add(Num) added} return
+ * in one pass: the mean and variance (Welford's algorithm), the downside
+ * deviation and the gains/losses relative to a threshold, and the drawdowns of
+ * the equity curve compounded from the returns. Annualisation is based on the
+ * time period of the bars.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ReturnStatistics {
+
+    /** The length of a year used for annualisation. */
+    public static final Duration YEAR = Duration.ofDays(365);
+
+    private final NumFactory numFactory;
+
+    /** The number of bars per year. */
+    private final Num periodsPerYear;
+
+    /** The threshold return per period for the downside and gains/losses. */
+    private final Num threshold;
+
+    private int count;
+    private Num mean;
+    private Num sumOfSquaredDeviations;
+    private Num sumOfSquaredShortfalls;
+    private Num gainsAboveThreshold;
+    private Num lossesBelowThreshold;
+    private Num equity;
+    private Num peak;
+    private Num maximumDrawdown;
+    private Num sumOfSquaredDrawdowns;
+
+    /**
+     * Constructor.
+     *
+     * @param numFactory the num factory
+     * @param barPeriod  the time period of a bar (used for annualisation)
+     * @param threshold  the threshold return per period (e.g. the minimum
+     *                   acceptable return of the Sortino ratio)
+     */
+    public ReturnStatistics(NumFactory numFactory, Duration barPeriod, Num threshold) {
+        this.numFactory = Objects.requireNonNull(numFactory, "numFactory must not be null");
+        this.periodsPerYear = numFactory.numOf(getPeriodsPerYear(barPeriod));
+        this.threshold = Objects.requireNonNull(threshold, "threshold must not be null");
+        Num zero = numFactory.zero();
+        this.mean = zero;
+        this.sumOfSquaredDeviations = zero;
+        this.sumOfSquaredShortfalls = zero;
+        this.gainsAboveThreshold = zero;
+        this.lossesBelowThreshold = zero;
+        this.equity = numFactory.one();
+        this.peak = equity;
+        this.maximumDrawdown = zero;
+        this.sumOfSquaredDrawdowns = zero;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param returns    the arithmetic returns
+     * @param beginIndex the index of the first bar (its return is excluded, as the
+     *                   returns are relative to it)
+     * @param endIndex   the index of the last bar
+     * @param threshold  the threshold return per period
+     * @throws IllegalArgumentException if the returns are not arithmetic
+     */
+    public ReturnStatistics(Returns returns, int beginIndex, int endIndex, Num threshold) {
+        this(returns.getBarSeries().numFactory(), getBarPeriod(returns.getBarSeries()), threshold);
+        if (returns.getType() != Returns.ReturnType.ARITHMETIC) {
+            throw new IllegalArgumentException("Return statistics require arithmetic returns");
+        }
+        int lastIndex = Math.min(endIndex, returns.getValues().size() - 1);
+        for (int i = Math.max(beginIndex + 1, 1); i <= lastIndex; i++) {
+            add(returns.getValue(i));
+        }
+    }
+
+    /**
+     * @param series the bar series
+     * @return the time period of the first bar, {@code null} if the series is empty
+     */
+    public static Duration getBarPeriod(BarSeries series) {
+        return series.isEmpty() ? null : series.getFirstBar().getTimePeriod();
+    }
+
+    /**
+     * @param barPeriod the time period of a bar
+     * @return the number of bars per {@link #YEAR year}, 1 if the bar period is
+     *         unknown
+     */
+    public static double getPeriodsPerYear(Duration barPeriod) {
+        if (barPeriod == null || barPeriod.isZero() || barPeriod.isNegative()) {
+            return 1;
+        }
+        return (double) YEAR.toNanos() / barPeriod.toNanos();
+    }
+
+    /**
+     * Adds the return of the next period.
+     *
+     * @param rate the arithmetic return (e.g. 0.01 for +1%)
+     */
+    public void add(Num rate) {
+        count++;
+        Num delta = rate.minus(mean);
+        mean = mean.plus(delta.dividedBy(numFactory.numOf(count)));
+        sumOfSquaredDeviations = sumOfSquaredDeviations.plus(delta.multipliedBy(rate.minus(mean)));
+
+        Num excess = rate.minus(threshold);
+        if (excess.isNegative()) {
+            sumOfSquaredShortfalls = sumOfSquaredShortfalls.plus(excess.multipliedBy(excess));
+            lossesBelowThreshold = lossesBelowThreshold.minus(excess);
+        } else {
+            gainsAboveThreshold = gainsAboveThreshold.plus(excess);
+        }
+
+        equity = equity.multipliedBy(numFactory.one().plus(rate));
+        if (equity.isGreaterThan(peak)) {
+            peak = equity;
+        }
+        Num drawdown = peak.minus(equity).dividedBy(peak);
+        if (drawdown.isGreaterThan(maximumDrawdown)) {
+            maximumDrawdown = drawdown;
+        }
+        sumOfSquaredDrawdowns = sumOfSquaredDrawdowns.plus(drawdown.multipliedBy(drawdown));
+    }
+
+    /** @return the number of returns */
+    public int getCount() {
+        return count;
+    }
+
+    /** @return the number of bars per year */
+    public Num getPeriodsPerYear() {
+        return periodsPerYear;
+    }
+
+    /** @return the threshold return per period */
+    public Num getThreshold() {
+        return threshold;
+    }
+
+    /** @return the mean return per period */
+    public Num getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the sample standard deviation of the returns, zero for less than two
+     *         returns
+     */
+    public Num getStandardDeviation() {
+        if (count < 2) {
+            return numFactory.zero();
+        }
+        return sumOfSquaredDeviations.dividedBy(numFactory.numOf(count - 1)).sqrt();
+    }
+
+    /**
+     * @return the downside deviation, i.e. the root mean square of the returns
+     *         below the {@link #getThreshold() threshold}
+     */
+    public Num getDownsideDeviation() {
+        if (count == 0) {
+            return numFactory.zero();
+        }
+        return sumOfSquaredShortfalls.dividedBy(numFactory.numOf(count)).sqrt();
+    }
+
+    /** @return the sum of the returns above the threshold */
+    public Num getGainsAboveThreshold() {
+        return gainsAboveThreshold;
+    }
+
+    /** @return the sum of the returns below the threshold (positive) */
+    public Num getLossesBelowThreshold() {
+        return lossesBelowThreshold;
+    }
+
+    /** @return the total compounded return (e.g. 0.1 for +10%) */
+    public Num getTotalReturn() {
+        return equity.minus(numFactory.one());
+    }
+
+    /**
+     * @return the compound annual growth rate of the returns, NaN if the equity is
+     *         not positive or there are no returns
+     */
+    public Num getAnnualizedReturn() {
+        if (count == 0 || !equity.isPositive()) {
+            return NaN.NaN;
+        }
+        return equity.pow(periodsPerYear.dividedBy(numFactory.numOf(count))).minus(numFactory.one());
+    }
+
+    /** @return the maximum drawdown of the compounded equity (e.g. 0.2 for 20%) */
+    public Num getMaximumDrawdown() {
+        return maximumDrawdown;
+    }
+
+    /**
+     * @return the Ulcer index, i.e. the root mean square of the drawdowns of the
+     *         compounded equity
+     */
+    public Num getUlcerIndex() {
+        if (count == 0) {
+            return numFactory.zero();
+        }
+        return sumOfSquaredDrawdowns.dividedBy(numFactory.numOf(count)).sqrt();
+    }
+}
@@ -24,6 +24,7 @@
 package org.ta4j.core.analysis;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,11 +32,23 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.DoubleNum;
 import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.utils.QuickSelect;
 
 /**
  * Allows to compute the return rate of a price time-series.
+ *
+ * <p>
+ * Returns built from a {@link TradingRecord} are incremental: whenever they are
+ * queried, they are extended with the bars appended to the bar series and the
+ * positions closed in the trading record since the last query, without
+ * recalculating the returns of the positions already considered.
+ *
+ * <p>
+ * This class is not thread-safe while its bar series or trading record is
+ * modified.
  */
 public class Returns implements Indicator<Num> {
 
@@ -69,6 +82,22 @@ public class Returns implements Indicator<Num> {
     /** The return rates. */
     private final List<Num> values;
 
+    /** The followed trading record, {@code null} for a single position. */
+    private final TradingRecord tradingRecord;
+
+    /** The number of closed positions of the trading record already calculated. */
+    private int calculatedPositions;
+
+    /** The number of return rates calculated for the closed positions. */
+    private int closedSize;
+
+    /** The highest exit index of the closed positions already calculated. */
+    private int closedExitIndex = -1;
+
+    /** The series end index and final index of the last update. */
+    private int lastSeriesEndIndex = -1;
+    private int lastFinalIndex = -1;
+
     /** Unit element for efficient arithmetic return computation. */
     private static Num one;
 
@@ -83,6 +112,7 @@ public class Returns implements Indicator<Num> {
         one = barSeries.numFactory().one();
         this.barSeries = barSeries;
         this.type = type;
+        this.tradingRecord = null;
         // at index 0, there is no return
         values = new ArrayList<>(Collections.singletonList(NaN.NaN));
         calculate(position, barSeries.getEndIndex());
@@ -101,26 +131,92 @@ public class Returns implements Indicator<Num> {
         one = barSeries.numFactory().one();
         this.barSeries = barSeries;
         this.type = type;
+        this.tradingRecord = tradingRecord;
         // at index 0, there is no return
         values = new ArrayList<>(Collections.singletonList(NaN.NaN));
-        calculate(tradingRecord);
+        closedSize = values.size();
+        update();
+    }
 
-        fillToTheEnd(tradingRecord.getEndIndex(barSeries));
+    /**
+     * @return the {@link ReturnType}
+     */
+    public ReturnType getType() {
+        return type;
     }
 
     /**
      * @return the return rates
      */
     public List<Num> getValues() {
+        update();
         return values;
     }
 
+    /**
+     * Returns the {@code count} lowest return rates (i.e. the left tail of the
+     * return distribution) in ascending order.
+     *
+     * <p>
+     * Uses quickselect to partition the return rates around the {@code count}-th
+     * smallest one and only sorts the tail, which is {@code O(n + count log count)}
+     * instead of sorting all return rates. If all rates are {@link DoubleNum}s, the
+     * selection works on a primitive {@code double[]}; otherwise on the {@link Num}
+     * values themselves, so that the result is exact for every {@link Num} type.
+     *
+     * @param count the number of return rates to return
+     * @return the {@code min(count, getSize())} lowest return rates in ascending
+     *         order
+     */
+    public List<Num> getLowestRates(int count) {
+        int size = getSize();
+        int n = Math.min(count, size);
+        if (n <= 0) {
+            return Collections.emptyList();
+        }
+        // select non-NaN returns
+        List<Num> rates = getValues().subList(1, size + 1);
+        double[] primitives = toPrimitives(rates);
+        Num[] lowest = new Num[n];
+        if (primitives != null) {
+            QuickSelect.select(primitives, n - 1);
+            Arrays.sort(primitives, 0, n);
+            for (int i = 0; i < n; i++) {
+                lowest[i] = DoubleNum.valueOf(primitives[i]);
+            }
+        } else {
+            Num[] all = rates.toArray(new Num[0]);
+            QuickSelect.select(all, n - 1);
+            System.arraycopy(all, 0, lowest, 0, n);
+            Arrays.sort(lowest);
+        }
+        return Arrays.asList(lowest);
+    }
+
+    /**
+     * @param rates the return rates
+     * @return the rates as primitive array if all of them are non-NaN
+     *         {@link DoubleNum}s, otherwise {@code null}
+     */
+    private static double[] toPrimitives(List<Num> rates) {
+        double[] primitives = new double[rates.size()];
+        for (int i = 0; i < primitives.length; i++) {
+            Num rate = rates.get(i);
+            if (!(rate instanceof DoubleNum) || Double.isNaN(rate.doubleValue())) {
+                return null;
+            }
+            primitives[i] = rate.doubleValue();
+        }
+        return primitives;
+    }
+
     /**
      * @param index the bar index
      * @return the return rate value at the index-th position
      */
     @Override
     public Num getValue(int index) {
+        update();
         return values.get(index);
     }
 
@@ -201,14 +297,41 @@ public class Returns implements Indicator<Num> {
     }
 
     /**
-     * Calculates the returns for a trading record.
-     *
-     * @param tradingRecord the trading record
+     * Extends the returns with the bars and closed positions added since the last
+     * update.
      */
-    private void calculate(TradingRecord tradingRecord) {
-        int endIndex = tradingRecord.getEndIndex(getBarSeries());
-        // For each position...
-        tradingRecord.getPositions().forEach(p -> calculate(p, endIndex));
+    private void update() {
+        if (tradingRecord == null) {
+            return;
+        }
+        int seriesEndIndex = barSeries.getEndIndex();
+        int endIndex = tradingRecord.getEndIndex(barSeries);
+        int positionCount = tradingRecord.getPositionCount();
+        if (positionCount == calculatedPositions && endIndex == lastFinalIndex
+                && seriesEndIndex == lastSeriesEndIndex) {
+            return;
+        }
+        if (endIndex != lastFinalIndex && closedExitIndex > lastFinalIndex) {
+            // the returns of a position were cut at the previous end index
+            calculatedPositions = 0;
+            closedSize = 1;
+            closedExitIndex = -1;
+        }
+        values.subList(closedSize, values.size()).clear();
+
+        // For each new position...
+        List<Position> positions = tradingRecord.getPositions();
+        for (int i = calculatedPositions; i < positionCount; i++) {
+            Position position = positions.get(i);
+            calculate(position, endIndex);
+            closedExitIndex = Math.max(closedExitIndex, position.getExit().getIndex());
+        }
+        calculatedPositions = positionCount;
+        closedSize = values.size();
+
+        fillToTheEnd(endIndex);
+        lastFinalIndex = endIndex;
+        lastSeriesEndIndex = seriesEndIndex;
     }
 
     /**
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.Objects;
+
+import org.ta4j.core.criteria.ExpectedShortfallCriterion;
+import org.ta4j.core.criteria.ValueAtRiskCriterion;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Approximate, incrementally updated Value at Risk and Expected Shortfall of a
+ * stream of returns.
+ *
+ * <p>
+ * Unlike {@link ValueAtRiskCriterion} and {@link ExpectedShortfallCriterion},
+ * which select the tail of the complete return series, this estimator keeps
+ * {@code O(1)} state and can be updated with every new return during a backtest
+ * or live session (e.g. to stop a strategy once its tail risk exceeds a limit):
+ *
+ * <ul>
+ * <li>the VaR is the {@code (1 - confidence)}-quantile estimated with a
+ * {@link P2QuantileEstimator}
+ * <li>the ES is the mean of the quantile function over the tail, approximated
+ * by averaging {@link #TAIL_QUANTILES} P&sup2; estimators at the midpoints of
+ * equally sized slices of {@code [0, 1 - confidence]}
+ * </ul>
+ *
+ * <p>
+ * Both values are non-positive, like their exact counterparts. This class is
+ * not thread-safe.
+ */
+public class StreamingTailRiskEstimator {
+
+    /** The number of quantiles used to approximate the Expected Shortfall. */
+    public static final int TAIL_QUANTILES = 8;
+
+    private final NumFactory numFactory;
+
+    /** Confidence level as absolute value (e.g. 0.95). */
+    private final double confidence;
+
+    /** The estimator of the {@code (1 - confidence)}-quantile. */
+    private final P2QuantileEstimator valueAtRisk;
+
+    /** The estimators of the quantiles within the tail. */
+    private final P2QuantileEstimator[] tail = new P2QuantileEstimator[TAIL_QUANTILES];
+
+    /**
+     * Constructor.
+     *
+     * @param numFactory the factory of the returned values
+     * @param confidence the confidence level within [0, 1) (e.g. 0.95)
+     * @throws IllegalArgumentException if {@code confidence} is not within [0, 1)
+     */
+    public StreamingTailRiskEstimator(NumFactory numFactory, double confidence) {
+        if (!(confidence >= 0 && confidence < 1)) {
+            throw new IllegalArgumentException("Confidence must be within [0, 1)");
+        }
+        this.numFactory = Objects.requireNonNull(numFactory, "numFactory must not be null");
+        this.confidence = confidence;
+        double alpha = 1 - confidence;
+        this.valueAtRisk = new P2QuantileEstimator(alpha);
+        for (int i = 0; i < TAIL_QUANTILES; i++) {
+            tail[i] = new P2QuantileEstimator(alpha * (i + 0.5) / TAIL_QUANTILES);
+        }
+    }
+
+    /**
+     * Adds a return.
+     *
+     * @param value the return (NaN values are ignored)
+     */
+    public void add(Num value) {
+        if (!value.isNaN()) {
+            add(value.doubleValue());
+        }
+    }
+
+    /**
+     * Adds a return.
+     *
+     * @param value the return (NaN values are ignored)
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        valueAtRisk.add(value);
+        for (P2QuantileEstimator estimator : tail) {
+            estimator.add(value);
+        }
+    }
+
+    /**
+     * Adds all return rates of {@code returns} (i.e. from index 1 to
+     * {@link Returns#getSize()}).
+     *
+     * @param returns the returns
+     */
+    public void addAll(Returns returns) {
+        for (int i = 1; i <= returns.getSize(); i++) {
+            add(returns.getValue(i));
+        }
+    }
+
+    /**
+     * @return the estimated (non-positive) Value at Risk, zero if there are no
+     *         returns yet
+     */
+    public Num getValueAtRisk() {
+        if (getCount() == 0) {
+            return numFactory.zero();
+        }
+        return numFactory.numOf(Math.min(valueAtRisk.getQuantile(), 0));
+    }
+
+    /**
+     * @return the estimated (non-positive) Expected Shortfall, zero if there are no
+     *         returns yet
+     */
+    public Num getExpectedShortfall() {
+        if (getCount() == 0) {
+            return numFactory.zero();
+        }
+        double sum = 0;
+        for (P2QuantileEstimator estimator : tail) {
+            sum += estimator.getQuantile();
+        }
+        return numFactory.numOf(Math.min(sum / TAIL_QUANTILES, 0));
+    }
+
+    /** @return {@link #confidence} */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /** @return the number of returns added */
+    public long getCount() {
+        return valueAtRisk.getCount();
+    }
+
+    /**
+     * Removes all returns.
+     */
+    public void reset() {
+        valueAtRisk.reset();
+        for (P2QuantileEstimator estimator : tail) {
+            estimator.reset();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis.montecarlo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.num.Num;
+
+/**
+ * The distribution of an {@link AnalysisCriterion criterion} over all
+ * iterations of a {@link MonteCarloSimulation}.
+ */
+public class MonteCarloDistribution {
+
+    /** The evaluated criterion. */
+    private final AnalysisCriterion criterion;
+
+    /** The criterion values of all iterations (sorted in ascending order). */
+    private final Num[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param criterion the evaluated criterion
+     * @param values    the criterion values of all iterations (not empty)
+     * @throws IllegalArgumentException if {@code values} is empty
+     */
+    public MonteCarloDistribution(AnalysisCriterion criterion, Num[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Distribution must contain at least one value");
+        }
+        this.criterion = criterion;
+        this.values = Arrays.copyOf(values, values.length);
+        Arrays.sort(this.values);
+    }
+
+    /** @return {@link #criterion} */
+    public AnalysisCriterion getCriterion() {
+        return criterion;
+    }
+
+    /**
+     * @return the criterion values of all iterations (sorted in ascending order)
+     */
+    public List<Num> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * @return the number of iterations
+     */
+    public int getSize() {
+        return values.length;
+    }
+
+    /**
+     * @return the lowest criterion value
+     */
+    public Num getMin() {
+        return values[0];
+    }
+
+    /**
+     * @return the highest criterion value
+     */
+    public Num getMax() {
+        return values[values.length - 1];
+    }
+
+    /**
+     * @return the median of the criterion values
+     */
+    public Num getMedian() {
+        return getPercentile(50);
+    }
+
+    /**
+     * @return the arithmetic mean of the criterion values
+     */
+    public Num getMean() {
+        Num sum = values[0].getNumFactory().zero();
+        for (Num value : values) {
+            sum = sum.plus(value);
+        }
+        return sum.dividedBy(sum.getNumFactory().numOf(values.length));
+    }
+
+    /**
+     * Returns the percentile of the criterion values using the nearest-rank method.
+     *
+     * @param percentile the percentile within [0, 100] (e.g. 5 for the 5th
+     *                   percentile)
+     * @return the smallest criterion value such that at least {@code percentile}
+     *         percent of all values are less than or equal to it
+     * @throws IllegalArgumentException if {@code percentile} is not within [0, 100]
+     */
+    public Num getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be within [0, 100]");
+        }
+        int rank = (int) Math.ceil(percentile / 100 * values.length);
+        return values[Math.max(rank - 1, 0)];
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloDistribution{" + "criterion=" + criterion + ", size=" + values.length + ", min=" + getMin()
+                + ", median=" + getMedian() + ", max=" + getMax() + '}';
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis.montecarlo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.Returns;
+import org.ta4j.core.analysis.cost.CostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * A Monte Carlo simulation to measure the robustness of a backtest.
+ *
+ * <p>
+ * The simulation takes the closed {@link Position positions} of a
+ * {@link TradingRecord} (or the per-bar rates of a {@link Returns} series) as
+ * samples, draws {@link #iterations} new sample sequences according to a
+ * {@link ResamplingMethod} and evaluates any number of {@link AnalysisCriterion
+ * criteria} on each of them. The result is a {@link MonteCarloDistribution
+ * distribution} per criterion, e.g. of the
+ * {@link org.ta4j.core.criteria.MaximumDrawdownCriterion maximum drawdown}.
+ *
+ * <p>
+ * Each resampled sequence is recorded as consecutive one-bar positions (the
+ * k-th sample enters at index {@code k} and exits at index {@code k + 1}) on a
+ * single synthetic bar series that is built only once. Thus, no
+ * {@link BarSeries} has to be rebuilt per iteration. As a consequence, criteria
+ * which depend on the bar prices or on the duration of a position (e.g. holding
+ * costs) are only approximated.
+ *
+ * <p>
+ * Iterations are executed in parallel. Every iteration uses its own
+ * {@link SplittableRandom} stream that is split from a root generator created
+ * with {@link #seed}. The results are therefore reproducible and independent of
+ * the number of workers.
+ */
+public class MonteCarloSimulation {
+
+    /** The synthetic bar series on which the resampled records are evaluated. */
+    private final BarSeries series;
+
+    /** The entry types of the samples. */
+    private final TradeType[] entryTypes;
+
+    /** The entry prices of the samples. */
+    private final Num[] entryPrices;
+
+    /** The exit prices of the samples. */
+    private final Num[] exitPrices;
+
+    /** The amounts of the samples. */
+    private final Num[] amounts;
+
+    /** The cost model for transactions of the asset. */
+    private final CostModel transactionCostModel;
+
+    /** The cost model for holding the asset (e.g. borrowing). */
+    private final CostModel holdingCostModel;
+
+    /** The resampling method. */
+    private final ResamplingMethod method;
+
+    /** The block length for {@link ResamplingMethod#BLOCK_BOOTSTRAP}. */
+    private final int blockSize;
+
+    /**
+     * The maximum adverse slippage applied to the entry price as fraction (e.g.
+     * 0.001 for 0.1%).
+     */
+    private final double maxEntrySlippage;
+
+    /** The number of iterations. */
+    private final int iterations;
+
+    /** The seed of the root random generator. */
+    private final long seed;
+
+    /**
+     * Constructor without entry slippage and with a block length of
+     * {@code √(number of positions)}.
+     *
+     * @param series        the bar series of the trading record
+     * @param tradingRecord the trading record whose closed positions are resampled
+     * @param method        the resampling method
+     * @param iterations    the number of iterations
+     * @param seed          the seed of the root random generator
+     */
+    public MonteCarloSimulation(BarSeries series, TradingRecord tradingRecord, ResamplingMethod method, int iterations,
+            long seed) {
+        this(series, tradingRecord, method, defaultBlockSize(tradingRecord.getPositionCount()), 0, iterations, seed);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series           the bar series of the trading record
+     * @param tradingRecord    the trading record whose closed positions are
+     *                         resampled
+     * @param method           the resampling method
+     * @param blockSize        the block length (only used for
+     *                         {@link ResamplingMethod#BLOCK_BOOTSTRAP})
+     * @param maxEntrySlippage the maximum adverse slippage applied to the entry
+     *                         price as fraction (e.g. 0.001 for 0.1%); the actual
+     *                         slippage is drawn uniformly from
+     *                         {@code [0, maxEntrySlippage)}
+     * @param iterations       the number of iterations
+     * @param seed             the seed of the root random generator
+     * @throws IllegalArgumentException if {@code blockSize} or {@code iterations}
+     *                                  is less than 1, or if
+     *                                  {@code maxEntrySlippage} is negative
+     */
+    public MonteCarloSimulation(BarSeries series, TradingRecord tradingRecord, ResamplingMethod method, int blockSize,
+            double maxEntrySlippage, int iterations, long seed) {
+        this(series.numFactory(), tradingRecord.getPositionCount(), tradingRecord.getTransactionCostModel(),
+                tradingRecord.getHoldingCostModel(), method, blockSize, maxEntrySlippage, iterations, seed);
+        NumFactory numFactory = series.numFactory();
+        List<Position> positions = tradingRecord.getPositions();
+        for (int i = 0; i < positions.size(); i++) {
+            Position position = positions.get(i);
+            Trade entry = position.getEntry();
+            entryTypes[i] = entry.getType();
+            entryPrices[i] = entry.getPricePerAsset(series);
+            exitPrices[i] = position.getExit().getPricePerAsset(series);
+            amounts[i] = entry.getAmount().isNaN() ? numFactory.one() : entry.getAmount();
+        }
+    }
+
+    /**
+     * Constructor to resample the per-bar rates of a {@link Returns} series.
+     *
+     * <p>
+     * Each rate is recorded as a one-bar long position whose exit price is the
+     * growth factor of the rate. The trading costs are already included in the
+     * rates.
+     *
+     * @param returns    the returns whose rates are resampled
+     * @param method     the resampling method
+     * @param blockSize  the block length (only used for
+     *                   {@link ResamplingMethod#BLOCK_BOOTSTRAP})
+     * @param iterations the number of iterations
+     * @param seed       the seed of the root random generator
+     * @throws IllegalArgumentException if {@code blockSize} or {@code iterations}
+     *                                  is less than 1
+     */
+    public MonteCarloSimulation(Returns returns, ResamplingMethod method, int blockSize, int iterations, long seed) {
+        this(returns.getBarSeries().numFactory(), returns.getSize(), new ZeroCostModel(), new ZeroCostModel(), method,
+                blockSize, 0, iterations, seed);
+        NumFactory numFactory = returns.getBarSeries().numFactory();
+        for (int i = 0; i < entryTypes.length; i++) {
+            // index 0 of the returns has no rate
+            Num rate = returns.getValue(i + 1);
+            entryTypes[i] = TradeType.BUY;
+            entryPrices[i] = numFactory.one();
+            exitPrices[i] = returns.getType() == Returns.ReturnType.LOG ? numFactory.numOf(Math.exp(rate.doubleValue()))
+                    : numFactory.one().plus(rate);
+            amounts[i] = numFactory.one();
+        }
+    }
+
+    private MonteCarloSimulation(NumFactory numFactory, int sampleCount, CostModel transactionCostModel,
+            CostModel holdingCostModel, ResamplingMethod method, int blockSize, double maxEntrySlippage, int iterations,
+            long seed) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be strictly positive");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Number of iterations must be strictly positive");
+        }
+        if (maxEntrySlippage < 0) {
+            throw new IllegalArgumentException("Entry slippage must not be negative");
+        }
+        this.method = Objects.requireNonNull(method, "Resampling method must not be null");
+        this.transactionCostModel = transactionCostModel;
+        this.holdingCostModel = holdingCostModel;
+        this.blockSize = blockSize;
+        this.maxEntrySlippage = maxEntrySlippage;
+        this.iterations = iterations;
+        this.seed = seed;
+        this.entryTypes = new TradeType[sampleCount];
+        this.entryPrices = new Num[sampleCount];
+        this.exitPrices = new Num[sampleCount];
+        this.amounts = new Num[sampleCount];
+        this.series = createSeries(numFactory, sampleCount + 1);
+    }
+
+    /**
+     * @return the synthetic bar series on which the resampled trading records are
+     *         evaluated
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * @return the number of samples (i.e. positions or rates)
+     */
+    public int getSampleCount() {
+        return entryTypes.length;
+    }
+
+    /**
+     * Runs the simulation for a single criterion.
+     *
+     * @param criterion the criterion to evaluate in each iteration
+     * @return the distribution of the criterion
+     */
+    public MonteCarloDistribution run(AnalysisCriterion criterion) {
+        return run(List.of(criterion)).get(0);
+    }
+
+    /**
+     * Runs the simulation. All criteria are evaluated on the same resampled trading
+     * record per iteration.
+     *
+     * @param criteria the criteria to evaluate in each iteration
+     * @return the distributions of the criteria (in the order of {@code criteria})
+     */
+    public List<MonteCarloDistribution> run(List<AnalysisCriterion> criteria) {
+        // split the streams upfront, so that every iteration gets the same stream
+        // regardless of the worker that executes it
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[iterations];
+        for (int i = 0; i < iterations; i++) {
+            streams[i] = root.split();
+        }
+
+        Num[][] values = new Num[criteria.size()][iterations];
+        IntStream.range(0, iterations).parallel().forEach(i -> {
+            TradingRecord resampledRecord = resample(streams[i]);
+            for (int c = 0; c < criteria.size(); c++) {
+                values[c][i] = criteria.get(c).calculate(series, resampledRecord);
+            }
+        });
+
+        List<MonteCarloDistribution> distributions = new ArrayList<>(criteria.size());
+        for (int c = 0; c < criteria.size(); c++) {
+            distributions.add(new MonteCarloDistribution(criteria.get(c), values[c]));
+        }
+        return distributions;
+    }
+
+    /**
+     * Draws a new sample sequence and records it as consecutive one-bar positions
+     * on {@link #getBarSeries()}.
+     *
+     * @param random the random generator
+     * @return the resampled trading record
+     */
+    public TradingRecord resample(SplittableRandom random) {
+        int sampleCount = entryTypes.length;
+        if (sampleCount == 0) {
+            return new BaseTradingRecord(TradeType.BUY, transactionCostModel, holdingCostModel);
+        }
+        NumFactory numFactory = series.numFactory();
+        int[] order = drawOrder(random, sampleCount);
+        Trade[] trades = new Trade[2 * sampleCount];
+        for (int k = 0; k < sampleCount; k++) {
+            int sample = order[k];
+            boolean isBuy = entryTypes[sample] == TradeType.BUY;
+            Num entryPrice = entryPrices[sample];
+            if (maxEntrySlippage > 0) {
+                // slippage is always adverse: pay more on BUY, receive less on SELL
+                double slippage = random.nextDouble() * maxEntrySlippage;
+                entryPrice = entryPrice.multipliedBy(numFactory.numOf(isBuy ? 1 + slippage : 1 - slippage));
+            }
+            Num amount = amounts[sample];
+            trades[2 * k] = isBuy ? Trade.buyAt(k, entryPrice, amount) : Trade.sellAt(k, entryPrice, amount);
+            trades[2 * k + 1] = isBuy ? Trade.sellAt(k + 1, exitPrices[sample], amount)
+                    : Trade.buyAt(k + 1, exitPrices[sample], amount);
+        }
+        return new BaseTradingRecord(transactionCostModel, holdingCostModel, trades);
+    }
+
+    /**
+     * @param random      the random generator
+     * @param sampleCount the number of samples
+     * @return the indices of the drawn samples
+     */
+    private int[] drawOrder(SplittableRandom random, int sampleCount) {
+        int[] order = new int[sampleCount];
+        switch (method) {
+        case SHUFFLE:
+            // Fisher-Yates shuffle
+            for (int i = 0; i < sampleCount; i++) {
+                order[i] = i;
+            }
+            for (int i = sampleCount - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            break;
+        case BOOTSTRAP:
+            for (int i = 0; i < sampleCount; i++) {
+                order[i] = random.nextInt(sampleCount);
+            }
+            break;
+        case BLOCK_BOOTSTRAP:
+            int k = 0;
+            while (k < sampleCount) {
+                int start = random.nextInt(sampleCount);
+                for (int j = 0; j < blockSize && k < sampleCount; j++) {
+                    order[k++] = (start + j) % sampleCount;
+                }
+            }
+            break;
+        default:
+            throw new IllegalStateException("Unsupported resampling method: " + method);
+        }
+        return order;
+    }
+
+    /**
+     * @param sampleCount the number of samples
+     * @return the default block length {@code √(sampleCount)} (at least 1)
+     */
+    private static int defaultBlockSize(int sampleCount) {
+        return Math.max(1, (int) Math.round(Math.sqrt(sampleCount)));
+    }
+
+    /**
+     * @param numFactory the num factory
+     * @param barCount   the number of bars
+     * @return a bar series with {@code barCount} neutral daily bars
+     */
+    private static BarSeries createSeries(NumFactory numFactory, int barCount) {
+        BarSeries series = new BaseBarSeriesBuilder().withName("MonteCarloSimulation")
+                .withNumFactory(numFactory)
+                .build();
+        Duration timePeriod = Duration.ofDays(1);
+        for (int i = 0; i < barCount; i++) {
+            series.barBuilder()
+                    .timePeriod(timePeriod)
+                    .endTime(Instant.EPOCH.plus(timePeriod.multipliedBy(i + 1L)))
+                    .openPrice(1)
+                    .highPrice(1)
+                    .lowPrice(1)
+                    .closePrice(1)
+                    .volume(0)
+                    .add();
+        }
+        return series;
+    }
+}
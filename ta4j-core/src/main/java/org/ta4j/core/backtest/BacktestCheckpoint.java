@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.RecursiveCachedIndicator;
+
+/**
+ * Periodically saves the state of a {@link BarSeriesManager} run to a file, so
+ * that an interrupted run can be resumed instead of being started again.
+ *
+ * <p>
+ * A checkpoint contains the trades of the {@link TradingRecord}, the index of
+ * the next bar to evaluate and the cached results of the given indicators.
+ * Restoring the caches avoids recalculating the indicators from the first bar,
+ * which matters most for {@link RecursiveCachedIndicator recursive indicators}
+ * with a long warm-up (e.g. EMA chains). Indicators without restored cache are
+ * recalculated on demand.
+ *
+ * <p>
+ * The indicators must be the ones of the strategy of the run, built in the same
+ * order when the run is resumed. The checkpoint file is written atomically and
+ * deleted when the run is complete.
+ */
+public class BacktestCheckpoint {
+
+    /** The kind of checkpoint written by this class. */
+    static final byte KIND_RUN = 1;
+
+    /** The checkpoint file. */
+    private final Path file;
+
+    /** The number of bars between two checkpoints. */
+    private final int interval;
+
+    /** The indicators whose caches are saved. */
+    private final List<CachedIndicator<?>> indicators;
+
+    /**
+     * Constructor.
+     *
+     * @param file       the checkpoint file
+     * @param interval   the number of bars between two checkpoints
+     * @param indicators the indicators (of the strategy) whose caches are saved
+     * @throws IllegalArgumentException if {@code interval} is not positive
+     */
+    public BacktestCheckpoint(Path file, int interval, List<? extends CachedIndicator<?>> indicators) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.file = Objects.requireNonNull(file, "file must not be null");
+        this.interval = interval;
+        this.indicators = new ArrayList<>(indicators);
+    }
+
+    /** @return {@link #file} */
+    public Path getFile() {
+        return file;
+    }
+
+    /** @return {@link #interval} */
+    public int getInterval() {
+        return interval;
+    }
+
+    /** @return true if a checkpoint has been saved (and not deleted yet) */
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Saves a checkpoint.
+     *
+     * @param strategyName  the name of the strategy of the run
+     * @param tradingRecord the trading record of the run
+     * @param nextIndex     the index of the next bar to evaluate
+     * @throws UncheckedIOException if the checkpoint cannot be written
+     */
+    public void save(String strategyName, TradingRecord tradingRecord, int nextIndex) {
+        write(file, out -> {
+            CheckpointCodec.writeHeader(out, KIND_RUN);
+            out.writeUTF(String.valueOf(strategyName));
+            out.writeInt(nextIndex);
+            CheckpointCodec.writeTradingRecord(out, tradingRecord);
+            out.writeInt(indicators.size());
+            for (CachedIndicator<?> indicator : indicators) {
+                List<?> results = indicator.getCachedResults();
+                out.writeInt(indicator.getHighestResultIndex());
+                out.writeInt(results.size());
+                for (Object result : results) {
+                    CheckpointCodec.writeValue(out, result);
+                }
+            }
+        });
+    }
+
+    /**
+     * Restores a saved checkpoint (if any): places the saved trades in the trading
+     * record and restores the caches of the indicators.
+     *
+     * @param strategyName  the name of the strategy of the run
+     * @param tradingRecord the new (empty) trading record of the run
+     * @return the index of the next bar to evaluate, or -1 if there is no
+     *         checkpoint
+     * @throws IllegalStateException if the checkpoint belongs to another run
+     * @throws UncheckedIOException  if the checkpoint cannot be read
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public int restore(String strategyName, TradingRecord tradingRecord) {
+        if (!exists()) {
+            return -1;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CheckpointCodec.readHeader(in, KIND_RUN);
+            String savedStrategyName = in.readUTF();
+            int nextIndex = in.readInt();
+            int startingType = in.readByte();
+            int startIndex = in.readInt();
+            int endIndex = in.readInt();
+            if (!savedStrategyName.equals(String.valueOf(strategyName))
+                    || startingType != tradingRecord.getStartingType().ordinal()
+                    || startIndex != indexOf(tradingRecord.getStartIndex())
+                    || endIndex != indexOf(tradingRecord.getEndIndex())) {
+                throw new IllegalStateException("Checkpoint " + file + " belongs to another run: " + savedStrategyName
+                        + " (indexes: " + startIndex + " -> " + endIndex + ")");
+            }
+            CheckpointCodec.readTrades(in, tradingRecord);
+            int indicatorCount = in.readInt();
+            if (indicatorCount != indicators.size()) {
+                throw new IllegalStateException("Checkpoint " + file + " contains " + indicatorCount
+                        + " indicators instead of " + indicators.size());
+            }
+            for (CachedIndicator indicator : indicators) {
+                int highestResultIndex = in.readInt();
+                int size = in.readInt();
+                List<Object> results = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    results.add(CheckpointCodec.readValue(in));
+                }
+                indicator.restoreCachedResults(highestResultIndex, results);
+            }
+            return nextIndex;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint file.
+     *
+     * @throws UncheckedIOException if the checkpoint cannot be deleted
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to delete checkpoint " + file, e);
+        }
+    }
+
+    private static int indexOf(Integer index) {
+        return index == null ? -1 : index;
+    }
+
+    /** Writes the content of a checkpoint. */
+    @FunctionalInterface
+    interface CheckpointWriter {
+
+        /**
+         * @param out the output
+         * @throws IOException if the content cannot be written
+         */
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes a checkpoint to a temporary file and moves it to the checkpoint file,
+     * so that an interruption never leaves a corrupt checkpoint behind.
+     *
+     * @param file   the checkpoint file
+     * @param writer writes the content
+     * @throws UncheckedIOException if the checkpoint cannot be written
+     */
+    static void write(Path file, CheckpointWriter writer) {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                writer.write(out);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write checkpoint " + file, e);
+        }
+    }
+}
@@ -23,16 +23,27 @@
  */
 package org.ta4j.core.backtest;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.analysis.cost.CostModel;
 import org.ta4j.core.analysis.cost.ZeroCostModel;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.reports.MetricsReportGenerator;
+import org.ta4j.core.reports.ReportGenerator;
 import org.ta4j.core.reports.TradingStatement;
 import org.ta4j.core.reports.TradingStatementGenerator;
 
@@ -42,6 +53,9 @@ import org.ta4j.core.reports.TradingStatementGenerator;
  */
 public class BacktestExecutor {
 
+    /** The kind of the checkpoints of a batch. */
+    private static final byte KIND_BATCH = 2;
+
     private final BarSeriesManager seriesManager;
     private final TradingStatementGenerator tradingStatementGenerator;
 
@@ -114,4 +128,127 @@ public class BacktestExecutor {
             return tradingStatementGenerator.generate(strategy, tradingRecord, seriesManager.getBarSeries());
         }).collect(Collectors.toList());
     }
+
+    /**
+     * Executes given strategies with specified trade type to open the position and
+     * returns the reports of the given generator (e.g. a
+     * {@link MetricsReportGenerator}).
+     *
+     * @param <T>             the type of the reports
+     * @param strategies      the strategies
+     * @param amount          the amount used to open/close the position
+     * @param tradeType       the {@link Trade.TradeType} used to open the position
+     * @param reportGenerator the report generator
+     * @return a list of reports (in the order of the strategies)
+     */
+    public <T> List<T> execute(List<Strategy> strategies, Num amount, Trade.TradeType tradeType,
+            ReportGenerator<T> reportGenerator) {
+        return strategies.parallelStream().map(strategy -> {
+            TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount);
+            return reportGenerator.generate(strategy, new AnalysisContext(seriesManager.getBarSeries(), tradingRecord));
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Executes given strategies with specified trade type to open the position and
+     * returns the trading statements. The trading records of the completed
+     * strategies are saved to {@code checkpointFile} every
+     * {@code checkpointInterval} strategies. If the checkpoint file exists (e.g.
+     * from an interrupted batch), the strategies completed before are not run
+     * again. The checkpoint file is deleted when all strategies are complete.
+     *
+     * @param strategies         the strategies (in the same order when resumed)
+     * @param amount             the amount used to open/close the position
+     * @param tradeType          the {@link Trade.TradeType} used to open the
+     *                           position
+     * @param checkpointFile     the checkpoint file
+     * @param checkpointInterval the number of strategies between two checkpoints
+     * @return a list of TradingStatements
+     * @throws IllegalArgumentException if {@code checkpointInterval} is not
+     *                                  positive
+     * @throws IllegalStateException    if the checkpoint belongs to other
+     *                                  strategies
+     * @throws UncheckedIOException     if the checkpoint cannot be read or written
+     */
+    public List<TradingStatement> execute(List<Strategy> strategies, Num amount, Trade.TradeType tradeType,
+            Path checkpointFile, int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        List<TradingRecord> tradingRecords = restoreBatch(checkpointFile, strategies);
+        while (tradingRecords.size() < strategies.size()) {
+            int from = tradingRecords.size();
+            int to = Math.min(from + checkpointInterval, strategies.size());
+            tradingRecords.addAll(strategies.subList(from, to)
+                    .parallelStream()
+                    .map(strategy -> seriesManager.run(strategy, tradeType, amount))
+                    .collect(Collectors.toList()));
+            if (to < strategies.size()) {
+                saveBatch(checkpointFile, strategies, tradingRecords);
+            }
+        }
+        List<TradingStatement> tradingStatements = IntStream.range(0, strategies.size())
+                .parallel()
+                .mapToObj(i -> tradingStatementGenerator.generate(strategies.get(i), tradingRecords.get(i),
+                        seriesManager.getBarSeries()))
+                .collect(Collectors.toList());
+        try {
+            Files.deleteIfExists(checkpointFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to delete checkpoint " + checkpointFile, e);
+        }
+        return tradingStatements;
+    }
+
+    /**
+     * Saves the trading records of the completed strategies.
+     *
+     * @param file           the checkpoint file
+     * @param strategies     the strategies
+     * @param tradingRecords the trading records of the first strategies
+     */
+    private static void saveBatch(Path file, List<Strategy> strategies, List<TradingRecord> tradingRecords) {
+        BacktestCheckpoint.write(file, out -> {
+            CheckpointCodec.writeHeader(out, KIND_BATCH);
+            out.writeInt(tradingRecords.size());
+            for (int i = 0; i < tradingRecords.size(); i++) {
+                out.writeUTF(String.valueOf(strategies.get(i).getName()));
+                CheckpointCodec.writeTradingRecord(out, tradingRecords.get(i));
+            }
+        });
+    }
+
+    /**
+     * Restores the trading records of the completed strategies.
+     *
+     * @param file       the checkpoint file
+     * @param strategies the strategies
+     * @return the trading records of the completed strategies (empty if there is no
+     *         checkpoint)
+     */
+    private List<TradingRecord> restoreBatch(Path file, List<Strategy> strategies) {
+        List<TradingRecord> tradingRecords = new ArrayList<>(strategies.size());
+        if (!Files.exists(file)) {
+            return tradingRecords;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CheckpointCodec.readHeader(in, KIND_BATCH);
+            int count = in.readInt();
+            if (count > strategies.size()) {
+                throw new IllegalStateException("Checkpoint " + file + " contains more strategies than the batch");
+            }
+            for (int i = 0; i < count; i++) {
+                String strategyName = in.readUTF();
+                if (!strategyName.equals(String.valueOf(strategies.get(i).getName()))) {
+                    throw new IllegalStateException(
+                            "Checkpoint " + file + " belongs to other strategies: " + strategyName);
+                }
+                tradingRecords.add(CheckpointCodec.readTradingRecord(in, seriesManager.getTransactionCostModel(),
+                        seriesManager.getHoldingCostModel()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read checkpoint " + file, e);
+        }
+        return tradingRecords;
+    }
 }
@@ -203,6 +203,26 @@ public class BarSeriesManager {
      * @return the trading record coming from the run
      */
     public TradingRecord run(Strategy strategy, TradeType tradeType, Num amount, int startIndex, int finishIndex) {
+        return run(strategy, tradeType, amount, startIndex, finishIndex, null);
+    }
+
+    /**
+     * Runs the provided strategy over the managed series (from startIndex to
+     * finishIndex) and saves a checkpoint every
+     * {@link BacktestCheckpoint#getInterval()} bars. If a checkpoint of a previous
+     * (interrupted) run exists, the run is resumed from it. The checkpoint is
+     * deleted when the run is complete.
+     *
+     * @param strategy    the trading strategy
+     * @param tradeType   the {@link TradeType} used to open the trades
+     * @param amount      the amount used to open/close the trades
+     * @param startIndex  the start index for the run (included)
+     * @param finishIndex the finish index for the run (included)
+     * @param checkpoint  the checkpoint (or null for no checkpoints)
+     * @return the trading record coming from the run
+     */
+    public TradingRecord run(Strategy strategy, TradeType tradeType, Num amount, int startIndex, int finishIndex,
+            BacktestCheckpoint checkpoint) {
 
         int runBeginIndex = Math.max(startIndex, barSeries.getBeginIndex());
         int runEndIndex = Math.min(finishIndex, barSeries.getEndIndex());
@@ -215,11 +235,24 @@ public class BarSeriesManager {
         TradingRecord tradingRecord = new BaseTradingRecord(tradeType, runBeginIndex, runEndIndex, transactionCostModel,
                 holdingCostModel);
 
-        for (int i = runBeginIndex; i <= runEndIndex; i++) {
+        int resumeIndex = runBeginIndex;
+        if (checkpoint != null) {
+            int nextIndex = checkpoint.restore(strategy.getName(), tradingRecord);
+            if (nextIndex >= 0) {
+                log.debug("Resuming strategy {} at index {} from {}", strategy.getName(), nextIndex,
+                        checkpoint.getFile());
+                resumeIndex = nextIndex;
+            }
+        }
+
+        for (int i = resumeIndex; i <= runEndIndex; i++) {
             // For each bar between both indexes...
             if (strategy.shouldOperate(i, tradingRecord)) {
                 tradeExecutionModel.execute(i, tradingRecord, barSeries, amount);
             }
+            if (checkpoint != null && i < runEndIndex && (i + 1 - runBeginIndex) % checkpoint.getInterval() == 0) {
+                checkpoint.save(strategy.getName(), tradingRecord, i + 1);
+            }
         }
 
         if (!tradingRecord.isClosed() && runEndIndex == barSeries.getEndIndex()) {
@@ -236,6 +269,9 @@ public class BarSeriesManager {
                 }
             }
         }
+        if (checkpoint != null) {
+            checkpoint.delete();
+        }
         return tradingRecord;
     }
 
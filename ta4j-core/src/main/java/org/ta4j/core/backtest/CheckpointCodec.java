@@ -0,0 +1,243 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.CostModel;
+import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * Reads and writes the values of checkpoints in a compact binary format.
+ */
+final class CheckpointCodec {
+
+    /** The first bytes of a checkpoint file ("TA4J"). */
+    static final int MAGIC = 0x5441344A;
+
+    /** The version of the checkpoint format. */
+    static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte NAN = 1;
+    private static final byte DOUBLE_NUM = 2;
+    private static final byte DECIMAL_NUM = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+
+    private CheckpointCodec() {
+    }
+
+    /**
+     * Writes the header of a checkpoint.
+     *
+     * @param out  the output
+     * @param kind the kind of checkpoint
+     * @throws IOException if the header cannot be written
+     */
+    static void writeHeader(DataOutputStream out, byte kind) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(kind);
+    }
+
+    /**
+     * Reads and checks the header of a checkpoint.
+     *
+     * @param in   the input
+     * @param kind the expected kind of checkpoint
+     * @throws IOException           if the header cannot be read
+     * @throws IllegalStateException if the input is not a checkpoint of the
+     *                               expected kind and version
+     */
+    static void readHeader(DataInputStream in, byte kind) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readByte() != kind) {
+            throw new IllegalStateException("Unsupported checkpoint format");
+        }
+    }
+
+    /**
+     * Writes a cached indicator value.
+     *
+     * @param out   the output
+     * @param value the value ({@link Num}, {@link Boolean} or null)
+     * @throws IOException              if the value cannot be written
+     * @throws IllegalArgumentException if the type of the value is not supported
+     */
+    static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Num) {
+            writeNum(out, (Num) value);
+        } else {
+            throw new IllegalArgumentException("Cannot checkpoint value of type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * @param in the input
+     * @return the value written by {@link #writeValue(DataOutputStream, Object)}
+     * @throws IOException if the value cannot be read
+     */
+    static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+        case NULL:
+            return null;
+        case TRUE:
+            return Boolean.TRUE;
+        case FALSE:
+            return Boolean.FALSE;
+        default:
+            return readNum(in, tag);
+        }
+    }
+
+    /**
+     * Writes a num.
+     *
+     * @param out the output
+     * @param num the num
+     * @throws IOException              if the num cannot be written
+     * @throws IllegalArgumentException if the type of the num is not supported
+     */
+    static void writeNum(DataOutputStream out, Num num) throws IOException {
+        if (num.isNaN()) {
+            out.writeByte(NAN);
+        } else if (num instanceof DoubleNum) {
+            out.writeByte(DOUBLE_NUM);
+            out.writeDouble(num.doubleValue());
+        } else if (num instanceof DecimalNum) {
+            DecimalNum decimal = (DecimalNum) num;
+            BigDecimal delegate = decimal.getDelegate();
+            byte[] unscaledValue = delegate.unscaledValue().toByteArray();
+            out.writeByte(DECIMAL_NUM);
+            out.writeInt(delegate.scale());
+            out.writeInt(decimal.getMathContext().getPrecision());
+            out.writeShort(unscaledValue.length);
+            out.write(unscaledValue);
+        } else {
+            throw new IllegalArgumentException("Cannot checkpoint num of type " + num.getClass().getName());
+        }
+    }
+
+    /**
+     * @param in the input
+     * @return the num written by {@link #writeNum(DataOutputStream, Num)}
+     * @throws IOException if the num cannot be read
+     */
+    static Num readNum(DataInputStream in) throws IOException {
+        return readNum(in, in.readByte());
+    }
+
+    private static Num readNum(DataInputStream in, byte tag) throws IOException {
+        switch (tag) {
+        case NAN:
+            return NaN.NaN;
+        case DOUBLE_NUM:
+            return DoubleNum.valueOf(in.readDouble());
+        case DECIMAL_NUM:
+            int scale = in.readInt();
+            int precision = in.readInt();
+            byte[] unscaledValue = new byte[in.readUnsignedShort()];
+            in.readFully(unscaledValue);
+            return DecimalNum.valueOf(new BigDecimal(new BigInteger(unscaledValue), scale), precision);
+        default:
+            throw new IllegalStateException("Unknown value tag in checkpoint: " + tag);
+        }
+    }
+
+    /**
+     * Writes the trades of a trading record (and its starting type and indexes).
+     *
+     * @param out           the output
+     * @param tradingRecord the trading record
+     * @throws IOException if the trading record cannot be written
+     */
+    static void writeTradingRecord(DataOutputStream out, TradingRecord tradingRecord) throws IOException {
+        out.writeByte(tradingRecord.getStartingType().ordinal());
+        out.writeInt(tradingRecord.getStartIndex() == null ? -1 : tradingRecord.getStartIndex());
+        out.writeInt(tradingRecord.getEndIndex() == null ? -1 : tradingRecord.getEndIndex());
+        var trades = tradingRecord.getTrades();
+        out.writeInt(trades.size());
+        for (Trade trade : trades) {
+            out.writeInt(trade.getIndex());
+            writeNum(out, trade.getPricePerAsset());
+            writeNum(out, trade.getAmount());
+        }
+    }
+
+    /**
+     * Reads a trading record and replays its trades.
+     *
+     * @param in                   the input
+     * @param transactionCostModel the cost model for transactions of the asset
+     * @param holdingCostModel     the cost model for holding the asset
+     * @return the trading record written by
+     *         {@link #writeTradingRecord(DataOutputStream, TradingRecord)}
+     * @throws IOException if the trading record cannot be read
+     */
+    static TradingRecord readTradingRecord(DataInputStream in, CostModel transactionCostModel,
+            CostModel holdingCostModel) throws IOException {
+        TradeType startingType = TradeType.values()[in.readByte()];
+        int startIndex = in.readInt();
+        int endIndex = in.readInt();
+        TradingRecord tradingRecord = new BaseTradingRecord(startingType, startIndex < 0 ? null : startIndex,
+                endIndex < 0 ? null : endIndex, transactionCostModel, holdingCostModel);
+        readTrades(in, tradingRecord);
+        return tradingRecord;
+    }
+
+    /**
+     * Reads the trades written by
+     * {@link #writeTradingRecord(DataOutputStream, TradingRecord)} (after the
+     * starting type and indexes) and places them in a trading record.
+     *
+     * @param in            the input
+     * @param tradingRecord the (empty) trading record
+     * @throws IOException if the trades cannot be read
+     */
+    static void readTrades(DataInputStream in, TradingRecord tradingRecord) throws IOException {
+        int tradeCount = in.readInt();
+        for (int i = 0; i < tradeCount; i++) {
+            int index = in.readInt();
+            Num price = readNum(in);
+            Num amount = readNum(in);
+            tradingRecord.operate(index, price, amount);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * An execution model for {@link BarSeriesManager} objects.
+ *
+ * Caps the amount of entry trades by a share of the volume of the signal bar
+ * (at index `t`) and delegates the execution to another
+ * {@link TradeExecutionModel}:
+ *
+ * <pre>
+ * filledAmount = min(amount, maxVolumeParticipation * volume)
+ * </pre>
+ *
+ * Exit trades always close the whole (possibly partially filled) position, i.e.
+ * they are executed with the amount of the entry trade. If the bar has no
+ * volume, no entry is placed.
+ */
+public class PartialFillModel implements TradeExecutionModel {
+
+    /** The model executing the (capped) trades. */
+    private final TradeExecutionModel tradeExecutionModel;
+
+    /**
+     * The maximum share of the bar volume that can be filled (e.g. 0.1 for 10%).
+     */
+    private final Number maxVolumeParticipation;
+
+    /** The {@link #maxVolumeParticipation} of the last used num factory. */
+    private transient Num maxVolumeParticipationNum;
+
+    /**
+     * Constructor with {@link #tradeExecutionModel} = {@link TradeOnNextOpenModel}.
+     *
+     * @param maxVolumeParticipation the maximum share of the bar volume that can be
+     *                               filled (e.g. 0.1 for 10%)
+     */
+    public PartialFillModel(Number maxVolumeParticipation) {
+        this(new TradeOnNextOpenModel(), maxVolumeParticipation);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tradeExecutionModel    the model executing the (capped) trades
+     * @param maxVolumeParticipation the maximum share of the bar volume that can be
+     *                               filled (e.g. 0.1 for 10%)
+     */
+    public PartialFillModel(TradeExecutionModel tradeExecutionModel, Number maxVolumeParticipation) {
+        this.tradeExecutionModel = tradeExecutionModel;
+        this.maxVolumeParticipation = maxVolumeParticipation;
+    }
+
+    @Override
+    public void execute(int index, TradingRecord tradingRecord, BarSeries barSeries, Num amount) {
+        Position currentPosition = tradingRecord.getCurrentPosition();
+        if (currentPosition.isOpened()) {
+            tradeExecutionModel.execute(index, tradingRecord, barSeries, currentPosition.getEntry().getAmount());
+            return;
+        }
+        Num volume = barSeries.getBar(index).getVolume();
+        if (amount.isNaN() || volume == null || volume.isNaN()) {
+            tradeExecutionModel.execute(index, tradingRecord, barSeries, amount);
+            return;
+        }
+        Num filledAmount = amount.min(volume.multipliedBy(getMaxVolumeParticipation(barSeries.numFactory())));
+        if (filledAmount.isPositive()) {
+            tradeExecutionModel.execute(index, tradingRecord, barSeries, filledAmount);
+        }
+    }
+
+    /**
+     * @param numFactory the num factory of the bar series
+     * @return the {@link #maxVolumeParticipation} as {@link Num}
+     */
+    private Num getMaxVolumeParticipation(NumFactory numFactory) {
+        Num participation = maxVolumeParticipationNum;
+        if (participation == null || !numFactory.produces(participation)) {
+            participation = numFactory.numOf(maxVolumeParticipation);
+            maxVolumeParticipationNum = participation;
+        }
+        return participation;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.ta4j.core.num.Num;
+
+/**
+ * An item (e.g. a strategy or a trading record) ranked by the values of one or
+ * more criteria.
+ *
+ * @param <T> the type of the ranked item
+ */
+public final class Ranked<T> {
+
+    /** The position of the item in the ranked input. */
+    private final int index;
+
+    /** The ranked item. */
+    private final T item;
+
+    /** The criterion values of the item. */
+    private final Num[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param index  the position of the item in the ranked input
+     * @param item   the ranked item
+     * @param values the criterion values of the item
+     */
+    public Ranked(int index, T item, Num... values) {
+        this.index = index;
+        this.item = item;
+        this.values = values;
+    }
+
+    /** @return {@link #index} */
+    public int getIndex() {
+        return index;
+    }
+
+    /** @return {@link #item} */
+    public T getItem() {
+        return item;
+    }
+
+    /** @return the value of the first criterion */
+    public Num getValue() {
+        return values[0];
+    }
+
+    /**
+     * @param criterionIndex the index of the criterion
+     * @return the value of the criterion
+     */
+    public Num getValue(int criterionIndex) {
+        return values[criterionIndex];
+    }
+
+    /** @return the criterion values of the item */
+    public List<Num> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public String toString() {
+        return "Ranked{" + "index=" + index + ", item=" + item + ", values=" + Arrays.toString(values) + '}';
+    }
+}
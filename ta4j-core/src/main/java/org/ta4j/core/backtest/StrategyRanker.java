@@ -0,0 +1,325 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
+import org.ta4j.core.num.Num;
+
+/**
+ * Ranks many strategies (or trading records) by one or more
+ * {@link AnalysisCriterion criteria} concurrently.
+ *
+ * <p>
+ * The strategies are run and scored in parallel. Only the criterion values of a
+ * strategy are kept, its trading record is discarded right after scoring, and
+ * only the best {@code k} strategies (bounded heap) or the strategies of the
+ * Pareto front are collected. Thus, even a large number of candidates can be
+ * ranked without holding all trading records in memory.
+ *
+ * <p>
+ * Criterion values are compared with {@link AnalysisCriterion#betterThan}; NaN
+ * values are worse than any other value. Ties are broken by the position in the
+ * input, so that the ranking is deterministic.
+ */
+public class StrategyRanker {
+
+    private final BarSeriesManager seriesManager;
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series
+     */
+    public StrategyRanker(BarSeries series) {
+        this(new BarSeriesManager(series));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seriesManager the bar series manager used to run the strategies
+     */
+    public StrategyRanker(BarSeriesManager seriesManager) {
+        this.seriesManager = Objects.requireNonNull(seriesManager, "seriesManager must not be null");
+    }
+
+    /**
+     * Runs the strategies with {@code tradeType} = BUY and returns the best
+     * {@code k} of them.
+     *
+     * @param strategies the strategies
+     * @param criterion  the criterion
+     * @param k          the maximum number of strategies to return
+     * @return the best {@code k} strategies, the best first (unmodifiable)
+     */
+    public List<Ranked<Strategy>> getTop(List<Strategy> strategies, AnalysisCriterion criterion, int k) {
+        return getTop(strategies, criterion, k, TradeType.BUY, seriesManager.getBarSeries().numFactory().one());
+    }
+
+    /**
+     * Runs the strategies and returns the best {@code k} of them.
+     *
+     * @param strategies the strategies
+     * @param criterion  the criterion
+     * @param k          the maximum number of strategies to return
+     * @param tradeType  the entry type of the first trade
+     * @param amount     the amount used to open/close the positions
+     * @return the best {@code k} strategies, the best first (unmodifiable)
+     */
+    public List<Ranked<Strategy>> getTop(List<Strategy> strategies, AnalysisCriterion criterion, int k,
+            TradeType tradeType, Num amount) {
+        Collector<Ranked<Strategy>, ?, List<Ranked<Strategy>>> collector = topK(criterion, k);
+        List<AnalysisCriterion> criteria = List.of(criterion);
+        return IntStream.range(0, strategies.size())
+                .parallel()
+                .mapToObj(i -> score(i, strategies.get(i), criteria, tradeType, amount))
+                .collect(collector);
+    }
+
+    /**
+     * Runs the strategies with {@code tradeType} = BUY and returns their Pareto
+     * front.
+     *
+     * @param strategies the strategies
+     * @param criteria   the criteria
+     * @return the strategies not dominated by any other strategy, in input order
+     *         (unmodifiable)
+     */
+    public List<Ranked<Strategy>> getParetoFront(List<Strategy> strategies, List<AnalysisCriterion> criteria) {
+        return getParetoFront(strategies, criteria, TradeType.BUY, seriesManager.getBarSeries().numFactory().one());
+    }
+
+    /**
+     * Runs the strategies and returns their Pareto front, i.e. the strategies for
+     * which no other strategy is at least as good for all criteria and better for
+     * at least one criterion.
+     *
+     * @param strategies the strategies
+     * @param criteria   the criteria
+     * @param tradeType  the entry type of the first trade
+     * @param amount     the amount used to open/close the positions
+     * @return the strategies not dominated by any other strategy, in input order
+     *         (unmodifiable)
+     */
+    public List<Ranked<Strategy>> getParetoFront(List<Strategy> strategies, List<AnalysisCriterion> criteria,
+            TradeType tradeType, Num amount) {
+        Collector<Ranked<Strategy>, ?, List<Ranked<Strategy>>> collector = paretoFront(criteria);
+        return IntStream.range(0, strategies.size())
+                .parallel()
+                .mapToObj(i -> score(i, strategies.get(i), criteria, tradeType, amount))
+                .collect(collector);
+    }
+
+    /**
+     * Returns the best {@code k} trading records.
+     *
+     * @param series         the bar series
+     * @param tradingRecords the trading records
+     * @param criterion      the criterion
+     * @param k              the maximum number of trading records to return
+     * @return the best {@code k} trading records, the best first (unmodifiable)
+     */
+    public static List<Ranked<TradingRecord>> getTop(BarSeries series, List<TradingRecord> tradingRecords,
+            AnalysisCriterion criterion, int k) {
+        Collector<Ranked<TradingRecord>, ?, List<Ranked<TradingRecord>>> collector = topK(criterion, k);
+        List<AnalysisCriterion> criteria = List.of(criterion);
+        return IntStream.range(0, tradingRecords.size())
+                .parallel()
+                .mapToObj(i -> score(i, tradingRecords.get(i), series, tradingRecords.get(i), criteria))
+                .collect(collector);
+    }
+
+    /**
+     * Returns the Pareto front of the trading records.
+     *
+     * @param series         the bar series
+     * @param tradingRecords the trading records
+     * @param criteria       the criteria
+     * @return the trading records not dominated by any other trading record, in
+     *         input order (unmodifiable)
+     */
+    public static List<Ranked<TradingRecord>> getParetoFront(BarSeries series, List<TradingRecord> tradingRecords,
+            List<AnalysisCriterion> criteria) {
+        Collector<Ranked<TradingRecord>, ?, List<Ranked<TradingRecord>>> collector = paretoFront(criteria);
+        return IntStream.range(0, tradingRecords.size())
+                .parallel()
+                .mapToObj(i -> score(i, tradingRecords.get(i), series, tradingRecords.get(i), criteria))
+                .collect(collector);
+    }
+
+    /**
+     * Returns a collector keeping the best {@code k} ranked items (by their first
+     * value) in a bounded heap.
+     *
+     * @param criterion the criterion of the first value
+     * @param k         the maximum number of items to keep
+     * @param <T>       the type of the ranked items
+     * @return the collector returning the best {@code k} items, the best first
+     *         (unmodifiable)
+     * @throws IllegalArgumentException if {@code k < 1}
+     */
+    public static <T> Collector<Ranked<T>, ?, List<Ranked<T>>> topK(AnalysisCriterion criterion, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        Comparator<Ranked<T>> bestFirst = StrategyRanker.<T>comparator(criterion, 0);
+        Comparator<Ranked<T>> worstFirst = bestFirst.reversed();
+        return Collector.of(() -> new PriorityQueue<>(k + 1, worstFirst), (heap, ranked) -> {
+            heap.add(ranked);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }, (left, right) -> {
+            for (Ranked<T> ranked : right) {
+                left.add(ranked);
+                if (left.size() > k) {
+                    left.poll();
+                }
+            }
+            return left;
+        }, heap -> {
+            List<Ranked<T>> top = new ArrayList<>(heap);
+            top.sort(bestFirst);
+            return List.copyOf(top);
+        });
+    }
+
+    /**
+     * Returns a collector keeping the Pareto front of the ranked items.
+     *
+     * @param criteria the criteria of the values
+     * @param <T>      the type of the ranked items
+     * @return the collector returning the items not dominated by any other item, in
+     *         input order (unmodifiable)
+     * @throws IllegalArgumentException if {@code criteria} is empty
+     */
+    public static <T> Collector<Ranked<T>, ?, List<Ranked<T>>> paretoFront(List<AnalysisCriterion> criteria) {
+        if (criteria.isEmpty()) {
+            throw new IllegalArgumentException("At least one criterion is required");
+        }
+        List<Comparator<Ranked<T>>> comparators = new ArrayList<>(criteria.size());
+        for (int i = 0; i < criteria.size(); i++) {
+            comparators.add(StrategyRanker.<T>valueComparator(criteria.get(i), i));
+        }
+        return Collector.<Ranked<T>, List<Ranked<T>>, List<Ranked<T>>>of(ArrayList::new,
+                (front, ranked) -> addToFront(front, ranked, comparators), (left, right) -> {
+                    for (Ranked<T> ranked : right) {
+                        addToFront(left, ranked, comparators);
+                    }
+                    return left;
+                }, front -> {
+                    front.sort(Comparator.comparingInt(Ranked::getIndex));
+                    return List.copyOf(front);
+                });
+    }
+
+    private static <T> void addToFront(List<Ranked<T>> front, Ranked<T> candidate,
+            List<Comparator<Ranked<T>>> comparators) {
+        for (Ranked<T> member : front) {
+            if (dominates(member, candidate, comparators)) {
+                return;
+            }
+        }
+        Iterator<Ranked<T>> iterator = front.iterator();
+        while (iterator.hasNext()) {
+            if (dominates(candidate, iterator.next(), comparators)) {
+                iterator.remove();
+            }
+        }
+        front.add(candidate);
+    }
+
+    /**
+     * @return true if {@code a} is at least as good as {@code b} for all criteria
+     *         and better for at least one
+     */
+    private static <T> boolean dominates(Ranked<T> a, Ranked<T> b, List<Comparator<Ranked<T>>> comparators) {
+        boolean better = false;
+        for (Comparator<Ranked<T>> comparator : comparators) {
+            int comparison = comparator.compare(a, b);
+            if (comparison > 0) {
+                return false;
+            }
+            better |= comparison < 0;
+        }
+        return better;
+    }
+
+    /**
+     * @return a comparator ordering by the criterion value at
+     *         {@code criterionIndex}, the best first and ties by index
+     */
+    private static <T> Comparator<Ranked<T>> comparator(AnalysisCriterion criterion, int criterionIndex) {
+        return StrategyRanker.<T>valueComparator(criterion, criterionIndex).thenComparingInt(Ranked::getIndex);
+    }
+
+    /**
+     * @return a comparator ordering by the criterion value at
+     *         {@code criterionIndex}, the best (according to
+     *         {@link AnalysisCriterion#betterThan}) first and NaN last
+     */
+    private static <T> Comparator<Ranked<T>> valueComparator(AnalysisCriterion criterion, int criterionIndex) {
+        return (a, b) -> {
+            Num value1 = a.getValue(criterionIndex);
+            Num value2 = b.getValue(criterionIndex);
+            if (value1.isNaN() || value2.isNaN()) {
+                return Boolean.compare(value1.isNaN(), value2.isNaN());
+            }
+            if (criterion.betterThan(value1, value2)) {
+                return -1;
+            }
+            return criterion.betterThan(value2, value1) ? 1 : 0;
+        };
+    }
+
+    private Ranked<Strategy> score(int index, Strategy strategy, List<AnalysisCriterion> criteria, TradeType tradeType,
+            Num amount) {
+        TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount);
+        return score(index, strategy, seriesManager.getBarSeries(), tradingRecord, criteria);
+    }
+
+    private static <T> Ranked<T> score(int index, T item, BarSeries series, TradingRecord tradingRecord,
+            List<AnalysisCriterion> criteria) {
+        AnalysisContext context = new AnalysisContext(series, tradingRecord);
+        Num[] values = new Num[criteria.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = criteria.get(i).calculate(context);
+        }
+        return new Ranked<>(index, item, values);
+    }
+}
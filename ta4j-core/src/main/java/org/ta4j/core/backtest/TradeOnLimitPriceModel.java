@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * An execution model for {@link BarSeriesManager} objects.
+ *
+ * Places a limit order at the close price of the signal bar (at index `t`)
+ * shifted by {@link #limitOffset} in favor of the trade (i.e. below the close
+ * price for BUY and above the close price for SELL trades). The order is valid
+ * for the next bar (at index `t + 1`) only and is filled on touch:
+ *
+ * <ul>
+ * <li>BUY: if the low price reaches the limit price, the trade is executed at
+ * the lower of the open price and the limit price.
+ * <li>SELL: if the high price reaches the limit price, the trade is executed at
+ * the higher of the open price and the limit price.
+ * </ul>
+ *
+ * If the limit price is not touched, the order expires without a trade.
+ */
+public class TradeOnLimitPriceModel implements TradeExecutionModel {
+
+    /** The distance of the limit price to the close price (e.g. 0.01 for 1%). */
+    private final Number limitOffset;
+
+    /** The {@link #limitOffset} of the last used num factory. */
+    private transient Num limitOffsetNum;
+
+    /**
+     * Constructor.
+     *
+     * @param limitOffset the distance of the limit price to the close price of the
+     *                    signal bar as fraction (e.g. 0.01 for 1%)
+     */
+    public TradeOnLimitPriceModel(Number limitOffset) {
+        this.limitOffset = limitOffset;
+    }
+
+    @Override
+    public void execute(int index, TradingRecord tradingRecord, BarSeries barSeries, Num amount) {
+        int indexOfExecutedBar = index + 1;
+        if (indexOfExecutedBar > barSeries.getEndIndex()) {
+            return;
+        }
+        Num closePrice = barSeries.getBar(index).getClosePrice();
+        Num offset = closePrice.multipliedBy(getLimitOffset(barSeries.numFactory()));
+        Bar bar = barSeries.getBar(indexOfExecutedBar);
+        if (tradingRecord.getNextTradeType() == TradeType.BUY) {
+            Num limitPrice = closePrice.minus(offset);
+            if (bar.getLowPrice().isLessThanOrEqual(limitPrice)) {
+                tradingRecord.operate(indexOfExecutedBar, bar.getOpenPrice().min(limitPrice), amount);
+            }
+        } else {
+            Num limitPrice = closePrice.plus(offset);
+            if (bar.getHighPrice().isGreaterThanOrEqual(limitPrice)) {
+                tradingRecord.operate(indexOfExecutedBar, bar.getOpenPrice().max(limitPrice), amount);
+            }
+        }
+    }
+
+    /**
+     * @param numFactory the num factory of the bar series
+     * @return the {@link #limitOffset} as {@link Num}
+     */
+    private Num getLimitOffset(NumFactory numFactory) {
+        Num offset = limitOffsetNum;
+        if (offset == null || !numFactory.produces(offset)) {
+            offset = numFactory.numOf(limitOffset);
+            limitOffsetNum = offset;
+        }
+        return offset;
+    }
+}
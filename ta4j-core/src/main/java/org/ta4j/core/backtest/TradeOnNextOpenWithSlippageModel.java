@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * An execution model for {@link BarSeriesManager} objects.
+ *
+ * Executes trades on the next bar at the open price adjusted by a slippage that
+ * is proportional to the share of the bar volume consumed by the trade:
+ *
+ * <pre>
+ * slippage = openPrice * slippageFactor * min(amount / volume, 1)
+ * </pre>
+ *
+ * The slippage is always adverse, i.e. BUY trades are executed above and SELL
+ * trades below the open price. If the volume of the bar is not available or
+ * zero, the full {@code slippageFactor} is applied.
+ */
+public class TradeOnNextOpenWithSlippageModel implements TradeExecutionModel {
+
+    /**
+     * The slippage (as fraction of the price) if the trade consumes the whole bar
+     * volume (e.g. 0.01 for 1%).
+     */
+    private final Number slippageFactor;
+
+    /** The {@link #slippageFactor} of the last used num factory. */
+    private transient Num slippageFactorNum;
+
+    /**
+     * Constructor.
+     *
+     * @param slippageFactor the slippage (as fraction of the price) if the trade
+     *                       consumes the whole bar volume (e.g. 0.01 for 1%)
+     */
+    public TradeOnNextOpenWithSlippageModel(Number slippageFactor) {
+        this.slippageFactor = slippageFactor;
+    }
+
+    @Override
+    public void execute(int index, TradingRecord tradingRecord, BarSeries barSeries, Num amount) {
+        int indexOfExecutedBar = index + 1;
+        if (indexOfExecutedBar <= barSeries.getEndIndex()) {
+            Bar bar = barSeries.getBar(indexOfExecutedBar);
+            Num openPrice = bar.getOpenPrice();
+            Num slippage = openPrice.multipliedBy(getSlippageFactor(barSeries.numFactory()))
+                    .multipliedBy(volumeShare(amount, bar.getVolume(), barSeries.numFactory()));
+            Num price = tradingRecord.getNextTradeType() == TradeType.BUY ? openPrice.plus(slippage)
+                    : openPrice.minus(slippage);
+            tradingRecord.operate(indexOfExecutedBar, price, amount);
+        }
+    }
+
+    /**
+     * @param numFactory the num factory of the bar series
+     * @return the {@link #slippageFactor} as {@link Num}
+     */
+    private Num getSlippageFactor(NumFactory numFactory) {
+        Num factor = slippageFactorNum;
+        if (factor == null || !numFactory.produces(factor)) {
+            factor = numFactory.numOf(slippageFactor);
+            slippageFactorNum = factor;
+        }
+        return factor;
+    }
+
+    /**
+     * @param amount     the trade amount
+     * @param volume     the bar volume
+     * @param numFactory the num factory of the bar series
+     * @return the share of the bar volume consumed by the trade (at most 1)
+     */
+    private static Num volumeShare(Num amount, Num volume, NumFactory numFactory) {
+        Num one = numFactory.one();
+        if (amount.isNaN() || volume == null || volume.isNaN() || !volume.isPositive()) {
+            return one;
+        }
+        return amount.dividedBy(volume).min(one);
+    }
+}
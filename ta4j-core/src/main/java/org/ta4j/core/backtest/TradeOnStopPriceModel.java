@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * An execution model for {@link BarSeriesManager} objects.
+ *
+ * Places a stop order at the close price of the signal bar (at index `t`)
+ * shifted by {@link #stopOffset} against the trade (i.e. above the close price
+ * for BUY and below the close price for SELL trades). The order is valid for
+ * the next bar (at index `t + 1`) only and is triggered on touch:
+ *
+ * <ul>
+ * <li>BUY: if the high price reaches the stop price, the trade is executed at
+ * the higher of the open price and the stop price.
+ * <li>SELL: if the low price reaches the stop price, the trade is executed at
+ * the lower of the open price and the stop price.
+ * </ul>
+ *
+ * A price gap through the stop price is therefore filled at the (worse) open
+ * price. If the stop price is not touched, the order expires without a trade.
+ */
+public class TradeOnStopPriceModel implements TradeExecutionModel {
+
+    /** The distance of the stop price to the close price (e.g. 0.01 for 1%). */
+    private final Number stopOffset;
+
+    /** The {@link #stopOffset} of the last used num factory. */
+    private transient Num stopOffsetNum;
+
+    /**
+     * Constructor.
+     *
+     * @param stopOffset the distance of the stop price to the close price of the
+     *                   signal bar as fraction (e.g. 0.01 for 1%)
+     */
+    public TradeOnStopPriceModel(Number stopOffset) {
+        this.stopOffset = stopOffset;
+    }
+
+    @Override
+    public void execute(int index, TradingRecord tradingRecord, BarSeries barSeries, Num amount) {
+        int indexOfExecutedBar = index + 1;
+        if (indexOfExecutedBar > barSeries.getEndIndex()) {
+            return;
+        }
+        Num closePrice = barSeries.getBar(index).getClosePrice();
+        Num offset = closePrice.multipliedBy(getStopOffset(barSeries.numFactory()));
+        Bar bar = barSeries.getBar(indexOfExecutedBar);
+        if (tradingRecord.getNextTradeType() == TradeType.BUY) {
+            Num stopPrice = closePrice.plus(offset);
+            if (bar.getHighPrice().isGreaterThanOrEqual(stopPrice)) {
+                tradingRecord.operate(indexOfExecutedBar, bar.getOpenPrice().max(stopPrice), amount);
+            }
+        } else {
+            Num stopPrice = closePrice.minus(offset);
+            if (bar.getLowPrice().isLessThanOrEqual(stopPrice)) {
+                tradingRecord.operate(indexOfExecutedBar, bar.getOpenPrice().min(stopPrice), amount);
+            }
+        }
+    }
+
+    /**
+     * @param numFactory the num factory of the bar series
+     * @return the {@link #stopOffset} as {@link Num}
+     */
+    private Num getStopOffset(NumFactory numFactory) {
+        Num offset = stopOffsetNum;
+        if (offset == null || !numFactory.produces(offset)) {
+            offset = numFactory.numOf(stopOffset);
+            stopOffsetNum = offset;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
+import org.ta4j.core.analysis.BenchmarkStatistics;
+import org.ta4j.core.analysis.Returns;
+import org.ta4j.core.num.Num;
+
+/**
+ * An abstract criterion calculated from the {@link BenchmarkStatistics
+ * statistics} of the arithmetic returns between the start and the end of a
+ * trading record (or the entry and the exit of a position) relative to the
+ * returns of a benchmark.
+ *
+ * <p>
+ * The default benchmark is the enter-and-hold strategy of the bar series, whose
+ * returns are the returns of the close prices, so no enter-and-hold trading
+ * record is run. If evaluated on an {@link AnalysisContext}, all criteria with
+ * the default benchmark share the
+ * {@link AnalysisContext#getBenchmarkStatistics() statistics of the context}.
+ */
+public abstract class AbstractBenchmarkCriterion extends AbstractAnalysisCriterion {
+
+    /** The returns of the benchmark (null for enter-and-hold). */
+    private final Indicator<Num> benchmarkReturns;
+
+    /**
+     * Constructor.
+     *
+     * @param benchmarkReturns the arithmetic returns of the benchmark by bar index
+     *                         (e.g. the {@link Returns} of another trading record),
+     *                         or null for the enter-and-hold returns of the bar
+     *                         series
+     */
+    protected AbstractBenchmarkCriterion(Indicator<Num> benchmarkReturns) {
+        this.benchmarkReturns = benchmarkReturns;
+    }
+
+    @Override
+    public Num calculate(BarSeries series, Position position) {
+        if (position == null || !position.isClosed()) {
+            return series.numFactory().zero();
+        }
+        Returns returns = new Returns(series, position, Returns.ReturnType.ARITHMETIC);
+        return calculate(new BenchmarkStatistics(returns, benchmarkReturns, position.getEntry().getIndex(),
+                position.getExit().getIndex()));
+    }
+
+    @Override
+    public Num calculate(BarSeries series, TradingRecord tradingRecord) {
+        Returns returns = new Returns(series, tradingRecord, Returns.ReturnType.ARITHMETIC);
+        return calculate(new BenchmarkStatistics(returns, benchmarkReturns, tradingRecord.getStartIndex(series),
+                tradingRecord.getEndIndex(series)));
+    }
+
+    @Override
+    public Num calculate(AnalysisContext context) {
+        if (benchmarkReturns == null) {
+            return calculate(context.getBenchmarkStatistics());
+        }
+        BarSeries series = context.getBarSeries();
+        TradingRecord tradingRecord = context.getTradingRecord();
+        return calculate(new BenchmarkStatistics(context.getReturns(Returns.ReturnType.ARITHMETIC), benchmarkReturns,
+                tradingRecord.getStartIndex(series), tradingRecord.getEndIndex(series)));
+    }
+
+    /**
+     * @param statistics the statistics of the returns relative to the benchmark
+     * @return the criterion value
+     */
+    protected abstract Num calculate(BenchmarkStatistics statistics);
+
+    /** @return {@link #benchmarkReturns} */
+    public Indicator<Num> getBenchmarkReturns() {
+        return benchmarkReturns;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
+import org.ta4j.core.analysis.ReturnStatistics;
+import org.ta4j.core.analysis.Returns;
+import org.ta4j.core.num.Num;
+
+/**
+ * An abstract criterion calculated from the {@link ReturnStatistics statistics}
+ * of the arithmetic returns between the start and the end of a trading record
+ * (or the entry and the exit of a position).
+ *
+ * <p>
+ * The statistics are calculated in one pass over the returns. If evaluated on
+ * an {@link AnalysisContext}, all criteria with a threshold of zero share the
+ * {@link AnalysisContext#getReturnStatistics() statistics of the context}, so
+ * that a full risk panel costs one pass over the returns.
+ */
+public abstract class AbstractReturnStatisticsCriterion extends AbstractAnalysisCriterion {
+
+    /** The annual threshold return of the statistics (e.g. 0.02 for 2%). */
+    private final double annualThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param annualThreshold the annual threshold return of the statistics (e.g.
+     *                        0.02 for 2%)
+     */
+    protected AbstractReturnStatisticsCriterion(double annualThreshold) {
+        this.annualThreshold = annualThreshold;
+    }
+
+    @Override
+    public Num calculate(BarSeries series, Position position) {
+        if (position == null || !position.isClosed()) {
+            return series.numFactory().zero();
+        }
+        Returns returns = new Returns(series, position, Returns.ReturnType.ARITHMETIC);
+        return calculate(createStatistics(returns, position.getEntry().getIndex(), position.getExit().getIndex()));
+    }
+
+    @Override
+    public Num calculate(BarSeries series, TradingRecord tradingRecord) {
+        Returns returns = new Returns(series, tradingRecord, Returns.ReturnType.ARITHMETIC);
+        return calculate(
+                createStatistics(returns, tradingRecord.getStartIndex(series), tradingRecord.getEndIndex(series)));
+    }
+
+    @Override
+    public Num calculate(AnalysisContext context) {
+        if (annualThreshold == 0) {
+            return calculate(context.getReturnStatistics());
+        }
+        BarSeries series = context.getBarSeries();
+        TradingRecord tradingRecord = context.getTradingRecord();
+        return calculate(createStatistics(context.getReturns(Returns.ReturnType.ARITHMETIC),
+                tradingRecord.getStartIndex(series), tradingRecord.getEndIndex(series)));
+    }
+
+    /**
+     * @param statistics the statistics of the returns
+     * @return the criterion value
+     */
+    protected abstract Num calculate(ReturnStatistics statistics);
+
+    /** @return {@link #annualThreshold} */
+    public double getAnnualThreshold() {
+        return annualThreshold;
+    }
+
+    /**
+     * @param statistics the statistics of the returns
+     * @param annualRate an annual rate (e.g. 0.02 for 2%)
+     * @return the rate per period
+     */
+    protected static Num perPeriod(ReturnStatistics statistics, double annualRate) {
+        Num periodsPerYear = statistics.getPeriodsPerYear();
+        return periodsPerYear.getNumFactory().numOf(annualRate).dividedBy(periodsPerYear);
+    }
+
+    private ReturnStatistics createStatistics(Returns returns, int beginIndex, int endIndex) {
+        BarSeries series = returns.getBarSeries();
+        double periodsPerYear = ReturnStatistics.getPeriodsPerYear(ReturnStatistics.getBarPeriod(series));
+        Num threshold = series.numFactory().numOf(annualThreshold).dividedBy(series.numFactory().numOf(periodsPerYear));
+        return new ReturnStatistics(returns, beginIndex, endIndex, threshold);
+    }
+
+    /** The higher the criterion value, the better. */
+    @Override
+    public boolean betterThan(Num criterionValue1, Num criterionValue2) {
+        return criterionValue1.isGreaterThan(criterionValue2);
+    }
+}
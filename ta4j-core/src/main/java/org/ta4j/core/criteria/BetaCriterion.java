@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.analysis.BenchmarkStatistics;
+import org.ta4j.core.num.Num;
+
+/**
+ * Beta criterion.
+ *
+ * <p>
+ * The beta of the returns relative to a benchmark, i.e. the covariance of the
+ * returns with the benchmark returns divided by the variance of the benchmark
+ * returns. Returns NaN if the benchmark returns do not vary.
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Beta_(finance)">https://en.wikipedia.org/wiki/Beta_(finance)</a>
+ */
+public class BetaCriterion extends AbstractBenchmarkCriterion {
+
+    /**
+     * Constructor with the enter-and-hold strategy of the bar series as benchmark.
+     */
+    public BetaCriterion() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param benchmarkReturns the arithmetic returns of the benchmark by bar index
+     *                         (or null for enter-and-hold)
+     */
+    public BetaCriterion(Indicator<Num> benchmarkReturns) {
+        super(benchmarkReturns);
+    }
+
+    @Override
+    protected Num calculate(BenchmarkStatistics statistics) {
+        return statistics.getBeta();
+    }
+
+    /**
+     * The lower the criterion value (i.e. the exposure to the benchmark), the
+     * better.
+     */
+    @Override
+    public boolean betterThan(Num criterionValue1, Num criterionValue2) {
+        return criterionValue1.isLessThan(criterionValue2);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.analysis.ReturnStatistics;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * Calmar ratio criterion.
+ *
+ * <pre>
+ * Calmar = annualised return / maximum drawdown
+ * </pre>
+ *
+ * <p>
+ * The annualised return is the compound annual growth rate of the arithmetic
+ * returns per bar, the maximum drawdown is taken from the compounded returns.
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Calmar_ratio">https://en.wikipedia.org/wiki/Calmar_ratio</a>
+ */
+public class CalmarRatioCriterion extends AbstractReturnStatisticsCriterion {
+
+    /**
+     * Constructor.
+     */
+    public CalmarRatioCriterion() {
+        super(0);
+    }
+
+    @Override
+    protected Num calculate(ReturnStatistics statistics) {
+        Num maximumDrawdown = statistics.getMaximumDrawdown();
+        if (maximumDrawdown.isZero()) {
+            return NaN.NaN;
+        }
+        return statistics.getAnnualizedReturn().dividedBy(maximumDrawdown);
+    }
+}
@@ -23,7 +23,12 @@
  */
 package org.ta4j.core.criteria;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Position;
@@ -48,6 +53,14 @@ import org.ta4j.core.num.Num;
  * investment hasn't changed and is still 100%.
  * </ul>
  *
+ * <p>
+ * As the enter-and-hold result does not depend on the evaluated strategy, it is
+ * cached per bar series and range (e.g. for a sweep of many strategies over the
+ * same series). Only the latest range is kept per begin index, so the cache
+ * does not grow with a growing series. A cached result is recalculated if the
+ * last bar of its range has been replaced, or if the close price of the first
+ * or the last bar has changed (e.g. with {@link BarSeries#addPrice}).
+ *
  * @see <a href=
  *      "http://en.wikipedia.org/wiki/Buy_and_hold">http://en.wikipedia.org/wiki/Buy_and_hold</a>
  */
@@ -56,6 +69,41 @@ public class EnterAndHoldCriterion extends AbstractAnalysisCriterion {
     private final TradeType tradeType;
     private final AnalysisCriterion criterion;
 
+    /** The cached results of trading records by series and begin index. */
+    private final Map<BarSeries, Map<Integer, CachedResult>> recordResults = new WeakHashMap<>();
+
+    /** The cached results of positions by series and begin index. */
+    private final Map<BarSeries, Map<Integer, CachedResult>> positionResults = new WeakHashMap<>();
+
+    /** A cached result with the end of its range and the prices it used. */
+    private static final class CachedResult {
+
+        private final int endIndex;
+        private final Bar endBar;
+        private final Num beginClosePrice;
+        private final Num endClosePrice;
+        private final Num value;
+
+        private CachedResult(int endIndex, Bar endBar, Num beginClosePrice, Num endClosePrice, Num value) {
+            this.endIndex = endIndex;
+            this.endBar = endBar;
+            this.beginClosePrice = beginClosePrice;
+            this.endClosePrice = endClosePrice;
+            this.value = value;
+        }
+
+        /**
+         * @return true if the range, its last bar and the close prices are still the
+         *         same (a bar can be changed in place, e.g. by
+         *         {@link BarSeries#addPrice})
+         */
+        private boolean isCurrent(BarSeries series, int beginIndex, int endIndex) {
+            Bar bar = series.getBar(endIndex);
+            return this.endIndex == endIndex && endBar == bar && endClosePrice.isEqual(bar.getClosePrice())
+                    && beginClosePrice.isEqual(series.getBar(beginIndex).getClosePrice());
+        }
+    }
+
     /** The {@link ReturnCriterion} (with base) from a buy-and-hold strategy. */
     public static EnterAndHoldCriterion EnterAndHoldReturnCriterion() {
         return new EnterAndHoldCriterion(TradeType.BUY, new ReturnCriterion());
@@ -98,7 +146,12 @@ public class EnterAndHoldCriterion extends AbstractAnalysisCriterion {
     public Num calculate(BarSeries series, Position position) {
         int beginIndex = position.getEntry().getIndex();
         int endIndex = series.getEndIndex();
-        return criterion.calculate(series, createEnterAndHoldTrade(series, beginIndex, endIndex));
+        Num value = getCachedResult(positionResults, series, beginIndex, endIndex);
+        if (value == null) {
+            value = criterion.calculate(series, createEnterAndHoldTrade(series, beginIndex, endIndex));
+            putCachedResult(positionResults, series, beginIndex, endIndex, value);
+        }
+        return value;
     }
 
     @Override
@@ -108,7 +161,12 @@ public class EnterAndHoldCriterion extends AbstractAnalysisCriterion {
         }
         int beginIndex = tradingRecord.getStartIndex(series);
         int endIndex = tradingRecord.getEndIndex(series);
-        return criterion.calculate(series, createEnterAndHoldTradingRecord(series, beginIndex, endIndex));
+        Num value = getCachedResult(recordResults, series, beginIndex, endIndex);
+        if (value == null) {
+            value = criterion.calculate(series, createEnterAndHoldTradingRecord(series, beginIndex, endIndex));
+            putCachedResult(recordResults, series, beginIndex, endIndex, value);
+        }
+        return value;
     }
 
     @Override
@@ -116,6 +174,54 @@ public class EnterAndHoldCriterion extends AbstractAnalysisCriterion {
         return criterion.betterThan(criterionValue1, criterionValue2);
     }
 
+    /** @return the cached result of the range, null if none or outdated */
+    private static Num getCachedResult(Map<BarSeries, Map<Integer, CachedResult>> cache, BarSeries series,
+            int beginIndex, int endIndex) {
+        CachedResult result;
+        synchronized (cache) {
+            Map<Integer, CachedResult> results = cache.get(series);
+            result = results == null ? null : results.get(beginIndex);
+        }
+        return result != null && result.isCurrent(series, beginIndex, endIndex) ? result.value : null;
+    }
+
+    /**
+     * Caches the result of a range, replacing the previous result of its begin
+     * index. The results of begin indexes that have been removed from the series
+     * (see {@link BarSeries#getMaximumBarCount()}) are dropped.
+     */
+    private static void putCachedResult(Map<BarSeries, Map<Integer, CachedResult>> cache, BarSeries series,
+            int beginIndex, int endIndex, Num value) {
+        Bar endBar = series.getBar(endIndex);
+        var result = new CachedResult(endIndex, endBar, series.getBar(beginIndex).getClosePrice(),
+                endBar.getClosePrice(), value);
+        synchronized (cache) {
+            Map<Integer, CachedResult> results = cache.computeIfAbsent(series, s -> new HashMap<>());
+            results.put(beginIndex, result);
+            if (results.size() > series.getBarCount()) {
+                int seriesBeginIndex = series.getBeginIndex();
+                results.keySet().removeIf(index -> index < seriesBeginIndex);
+            }
+        }
+    }
+
+    /**
+     * @param series the bar series
+     * @return the number of cached results of the series
+     */
+    int getCachedResultCount(BarSeries series) {
+        int count = 0;
+        synchronized (recordResults) {
+            Map<Integer, CachedResult> results = recordResults.get(series);
+            count += results == null ? 0 : results.size();
+        }
+        synchronized (positionResults) {
+            Map<Integer, CachedResult> results = positionResults.get(series);
+            count += results == null ? 0 : results.size();
+        }
+        return count;
+    }
+
     private Position createEnterAndHoldTrade(BarSeries series, int beginIndex, int endIndex) {
         Position position = new Position(tradeType);
         position.operate(beginIndex, series.getBar(beginIndex).getClosePrice(), series.numFactory().one());
@@ -23,12 +23,12 @@
  */
 package org.ta4j.core.criteria;
 
-import java.util.Collections;
 import java.util.List;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.analysis.Returns;
 import org.ta4j.core.num.Num;
 
@@ -71,6 +71,11 @@ public class ExpectedShortfallCriterion extends AbstractAnalysisCriterion {
         return calculateES(returns, confidence);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return calculateES(context.getReturns(Returns.ReturnType.LOG), confidence);
+    }
+
     /**
      * Calculates the Expected Shortfall on the return series.
      *
@@ -79,25 +84,22 @@ public class ExpectedShortfallCriterion extends AbstractAnalysisCriterion {
      * @return the relative Expected Shortfall
      */
     private static Num calculateES(Returns returns, double confidence) {
-        // select non-NaN returns
-        List<Num> returnRates = returns.getValues().subList(1, returns.getSize() + 1);
         Num zero = returns.getBarSeries().numFactory().zero();
-        if (returnRates.isEmpty()) {
+        int size = returns.getSize();
+        if (size <= 0) {
             return zero;
         }
-        Num expectedShortfall = zero;
         // F(x_var) >= alpha (=1-confidence)
-        int nInBody = (int) (returns.getSize() * confidence);
-        int nInTail = returns.getSize() - nInBody;
+        int nInBody = (int) (size * confidence);
+        int nInTail = size - nInBody;
 
         // calculate average tail loss
-        Collections.sort(returnRates);
-        List<Num> tailEvents = returnRates.subList(0, nInTail);
+        List<Num> tailEvents = returns.getLowestRates(nInTail);
         Num sum = zero;
-        for (int i = 0; i < nInTail; i++) {
-            sum = sum.plus(tailEvents.get(i));
+        for (Num tailEvent : tailEvents) {
+            sum = sum.plus(tailEvent);
         }
-        expectedShortfall = sum.dividedBy(returns.getBarSeries().numFactory().numOf(nInTail));
+        Num expectedShortfall = sum.dividedBy(returns.getBarSeries().numFactory().numOf(tailEvents.size()));
 
         // ES is non-positive
         if (expectedShortfall.isGreaterThan(zero)) {
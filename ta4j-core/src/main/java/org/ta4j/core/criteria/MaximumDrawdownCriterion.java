@@ -26,6 +26,7 @@ package org.ta4j.core.criteria;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.analysis.CashFlow;
 import org.ta4j.core.num.Num;
 
@@ -57,6 +58,11 @@ public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
         return calculateMaximumDrawdown(series, tradingRecord, cashFlow);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return calculateMaximumDrawdown(context.getBarSeries(), context.getTradingRecord(), context.getCashFlow());
+    }
+
     /** The lower the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
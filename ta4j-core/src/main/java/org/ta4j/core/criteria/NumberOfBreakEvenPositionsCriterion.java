@@ -26,6 +26,7 @@ package org.ta4j.core.criteria;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.num.Num;
 
 /**
@@ -48,6 +49,11 @@ public class NumberOfBreakEvenPositionsCriterion extends AbstractAnalysisCriteri
         return series.numFactory().numOf(numberOfBreakEvenTrades);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return context.getBarSeries().numFactory().numOf(context.getBreakEvenPositionCount());
+    }
+
     private boolean isBreakEvenPosition(Position position) {
         return position.isClosed() && position.getProfit().isZero();
     }
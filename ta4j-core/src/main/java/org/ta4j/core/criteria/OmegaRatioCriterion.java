@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.analysis.ReturnStatistics;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * Omega ratio criterion.
+ *
+ * <pre>
+ * Omega = sum of returns above threshold / sum of returns below threshold
+ * </pre>
+ *
+ * <p>
+ * Both sums are relative to the threshold (i.e. the probability weighted gains
+ * and losses), the sum below the threshold is taken as a positive value.
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Omega_ratio">https://en.wikipedia.org/wiki/Omega_ratio</a>
+ */
+public class OmegaRatioCriterion extends AbstractReturnStatisticsCriterion {
+
+    /**
+     * Constructor with a threshold of zero.
+     */
+    public OmegaRatioCriterion() {
+        this(0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param threshold the annual threshold return (e.g. 0.02 for 2%)
+     */
+    public OmegaRatioCriterion(double threshold) {
+        super(threshold);
+    }
+
+    @Override
+    protected Num calculate(ReturnStatistics statistics) {
+        Num losses = statistics.getLossesBelowThreshold();
+        if (losses.isZero()) {
+            return NaN.NaN;
+        }
+        return statistics.getGainsAboveThreshold().dividedBy(losses);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.analysis.BenchmarkStatistics;
+import org.ta4j.core.num.Num;
+
+/**
+ * Tracking error criterion.
+ *
+ * <p>
+ * The annualised standard deviation of the active returns, i.e. the returns
+ * minus the returns of a benchmark.
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Tracking_error">https://en.wikipedia.org/wiki/Tracking_error</a>
+ */
+public class TrackingErrorCriterion extends AbstractBenchmarkCriterion {
+
+    /**
+     * Constructor with the enter-and-hold strategy of the bar series as benchmark.
+     */
+    public TrackingErrorCriterion() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param benchmarkReturns the arithmetic returns of the benchmark by bar index
+     *                         (or null for enter-and-hold)
+     */
+    public TrackingErrorCriterion(Indicator<Num> benchmarkReturns) {
+        super(benchmarkReturns);
+    }
+
+    @Override
+    protected Num calculate(BenchmarkStatistics statistics) {
+        return statistics.getTrackingError();
+    }
+
+    /** The lower the criterion value, the better. */
+    @Override
+    public boolean betterThan(Num criterionValue1, Num criterionValue2) {
+        return criterionValue1.isLessThan(criterionValue2);
+    }
+}
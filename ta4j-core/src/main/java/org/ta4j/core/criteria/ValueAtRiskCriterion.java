@@ -23,12 +23,12 @@
  */
 package org.ta4j.core.criteria;
 
-import java.util.Collections;
 import java.util.List;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.analysis.Returns;
 import org.ta4j.core.num.Num;
 
@@ -67,6 +67,11 @@ public class ValueAtRiskCriterion extends AbstractAnalysisCriterion {
         return calculateVaR(returns, confidence);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return calculateVaR(context.getReturns(Returns.ReturnType.LOG), confidence);
+    }
+
     /**
      * Calculates the VaR on the return series.
      *
@@ -76,26 +81,21 @@ public class ValueAtRiskCriterion extends AbstractAnalysisCriterion {
      */
     private static Num calculateVaR(Returns returns, double confidence) {
         Num zero = returns.getBarSeries().numFactory().zero();
-        // select non-NaN returns
-        List<Num> returnRates = returns.getValues().subList(1, returns.getSize() + 1);
-        if (returnRates.isEmpty()) {
+        int size = returns.getSize();
+        if (size <= 0) {
             return zero;
         }
+        // F(x_var) >= alpha (=1-confidence)
+        int nInBody = (int) (size * confidence);
+        int nInTail = size - nInBody;
 
-        Num valueAtRisk = zero;
-        if (!returnRates.isEmpty()) {
-            // F(x_var) >= alpha (=1-confidence)
-            int nInBody = (int) (returns.getSize() * confidence);
-            int nInTail = returns.getSize() - nInBody;
-
-            // The series is not empty, nInTail > 0
-            Collections.sort(returnRates);
-            valueAtRisk = returnRates.get(nInTail - 1);
+        // The series is not empty, nInTail > 0
+        List<Num> tail = returns.getLowestRates(nInTail);
+        Num valueAtRisk = tail.get(tail.size() - 1);
 
-            // VaR is non-positive
-            if (valueAtRisk.isGreaterThan(zero)) {
-                valueAtRisk = zero;
-            }
+        // VaR is non-positive
+        if (valueAtRisk.isGreaterThan(zero)) {
+            valueAtRisk = zero;
         }
         return valueAtRisk;
     }
@@ -0,0 +1,778 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.dsl;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.CCIIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.KAMAIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.ROCIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.WMAIndicator;
+import org.ta4j.core.indicators.adx.ADXIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.CombineIndicator;
+import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.indicators.helpers.HighPriceIndicator;
+import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.indicators.helpers.LowPriceIndicator;
+import org.ta4j.core.indicators.helpers.LowestValueIndicator;
+import org.ta4j.core.indicators.helpers.OpenPriceIndicator;
+import org.ta4j.core.indicators.helpers.PreviousValueIndicator;
+import org.ta4j.core.indicators.helpers.TransformIndicator;
+import org.ta4j.core.indicators.helpers.TypicalPriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.AndRule;
+import org.ta4j.core.rules.BooleanRule;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.InPipeRule;
+import org.ta4j.core.rules.IsEqualRule;
+import org.ta4j.core.rules.IsFallingRule;
+import org.ta4j.core.rules.IsHighestRule;
+import org.ta4j.core.rules.IsLowestRule;
+import org.ta4j.core.rules.IsRisingRule;
+import org.ta4j.core.rules.NotRule;
+import org.ta4j.core.rules.OrRule;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.StopGainRule;
+import org.ta4j.core.rules.StopLossRule;
+import org.ta4j.core.rules.TrailingStopLossRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+import org.ta4j.core.rules.XorRule;
+
+/**
+ * Parses textual rule expressions into {@link Rule rules} and {@link Strategy
+ * strategies} of a {@link BarSeries bar series}, e.g.:
+ *
+ * <pre>
+ * crossUp(sma(close, 5), sma(close, 20)) and rsi(close, 14) &lt; 30
+ * </pre>
+ *
+ * <p>
+ * The expressions consist of (from the lowest to the highest precedence):
+ * <ul>
+ * <li>the logical operators {@code or} ({@code ||}), {@code xor}, {@code and}
+ * ({@code &&}) and {@code not} ({@code !})
+ * <li>the comparisons {@code <}, {@code <=}, {@code >}, {@code >=}, {@code ==}
+ * ({@code =}) and {@code !=} of indicators and numbers
+ * <li>the arithmetic operators {@code +}, {@code -}, {@code *} and {@code /}
+ * <li>numbers, parentheses and the functions below (whose names are not case
+ * sensitive, the parentheses of functions without arguments are optional)
+ * </ul>
+ *
+ * <p>
+ * Indicators: {@code close}, {@code open}, {@code high}, {@code low},
+ * {@code volume}, {@code typical}, {@code sma(x, n)}, {@code ema(x, n)},
+ * {@code wma(x, n)}, {@code rsi(x, n)}, {@code roc(x, n)},
+ * {@code stddev(x, n)}, {@code highest(x, n)}, {@code lowest(x, n)},
+ * {@code prev(x[, n])}, {@code macd(x[, short, long])},
+ * {@code kama(x[, effectiveRatio, fast, slow])}, {@code atr(n)},
+ * {@code cci(n)}, {@code adx(n)}, {@code abs(x)}, {@code min(x, y)} and
+ * {@code max(x, y)}.
+ *
+ * <p>
+ * Rules: {@code true}, {@code false}, {@code crossUp(x, y)},
+ * {@code crossDown(x, y)}, {@code rising(x, n[, strength])},
+ * {@code falling(x, n[, strength])}, {@code isHighest(x, n)},
+ * {@code isLowest(x, n)}, {@code inPipe(x, upper, lower)},
+ * {@code stopLoss(percentage)}, {@code stopGain(percentage)} and
+ * {@code trailingStopLoss(percentage[, n])}.
+ *
+ * <p>
+ * The indicators are interned: all expressions parsed by the same parser share
+ * one instance of each distinct indicator (sub-)expression (e.g.
+ * {@code sma(close, 20)}), so that their values are calculated and cached only
+ * once. Rules are created for each expression, as some of them have a state. A
+ * parser is not thread-safe.
+ */
+public class StrategyParser {
+
+    private final BarSeries series;
+
+    /** The interned indicators by canonical expression. */
+    private final Map<String, Indicator<Num>> indicators = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series of the indicators
+     */
+    public StrategyParser(BarSeries series) {
+        this.series = Objects.requireNonNull(series, "Bar series must not be null");
+    }
+
+    /**
+     * Parses a strategy.
+     *
+     * @param name      the name of the strategy
+     * @param entryRule the expression of the entry rule
+     * @param exitRule  the expression of the exit rule
+     * @return the strategy
+     * @throws IllegalArgumentException if an expression is not valid
+     */
+    public Strategy parseStrategy(String name, String entryRule, String exitRule) {
+        return parseStrategy(name, entryRule, exitRule, 0);
+    }
+
+    /**
+     * Parses a strategy.
+     *
+     * @param name         the name of the strategy
+     * @param entryRule    the expression of the entry rule
+     * @param exitRule     the expression of the exit rule
+     * @param unstableBars the number of first bars in the series the strategy
+     *                     ignores
+     * @return the strategy
+     * @throws IllegalArgumentException if an expression is not valid
+     */
+    public Strategy parseStrategy(String name, String entryRule, String exitRule, int unstableBars) {
+        return new BaseStrategy(name, parseRule(entryRule), parseRule(exitRule), unstableBars);
+    }
+
+    /**
+     * Parses a rule.
+     *
+     * @param expression the rule expression
+     * @return the rule
+     * @throws IllegalArgumentException if the expression is not a valid rule
+     */
+    public Rule parseRule(String expression) {
+        Expression parsed = new Parser(expression).parse();
+        if (parsed.rule == null) {
+            throw new IllegalArgumentException("Not a rule: " + expression);
+        }
+        return parsed.rule;
+    }
+
+    /**
+     * Parses an indicator.
+     *
+     * @param expression the indicator expression
+     * @return the (interned) indicator
+     * @throws IllegalArgumentException if the expression is not a valid indicator
+     */
+    public Indicator<Num> parseIndicator(String expression) {
+        Expression parsed = new Parser(expression).parse();
+        if (parsed.rule != null) {
+            throw new IllegalArgumentException("Not an indicator: " + expression);
+        }
+        return toIndicator(parsed).indicator;
+    }
+
+    /** @return {@link #series} */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /** @return the number of distinct (interned) indicators */
+    public int getIndicatorCount() {
+        return indicators.size();
+    }
+
+    private Expression intern(String key, Supplier<Indicator<Num>> factory) {
+        Indicator<Num> indicator = indicators.get(key);
+        if (indicator == null) {
+            indicator = factory.get();
+            indicators.put(key, indicator);
+        }
+        return Expression.indicator(key, indicator);
+    }
+
+    /** @return the indicator of an indicator or a number (as constant) */
+    private Expression toIndicator(Expression expression) {
+        if (expression.number != null) {
+            Num value = series.numFactory().numOf(expression.number);
+            return intern(expression.key, () -> new ConstantIndicator<>(series, value));
+        }
+        return expression;
+    }
+
+    /**
+     * A parsed (sub-)expression: a number, an indicator or a rule, with the
+     * canonical text of numbers and indicators.
+     */
+    private static final class Expression {
+
+        private final String key;
+        private final BigDecimal number;
+        private final Indicator<Num> indicator;
+        private final Rule rule;
+
+        private Expression(String key, BigDecimal number, Indicator<Num> indicator, Rule rule) {
+            this.key = key;
+            this.number = number;
+            this.indicator = indicator;
+            this.rule = rule;
+        }
+
+        private static Expression number(BigDecimal number) {
+            BigDecimal normalized = number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+            return new Expression(normalized.toPlainString(), normalized, null, null);
+        }
+
+        private static Expression indicator(String key, Indicator<Num> indicator) {
+            return new Expression(key, null, indicator, null);
+        }
+
+        private static Expression rule(Rule rule) {
+            return new Expression(null, null, null, rule);
+        }
+    }
+
+    /** A recursive descent parser of an expression. */
+    private final class Parser {
+
+        private final String text;
+        private final List<String> tokens = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private int current;
+
+        private Parser(String text) {
+            this.text = Objects.requireNonNull(text, "Expression must not be null");
+            tokenize();
+        }
+
+        private Expression parse() {
+            Expression expression = parseOr();
+            if (current < tokens.size()) {
+                throw error("Unexpected '" + tokens.get(current) + "'");
+            }
+            return expression;
+        }
+
+        private void tokenize() {
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                int start = i;
+                if (Character.isWhitespace(c)) {
+                    i++;
+                    continue;
+                }
+                if (Character.isDigit(c)
+                        || (c == '.' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1)))) {
+                    while (i < text.length() && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
+                        i++;
+                    }
+                    if (i < text.length() && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+                        i++;
+                        if (i < text.length() && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                            i++;
+                        }
+                        while (i < text.length() && Character.isDigit(text.charAt(i))) {
+                            i++;
+                        }
+                    }
+                } else if (Character.isLetter(c) || c == '_') {
+                    while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                        i++;
+                    }
+                } else if (i + 1 < text.length() && isTwoCharOperator(text.substring(i, i + 2))) {
+                    i += 2;
+                } else if ("()+-*/<>=!,".indexOf(c) >= 0) {
+                    i++;
+                } else {
+                    current = tokens.size();
+                    positions.add(i);
+                    throw error("Unexpected character '" + c + "'");
+                }
+                tokens.add(text.substring(start, i));
+                positions.add(start);
+            }
+        }
+
+        private boolean isTwoCharOperator(String operator) {
+            switch (operator) {
+            case "<=":
+            case ">=":
+            case "==":
+            case "!=":
+            case "&&":
+            case "||":
+                return true;
+            default:
+                return false;
+            }
+        }
+
+        private Expression parseOr() {
+            Expression left = parseXor();
+            while (accept("or", "||")) {
+                Rule rule1 = rule(left);
+                left = Expression.rule(new OrRule(rule1, rule(parseXor())));
+            }
+            return left;
+        }
+
+        private Expression parseXor() {
+            Expression left = parseAnd();
+            while (accept("xor")) {
+                Rule rule1 = rule(left);
+                left = Expression.rule(new XorRule(rule1, rule(parseAnd())));
+            }
+            return left;
+        }
+
+        private Expression parseAnd() {
+            Expression left = parseNot();
+            while (accept("and", "&&")) {
+                Rule rule1 = rule(left);
+                left = Expression.rule(new AndRule(rule1, rule(parseNot())));
+            }
+            return left;
+        }
+
+        private Expression parseNot() {
+            if (accept("not", "!")) {
+                return Expression.rule(new NotRule(rule(parseNot())));
+            }
+            return parseComparison();
+        }
+
+        private Expression parseComparison() {
+            Expression left = parseAdditive();
+            String operator = peek();
+            if (operator == null) {
+                return left;
+            }
+            switch (operator) {
+            case "<":
+            case "<=":
+            case ">":
+            case ">=":
+            case "==":
+            case "=":
+            case "!=":
+                current++;
+                break;
+            default:
+                return left;
+            }
+            Indicator<Num> first = indicator(left);
+            Indicator<Num> second = indicator(parseAdditive());
+            switch (operator) {
+            case "<":
+                return Expression.rule(new UnderIndicatorRule(first, second));
+            case "<=":
+                return Expression
+                        .rule(new OrRule(new UnderIndicatorRule(first, second), new IsEqualRule(first, second)));
+            case ">":
+                return Expression.rule(new OverIndicatorRule(first, second));
+            case ">=":
+                return Expression
+                        .rule(new OrRule(new OverIndicatorRule(first, second), new IsEqualRule(first, second)));
+            case "!=":
+                return Expression.rule(new NotRule(new IsEqualRule(first, second)));
+            default:
+                return Expression.rule(new IsEqualRule(first, second));
+            }
+        }
+
+        private Expression parseAdditive() {
+            Expression left = parseMultiplicative();
+            String operator;
+            while ((operator = acceptOperator("+", "-")) != null) {
+                left = arithmetic(left, operator, parseMultiplicative());
+            }
+            return left;
+        }
+
+        private Expression parseMultiplicative() {
+            Expression left = parseUnary();
+            String operator;
+            while ((operator = acceptOperator("*", "/")) != null) {
+                left = arithmetic(left, operator, parseUnary());
+            }
+            return left;
+        }
+
+        private Expression parseUnary() {
+            if (accept("-")) {
+                return arithmetic(Expression.number(BigDecimal.ZERO), "-", parseUnary());
+            }
+            return parsePrimary();
+        }
+
+        private Expression parsePrimary() {
+            String token = peek();
+            if (token == null) {
+                throw error("Unexpected end of expression");
+            }
+            if (accept("(")) {
+                Expression expression = parseOr();
+                expect(")");
+                return expression;
+            }
+            if (Character.isDigit(token.charAt(0)) || token.charAt(0) == '.') {
+                current++;
+                try {
+                    return Expression.number(new BigDecimal(token));
+                } catch (NumberFormatException e) {
+                    current--;
+                    throw error("Invalid number '" + token + "'");
+                }
+            }
+            if (Character.isLetter(token.charAt(0)) || token.charAt(0) == '_') {
+                int functionToken = current++;
+                List<Expression> arguments = new ArrayList<>();
+                if (accept("(")) {
+                    if (!accept(")")) {
+                        do {
+                            arguments.add(parseOr());
+                        } while (accept(","));
+                        expect(")");
+                    }
+                }
+                return function(functionToken, token.toLowerCase(Locale.ROOT), arguments);
+            }
+            throw error("Unexpected '" + token + "'");
+        }
+
+        private Expression function(int token, String name, List<Expression> args) {
+            switch (name) {
+            case "true":
+            case "false":
+                checkArguments(token, name, args, 0, 0);
+                return Expression.rule(name.equals("true") ? BooleanRule.TRUE : BooleanRule.FALSE);
+            case "close":
+                checkArguments(token, name, args, 0, 0);
+                return intern(name, () -> new ClosePriceIndicator(series));
+            case "open":
+                checkArguments(token, name, args, 0, 0);
+                return intern(name, () -> new OpenPriceIndicator(series));
+            case "high":
+                checkArguments(token, name, args, 0, 0);
+                return intern(name, () -> new HighPriceIndicator(series));
+            case "low":
+                checkArguments(token, name, args, 0, 0);
+                return intern(name, () -> new LowPriceIndicator(series));
+            case "volume":
+                checkArguments(token, name, args, 0, 0);
+                return intern(name, () -> new VolumeIndicator(series));
+            case "typical":
+                checkArguments(token, name, args, 0, 0);
+                return intern(name, () -> new TypicalPriceIndicator(series));
+            case "sma":
+            case "ema":
+            case "wma":
+            case "rsi":
+            case "roc":
+            case "stddev":
+            case "highest":
+            case "lowest": {
+                checkArguments(token, name, args, 2, 2);
+                Indicator<Num> x = indicator(args.get(0));
+                int n = integer(args.get(1));
+                return intern(key(name, args), () -> barCountIndicator(name, x, n));
+            }
+            case "prev": {
+                checkArguments(token, name, args, 1, 2);
+                Indicator<Num> x = indicator(args.get(0));
+                int n = args.size() == 2 ? integer(args.get(1)) : 1;
+                return intern(key(name, args.get(0).key, n), () -> new PreviousValueIndicator(x, n));
+            }
+            case "macd": {
+                checkArguments(token, name, args, 1, 3);
+                if (args.size() == 2) {
+                    throw error(token, "Function 'macd' takes 1 or 3 arguments");
+                }
+                Indicator<Num> x = indicator(args.get(0));
+                int shortBarCount = args.size() == 3 ? integer(args.get(1)) : 12;
+                int longBarCount = args.size() == 3 ? integer(args.get(2)) : 26;
+                return intern(key(name, args.get(0).key, shortBarCount, longBarCount),
+                        () -> new MACDIndicator(x, shortBarCount, longBarCount));
+            }
+            case "kama": {
+                checkArguments(token, name, args, 1, 4);
+                if (args.size() == 2 || args.size() == 3) {
+                    throw error(token, "Function 'kama' takes 1 or 4 arguments");
+                }
+                Indicator<Num> x = indicator(args.get(0));
+                int effectiveRatio = args.size() == 4 ? integer(args.get(1)) : 10;
+                int fast = args.size() == 4 ? integer(args.get(2)) : 2;
+                int slow = args.size() == 4 ? integer(args.get(3)) : 30;
+                return intern(key(name, args.get(0).key, effectiveRatio, fast, slow),
+                        () -> new KAMAIndicator(x, effectiveRatio, fast, slow));
+            }
+            case "atr":
+            case "cci":
+            case "adx": {
+                checkArguments(token, name, args, 1, 1);
+                int n = integer(args.get(0));
+                return intern(key(name, n), () -> seriesIndicator(name, n));
+            }
+            case "abs": {
+                checkArguments(token, name, args, 1, 1);
+                if (args.get(0).number != null) {
+                    return Expression.number(args.get(0).number.abs());
+                }
+                Indicator<Num> x = indicator(args.get(0));
+                return intern(key(name, args), () -> TransformIndicator.abs(x));
+            }
+            case "min":
+            case "max": {
+                checkArguments(token, name, args, 2, 2);
+                Indicator<Num> x = indicator(args.get(0));
+                Indicator<Num> y = indicator(args.get(1));
+                return intern(key(name, args),
+                        () -> name.equals("min") ? CombineIndicator.min(x, y) : CombineIndicator.max(x, y));
+            }
+            case "crossup":
+            case "crossdown": {
+                checkArguments(token, name, args, 2, 2);
+                Indicator<Num> x = indicator(args.get(0));
+                Indicator<Num> y = indicator(args.get(1));
+                return Expression.rule(
+                        name.equals("crossup") ? new CrossedUpIndicatorRule(x, y) : new CrossedDownIndicatorRule(x, y));
+            }
+            case "rising":
+            case "falling": {
+                checkArguments(token, name, args, 2, 3);
+                Indicator<Num> x = indicator(args.get(0));
+                int n = integer(args.get(1));
+                double strength = args.size() == 3 ? number(args.get(2)).doubleValue() : 1;
+                return Expression.rule(
+                        name.equals("rising") ? new IsRisingRule(x, n, strength) : new IsFallingRule(x, n, strength));
+            }
+            case "ishighest":
+            case "islowest": {
+                checkArguments(token, name, args, 2, 2);
+                Indicator<Num> x = indicator(args.get(0));
+                int n = integer(args.get(1));
+                return Expression.rule(name.equals("ishighest") ? new IsHighestRule(x, n) : new IsLowestRule(x, n));
+            }
+            case "inpipe":
+                checkArguments(token, name, args, 3, 3);
+                return Expression
+                        .rule(new InPipeRule(indicator(args.get(0)), indicator(args.get(1)), indicator(args.get(2))));
+            case "stoploss":
+            case "stopgain": {
+                checkArguments(token, name, args, 1, 1);
+                Num percentage = series.numFactory().numOf(number(args.get(0)));
+                ClosePriceIndicator close = closePrice();
+                return Expression.rule(name.equals("stoploss") ? new StopLossRule(close, percentage)
+                        : new StopGainRule(close, percentage));
+            }
+            case "trailingstoploss": {
+                checkArguments(token, name, args, 1, 2);
+                Num percentage = series.numFactory().numOf(number(args.get(0)));
+                int n = args.size() == 2 ? integer(args.get(1)) : Integer.MAX_VALUE;
+                return Expression.rule(new TrailingStopLossRule(closePrice(), percentage, n));
+            }
+            default:
+                throw error(token, "Unknown function '" + tokens.get(token) + "'");
+            }
+        }
+
+        private Indicator<Num> barCountIndicator(String name, Indicator<Num> x, int n) {
+            switch (name) {
+            case "sma":
+                return new SMAIndicator(x, n);
+            case "ema":
+                return new EMAIndicator(x, n);
+            case "wma":
+                return new WMAIndicator(x, n);
+            case "rsi":
+                return new RSIIndicator(x, n);
+            case "roc":
+                return new ROCIndicator(x, n);
+            case "stddev":
+                return new StandardDeviationIndicator(x, n);
+            case "highest":
+                return new HighestValueIndicator(x, n);
+            default:
+                return new LowestValueIndicator(x, n);
+            }
+        }
+
+        private Indicator<Num> seriesIndicator(String name, int n) {
+            switch (name) {
+            case "atr":
+                return new ATRIndicator(series, n);
+            case "cci":
+                return new CCIIndicator(series, n);
+            default:
+                return new ADXIndicator(series, n);
+            }
+        }
+
+        private ClosePriceIndicator closePrice() {
+            return (ClosePriceIndicator) intern("close", () -> new ClosePriceIndicator(series)).indicator;
+        }
+
+        private Expression arithmetic(Expression left, String operator, Expression right) {
+            if (left.number != null && right.number != null) {
+                switch (operator) {
+                case "+":
+                    return Expression.number(left.number.add(right.number));
+                case "-":
+                    return Expression.number(left.number.subtract(right.number));
+                case "*":
+                    return Expression.number(left.number.multiply(right.number));
+                default:
+                    if (right.number.signum() == 0) {
+                        throw error("Division by zero");
+                    }
+                    return Expression.number(left.number.divide(right.number, MathContext.DECIMAL64));
+                }
+            }
+            Indicator<Num> x = indicator(left);
+            String key = "(" + left.key + operator + right.key + ")";
+            if (right.number != null) {
+                BigDecimal coefficient = right.number;
+                switch (operator) {
+                case "+":
+                    return intern(key, () -> TransformIndicator.plus(x, coefficient));
+                case "-":
+                    return intern(key, () -> TransformIndicator.minus(x, coefficient));
+                case "*":
+                    return intern(key, () -> TransformIndicator.multiply(x, coefficient));
+                default:
+                    return intern(key, () -> TransformIndicator.divide(x, coefficient));
+                }
+            }
+            Indicator<Num> y = indicator(right);
+            switch (operator) {
+            case "+":
+                return intern(key, () -> CombineIndicator.plus(x, y));
+            case "-":
+                return intern(key, () -> CombineIndicator.minus(x, y));
+            case "*":
+                return intern(key, () -> CombineIndicator.multiply(x, y));
+            default:
+                return intern(key, () -> CombineIndicator.divide(x, y));
+            }
+        }
+
+        private Rule rule(Expression expression) {
+            if (expression.rule == null) {
+                throw error("Expected a rule instead of '" + expression.key + "'");
+            }
+            return expression.rule;
+        }
+
+        private Indicator<Num> indicator(Expression expression) {
+            if (expression.rule != null) {
+                throw error("Expected an indicator or a number instead of a rule");
+            }
+            return toIndicator(expression).indicator;
+        }
+
+        private BigDecimal number(Expression expression) {
+            if (expression.number == null) {
+                throw error("Expected a number");
+            }
+            return expression.number;
+        }
+
+        private int integer(Expression expression) {
+            BigDecimal number = number(expression);
+            try {
+                return number.intValueExact();
+            } catch (ArithmeticException e) {
+                throw error("Expected an integer instead of " + number.toPlainString());
+            }
+        }
+
+        private String key(String name, List<Expression> args) {
+            StringBuilder key = new StringBuilder(name).append('(');
+            for (int i = 0; i < args.size(); i++) {
+                key.append(i == 0 ? "" : ",").append(args.get(i).key);
+            }
+            return key.append(')').toString();
+        }
+
+        private String key(String name, Object... args) {
+            StringBuilder key = new StringBuilder(name).append('(');
+            for (int i = 0; i < args.length; i++) {
+                key.append(i == 0 ? "" : ",").append(args[i]);
+            }
+            return key.append(')').toString();
+        }
+
+        private void checkArguments(int token, String name, List<Expression> args, int min, int max) {
+            if (args.size() < min || args.size() > max) {
+                String expected = min == max ? String.valueOf(min) : min + " to " + max;
+                throw error(token, "Function '" + tokens.get(token) + "' takes " + expected + " argument(s)");
+            }
+        }
+
+        private String peek() {
+            return current < tokens.size() ? tokens.get(current) : null;
+        }
+
+        private boolean accept(String... expected) {
+            String token = peek();
+            if (token != null) {
+                for (String e : expected) {
+                    if (e.equalsIgnoreCase(token)) {
+                        current++;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private String acceptOperator(String... expected) {
+            String token = peek();
+            return accept(expected) ? token : null;
+        }
+
+        private void expect(String expected) {
+            if (!accept(expected)) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return error(current, message);
+        }
+
+        private IllegalArgumentException error(int token, String message) {
+            int position = token < positions.size() ? positions.get(token) : text.length();
+            return new IllegalArgumentException(message + " at position " + position + " in: " + text);
+        }
+    }
+}
@@ -143,6 +143,46 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         return result;
     }
 
+    /**
+     * @return the index of the last cached result (-1 if no result has been cached
+     *         yet)
+     */
+    public synchronized int getHighestResultIndex() {
+        return highestResultIndex;
+    }
+
+    /**
+     * @return a copy of the cached results (with null for results not calculated
+     *         yet), the last element is the result at
+     *         {@link #getHighestResultIndex()}
+     */
+    public synchronized List<T> getCachedResults() {
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Replaces the cached results, e.g. to restore them from a checkpoint.
+     *
+     * @param highestResultIndex the index of the last cached result
+     * @param cachedResults      the cached results as returned by
+     *                           {@link #getCachedResults()}
+     * @throws IllegalArgumentException if there are more results than indexes up to
+     *                                  {@code highestResultIndex}
+     */
+    public synchronized void restoreCachedResults(int highestResultIndex, List<T> cachedResults) {
+        if (cachedResults.size() > highestResultIndex + 1) {
+            throw new IllegalArgumentException("Too many results for highest result index " + highestResultIndex);
+        }
+        results.clear();
+        if (!cachedResults.isEmpty()) {
+            results.addAll(cachedResults);
+            removeExceedingResults(getBarSeries().getMaximumBarCount());
+            this.highestResultIndex = highestResultIndex;
+        } else {
+            this.highestResultIndex = -1;
+        }
+    }
+
     /**
      * Increases the size of the cached results buffer.
      *
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.indicators.helpers;
 
+import java.util.BitSet;
+
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
@@ -69,6 +71,43 @@ public class CrossIndicator extends CachedIndicator<Boolean> {
         return up.getValue(i).isGreaterThan(low.getValue(i));
     }
 
+    /**
+     * Calculates the values for a range of bars in a single pass (without the
+     * cache).
+     *
+     * @param from the first bar index (inclusive)
+     * @param to   the last bar index (inclusive)
+     * @return the bit set of the bar indexes (not relative to {@code from}) at
+     *         which {@link #up} crosses down {@link #low}
+     */
+    public BitSet getValues(int from, int to) {
+        BitSet crossings = new BitSet();
+        if (from > to) {
+            return crossings;
+        }
+        // whether "up" was above "low" at the last bar with different values
+        // (or at the first bar) before the current one
+        boolean wasAbove = false;
+        int i = Math.max(from, 1) - 1;
+        while (i > 0 && up.getValue(i).isEqual(low.getValue(i))) {
+            i--;
+        }
+        if (from > 0) {
+            wasAbove = up.getValue(i).isGreaterThan(low.getValue(i));
+        }
+        for (i = Math.max(from, 0); i <= to; i++) {
+            Num upValue = up.getValue(i);
+            Num lowValue = low.getValue(i);
+            if (i > 0 && wasAbove && !upValue.isGreaterThanOrEqual(lowValue)) {
+                crossings.set(i);
+            }
+            if (i == 0 || !upValue.isEqual(lowValue)) {
+                wasAbove = upValue.isGreaterThan(lowValue);
+            }
+        }
+        return crossings;
+    }
+
     @Override
     public int getUnstableBars() {
         return 0;
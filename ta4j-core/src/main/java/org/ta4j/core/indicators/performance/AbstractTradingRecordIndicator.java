@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * An indicator of the performance of a {@link TradingRecord trading record}.
+ *
+ * <p>
+ * The value of a bar only depends on the trades placed up to this bar, so the
+ * indicator can be used while the trading record is built (e.g. in the rules of
+ * the strategy).
+ */
+public abstract class AbstractTradingRecordIndicator extends CachedIndicator<Num> {
+
+    /** The trading record. */
+    protected final TradingRecord tradingRecord;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    protected AbstractTradingRecordIndicator(BarSeries series, TradingRecord tradingRecord) {
+        super(series);
+        this.tradingRecord = tradingRecord;
+    }
+
+    /** @return {@link #tradingRecord} */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @return the number of trades of the trading record (to detect new trades
+     *         without copying them)
+     */
+    protected int getTradeCount() {
+        return 2 * tradingRecord.getPositionCount() + (tradingRecord.getCurrentPosition().isOpened() ? 1 : 0);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.num.Num;
+
+/**
+ * Rolling maximum drawdown indicator.
+ *
+ * <p>
+ * The {@link MaximumDrawdownCriterion maximum drawdown} of the {@link CashFlow
+ * cash flow} of a trading record (including the open position) within the last
+ * {@code barCount} bars, i.e. the largest decline from a peak to a later trough
+ * both within the window (e.g. 0.2 for 20%).
+ *
+ * <p>
+ * The window is a queue of two stacks holding the maximum, the minimum and the
+ * maximum drawdown of their (ordered) segments, so that a bar is added and
+ * removed in amortised constant time. The window is recalculated when a trade
+ * has been added to the trading record since the previous bar (or the bars are
+ * not requested in order).
+ */
+public class RollingMaximumDrawdownIndicator extends AbstractTradingRecordIndicator {
+
+    /** The maximum, the minimum and the maximum drawdown of an ordered segment. */
+    private static final class Segment {
+
+        private final Num max;
+        private final Num min;
+        private final Num maximumDrawdown;
+
+        private Segment(Num value) {
+            this(value, value, value.getNumFactory().zero());
+        }
+
+        private Segment(Num max, Num min, Num maximumDrawdown) {
+            this.max = max;
+            this.min = min;
+            this.maximumDrawdown = maximumDrawdown;
+        }
+
+        /**
+         * @param later the segment following this one
+         * @return the segment of both segments
+         */
+        private Segment combine(Segment later) {
+            Num drawdown = max.minus(later.min).dividedBy(max);
+            Num maximumDrawdown = this.maximumDrawdown.max(later.maximumDrawdown).max(drawdown);
+            return new Segment(max.max(later.max), min.min(later.min), maximumDrawdown);
+        }
+    }
+
+    private final int barCount;
+    private final CashFlow cashFlow;
+
+    /**
+     * The oldest values of the window (oldest on top), each with the segment from
+     * itself to the bottom of the stack.
+     */
+    private final Deque<Segment> front = new ArrayDeque<>();
+
+    /** The latest values of the window (in order). */
+    private final List<Num> back = new ArrayList<>();
+
+    /** The segment of the values of {@link #back} (null if empty). */
+    private Segment backSegment;
+
+    /** The index of the last calculated window (-1 if none). */
+    private int lastIndex = -1;
+
+    /** The number of trades of the trading record when calculated. */
+    private int lastTradeCount = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     * @param barCount      the time frame (number of bars)
+     * @throws IllegalArgumentException if {@code barCount} is not positive
+     */
+    public RollingMaximumDrawdownIndicator(BarSeries series, TradingRecord tradingRecord, int barCount) {
+        super(series, tradingRecord);
+        if (barCount < 1) {
+            throw new IllegalArgumentException("Bar count must be positive");
+        }
+        this.barCount = barCount;
+        this.cashFlow = new CashFlow(series, tradingRecord);
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        int tradeCount = getTradeCount();
+        if (tradeCount != lastTradeCount || index < lastIndex || index > lastIndex + 1) {
+            // recalculate the window
+            front.clear();
+            back.clear();
+            backSegment = null;
+            for (int i = Math.max(index - barCount + 1, getBarSeries().getBeginIndex()); i <= index; i++) {
+                push(cashFlow.getValue(i));
+            }
+        } else if (index == lastIndex + 1) {
+            push(cashFlow.getValue(index));
+            if (front.size() + back.size() > barCount) {
+                pop();
+            }
+        }
+        lastIndex = index;
+        lastTradeCount = tradeCount;
+
+        Segment window = front.isEmpty() ? backSegment
+                : backSegment == null ? front.peek() : front.peek().combine(backSegment);
+        return window.maximumDrawdown;
+    }
+
+    /** Adds the latest value to the window. */
+    private void push(Num value) {
+        Segment segment = new Segment(value);
+        back.add(value);
+        backSegment = backSegment == null ? segment : backSegment.combine(segment);
+    }
+
+    /** Removes the oldest value from the window. */
+    private void pop() {
+        if (front.isEmpty()) {
+            // move the values from back to front, the oldest on top
+            Segment segment = null;
+            for (int i = back.size() - 1; i >= 0; i--) {
+                Segment value = new Segment(back.get(i));
+                segment = segment == null ? value : value.combine(segment);
+                front.push(segment);
+            }
+            back.clear();
+            backSegment = null;
+        }
+        front.pop();
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return barCount - 1;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " barCount: " + barCount;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.analysis.ReturnStatistics;
+import org.ta4j.core.criteria.SharpeRatioCriterion;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * Rolling Sharpe ratio indicator.
+ *
+ * <p>
+ * The annualised {@link SharpeRatioCriterion Sharpe ratio} of the returns of
+ * the {@link CashFlow cash flow} of a trading record (including the open
+ * position) over the last {@code barCount} bars.
+ *
+ * <p>
+ * The mean and the sum of squared deviations of the returns in the window are
+ * updated incrementally from bar to bar (Welford's algorithm, extended to
+ * remove the oldest return). They are recalculated over the window when a trade
+ * has been added to the trading record since the previous bar (or the bars are
+ * not requested in order), and after every {@code barCount} bars to discard the
+ * accumulated rounding errors.
+ */
+public class RollingSharpeRatioIndicator extends AbstractTradingRecordIndicator {
+
+    private final int barCount;
+    private final CashFlow cashFlow;
+
+    /** The risk-free rate per bar. */
+    private final Num riskFreeRate;
+
+    /** The square root of the number of bars per year. */
+    private final Num annualisation;
+
+    /** The index of the last calculated window (-1 if none). */
+    private int lastIndex = -1;
+
+    /** The number of trades of the trading record when calculated. */
+    private int lastTradeCount = -1;
+
+    /** The number of bars the window has been moved since recalculated. */
+    private int movedBars;
+
+    private int count;
+    private Num mean;
+
+    /** The sum of the squared deviations from the {@link #mean}. */
+    private Num m2;
+
+    /** The last added return. */
+    private Num lastRate;
+
+    /**
+     * The number of last added returns equal to {@link #lastRate}. If they fill the
+     * whole window, its variance is zero (whatever the rounding errors of
+     * {@link #m2}).
+     */
+    private int equalRateCount;
+
+    /**
+     * Constructor with a risk-free rate of zero.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     * @param barCount      the time frame (number of returns)
+     */
+    public RollingSharpeRatioIndicator(BarSeries series, TradingRecord tradingRecord, int barCount) {
+        this(series, tradingRecord, barCount, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     * @param barCount      the time frame (number of returns)
+     * @param riskFreeRate  the annual risk-free rate (e.g. 0.02 for 2%)
+     * @throws IllegalArgumentException if {@code barCount} is less than 2
+     */
+    public RollingSharpeRatioIndicator(BarSeries series, TradingRecord tradingRecord, int barCount,
+            double riskFreeRate) {
+        super(series, tradingRecord);
+        if (barCount < 2) {
+            throw new IllegalArgumentException("Bar count must be at least 2");
+        }
+        this.barCount = barCount;
+        this.cashFlow = new CashFlow(series, tradingRecord);
+        double periodsPerYear = ReturnStatistics.getPeriodsPerYear(ReturnStatistics.getBarPeriod(series));
+        this.riskFreeRate = getBarSeries().numFactory().numOf(riskFreeRate / periodsPerYear);
+        this.annualisation = getBarSeries().numFactory().numOf(periodsPerYear).sqrt();
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        int tradeCount = getTradeCount();
+        if (tradeCount != lastTradeCount || index < lastIndex || index > lastIndex + 1 || movedBars == barCount) {
+            // recalculate the window
+            movedBars = 0;
+            count = 0;
+            mean = getBarSeries().numFactory().zero();
+            m2 = mean;
+            lastRate = null;
+            for (int i = Math.max(index - barCount + 1, getBarSeries().getBeginIndex() + 1); i <= index; i++) {
+                add(getReturn(i));
+            }
+        } else if (index == lastIndex + 1) {
+            movedBars++;
+            add(getReturn(index));
+            int removedIndex = index - barCount;
+            if (removedIndex > getBarSeries().getBeginIndex()) {
+                remove(getReturn(removedIndex));
+            }
+        }
+        lastIndex = index;
+        lastTradeCount = tradeCount;
+
+        if (count < 2 || equalRateCount >= count) {
+            return NaN.NaN;
+        }
+        Num variance = m2.dividedBy(getBarSeries().numFactory().numOf(count - 1));
+        if (!variance.isPositive()) {
+            return NaN.NaN;
+        }
+        return mean.minus(riskFreeRate).dividedBy(variance.sqrt()).multipliedBy(annualisation);
+    }
+
+    private void add(Num rate) {
+        equalRateCount = lastRate != null && rate.isEqual(lastRate) ? equalRateCount + 1 : 1;
+        lastRate = rate;
+        count++;
+        Num delta = rate.minus(mean);
+        mean = mean.plus(delta.dividedBy(getBarSeries().numFactory().numOf(count)));
+        m2 = m2.plus(delta.multipliedBy(rate.minus(mean)));
+    }
+
+    private void remove(Num rate) {
+        count--;
+        Num delta = rate.minus(mean);
+        mean = mean.minus(delta.dividedBy(getBarSeries().numFactory().numOf(count)));
+        m2 = m2.minus(delta.multipliedBy(rate.minus(mean)));
+        if (m2.isNegative()) {
+            m2 = getBarSeries().numFactory().zero();
+        }
+    }
+
+    /** @return the return from the previous bar to the index-th bar */
+    private Num getReturn(int index) {
+        return cashFlow.getValue(index)
+                .dividedBy(cashFlow.getValue(index - 1))
+                .minus(getBarSeries().numFactory().one());
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return barCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " barCount: " + barCount;
+    }
+}
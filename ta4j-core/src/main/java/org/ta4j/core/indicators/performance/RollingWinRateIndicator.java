@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.PositionsRatioCriterion;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * Rolling win rate indicator.
+ *
+ * <p>
+ * The {@link PositionsRatioCriterion#WinningPositionsRatioCriterion() ratio of
+ * winning positions} among the last {@code positionCount} positions closed up
+ * to a bar (e.g. 0.6 for 60%), NaN if no position is closed yet.
+ *
+ * <p>
+ * The exit indexes and the running number of winning positions are recorded
+ * once per closed position, so a value is found by binary search.
+ */
+public class RollingWinRateIndicator extends AbstractTradingRecordIndicator {
+
+    private final int positionCount;
+
+    /** The number of recorded positions. */
+    private int recordedPositions;
+
+    /** The exit indexes of the recorded positions. */
+    private int[] exitIndexes = new int[16];
+
+    /** The number of winning positions among the first i recorded positions. */
+    private int[] winningPositions = new int[17];
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     * @param positionCount the number of positions
+     * @throws IllegalArgumentException if {@code positionCount} is not positive
+     */
+    public RollingWinRateIndicator(BarSeries series, TradingRecord tradingRecord, int positionCount) {
+        super(series, tradingRecord);
+        if (positionCount < 1) {
+            throw new IllegalArgumentException("Position count must be positive");
+        }
+        this.positionCount = positionCount;
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        update();
+        // the number of positions closed up to the index
+        int closed = upperBound(index);
+        int count = Math.min(closed, positionCount);
+        if (count == 0) {
+            return NaN.NaN;
+        }
+        int winning = winningPositions[closed] - winningPositions[closed - count];
+        return getBarSeries().numFactory().numOf(winning).dividedBy(getBarSeries().numFactory().numOf(count));
+    }
+
+    /** Records the positions closed since the last update. */
+    private void update() {
+        int closedPositions = tradingRecord.getPositionCount();
+        if (closedPositions == recordedPositions) {
+            return;
+        }
+        if (closedPositions >= exitIndexes.length) {
+            int capacity = Math.max(2 * exitIndexes.length, closedPositions);
+            exitIndexes = Arrays.copyOf(exitIndexes, capacity);
+            winningPositions = Arrays.copyOf(winningPositions, capacity + 1);
+        }
+        List<Position> positions = tradingRecord.getPositions();
+        for (int i = recordedPositions; i < closedPositions; i++) {
+            Position position = positions.get(i);
+            exitIndexes[i] = position.getExit().getIndex();
+            winningPositions[i + 1] = winningPositions[i] + (position.hasProfit() ? 1 : 0);
+        }
+        recordedPositions = closedPositions;
+    }
+
+    /** @return the number of recorded positions with an exit index up to index */
+    private int upperBound(int index) {
+        int low = 0;
+        int high = recordedPositions;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (exitIndexes[middle] <= index) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " positionCount: " + positionCount;
+    }
+}
@@ -32,7 +32,9 @@ import java.util.List;
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.RecursiveCachedIndicator;
+import org.ta4j.core.indicators.helpers.DateTimeIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.utils.CalendarIndex;
 
 /**
  * Pivot Point indicator.
@@ -52,6 +54,9 @@ public class PivotPointIndicator extends RecursiveCachedIndicator<Num> {
     private final TimeLevel timeLevel;
     private final Num three;
 
+    /** The calendar attributes of the end times of the bars. */
+    private final CalendarIndex calendar;
+
     /**
      * Constructor.
      *
@@ -84,6 +89,7 @@ public class PivotPointIndicator extends RecursiveCachedIndicator<Num> {
         super(series);
         this.timeLevel = timeLevel;
         this.three = series.numFactory().numOf(3);
+        this.calendar = new CalendarIndex(new DateTimeIndicator(series, Bar::getEndTime));
     }
 
     @Override
@@ -129,17 +135,17 @@ public class PivotPointIndicator extends RecursiveCachedIndicator<Num> {
         }
 
         final Bar currentBar = getBarSeries().getBar(index);
+        final int currentPeriod = getPeriod(index);
 
         // step back while bar-1 in same period (day, week, etc):
-        while (index - 1 > getBarSeries().getBeginIndex()
-                && getPeriod(getBarSeries().getBar(index - 1)) == getPeriod(currentBar)) {
+        while (index - 1 > getBarSeries().getBeginIndex() && getPeriod(index - 1) == currentPeriod) {
             index--;
         }
 
         // index = last bar in same period, index-1 = first bar in previous period
         long previousPeriod = getPreviousPeriod(currentBar, index - 1);
-        while (index - 1 >= getBarSeries().getBeginIndex()
-                && getPeriod(getBarSeries().getBar(index - 1)) == previousPeriod) { // while bar-n in previous period
+        // step back while bar-n in previous period
+        while (index - 1 >= getBarSeries().getBeginIndex() && getPeriod(index - 1) == previousPeriod) {
             index--;
             previousBars.add(index);
         }
@@ -152,9 +158,8 @@ public class PivotPointIndicator extends RecursiveCachedIndicator<Num> {
         case DAY: // return previous day
             int prevCalendarDay = zonedEndTime.minusDays(1).getDayOfYear();
             // skip weekend and holidays:
-            var previousZonedEndTime = getBarSeries().getBar(indexOfPreviousBar).getZonedEndTime();
-            while (previousZonedEndTime.getDayOfYear() != prevCalendarDay && indexOfPreviousBar > 0
-                    && prevCalendarDay >= 0) {
+            int previousDayOfYear = calendar.getDayOfYear(indexOfPreviousBar);
+            while (previousDayOfYear != prevCalendarDay && indexOfPreviousBar > 0 && prevCalendarDay >= 0) {
                 prevCalendarDay--;
             }
             return prevCalendarDay;
@@ -167,17 +172,16 @@ public class PivotPointIndicator extends RecursiveCachedIndicator<Num> {
         }
     }
 
-    private long getPeriod(Bar bar) {
-        var zonedEndTime = bar.getZonedEndTime();
+    private int getPeriod(int index) {
         switch (timeLevel) {
         case DAY: // return previous day
-            return zonedEndTime.getDayOfYear();
+            return calendar.getDayOfYear(index);
         case WEEK: // return previous week
-            return zonedEndTime.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            return calendar.getWeekOfWeekBasedYear(index);
         case MONTH: // return previous month
-            return zonedEndTime.getMonthValue();
+            return calendar.getMonth(index);
         default: // return previous year
-            return zonedEndTime.getYear();
+            return calendar.getYear(index);
         }
     }
 
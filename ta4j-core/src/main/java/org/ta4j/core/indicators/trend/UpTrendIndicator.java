@@ -28,6 +28,7 @@ import org.ta4j.core.indicators.AbstractIndicator;
 import org.ta4j.core.indicators.adx.ADXIndicator;
 import org.ta4j.core.indicators.adx.MinusDIIndicator;
 import org.ta4j.core.indicators.adx.PlusDIIndicator;
+import org.ta4j.core.num.Num;
 
 public class UpTrendIndicator extends AbstractIndicator<Boolean> {
 
@@ -37,6 +38,7 @@ public class UpTrendIndicator extends AbstractIndicator<Boolean> {
     private final MinusDIIndicator minusDIIndicator;
     private final PlusDIIndicator plusDIIndicator;
     private final int unstableBars;
+    private final Num trendStrength;
 
     public UpTrendIndicator(final BarSeries series) {
         this(series, DEFAULT_UNSTABLE_BARS);
@@ -45,6 +47,7 @@ public class UpTrendIndicator extends AbstractIndicator<Boolean> {
     public UpTrendIndicator(final BarSeries series, int unstableBars) {
         super(series);
         this.unstableBars = unstableBars;
+        this.trendStrength = series.numFactory().numOf(25);
         this.directionStrengthIndicator = new ADXIndicator(series, unstableBars);
         this.minusDIIndicator = new MinusDIIndicator(series, unstableBars);
         this.plusDIIndicator = new PlusDIIndicator(series, unstableBars);
@@ -54,7 +57,7 @@ public class UpTrendIndicator extends AbstractIndicator<Boolean> {
     public Boolean getValue(final int index) {
         // calculate trend excluding this bar
         final var previousIndex = index - 1;
-        return this.directionStrengthIndicator.getValue(index).isGreaterThan(getBarSeries().numFactory().numOf(25))
+        return this.directionStrengthIndicator.getValue(index).isGreaterThan(trendStrength)
                 && this.minusDIIndicator.getValue(previousIndex)
                         .isLessThan(this.plusDIIndicator.getValue(previousIndex));
     }
@@ -0,0 +1,460 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * An event-driven runtime to run strategies on live market data.
+ *
+ * <p>
+ * The engine reads {@link MarketEvent market events} from a
+ * {@link MarketEventSource}, adds them to the {@link BarSeries bar series} of
+ * their instrument, evaluates all strategies of the instrument on the last bar
+ * and publishes an {@link OrderIntent} to an {@link OrderIntentSink} for every
+ * entry or exit signal. Each strategy keeps its own {@link TradingRecord} in
+ * which the signals are recorded at the close price of the last bar.
+ *
+ * <p>
+ * The events of an instrument are processed sequentially and in the order of
+ * the source by exactly one worker, so that neither the bar series nor the
+ * (cached) indicators of the strategies need to be thread-safe. Depending on
+ * {@code shards}, the engine runs one virtual thread per instrument or a fixed
+ * number of platform threads, each serving the instruments assigned to it. Each
+ * worker has a bounded queue: if a worker falls behind, the engine stops
+ * reading from the source until the worker has caught up (backpressure).
+ *
+ * <p>
+ * The latency from the arrival of an event until all strategies of the
+ * instrument have been evaluated is recorded in a {@link LatencyHistogram}.
+ *
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * var engine = new LiveTradingEngine(source, sink);
+ * engine.addInstrument("BTC-USD", series, List.of(strategy1, strategy2));
+ * engine.start();
+ * ...
+ * engine.close();
+ * </pre>
+ */
+public class LiveTradingEngine implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveTradingEngine.class);
+
+    /** The marker to stop a worker. */
+    private static final MarketEvent END = MarketEvent.trade("", Instant.EPOCH, 0, 0);
+
+    private final MarketEventSource source;
+    private final OrderIntentSink sink;
+    private final int queueCapacity;
+    private final int shards;
+    private final Map<String, Instrument> instruments = new LinkedHashMap<>();
+    private final List<Worker> workers = new ArrayList<>();
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LongAdder processedEvents = new LongAdder();
+    private final LongAdder skippedEvents = new LongAdder();
+    private final LongAdder orderIntents = new LongAdder();
+
+    private Thread dispatcher;
+    private volatile boolean stopped;
+
+    /**
+     * Constructor with one virtual thread per instrument and a queue capacity of
+     * 1024 events per instrument.
+     *
+     * @param source the source of the market events
+     * @param sink   the sink of the order intents
+     */
+    public LiveTradingEngine(MarketEventSource source, OrderIntentSink sink) {
+        this(source, sink, 1024, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param source        the source of the market events
+     * @param sink          the sink of the order intents
+     * @param queueCapacity the maximum number of pending events per worker
+     * @param shards        the number of platform threads serving all instruments,
+     *                      or 0 for one virtual thread per instrument
+     * @throws IllegalArgumentException if {@code queueCapacity} is not positive or
+     *                                  {@code shards} is negative
+     */
+    public LiveTradingEngine(MarketEventSource source, OrderIntentSink sink, int queueCapacity, int shards) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        if (shards < 0) {
+            throw new IllegalArgumentException("Number of shards must not be negative");
+        }
+        this.source = Objects.requireNonNull(source, "source must not be null");
+        this.sink = Objects.requireNonNull(sink, "sink must not be null");
+        this.queueCapacity = queueCapacity;
+        this.shards = shards;
+    }
+
+    /**
+     * Adds an instrument with a trade amount of 1. Trades are aggregated into bars
+     * with the time period of the last bar of the series.
+     *
+     * @param instrument the instrument of the market events
+     * @param series     the bar series of the instrument
+     * @param strategies the strategies built on the bar series
+     */
+    public void addInstrument(String instrument, BarSeries series, List<Strategy> strategies) {
+        addInstrument(instrument, series, strategies, null, 1);
+    }
+
+    /**
+     * Adds an instrument.
+     *
+     * @param instrument the instrument of the market events
+     * @param series     the bar series of the instrument
+     * @param strategies the strategies built on the bar series
+     * @param barPeriod  the time period of the bars into which trades are
+     *                   aggregated (if null, the time period of the last bar of the
+     *                   series)
+     * @param amount     the amount of the order intents
+     * @throws IllegalStateException    if the engine has already been started
+     * @throws IllegalArgumentException if the instrument has already been added
+     */
+    public synchronized void addInstrument(String instrument, BarSeries series, List<Strategy> strategies,
+            Duration barPeriod, Number amount) {
+        Objects.requireNonNull(instrument, "instrument must not be null");
+        Objects.requireNonNull(series, "series must not be null");
+        if (dispatcher != null) {
+            throw new IllegalStateException("Instruments must be added before the engine is started");
+        }
+        if (instruments.containsKey(instrument)) {
+            throw new IllegalArgumentException("Instrument already added: " + instrument);
+        }
+        instruments.put(instrument,
+                new Instrument(instrument, series, strategies, barPeriod, series.numFactory().numOf(amount)));
+    }
+
+    /**
+     * Starts the workers and the dispatching of the events of the source.
+     *
+     * @throws IllegalStateException if the engine has already been started
+     */
+    public synchronized void start() {
+        if (dispatcher != null) {
+            throw new IllegalStateException("Engine has already been started");
+        }
+        int instrumentCount = 0;
+        for (Instrument instrument : instruments.values()) {
+            if (shards == 0) {
+                Worker worker = new Worker();
+                workers.add(worker);
+                worker.thread = Thread.ofVirtual().name("ta4j-live-" + instrument.name).unstarted(worker);
+                instrument.worker = worker;
+            } else {
+                if (workers.size() < shards) {
+                    Worker worker = new Worker();
+                    workers.add(worker);
+                    worker.thread = Thread.ofPlatform()
+                            .daemon(true)
+                            .name("ta4j-live-shard-" + workers.size())
+                            .unstarted(worker);
+                }
+                instrument.worker = workers.get(instrumentCount % shards);
+            }
+            instrumentCount++;
+        }
+        workers.forEach(worker -> worker.thread.start());
+        dispatcher = Thread.ofPlatform().daemon(true).name("ta4j-live-dispatcher").start(this::dispatch);
+    }
+
+    /**
+     * Waits until all events of the source have been processed (i.e. the source is
+     * exhausted) or the engine has been closed.
+     *
+     * @throws InterruptedException  if interrupted while waiting
+     * @throws IllegalStateException if the engine has not been started
+     */
+    public void awaitTermination() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            if (dispatcher == null) {
+                throw new IllegalStateException("Engine has not been started");
+            }
+            thread = dispatcher;
+        }
+        thread.join();
+        for (Worker worker : workers) {
+            worker.thread.join();
+        }
+    }
+
+    /**
+     * Starts the engine and waits until all events of the source have been
+     * processed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void run() throws InterruptedException {
+        start();
+        awaitTermination();
+    }
+
+    /**
+     * Stops the engine. Pending events are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        stopped = true;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            workers.forEach(worker -> worker.thread.interrupt());
+        }
+    }
+
+    /** @return {@link #source} */
+    MarketEventSource getSource() {
+        return source;
+    }
+
+    /** @return the latencies from the arrival of an event to its evaluation */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /** @return the number of processed events */
+    public long getProcessedEventCount() {
+        return processedEvents.sum();
+    }
+
+    /** @return the number of events of unknown instruments or outdated bars */
+    public long getSkippedEventCount() {
+        return skippedEvents.sum();
+    }
+
+    /** @return the number of published order intents */
+    public long getOrderIntentCount() {
+        return orderIntents.sum();
+    }
+
+    /**
+     * @param instrument the instrument
+     * @param strategy   a strategy of the instrument
+     * @return the trading record of the strategy (must only be read when the engine
+     *         is not running)
+     * @throws IllegalArgumentException if the strategy has not been added for the
+     *                                  instrument
+     */
+    public TradingRecord getTradingRecord(String instrument, Strategy strategy) {
+        Instrument entry = instruments.get(instrument);
+        if (entry != null) {
+            for (int i = 0; i < entry.strategies.length; i++) {
+                if (entry.strategies[i] == strategy) {
+                    return entry.tradingRecords[i];
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown strategy for instrument " + instrument);
+    }
+
+    /**
+     * Reads the events of the source and hands them to the workers.
+     */
+    private void dispatch() {
+        try {
+            MarketEvent event;
+            while (!stopped && (event = source.next()) != null) {
+                event.setArrivalNanos(System.nanoTime());
+                Instrument instrument = instruments.get(event.getInstrument());
+                if (instrument == null) {
+                    skippedEvents.increment();
+                    log.debug("Skipping event of unknown instrument: {}", event);
+                    continue;
+                }
+                // blocks while the worker is busy (backpressure)
+                instrument.worker.queue.put(event);
+            }
+            for (Worker worker : workers) {
+                worker.queue.put(END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Processes an event of an instrument.
+     *
+     * @param event the event
+     */
+    private void process(MarketEvent event) {
+        Instrument instrument = instruments.get(event.getInstrument());
+        if (!instrument.update(event)) {
+            skippedEvents.increment();
+            log.debug("Skipping outdated event: {}", event);
+            return;
+        }
+        BarSeries series = instrument.series;
+        int index = series.getEndIndex();
+        Num price = series.getBar(index).getClosePrice();
+        for (int i = 0; i < instrument.strategies.length; i++) {
+            Strategy strategy = instrument.strategies[i];
+            TradingRecord tradingRecord = instrument.tradingRecords[i];
+            Trade lastTrade = tradingRecord.getLastTrade();
+            // at most one trade per bar, the bar may still be updated by trades
+            if ((lastTrade == null || lastTrade.getIndex() < index) && strategy.shouldOperate(index, tradingRecord)) {
+                TradeType type = tradingRecord.getNextTradeType();
+                boolean entry = tradingRecord.isClosed();
+                tradingRecord.operate(index, price, instrument.amount);
+                orderIntents.increment();
+                sink.accept(new OrderIntent(instrument.name, strategy.getName(), index, type, entry, price,
+                        instrument.amount, event.getTime(), System.nanoTime() - event.getArrivalNanos()));
+            }
+        }
+        latencyHistogram.record(System.nanoTime() - event.getArrivalNanos());
+        processedEvents.increment();
+    }
+
+    /** An instrument with its bar series and strategies. */
+    private static final class Instrument {
+
+        private final String name;
+        private final BarSeries series;
+        private final Strategy[] strategies;
+        private final TradingRecord[] tradingRecords;
+        private final Duration barPeriod;
+        private final Num amount;
+        private Worker worker;
+
+        private Instrument(String name, BarSeries series, List<Strategy> strategies, Duration barPeriod, Num amount) {
+            this.name = name;
+            this.series = series;
+            this.strategies = strategies.toArray(new Strategy[0]);
+            this.tradingRecords = new TradingRecord[this.strategies.length];
+            for (int i = 0; i < this.strategies.length; i++) {
+                this.tradingRecords[i] = new BaseTradingRecord(this.strategies[i].getName());
+            }
+            this.barPeriod = barPeriod;
+            this.amount = amount;
+        }
+
+        /**
+         * @param event the event to add to the bar series
+         * @return true if the series has been updated, false if the event is outdated
+         */
+        private boolean update(MarketEvent event) {
+            Bar lastBar = series.isEmpty() ? null : series.getLastBar();
+            if (event.getType() == MarketEvent.Type.BAR) {
+                Bar bar = event.getBar();
+                if (lastBar != null && bar.getEndTime().isBefore(lastBar.getEndTime())) {
+                    return false;
+                }
+                series.addBar(bar, lastBar != null && bar.getEndTime().equals(lastBar.getEndTime()));
+                return true;
+            }
+            Instant time = event.getTime();
+            if (lastBar != null && time.isBefore(lastBar.getBeginTime())) {
+                return false;
+            }
+            if (lastBar == null || !time.isBefore(lastBar.getEndTime())) {
+                addBar(time, lastBar, event.getTradePrice());
+            }
+            series.addTrade(event.getTradeVolume(), event.getTradePrice());
+            return true;
+        }
+
+        /**
+         * Adds the (empty) bar containing the time of a trade.
+         *
+         * @param time    the time of the trade
+         * @param lastBar the last bar of the series (or null)
+         * @param price   the price of the trade
+         */
+        private void addBar(Instant time, Bar lastBar, Number price) {
+            Duration period = barPeriod;
+            if (period == null) {
+                if (lastBar == null) {
+                    throw new IllegalStateException("Bar period required to aggregate trades into an empty series");
+                }
+                period = lastBar.getTimePeriod();
+            }
+            // bars are aligned to the last bar or, if there is none, to the epoch
+            Instant origin = lastBar == null ? Instant.EPOCH : lastBar.getEndTime();
+            long periods = Duration.between(origin, time).toNanos() / period.toNanos() + 1;
+            series.barBuilder()
+                    .timePeriod(period)
+                    .endTime(origin.plus(period.multipliedBy(periods)))
+                    .openPrice(price)
+                    .highPrice(price)
+                    .lowPrice(price)
+                    .closePrice(price)
+                    .volume(0)
+                    .amount(0)
+                    .add();
+        }
+    }
+
+    /** A worker processing the events of its instruments sequentially. */
+    private final class Worker implements Runnable {
+
+        private final BlockingQueue<MarketEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private Thread thread;
+
+        @Override
+        public void run() {
+            try {
+                MarketEvent event;
+                while (!stopped && (event = queue.take()) != END) {
+                    try {
+                        process(event);
+                    } catch (RuntimeException e) {
+                        log.error("Failed to process event: {}", event, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.ta4j.core.Bar;
+
+/**
+ * A market data event of an instrument processed by the
+ * {@link LiveTradingEngine}.
+ *
+ * <p>
+ * An event is either a (completed or updated) {@link Bar bar} or a single trade
+ * (tick).
+ */
+public final class MarketEvent {
+
+    /** The type of a {@link MarketEvent}. */
+    public enum Type {
+
+        /** A bar to add to the bar series (or to replace its last bar). */
+        BAR,
+
+        /** A trade to add to the last bar of the bar series. */
+        TRADE
+    }
+
+    private final String instrument;
+    private final Type type;
+    private final Instant time;
+    private final Bar bar;
+    private final Number tradeVolume;
+    private final Number tradePrice;
+
+    /** The {@link System#nanoTime()} when the engine received the event. */
+    private long arrivalNanos;
+
+    private MarketEvent(String instrument, Type type, Instant time, Bar bar, Number tradeVolume, Number tradePrice) {
+        this.instrument = Objects.requireNonNull(instrument, "instrument must not be null");
+        this.type = type;
+        this.time = Objects.requireNonNull(time, "time must not be null");
+        this.bar = bar;
+        this.tradeVolume = tradeVolume;
+        this.tradePrice = tradePrice;
+    }
+
+    /**
+     * Creates a bar event. A bar with the same end time as the last bar of the
+     * series replaces the last bar.
+     *
+     * @param instrument the instrument
+     * @param bar        the bar (its end time is the event time)
+     * @return the bar event
+     */
+    public static MarketEvent bar(String instrument, Bar bar) {
+        Objects.requireNonNull(bar, "bar must not be null");
+        return new MarketEvent(instrument, Type.BAR, bar.getEndTime(), bar, null, null);
+    }
+
+    /**
+     * Creates a trade event.
+     *
+     * @param instrument  the instrument
+     * @param time        the time of the trade
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @return the trade event
+     */
+    public static MarketEvent trade(String instrument, Instant time, Number tradeVolume, Number tradePrice) {
+        Objects.requireNonNull(tradeVolume, "tradeVolume must not be null");
+        Objects.requireNonNull(tradePrice, "tradePrice must not be null");
+        return new MarketEvent(instrument, Type.TRADE, time, null, tradeVolume, tradePrice);
+    }
+
+    /** @return {@link #instrument} */
+    public String getInstrument() {
+        return instrument;
+    }
+
+    /** @return {@link #type} */
+    public Type getType() {
+        return type;
+    }
+
+    /** @return the time of the trade or the end time of the bar */
+    public Instant getTime() {
+        return time;
+    }
+
+    /** @return the bar, or null for trade events */
+    public Bar getBar() {
+        return bar;
+    }
+
+    /** @return the traded volume, or null for bar events */
+    public Number getTradeVolume() {
+        return tradeVolume;
+    }
+
+    /** @return the trade price, or null for bar events */
+    public Number getTradePrice() {
+        return tradePrice;
+    }
+
+    /** @return {@link #arrivalNanos} */
+    long getArrivalNanos() {
+        return arrivalNanos;
+    }
+
+    /**
+     * @param arrivalNanos the {@link System#nanoTime()} when the engine received
+     *                     the event
+     */
+    void setArrivalNanos(long arrivalNanos) {
+        this.arrivalNanos = arrivalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MarketEvent{" + "instrument=" + instrument + ", type=" + type + ", time=" + time
+                + (type == Type.BAR ? ", bar=" + bar : ", volume=" + tradeVolume + ", price=" + tradePrice) + '}';
+    }
+}
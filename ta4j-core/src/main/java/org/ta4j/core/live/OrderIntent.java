@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.time.Instant;
+
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.num.Num;
+
+/**
+ * The intent of a strategy to place a trade, published by the
+ * {@link LiveTradingEngine}.
+ */
+public class OrderIntent {
+
+    private final String instrument;
+    private final String strategyName;
+    private final int index;
+    private final TradeType type;
+    private final boolean entry;
+    private final Num price;
+    private final Num amount;
+    private final Instant time;
+    private final long latencyNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param instrument   the instrument
+     * @param strategyName the name of the strategy
+     * @param index        the bar index of the signal
+     * @param type         the trade type
+     * @param entry        true for an entry, false for an exit
+     * @param price        the close price of the bar of the signal
+     * @param amount       the trade amount
+     * @param time         the time of the event that triggered the signal
+     * @param latencyNanos the nanoseconds from the arrival of the event to the
+     *                     signal
+     */
+    public OrderIntent(String instrument, String strategyName, int index, TradeType type, boolean entry, Num price,
+            Num amount, Instant time, long latencyNanos) {
+        this.instrument = instrument;
+        this.strategyName = strategyName;
+        this.index = index;
+        this.type = type;
+        this.entry = entry;
+        this.price = price;
+        this.amount = amount;
+        this.time = time;
+        this.latencyNanos = latencyNanos;
+    }
+
+    /** @return {@link #instrument} */
+    public String getInstrument() {
+        return instrument;
+    }
+
+    /** @return {@link #strategyName} */
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    /** @return {@link #index} */
+    public int getIndex() {
+        return index;
+    }
+
+    /** @return {@link #type} */
+    public TradeType getType() {
+        return type;
+    }
+
+    /** @return true for an entry, false for an exit */
+    public boolean isEntry() {
+        return entry;
+    }
+
+    /** @return {@link #price} */
+    public Num getPrice() {
+        return price;
+    }
+
+    /** @return {@link #amount} */
+    public Num getAmount() {
+        return amount;
+    }
+
+    /** @return {@link #time} */
+    public Instant getTime() {
+        return time;
+    }
+
+    /** @return {@link #latencyNanos} */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderIntent{" + "instrument=" + instrument + ", strategy=" + strategyName + ", index=" + index
+                + ", type=" + type + ", entry=" + entry + ", price=" + price + ", amount=" + amount + ", time=" + time
+                + ", latencyNanos=" + latencyNanos + '}';
+    }
+}
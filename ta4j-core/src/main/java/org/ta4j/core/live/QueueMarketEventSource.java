@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-memory {@link MarketEventSource} fed by one or more producers (e.g. a
+ * websocket client of an exchange).
+ *
+ * <p>
+ * The queue is bounded: {@link #publish(MarketEvent)} blocks while the queue is
+ * full, so that a slow engine applies backpressure to its producers.
+ */
+public class QueueMarketEventSource implements MarketEventSource {
+
+    private final BlockingQueue<MarketEvent> queue;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of pending events
+     */
+    public QueueMarketEventSource(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Publishes an event, waiting if necessary until space is available.
+     *
+     * @param event the event
+     * @throws InterruptedException  if interrupted while waiting
+     * @throws IllegalStateException if the source has been closed
+     */
+    public void publish(MarketEvent event) throws InterruptedException {
+        Objects.requireNonNull(event, "event must not be null");
+        if (closed) {
+            throw new IllegalStateException("Source has been closed");
+        }
+        queue.put(event);
+    }
+
+    /**
+     * Publishes an event if space is available.
+     *
+     * @param event the event
+     * @return true if the event has been published, false if the queue is full
+     * @throws IllegalStateException if the source has been closed
+     */
+    public boolean offer(MarketEvent event) {
+        Objects.requireNonNull(event, "event must not be null");
+        if (closed) {
+            throw new IllegalStateException("Source has been closed");
+        }
+        return queue.offer(event);
+    }
+
+    /**
+     * Closes the source. Pending events are still delivered, afterwards
+     * {@link #next()} returns null.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    /** @return the number of pending events */
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public MarketEvent next() throws InterruptedException {
+        while (true) {
+            MarketEvent event = queue.poll(10, TimeUnit.MILLISECONDS);
+            if (event != null) {
+                return event;
+            }
+            if (closed && queue.isEmpty()) {
+                return null;
+            }
+        }
+    }
+}
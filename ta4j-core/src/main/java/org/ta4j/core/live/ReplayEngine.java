@@ -0,0 +1,368 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.ta4j.core.BaseBarConvertibleBuilder;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Replays recorded market events through the {@link LiveTradingEngine}, i.e.
+ * through exactly the same code path as live market data.
+ *
+ * <p>
+ * The events of all added recordings are merged by time. Events with the same
+ * time are replayed in the order in which their recordings have been added
+ * (and, within a recording, in their recorded order), so that every replay of
+ * the same recordings produces the same sequence of events.
+ *
+ * <p>
+ * The replay runs at full speed ({@code speed = 0}) or paced to the recorded
+ * time scaled by {@code speed} (e.g. 1 for real time, 60 to replay one hour in
+ * one minute). A {@link VirtualClock} follows the time of the replayed events.
+ *
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * var replay = new ReplayEngine(0);
+ * replay.addTrades("BTC-USD", Path.of("bitstamp_trades.csv"));
+ * var engine = new LiveTradingEngine(replay, sink);
+ * engine.addInstrument("BTC-USD", series, strategies, Duration.ofMinutes(5), 1);
+ * replay.run(engine);
+ * System.out.println(replay.getEventsPerSecond() + " events/s, " + engine.getLatencyHistogram());
+ * </pre>
+ */
+public class ReplayEngine implements MarketEventSource {
+
+    private final double speed;
+    private final VirtualClock clock = new VirtualClock();
+    private final List<Iterator<MarketEvent>> recordings = new ArrayList<>();
+
+    private PriorityQueue<Cursor> cursors;
+    private Instant firstEventTime;
+    private long startNanos;
+    private long endNanos;
+    private long eventCount;
+
+    /**
+     * Constructor.
+     *
+     * @param speed 0 to replay at full speed, otherwise the factor by which the
+     *              recorded time is accelerated (e.g. 1 for real time)
+     * @throws IllegalArgumentException if {@code speed} is negative or NaN
+     */
+    public ReplayEngine(double speed) {
+        if (!(speed >= 0)) {
+            throw new IllegalArgumentException("Speed must not be negative");
+        }
+        this.speed = speed;
+    }
+
+    /**
+     * Adds a recording of events (of any instruments) sorted by time.
+     *
+     * @param events the events
+     * @throws IllegalStateException if the replay has already been started
+     */
+    public synchronized void addEvents(Iterable<MarketEvent> events) {
+        checkNotStarted();
+        recordings.add(Objects.requireNonNull(events, "events must not be null").iterator());
+    }
+
+    /**
+     * Adds a recording of trades in the format of the Bitstamp trade history (i.e.
+     * a header line followed by lines of
+     * {@code unix timestamp in seconds,price,amount}). Files with the most recent
+     * trade at the top are replayed in reverse order.
+     *
+     * @param instrument the instrument of the trades
+     * @param file       the CSV file
+     * @throws UncheckedIOException  if the file cannot be read
+     * @throws IllegalStateException if the replay has already been started
+     */
+    public synchronized void addTrades(String instrument, Path file) {
+        checkNotStarted();
+        int size = 0;
+        long[] times = new long[1024];
+        double[] prices = new double[1024];
+        double[] amounts = new double[1024];
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                String[] values = split(line);
+                if (values.length < 3) {
+                    continue;
+                }
+                if (size == times.length) {
+                    times = Arrays.copyOf(times, size * 2);
+                    prices = Arrays.copyOf(prices, size * 2);
+                    amounts = Arrays.copyOf(amounts, size * 2);
+                }
+                times[size] = Long.parseLong(values[0]);
+                prices[size] = Double.parseDouble(values[1]);
+                amounts[size] = Double.parseDouble(values[2]);
+                size++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read trades from " + file, e);
+        }
+        boolean reversed = size > 1 && times[0] > times[size - 1];
+        recordings.add(new TradeIterator(instrument, times, prices, amounts, size, reversed));
+    }
+
+    /**
+     * Adds a recording of bars in the format of the Yahoo Finance history (i.e. a
+     * header line followed by lines of
+     * {@code yyyy-MM-dd,open,high,low,close,volume}). As in {@code CsvBarsLoader},
+     * the end time of a bar is the start of its date (in UTC).
+     *
+     * @param instrument the instrument of the bars
+     * @param file       the CSV file
+     * @param barPeriod  the time period of the bars
+     * @param numFactory the num factory of the bar series of the instrument
+     * @throws UncheckedIOException  if the file cannot be read
+     * @throws IllegalStateException if the replay has already been started
+     */
+    public synchronized void addBars(String instrument, Path file, Duration barPeriod, NumFactory numFactory) {
+        checkNotStarted();
+        List<MarketEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                String[] values = split(line);
+                if (values.length < 6) {
+                    continue;
+                }
+                var bar = new BaseBarConvertibleBuilder(numFactory).timePeriod(barPeriod)
+                        .endTime(LocalDate.parse(values[0]).atStartOfDay(ZoneOffset.UTC).toInstant())
+                        .openPrice(values[1])
+                        .highPrice(values[2])
+                        .lowPrice(values[3])
+                        .closePrice(values[4])
+                        .volume(values[5])
+                        .build();
+                events.add(MarketEvent.bar(instrument, bar));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read bars from " + file, e);
+        }
+        recordings.add(events.iterator());
+    }
+
+    /**
+     * Replays all events through the engine and waits until the engine has
+     * processed them. Afterwards, {@link #getEventsPerSecond()} reports the end to
+     * end throughput (including the evaluation of the strategies).
+     *
+     * @param engine the engine created with this replay as source
+     * @throws InterruptedException     if interrupted while waiting
+     * @throws IllegalArgumentException if the engine has another source
+     */
+    public void run(LiveTradingEngine engine) throws InterruptedException {
+        if (engine.getSource() != this) {
+            throw new IllegalArgumentException("Engine must be created with this replay as source");
+        }
+        engine.run();
+        synchronized (this) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * When paced, the wait for the next event does not hold the lock of this
+     * replay, so that its statistics can be read meanwhile.
+     */
+    @Override
+    public MarketEvent next() throws InterruptedException {
+        MarketEvent event;
+        long waitNanos = 0;
+        synchronized (this) {
+            if (cursors == null) {
+                start();
+            }
+            Cursor cursor = cursors.poll();
+            if (cursor == null) {
+                if (endNanos == 0) {
+                    endNanos = System.nanoTime();
+                }
+                return null;
+            }
+            event = cursor.event;
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+            if (firstEventTime == null) {
+                firstEventTime = event.getTime();
+            } else if (speed > 0) {
+                long dueNanos = startNanos
+                        + (long) (Duration.between(firstEventTime, event.getTime()).toNanos() / speed);
+                waitNanos = dueNanos - System.nanoTime();
+            }
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        synchronized (this) {
+            clock.setInstant(event.getTime());
+            eventCount++;
+        }
+        return event;
+    }
+
+    /** @return the clock following the time of the replayed events */
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    /** @return the number of replayed events */
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return the number of replayed events per second of wall-clock time (0 if the
+     *         replay has not been started)
+     */
+    public synchronized double getEventsPerSecond() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        long elapsedNanos = (endNanos == 0 ? System.nanoTime() : endNanos) - startNanos;
+        return elapsedNanos <= 0 ? 0 : eventCount * 1e9 / elapsedNanos;
+    }
+
+    private void start() {
+        cursors = new PriorityQueue<>();
+        for (int i = 0; i < recordings.size(); i++) {
+            Cursor cursor = new Cursor(i, recordings.get(i));
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        startNanos = System.nanoTime();
+    }
+
+    private void checkNotStarted() {
+        if (cursors != null) {
+            throw new IllegalStateException("Replay has already been started");
+        }
+    }
+
+    private static String[] split(String line) {
+        String[] values = line.split(",");
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].replace("\"", "").trim();
+        }
+        return values;
+    }
+
+    /** The position within a recording. */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final int order;
+        private final Iterator<MarketEvent> events;
+        private MarketEvent event;
+
+        private Cursor(int order, Iterator<MarketEvent> events) {
+            this.order = order;
+            this.events = events;
+        }
+
+        private boolean advance() {
+            if (!events.hasNext()) {
+                return false;
+            }
+            MarketEvent next = events.next();
+            if (event != null && next.getTime().isBefore(event.getTime())) {
+                throw new IllegalStateException("Events of a recording must be sorted by time: " + next);
+            }
+            event = next;
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int result = event.getTime().compareTo(other.event.getTime());
+            return result != 0 ? result : Integer.compare(order, other.order);
+        }
+    }
+
+    /** Creates the events of a recording of trades on demand. */
+    private static final class TradeIterator implements Iterator<MarketEvent> {
+
+        private final String instrument;
+        private final long[] times;
+        private final double[] prices;
+        private final double[] amounts;
+        private final int size;
+        private final boolean reversed;
+        private int position;
+
+        private TradeIterator(String instrument, long[] times, double[] prices, double[] amounts, int size,
+                boolean reversed) {
+            this.instrument = instrument;
+            this.times = times;
+            this.prices = prices;
+            this.amounts = amounts;
+            this.size = size;
+            this.reversed = reversed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        @Override
+        public MarketEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = reversed ? size - 1 - position : position;
+            position++;
+            return MarketEvent.trade(instrument, Instant.ofEpochSecond(times[i]), amounts[i], prices[i]);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.reports;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A table of metrics read from a binary columnar file written by a
+ * {@link ReportWriter}.
+ *
+ * <p>
+ * The file starts with a header (magic number, version, number of columns and
+ * the column names) followed by row groups. Each row group starts with its
+ * number of rows, followed by the strategy names and then by the values of each
+ * column as contiguous big-endian {@code double}s. A row group with zero rows
+ * marks the end of the file.
+ */
+public class ColumnarReport {
+
+    /** The first bytes of a columnar report file ("TA4R"). */
+    static final int MAGIC = 0x54413452;
+
+    /** The version of the columnar report format. */
+    static final byte VERSION = 1;
+
+    /** The names of the strategies (one per row). */
+    private final List<String> strategyNames;
+
+    /** The names of the metric columns. */
+    private final List<String> columnNames;
+
+    /** The values of the metric columns. */
+    private final double[][] columns;
+
+    private ColumnarReport(List<String> strategyNames, List<String> columnNames, double[][] columns) {
+        this.strategyNames = Collections.unmodifiableList(strategyNames);
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.columns = columns;
+    }
+
+    /**
+     * Reads a columnar report file.
+     *
+     * @param file the file written by a {@link ReportWriter}
+     * @return the report
+     * @throws IllegalStateException if the file is not a complete columnar report
+     * @throws UncheckedIOException  if the file cannot be read
+     */
+    public static ColumnarReport read(Path file) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IllegalStateException("Unsupported report format: " + file);
+            }
+            int columnCount = in.readInt();
+            List<String> columnNames = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                columnNames.add(in.readUTF());
+            }
+            List<String> strategyNames = new ArrayList<>();
+            double[][] columns = new double[columnCount][16];
+            int rowGroupSize;
+            while ((rowGroupSize = in.readInt()) > 0) {
+                int offset = strategyNames.size();
+                for (int r = 0; r < rowGroupSize; r++) {
+                    strategyNames.add(in.readUTF());
+                }
+                byte[] bytes = new byte[rowGroupSize * Double.BYTES];
+                for (int c = 0; c < columnCount; c++) {
+                    if (columns[c].length < offset + rowGroupSize) {
+                        columns[c] = Arrays.copyOf(columns[c], Math.max(2 * columns[c].length, offset + rowGroupSize));
+                    }
+                    in.readFully(bytes);
+                    ByteBuffer.wrap(bytes).asDoubleBuffer().get(columns[c], offset, rowGroupSize);
+                }
+            }
+            for (int c = 0; c < columnCount; c++) {
+                columns[c] = Arrays.copyOf(columns[c], strategyNames.size());
+            }
+            return new ColumnarReport(strategyNames, columnNames, columns);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Incomplete report: " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read report " + file, e);
+        }
+    }
+
+    /** @return the number of rows */
+    public int getRowCount() {
+        return strategyNames.size();
+    }
+
+    /** @return {@link #strategyNames} */
+    public List<String> getStrategyNames() {
+        return strategyNames;
+    }
+
+    /** @return {@link #columnNames} */
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * @param columnName the name of the metric column
+     * @return a copy of the values of the column (one per row)
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public double[] getColumn(String columnName) {
+        int c = columnNames.indexOf(columnName);
+        if (c < 0) {
+            throw new IllegalArgumentException("Unknown column: " + columnName);
+        }
+        return columns[c].clone();
+    }
+
+    /**
+     * @param row        the row
+     * @param columnName the name of the metric column
+     * @return the value of the column in the row
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public double getValue(int row, String columnName) {
+        int c = columnNames.indexOf(columnName);
+        if (c < 0) {
+            throw new IllegalArgumentException("Unknown column: " + columnName);
+        }
+        return columns[c][Objects.checkIndex(row, getRowCount())];
+    }
+}
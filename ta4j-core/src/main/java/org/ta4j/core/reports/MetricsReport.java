@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.reports;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.num.Num;
+
+/**
+ * An immutable report of named metrics (i.e. {@link AnalysisCriterion
+ * criterion} values) of a {@link Strategy strategy}, generated by a
+ * {@link MetricsReportGenerator}.
+ */
+public class MetricsReport {
+
+    /** The strategy. */
+    private final Strategy strategy;
+
+    /** The names of the metrics. */
+    private final List<String> metricNames;
+
+    /** The values of the metrics (in the order of the names). */
+    private final Num[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param strategy    the strategy (or null)
+     * @param metricNames the names of the metrics
+     * @param values      the values of the metrics (in the order of the names)
+     * @throws IllegalArgumentException if the number of names and values differ
+     */
+    public MetricsReport(Strategy strategy, List<String> metricNames, Num[] values) {
+        if (metricNames.size() != values.length) {
+            throw new IllegalArgumentException("Number of metric names and values must be equal");
+        }
+        this.strategy = strategy;
+        this.metricNames = List.copyOf(metricNames);
+        this.values = Arrays.copyOf(values, values.length);
+    }
+
+    /** @return {@link #strategy} */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /** @return {@link #metricNames} */
+    public List<String> getMetricNames() {
+        return metricNames;
+    }
+
+    /** @return the number of metrics */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @param metricName the name of the metric
+     * @return true if the report contains the metric
+     */
+    public boolean contains(String metricName) {
+        return metricNames.contains(metricName);
+    }
+
+    /**
+     * @param metricName the name of the metric
+     * @return the value of the metric
+     * @throws IllegalArgumentException if there is no such metric
+     */
+    public Num getValue(String metricName) {
+        int i = metricNames.indexOf(metricName);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metricName);
+        }
+        return values[i];
+    }
+
+    /**
+     * @param i the position of the metric
+     * @return the value of the i-th metric
+     */
+    public Num getValue(int i) {
+        return values[Objects.checkIndex(i, values.length)];
+    }
+
+    /**
+     * @return the values by metric name (unmodifiable, in the order of the names)
+     */
+    public Map<String, Num> asMap() {
+        Map<String, Num> map = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            map.put(metricNames.get(i), values[i]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsReport{" + "strategy=" + (strategy == null ? null : strategy.getName()) + ", metrics=" + asMap()
+                + '}';
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.reports;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
+import org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfWinningPositionsCriterion;
+import org.ta4j.core.criteria.pnl.LossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossPercentageCriterion;
+import org.ta4j.core.num.Num;
+
+/**
+ * Generates a {@link MetricsReport} with the values of a declared set of named
+ * {@link AnalysisCriterion criteria}.
+ *
+ * <p>
+ * The criteria are created once (when declared) and reused for every report.
+ * All criteria of a report are evaluated through one shared
+ * {@link AnalysisContext}, so that the cash flow, the returns and the position
+ * profits are calculated only once. The criteria can be evaluated in parallel,
+ * as they only read the (thread-safe) context.
+ */
+public class MetricsReportGenerator implements ReportGenerator<MetricsReport> {
+
+    /** The names of the metrics. */
+    private final List<String> metricNames;
+
+    /** The criteria (in the order of the names). */
+    private final AnalysisCriterion[] criteria;
+
+    /** True to evaluate the criteria in parallel. */
+    private final boolean parallel;
+
+    /**
+     * Constructor with the {@link #defaultCriteria() default criteria}, evaluated
+     * sequentially.
+     */
+    public MetricsReportGenerator() {
+        this(defaultCriteria(), false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param criteria the criteria by metric name (in report order)
+     * @param parallel true to evaluate the criteria in parallel (worthwhile for
+     *                 expensive criteria of long trading records, not when many
+     *                 reports are generated in parallel anyway)
+     * @throws IllegalArgumentException if {@code criteria} contains null values
+     */
+    public MetricsReportGenerator(Map<String, AnalysisCriterion> criteria, boolean parallel) {
+        if (criteria.containsValue(null)) {
+            throw new IllegalArgumentException("Criteria must not be null");
+        }
+        this.metricNames = List.copyOf(criteria.keySet());
+        this.criteria = criteria.values().toArray(new AnalysisCriterion[0]);
+        this.parallel = parallel;
+    }
+
+    /**
+     * @return the criteria of a {@link TradingStatement} by metric name
+     *         (modifiable, e.g. to add other criteria)
+     */
+    public static Map<String, AnalysisCriterion> defaultCriteria() {
+        Map<String, AnalysisCriterion> criteria = new LinkedHashMap<>();
+        criteria.put("totalProfitLoss", new ProfitLossCriterion());
+        criteria.put("totalProfitLossPercentage", new ProfitLossPercentageCriterion());
+        criteria.put("totalProfit", new ProfitCriterion(false));
+        criteria.put("totalLoss", new LossCriterion(false));
+        criteria.put("profitCount", new NumberOfWinningPositionsCriterion());
+        criteria.put("lossCount", new NumberOfLosingPositionsCriterion());
+        criteria.put("breakEvenCount", new NumberOfBreakEvenPositionsCriterion());
+        return criteria;
+    }
+
+    /** @return {@link #metricNames} */
+    public List<String> getMetricNames() {
+        return metricNames;
+    }
+
+    /** @return the criteria (in the order of the metric names) */
+    public List<AnalysisCriterion> getCriteria() {
+        return List.of(criteria);
+    }
+
+    @Override
+    public MetricsReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    @Override
+    public MetricsReport generate(Strategy strategy, AnalysisContext context) {
+        Num[] values = new Num[criteria.length];
+        if (parallel && criteria.length > 1) {
+            IntStream.range(0, criteria.length).parallel().forEach(i -> values[i] = criteria[i].calculate(context));
+        } else {
+            for (int i = 0; i < criteria.length; i++) {
+                values[i] = criteria[i].calculate(context);
+            }
+        }
+        return new MetricsReport(strategy, metricNames, values);
+    }
+}
@@ -26,6 +26,7 @@ package org.ta4j.core.reports;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.criteria.pnl.LossCriterion;
 import org.ta4j.core.criteria.pnl.ProfitCriterion;
 import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
@@ -38,12 +39,22 @@ import org.ta4j.core.num.Num;
  */
 public class PerformanceReportGenerator implements ReportGenerator<PerformanceReport> {
 
+    private final ProfitLossCriterion profitLossCriterion = new ProfitLossCriterion();
+    private final ProfitLossPercentageCriterion profitLossPercentageCriterion = new ProfitLossPercentageCriterion();
+    private final ProfitCriterion profitCriterion = new ProfitCriterion(false);
+    private final LossCriterion lossCriterion = new LossCriterion(false);
+
     @Override
     public PerformanceReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final Num pnl = new ProfitLossCriterion().calculate(series, tradingRecord);
-        final Num pnlPercentage = new ProfitLossPercentageCriterion().calculate(series, tradingRecord);
-        final Num netProfit = new ProfitCriterion(false).calculate(series, tradingRecord);
-        final Num netLoss = new LossCriterion(false).calculate(series, tradingRecord);
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    @Override
+    public PerformanceReport generate(Strategy strategy, AnalysisContext context) {
+        final Num pnl = profitLossCriterion.calculate(context);
+        final Num pnlPercentage = profitLossPercentageCriterion.calculate(context);
+        final Num netProfit = profitCriterion.calculate(context);
+        final Num netLoss = lossCriterion.calculate(context);
         return new PerformanceReport(pnl, pnlPercentage, netProfit, netLoss);
     }
 }
@@ -26,6 +26,7 @@ package org.ta4j.core.reports;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 import org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion;
 import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
 import org.ta4j.core.criteria.NumberOfWinningPositionsCriterion;
@@ -37,11 +38,20 @@ import org.ta4j.core.num.Num;
  */
 public class PositionStatsReportGenerator implements ReportGenerator<PositionStatsReport> {
 
+    private final NumberOfWinningPositionsCriterion winningPositionsCriterion = new NumberOfWinningPositionsCriterion();
+    private final NumberOfLosingPositionsCriterion losingPositionsCriterion = new NumberOfLosingPositionsCriterion();
+    private final NumberOfBreakEvenPositionsCriterion breakEvenPositionsCriterion = new NumberOfBreakEvenPositionsCriterion();
+
     @Override
     public PositionStatsReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final Num winningPositions = new NumberOfWinningPositionsCriterion().calculate(series, tradingRecord);
-        final Num losingPositions = new NumberOfLosingPositionsCriterion().calculate(series, tradingRecord);
-        final Num breakEvenPositions = new NumberOfBreakEvenPositionsCriterion().calculate(series, tradingRecord);
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    @Override
+    public PositionStatsReport generate(Strategy strategy, AnalysisContext context) {
+        final Num winningPositions = winningPositionsCriterion.calculate(context);
+        final Num losingPositions = losingPositionsCriterion.calculate(context);
+        final Num breakEvenPositions = breakEvenPositionsCriterion.calculate(context);
         return new PositionStatsReport(winningPositions, losingPositions, breakEvenPositions);
     }
 }
@@ -26,6 +26,7 @@ package org.ta4j.core.reports;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 
 /**
  * Generic interface for generating trading reports.
@@ -42,4 +43,15 @@ public interface ReportGenerator<T> {
      * @return generated report
      */
     T generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series);
+
+    /**
+     * Generates a report based on the shared data of an {@link AnalysisContext}.
+     *
+     * @param strategy the strategy
+     * @param context  the analysis context of the trading record (not null)
+     * @return generated report
+     */
+    default T generate(Strategy strategy, AnalysisContext context) {
+        return generate(strategy, context.getTradingRecord(), context.getBarSeries());
+    }
 }
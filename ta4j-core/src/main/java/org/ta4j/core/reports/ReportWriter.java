@@ -0,0 +1,333 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.reports;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.ta4j.core.backtest.BacktestExecutor;
+import org.ta4j.core.num.Num;
+
+/**
+ * Writes {@link TradingStatement trading statements} (e.g. the output of a
+ * {@link BacktestExecutor}) as a table with one row per strategy and one column
+ * per metric.
+ *
+ * <p>
+ * The table is written to a compact binary columnar file (see
+ * {@link ColumnarReport}) and/or to a CSV file. The statements are streamed:
+ * they are buffered in primitive columns of at most {@code rowGroupSize} rows,
+ * which are then written at once, so that the memory does not grow with the
+ * number of statements. The values are written as {@code double}.
+ *
+ * <p>
+ * A report writer is not thread-safe. It must be {@link #close() closed} to
+ * complete the files.
+ */
+public class ReportWriter implements Closeable {
+
+    /** The default number of rows buffered before being written. */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 8192;
+
+    /** The name of the column of the strategy names. */
+    public static final String STRATEGY_COLUMN = "strategy";
+
+    /** The names of the metric columns. */
+    private final String[] columnNames;
+
+    /** The metric columns. */
+    private final List<Function<TradingStatement, Num>> columns;
+
+    /** The binary columnar output (or null). */
+    private final DataOutputStream columnarOut;
+
+    /** The CSV output (or null). */
+    private final Writer csvOut;
+
+    /** The buffered strategy names. */
+    private final String[] strategyNames;
+
+    /** The buffered metric values, per column. */
+    private final double[][] values;
+
+    /** The buffer to write a column of the binary output. */
+    private final ByteBuffer columnBuffer;
+
+    /** The number of buffered rows. */
+    private int rowCount;
+
+    /** The number of written rows. */
+    private long writtenRowCount;
+
+    /** True if the writer has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructor with the {@link #defaultColumns() default columns}.
+     *
+     * @param columnarFile the binary columnar file (or null)
+     * @param csvFile      the CSV file (or null)
+     * @throws UncheckedIOException if the files cannot be created
+     */
+    public ReportWriter(Path columnarFile, Path csvFile) {
+        this(columnarFile, csvFile, defaultColumns(), DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param columnarFile the binary columnar file (or null)
+     * @param csvFile      the CSV file (or null)
+     * @param columns      the metric columns by name (in column order)
+     * @param rowGroupSize the number of rows buffered before being written
+     * @throws IllegalArgumentException if both files are null, if
+     *                                  {@code rowGroupSize} is not positive or a
+     *                                  column is named {@link #STRATEGY_COLUMN}
+     * @throws UncheckedIOException     if the files cannot be created
+     */
+    public ReportWriter(Path columnarFile, Path csvFile, Map<String, Function<TradingStatement, Num>> columns,
+            int rowGroupSize) {
+        if (columnarFile == null && csvFile == null) {
+            throw new IllegalArgumentException("At least one output file must be provided");
+        }
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be positive");
+        }
+        if (columns.containsKey(STRATEGY_COLUMN)) {
+            throw new IllegalArgumentException("Column name is reserved: " + STRATEGY_COLUMN);
+        }
+        this.columnNames = columns.keySet().toArray(new String[0]);
+        this.columns = new ArrayList<>(columns.values());
+        this.strategyNames = new String[rowGroupSize];
+        this.values = new double[columnNames.length][rowGroupSize];
+        this.columnBuffer = ByteBuffer.allocate(rowGroupSize * Double.BYTES);
+        DataOutputStream columnar = null;
+        Writer csv = null;
+        try {
+            columnar = columnarFile == null ? null
+                    : new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnarFile)));
+            csv = csvFile == null ? null : Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            closeAfterFailure(e, columnar);
+            throw new UncheckedIOException("Unable to create report", e);
+        }
+        this.columnarOut = columnar;
+        this.csvOut = csv;
+        try {
+            writeHeaders();
+        } catch (IOException e) {
+            closeAfterFailure(e, columnarOut, csvOut);
+            throw new UncheckedIOException("Unable to create report", e);
+        }
+    }
+
+    /**
+     * Closes the already opened outputs after a failure.
+     *
+     * @param failure the failure (to which the exceptions while closing are added
+     *                as suppressed)
+     * @param outputs the outputs (or null)
+     */
+    private static void closeAfterFailure(IOException failure, Closeable... outputs) {
+        for (Closeable output : outputs) {
+            if (output != null) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the default metric columns of a {@link TradingStatement} by name
+     *         (modifiable, e.g. to add other columns)
+     */
+    public static Map<String, Function<TradingStatement, Num>> defaultColumns() {
+        Map<String, Function<TradingStatement, Num>> columns = new LinkedHashMap<>();
+        columns.put("totalProfitLoss", s -> s.getPerformanceReport().getTotalProfitLoss());
+        columns.put("totalProfitLossPercentage", s -> s.getPerformanceReport().getTotalProfitLossPercentage());
+        columns.put("totalProfit", s -> s.getPerformanceReport().getTotalProfit());
+        columns.put("totalLoss", s -> s.getPerformanceReport().getTotalLoss());
+        columns.put("profitCount", s -> s.getPositionStatsReport().getProfitCount());
+        columns.put("lossCount", s -> s.getPositionStatsReport().getLossCount());
+        columns.put("breakEvenCount", s -> s.getPositionStatsReport().getBreakEvenCount());
+        return columns;
+    }
+
+    /**
+     * Appends a trading statement as row.
+     *
+     * @param tradingStatement the trading statement
+     * @throws UncheckedIOException if the row group cannot be written
+     */
+    public void write(TradingStatement tradingStatement) {
+        Objects.requireNonNull(tradingStatement, "Trading statement must not be null");
+        String name = tradingStatement.getStrategy() == null ? null : tradingStatement.getStrategy().getName();
+        strategyNames[rowCount] = name == null ? "" : name;
+        for (int c = 0; c < columnNames.length; c++) {
+            Num value = columns.get(c).apply(tradingStatement);
+            values[c][rowCount] = value == null || value.isNaN() ? Double.NaN : value.doubleValue();
+        }
+        rowCount++;
+        if (rowCount == strategyNames.length) {
+            flushRows();
+        }
+    }
+
+    /**
+     * Appends the trading statements as rows.
+     *
+     * @param tradingStatements the trading statements (e.g. from
+     *                          {@link BacktestExecutor#execute})
+     * @throws UncheckedIOException if a row group cannot be written
+     */
+    public void writeAll(Iterable<TradingStatement> tradingStatements) {
+        for (TradingStatement tradingStatement : tradingStatements) {
+            write(tradingStatement);
+        }
+    }
+
+    /** @return the number of rows written so far */
+    public long getRowCount() {
+        return writtenRowCount + rowCount;
+    }
+
+    /**
+     * Writes the buffered rows and completes the files. The files are closed even
+     * if they cannot be written. Closing a closed writer has no effect.
+     *
+     * @throws UncheckedIOException if the files cannot be written
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (var columnar = columnarOut; var csv = csvOut) {
+            flushRows();
+            if (columnar != null) {
+                // an empty row group marks the end of the file
+                columnar.writeInt(0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close report", e);
+        }
+    }
+
+    /**
+     * Writes the trading statements (e.g. from {@link BacktestExecutor#execute})
+     * with the {@link #defaultColumns() default columns}.
+     *
+     * @param tradingStatements the trading statements
+     * @param columnarFile      the binary columnar file (or null)
+     * @param csvFile           the CSV file (or null)
+     * @throws UncheckedIOException if the files cannot be written
+     */
+    public static void write(Iterable<TradingStatement> tradingStatements, Path columnarFile, Path csvFile) {
+        try (var writer = new ReportWriter(columnarFile, csvFile)) {
+            writer.writeAll(tradingStatements);
+        }
+    }
+
+    private void writeHeaders() throws IOException {
+        if (columnarOut != null) {
+            columnarOut.writeInt(ColumnarReport.MAGIC);
+            columnarOut.writeByte(ColumnarReport.VERSION);
+            columnarOut.writeInt(columnNames.length);
+            for (String columnName : columnNames) {
+                columnarOut.writeUTF(columnName);
+            }
+        }
+        if (csvOut != null) {
+            csvOut.write(STRATEGY_COLUMN);
+            for (String columnName : columnNames) {
+                csvOut.write(',');
+                writeCsvText(columnName);
+            }
+            csvOut.write('\n');
+        }
+    }
+
+    /** Writes the buffered rows as row group. */
+    private void flushRows() {
+        if (rowCount == 0) {
+            return;
+        }
+        try {
+            if (columnarOut != null) {
+                columnarOut.writeInt(rowCount);
+                for (int r = 0; r < rowCount; r++) {
+                    columnarOut.writeUTF(strategyNames[r]);
+                }
+                for (double[] column : values) {
+                    columnBuffer.clear();
+                    columnBuffer.asDoubleBuffer().put(column, 0, rowCount);
+                    columnarOut.write(columnBuffer.array(), 0, rowCount * Double.BYTES);
+                }
+            }
+            if (csvOut != null) {
+                for (int r = 0; r < rowCount; r++) {
+                    writeCsvText(strategyNames[r]);
+                    for (double[] column : values) {
+                        csvOut.write(',');
+                        csvOut.write(Double.toString(column[r]));
+                    }
+                    csvOut.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write report", e);
+        }
+        writtenRowCount += rowCount;
+        rowCount = 0;
+    }
+
+    /** Writes a CSV field, quoted if necessary. */
+    private void writeCsvText(String text) throws IOException {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            csvOut.write(text);
+        } else {
+            csvOut.write('"');
+            csvOut.write(text.replace("\"", "\"\""));
+            csvOut.write('"');
+        }
+    }
+}
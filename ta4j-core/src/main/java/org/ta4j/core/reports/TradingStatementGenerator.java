@@ -26,6 +26,7 @@ package org.ta4j.core.reports;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
 
 /**
  * Generates a {@link TradingStatement} based on the provided trading record and
@@ -58,10 +59,13 @@ public class TradingStatementGenerator implements ReportGenerator<TradingStateme
 
     @Override
     public TradingStatement generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final PerformanceReport performanceReport = performanceReportGenerator.generate(strategy, tradingRecord,
-                series);
-        final PositionStatsReport positionStatsReport = positionStatsReportGenerator.generate(strategy, tradingRecord,
-                series);
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    @Override
+    public TradingStatement generate(Strategy strategy, AnalysisContext context) {
+        final PerformanceReport performanceReport = performanceReportGenerator.generate(strategy, context);
+        final PositionStatsReport positionStatsReport = positionStatsReportGenerator.generate(strategy, context);
         return new TradingStatement(strategy, positionStatsReport, performanceReport);
     }
 }
@@ -38,6 +38,12 @@ public abstract class AbstractRule implements Rule {
     /** The class name */
     private final String className = getClass().getSimpleName();
 
+    /** The tracer which has assigned {@link #traceId} (see {@link RuleTracer}). */
+    transient RuleTracer tracer;
+
+    /** The id of this rule in the trace of {@link #tracer}. */
+    transient int traceId;
+
     /**
      * Traces the {@code isSatisfied()} method calls.
      *
@@ -45,6 +51,7 @@ public abstract class AbstractRule implements Rule {
      * @param isSatisfied true if the rule is satisfied, false otherwise
      */
     protected void traceIsSatisfied(int index, boolean isSatisfied) {
+        RuleTracer.traceIsSatisfied(this, index, isSatisfied);
         if (log.isTraceEnabled()) {
             log.trace("{}#isSatisfied({}): {}", className, index, isSatisfied);
         }
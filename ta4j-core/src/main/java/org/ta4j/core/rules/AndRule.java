@@ -23,8 +23,13 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+import java.util.Objects;
+
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.helper.AdaptiveEvaluator;
+import org.ta4j.core.rules.helper.EvaluationOrder;
 
 /**
  * An AND combination of two {@link Rule rules}.
@@ -34,13 +39,20 @@ import org.ta4j.core.TradingRecord;
  *
  * <p>
  * <b>Warning:</b> The second rule is not tested if the first rule is not
- * satisfied.
+ * satisfied. With an adaptive {@link EvaluationOrder}, the rule which is
+ * evaluated first may change over time.
  */
 public class AndRule extends AbstractRule {
 
     private final Rule rule1;
     private final Rule rule2;
 
+    /** The evaluation order of the rules. */
+    private final EvaluationOrder order;
+
+    /** The evaluator of the adaptive order (null for the construction order). */
+    private final AdaptiveEvaluator evaluator;
+
     /**
      * Constructor.
      *
@@ -48,17 +60,39 @@ public class AndRule extends AbstractRule {
      * @param rule2 another trading rule
      */
     public AndRule(Rule rule1, Rule rule2) {
+        this(rule1, rule2, EvaluationOrder.FIXED);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rule1 a trading rule
+     * @param rule2 another trading rule
+     * @param order the evaluation order of the rules
+     */
+    public AndRule(Rule rule1, Rule rule2, EvaluationOrder order) {
         this.rule1 = rule1;
         this.rule2 = rule2;
+        this.order = Objects.requireNonNull(order, "Evaluation order must not be null");
+        this.evaluator = order == EvaluationOrder.FIXED ? null : new AdaptiveEvaluator(order, false);
     }
 
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        final boolean satisfied = rule1.isSatisfied(index, tradingRecord) && rule2.isSatisfied(index, tradingRecord);
+        final boolean satisfied = evaluator == null
+                ? rule1.isSatisfied(index, tradingRecord) && rule2.isSatisfied(index, tradingRecord)
+                : evaluator.isSatisfied(rule1, rule2, index, tradingRecord);
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
 
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet satisfied = rule1.evaluate(from, to);
+        satisfied.and(rule2.evaluate(from, to));
+        return satisfied;
+    }
+
     /** @return the first rule */
     public Rule getRule1() {
         return rule1;
@@ -68,4 +102,9 @@ public class AndRule extends AbstractRule {
     public Rule getRule2() {
         return rule2;
     }
+
+    /** @return {@link #order} */
+    public EvaluationOrder getEvaluationOrder() {
+        return order;
+    }
 }
@@ -28,10 +28,9 @@ import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.ATRIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.indicators.helpers.HighestValueIndicator;
-import org.ta4j.core.indicators.helpers.LowestValueIndicator;
 import org.ta4j.core.indicators.helpers.TransformIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.ExtremeValueTracker;
 
 /**
  * A trailing stop-loss rule based on Average True Range (ATR).
@@ -53,6 +52,16 @@ public class AverageTrueRangeTrailingStopLossRule extends AbstractRule {
      */
     private final Indicator<Num> referencePrice;
 
+    /**
+     * The highest reference price since the entry (for long positions).
+     */
+    private final ExtremeValueTracker highestPrice;
+
+    /**
+     * The lowest reference price since the entry (for short positions).
+     */
+    private final ExtremeValueTracker lowestPrice;
+
     /**
      * Constructor with default close price as reference.
      *
@@ -76,6 +85,8 @@ public class AverageTrueRangeTrailingStopLossRule extends AbstractRule {
             Number atrCoefficient) {
         this.stopLossThreshold = TransformIndicator.multiply(new ATRIndicator(series, atrBarCount), atrCoefficient);
         this.referencePrice = referencePrice;
+        this.highestPrice = new ExtremeValueTracker(referencePrice, Integer.MAX_VALUE, true);
+        this.lowestPrice = new ExtremeValueTracker(referencePrice, Integer.MAX_VALUE, false);
     }
 
     /**
@@ -100,15 +111,13 @@ public class AverageTrueRangeTrailingStopLossRule extends AbstractRule {
             Num currentPrice = this.referencePrice.getValue(index);
             Num threshold = this.stopLossThreshold.getValue(index);
 
-            int barsSinceEntry = index - tradingRecord.getCurrentPosition().getEntry().getIndex() + 1;
+            int entryIndex = tradingRecord.getCurrentPosition().getEntry().getIndex();
 
             if (tradingRecord.getCurrentPosition().getEntry().isBuy()) {
-                HighestValueIndicator highestPrice = new HighestValueIndicator(this.referencePrice, barsSinceEntry);
-                Num thresholdPrice = entryPrice.max(highestPrice.getValue(index)).minus(threshold);
+                Num thresholdPrice = entryPrice.max(highestPrice.getValue(entryIndex, index)).minus(threshold);
                 return currentPrice.isLessThan(thresholdPrice);
             } else {
-                LowestValueIndicator lowestPrice = new LowestValueIndicator(this.referencePrice, barsSinceEntry);
-                Num thresholdPrice = entryPrice.min(lowestPrice.getValue(index)).plus(threshold);
+                Num thresholdPrice = entryPrice.min(lowestPrice.getValue(entryIndex, index)).plus(threshold);
                 return currentPrice.isGreaterThan(thresholdPrice);
             }
         }
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 
@@ -50,4 +52,15 @@ public class BooleanIndicatorRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet satisfied = new BitSet();
+        for (int i = from; i <= to; i++) {
+            if (indicator.getValue(i)) {
+                satisfied.set(i);
+            }
+        }
+        return satisfied;
+    }
 }
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+
 import org.ta4j.core.TradingRecord;
 
 /**
@@ -54,4 +56,13 @@ public class BooleanRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet bits = new BitSet();
+        if (satisfied && from <= to) {
+            bits.set(from, to + 1);
+        }
+        return bits;
+    }
 }
@@ -23,8 +23,11 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
@@ -35,12 +38,29 @@ import org.ta4j.core.rules.helper.ChainLink;
  * list of {@link ChainLink chain links} are evaluated. If the initial rule is
  * satisfied, each rule in {@link ChainRule#rulesInChain chain links} has to be
  * satisfied within a specified "number of bars (= threshold)".
+ *
+ * <p>
+ * The results of the chain link rules at the previous bars are memoised (as
+ * long as the trading record and its trades do not change), so that they are
+ * evaluated at most twice per bar when the bars are evaluated in order. The
+ * results at the current bar are neither taken from nor kept in the memo, as
+ * the last bar may still change (e.g. with
+ * {@link org.ta4j.core.BarSeries#addPrice}).
  */
 public class ChainRule extends AbstractRule {
 
     private final Rule initialRule;
     private LinkedList<ChainLink> rulesInChain = new LinkedList<>();
 
+    /** The memoised results of the chain links (in the same order). */
+    private final List<LinkResults> linkResults = new ArrayList<>();
+
+    /** The trading record of the memoised results. */
+    private TradingRecord memoisedTradingRecord;
+
+    /** The number of trades of {@link #memoisedTradingRecord}. */
+    private int memoisedTradeCount;
+
     /**
      * @param initialRule the first rule that has to be satisfied before
      *                    {@link ChainLink} are evaluated
@@ -53,7 +73,7 @@ public class ChainRule extends AbstractRule {
     }
 
     @Override
-    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+    public synchronized boolean isSatisfied(int index, TradingRecord tradingRecord) {
         int lastRuleWasSatisfiedAfterBars = 0;
         int startIndex = index;
 
@@ -63,10 +83,20 @@ public class ChainRule extends AbstractRule {
         }
         traceIsSatisfied(index, true);
 
+        int tradeCount = tradingRecord == null ? 0 : tradingRecord.getTrades().size();
+        if (tradingRecord != memoisedTradingRecord || tradeCount != memoisedTradeCount) {
+            linkResults.clear();
+            memoisedTradingRecord = tradingRecord;
+            memoisedTradeCount = tradeCount;
+        }
+        int linkIndex = 0;
+        int barsBack = 0;
         for (ChainLink link : rulesInChain) {
             boolean satisfiedWithinThreshold = false;
             startIndex = startIndex - lastRuleWasSatisfiedAfterBars;
             lastRuleWasSatisfiedAfterBars = 0;
+            barsBack += Math.max(link.getThreshold(), 0);
+            LinkResults results = getLinkResults(linkIndex++, link.getRule(), barsBack + 1);
 
             for (int i = 0; i <= link.getThreshold(); i++) {
                 int resultingIndex = startIndex - i;
@@ -74,7 +104,7 @@ public class ChainRule extends AbstractRule {
                     break;
                 }
 
-                satisfiedWithinThreshold = link.getRule().isSatisfied(resultingIndex, tradingRecord);
+                satisfiedWithinThreshold = results.isSatisfied(resultingIndex, index, tradingRecord);
 
                 if (satisfiedWithinThreshold) {
                     break;
@@ -92,4 +122,60 @@ public class ChainRule extends AbstractRule {
         traceIsSatisfied(index, true);
         return true;
     }
+
+    /**
+     * @param linkIndex the position of the chain link
+     * @param rule      the rule of the chain link
+     * @param size      the number of bars to memoise
+     * @return the memoised results of the chain link (reset if its rule has
+     *         changed)
+     */
+    private LinkResults getLinkResults(int linkIndex, Rule rule, int size) {
+        if (linkIndex == linkResults.size()) {
+            linkResults.add(new LinkResults(rule, size));
+        } else if (linkResults.get(linkIndex).rule != rule || linkResults.get(linkIndex).indexes.length < size) {
+            linkResults.set(linkIndex, new LinkResults(rule, size));
+        }
+        return linkResults.get(linkIndex);
+    }
+
+    /**
+     * The results of a chain link rule at the last bars, held in a ring buffer.
+     */
+    private static final class LinkResults {
+
+        private final Rule rule;
+
+        /** The bar index of each slot (-1 if empty). */
+        private final int[] indexes;
+
+        /** The result of each slot. */
+        private final BitSet satisfied;
+
+        private LinkResults(Rule rule, int size) {
+            this.rule = rule;
+            this.indexes = new int[size];
+            this.satisfied = new BitSet(size);
+            Arrays.fill(indexes, -1);
+        }
+
+        /**
+         * @param index         the bar index to evaluate the rule at
+         * @param currentIndex  the bar index the chain rule is evaluated at
+         * @param tradingRecord the trading record
+         * @return the (memoised) result of the rule at {@code index}
+         */
+        private boolean isSatisfied(int index, int currentIndex, TradingRecord tradingRecord) {
+            int slot = index % indexes.length;
+            if (index < currentIndex && indexes[slot] == index) {
+                return satisfied.get(slot);
+            }
+            boolean result = rule.isSatisfied(index, tradingRecord);
+            if (index < currentIndex) {
+                indexes[slot] = index;
+                satisfied.set(slot, result);
+            }
+            return result;
+        }
+    }
 }
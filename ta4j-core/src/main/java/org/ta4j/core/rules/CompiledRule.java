@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules;
+
+import java.util.Arrays;
+
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+
+/**
+ * A {@link Rule rule} compiled by the {@link RuleCompiler} into a flat program.
+ *
+ * <p>
+ * Each instruction holds its opcode in the lowest 8 bits and its operand in the
+ * remaining bits. The program works on a single boolean register (the result)
+ * and a stack of up to 64 booleans for the XOR operations.
+ */
+public class CompiledRule extends AbstractRule {
+
+    /** Calls the rule of the operand. */
+    static final int RULE = 0;
+
+    /** Loads the constant of the operand (1 for true, 0 for false). */
+    static final int CONSTANT = 1;
+
+    /** Checks whether the index is one of the fixed indexes of the operand. */
+    static final int FIXED = 2;
+
+    /** Negates the result. */
+    static final int NOT = 3;
+
+    /** Jumps to the operand if the result is false. */
+    static final int JUMP_IF_FALSE = 4;
+
+    /** Jumps to the operand if the result is true. */
+    static final int JUMP_IF_TRUE = 5;
+
+    /** Pushes the result onto the stack. */
+    static final int PUSH = 6;
+
+    /** Pops a value from the stack and combines it with the result (XOR). */
+    static final int XOR = 7;
+
+    private static final String[] MNEMONICS = { "RULE", "CONSTANT", "FIXED", "NOT", "JUMP_IF_FALSE", "JUMP_IF_TRUE",
+            "PUSH", "XOR" };
+
+    /** The original rule. */
+    private final Rule rule;
+
+    /** The instructions. */
+    private final int[] program;
+
+    /** The called rules. */
+    private final Rule[] rules;
+
+    /** The sorted indexes of the fixed rules. */
+    private final int[][] fixedIndexes;
+
+    /**
+     * Constructor.
+     *
+     * @param rule         the original rule
+     * @param program      the instructions
+     * @param rules        the called rules
+     * @param fixedIndexes the sorted indexes of the fixed rules
+     */
+    CompiledRule(Rule rule, int[] program, Rule[] rules, int[][] fixedIndexes) {
+        this.rule = rule;
+        this.program = program;
+        this.rules = rules;
+        this.fixedIndexes = fixedIndexes;
+    }
+
+    @Override
+    public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+        boolean satisfied = false;
+        long stack = 0;
+        int pc = 0;
+        while (pc < program.length) {
+            int instruction = program[pc++];
+            int operand = instruction >>> 8;
+            switch (instruction & 0xFF) {
+            case RULE:
+                satisfied = rules[operand].isSatisfied(index, tradingRecord);
+                break;
+            case CONSTANT:
+                satisfied = operand != 0;
+                break;
+            case FIXED:
+                satisfied = Arrays.binarySearch(fixedIndexes[operand], index) >= 0;
+                break;
+            case NOT:
+                satisfied = !satisfied;
+                break;
+            case JUMP_IF_FALSE:
+                if (!satisfied) {
+                    pc = operand;
+                }
+                break;
+            case JUMP_IF_TRUE:
+                if (satisfied) {
+                    pc = operand;
+                }
+                break;
+            case PUSH:
+                stack = stack << 1 | (satisfied ? 1 : 0);
+                break;
+            case XOR:
+                satisfied ^= (stack & 1) != 0;
+                stack >>>= 1;
+                break;
+            default:
+                throw new IllegalStateException("Unknown opcode: " + (instruction & 0xFF));
+            }
+        }
+        traceIsSatisfied(index, satisfied);
+        return satisfied;
+    }
+
+    /** @return {@link #rule} */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /** @return the number of instructions */
+    public int getInstructionCount() {
+        return program.length;
+    }
+
+    /** @return the listing of the program, one instruction per line */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int pc = 0; pc < program.length; pc++) {
+            int opcode = program[pc] & 0xFF;
+            int operand = program[pc] >>> 8;
+            sb.append(pc).append(": ").append(MNEMONICS[opcode]);
+            if (opcode == RULE) {
+                sb.append(' ').append(rules[operand].getClass().getSimpleName());
+            } else if (opcode == FIXED) {
+                sb.append(' ').append(Arrays.toString(fixedIndexes[operand]));
+            } else if (opcode != NOT && opcode != PUSH && opcode != XOR) {
+                sb.append(' ').append(operand);
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
@@ -76,6 +78,11 @@ public class CrossedUpIndicatorRule extends AbstractRule {
         return satisfied;
     }
 
+    @Override
+    public BitSet evaluate(int from, int to) {
+        return cross.getValues(from, to);
+    }
+
     /** @return the initial lower indicator */
     public Indicator<Num> getLow() {
         return cross.getLow();
@@ -24,14 +24,13 @@
 package org.ta4j.core.rules;
 
 import java.time.DayOfWeek;
-import java.time.Instant;
-import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.DateTimeIndicator;
+import org.ta4j.core.utils.CalendarIndex;
 
 /**
  * Satisfied when the "day of the week" value of the {@link DateTimeIndicator}
@@ -48,6 +47,12 @@ public class DayOfWeekRule extends AbstractRule {
     private final Set<DayOfWeek> daysOfWeekSet;
     private final DateTimeIndicator timeIndicator;
 
+    /** The day of week of each bar. */
+    private final CalendarIndex calendar;
+
+    /** The bit mask of the ISO values of {@link #daysOfWeekSet}. */
+    private final int daysOfWeekMask;
+
     /**
      * Constructor.
      *
@@ -57,13 +62,18 @@ public class DayOfWeekRule extends AbstractRule {
     public DayOfWeekRule(DateTimeIndicator timeIndicator, DayOfWeek... daysOfWeek) {
         this.timeIndicator = timeIndicator;
         this.daysOfWeekSet = new HashSet<>(Arrays.asList(daysOfWeek));
+        this.calendar = new CalendarIndex(timeIndicator);
+        int mask = 0;
+        for (DayOfWeek dayOfWeek : daysOfWeekSet) {
+            mask |= 1 << dayOfWeek.getValue();
+        }
+        this.daysOfWeekMask = mask;
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        Instant dateTime = timeIndicator.getValue(index);
-        final boolean satisfied = daysOfWeekSet.contains(dateTime.atZone(ZoneOffset.UTC).getDayOfWeek());
+        final boolean satisfied = (daysOfWeekMask & 1 << calendar.getDayOfWeek(index)) != 0;
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
@@ -24,6 +24,7 @@
 package org.ta4j.core.rules;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 import org.ta4j.core.TradingRecord;
 
@@ -57,4 +58,20 @@ public class FixedRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet satisfied = new BitSet();
+        for (int idx : indexes) {
+            if (idx >= from && idx <= to) {
+                satisfied.set(idx);
+            }
+        }
+        return satisfied;
+    }
+
+    /** @return a copy of the indexes to be compared to the current bar index */
+    public int[] getIndexes() {
+        return Arrays.copyOf(indexes, indexes.length);
+    }
 }
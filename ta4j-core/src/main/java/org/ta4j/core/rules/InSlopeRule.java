@@ -47,6 +47,9 @@ public class InSlopeRule extends AbstractRule {
     /** The previous n-th value of ref. */
     private final PreviousValueIndicator prev;
 
+    /** The difference between the indicator and its previous value. */
+    private final CombineIndicator diff;
+
     /** The minimum slope between ref and prev. */
     private final Num minSlope;
 
@@ -101,6 +104,7 @@ public class InSlopeRule extends AbstractRule {
     public InSlopeRule(Indicator<Num> ref, int nthPrevious, Num minSlope, Num maxSlope) {
         this.ref = ref;
         this.prev = new PreviousValueIndicator(ref, nthPrevious);
+        this.diff = CombineIndicator.minus(ref, prev);
         this.minSlope = minSlope;
         this.maxSlope = maxSlope;
     }
@@ -108,7 +112,6 @@ public class InSlopeRule extends AbstractRule {
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        CombineIndicator diff = CombineIndicator.minus(ref, prev);
         Num val = diff.getValue(index);
         boolean minSlopeSatisfied = minSlope.isNaN() || val.isGreaterThanOrEqual(minSlope);
         boolean maxSlopeSatisfied = maxSlope.isNaN() || val.isLessThanOrEqual(maxSlope);
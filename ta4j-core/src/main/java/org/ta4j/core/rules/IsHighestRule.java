@@ -25,8 +25,8 @@ package org.ta4j.core.rules;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
-import org.ta4j.core.indicators.helpers.HighestValueIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.ExtremeValueTracker;
 
 /**
  * Satisfied when the value of the {@link Indicator indicator} is the highest
@@ -40,6 +40,9 @@ public class IsHighestRule extends AbstractRule {
     /** The barCount. */
     private final int barCount;
 
+    /** The highest value within the {@code barCount}. */
+    private final ExtremeValueTracker highest;
+
     /**
      * Constructor.
      *
@@ -49,13 +52,13 @@ public class IsHighestRule extends AbstractRule {
     public IsHighestRule(Indicator<Num> ref, int barCount) {
         this.ref = ref;
         this.barCount = barCount;
+        this.highest = new ExtremeValueTracker(ref, barCount, true);
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        HighestValueIndicator highest = new HighestValueIndicator(ref, barCount);
-        Num highestVal = highest.getValue(index);
+        Num highestVal = highest.getValue(0, index);
         Num refVal = ref.getValue(index);
 
         final boolean satisfied = !refVal.isNaN() && !highestVal.isNaN() && refVal.equals(highestVal);
@@ -25,8 +25,8 @@ package org.ta4j.core.rules;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
-import org.ta4j.core.indicators.helpers.LowestValueIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.ExtremeValueTracker;
 
 /**
  * Satisfied when the value of the {@link Indicator indicator} is the lowest
@@ -40,6 +40,9 @@ public class IsLowestRule extends AbstractRule {
     /** The barCount. */
     private final int barCount;
 
+    /** The lowest value within the {@code barCount}. */
+    private final ExtremeValueTracker lowest;
+
     /**
      * Constructor.
      *
@@ -49,13 +52,13 @@ public class IsLowestRule extends AbstractRule {
     public IsLowestRule(Indicator<Num> ref, int barCount) {
         this.ref = ref;
         this.barCount = barCount;
+        this.lowest = new ExtremeValueTracker(ref, barCount, false);
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        LowestValueIndicator lowest = new LowestValueIndicator(ref, barCount);
-        Num lowestVal = lowest.getValue(index);
+        Num lowestVal = lowest.getValue(0, index);
         Num refVal = ref.getValue(index);
 
         final boolean satisfied = !refVal.isNaN() && !lowestVal.isNaN() && refVal.equals(lowestVal);
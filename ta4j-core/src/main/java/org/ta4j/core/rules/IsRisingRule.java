@@ -26,6 +26,7 @@ package org.ta4j.core.rules;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.SlidingStepCounter;
 
 /**
  * Satisfied when the values of the {@link Indicator indicator} increase within
@@ -42,6 +43,9 @@ public class IsRisingRule extends AbstractRule {
     /** The minimum required strength of the rising */
     private final double minStrength;
 
+    /** The number of rising steps within the {@code barCount}. */
+    private final SlidingStepCounter steps;
+
     /**
      * Constructor for strict rising.
      *
@@ -63,18 +67,14 @@ public class IsRisingRule extends AbstractRule {
     public IsRisingRule(Indicator<Num> ref, int barCount, double minStrenght) {
         this.ref = ref;
         this.barCount = barCount;
+        this.steps = new SlidingStepCounter(ref, barCount, true);
         this.minStrength = minStrenght >= 1 ? 0.99 : minStrenght;
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        int count = 0;
-        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
-            if (ref.getValue(i).isGreaterThan(ref.getValue(Math.max(0, i - 1)))) {
-                count += 1;
-            }
-        }
+        int count = steps.getCount(index);
 
         double ratio = count / (double) barCount;
 
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
 
@@ -55,6 +57,15 @@ public class NotRule extends AbstractRule {
         return satisfied;
     }
 
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet satisfied = ruleToNegate.evaluate(from, to);
+        if (from <= to) {
+            satisfied.flip(from, to + 1);
+        }
+        return satisfied;
+    }
+
     /** @return {@link #ruleToNegate} */
     public Rule getRuleToNegate() {
         return ruleToNegate;
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+
 import org.ta4j.core.Indicator;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
@@ -81,4 +83,15 @@ public class OverIndicatorRule extends AbstractRule {
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
+
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet satisfied = new BitSet();
+        for (int i = from; i <= to; i++) {
+            if (first.getValue(i).isGreaterThan(second.getValue(i))) {
+                satisfied.set(i);
+            }
+        }
+        return satisfied;
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.ta4j.core.Rule;
+import org.ta4j.core.rules.helper.EvaluationOrder;
+
+/**
+ * Compiles a tree of {@link Rule rules} into a {@link CompiledRule}, i.e. a
+ * flat program which is evaluated in a single loop.
+ *
+ * <p>
+ * {@link AndRule}, {@link OrRule}, {@link XorRule} and {@link NotRule} nodes
+ * are replaced by (short-circuiting) jumps and stack operations,
+ * {@link FixedRule} by a lookup of the sorted indexes and {@link BooleanRule}
+ * by a constant. Constants are folded where the original tree would not
+ * evaluate the other operand either (e.g. {@code FALSE AND rule}), or where it
+ * would have to be evaluated anyway (e.g. {@code rule AND TRUE}), so that
+ * stateful rules see the same calls as before. All other rules (e.g.
+ * {@link ChainRule} or indicator rules) are called as they are, as well as
+ * AND/OR rules with an adaptive {@link EvaluationOrder} (which keep their
+ * order, but are not simplified).
+ *
+ * <p>
+ * The composite nodes do not trace their results anymore, only the compiled
+ * rule traces its overall result.
+ */
+public final class RuleCompiler {
+
+    /** The maximum nesting depth of the XOR operations (i.e. of the stack). */
+    static final int MAX_STACK_DEPTH = Long.SIZE;
+
+    private final List<Integer> code = new ArrayList<>();
+    private final List<Rule> rules = new ArrayList<>();
+    private final List<int[]> fixedIndexes = new ArrayList<>();
+    private int stackDepth;
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * Compiles the rule.
+     *
+     * @param rule the rule to compile
+     * @return the compiled rule, satisfied whenever {@code rule} is satisfied
+     */
+    public static CompiledRule compile(Rule rule) {
+        if (rule instanceof CompiledRule) {
+            return (CompiledRule) rule;
+        }
+        RuleCompiler compiler = new RuleCompiler();
+        compiler.emit(simplify(rule));
+        int[] program = compiler.code.stream().mapToInt(Integer::intValue).toArray();
+        threadJumps(program);
+        return new CompiledRule(rule, program, compiler.rules.toArray(new Rule[0]),
+                compiler.fixedIndexes.toArray(new int[0][]));
+    }
+
+    /**
+     * Folds the constants of the rule tree.
+     *
+     * @param rule the rule
+     * @return the simplified rule ({@link BooleanRule#TRUE} or
+     *         {@link BooleanRule#FALSE} if it is constant)
+     */
+    static Rule simplify(Rule rule) {
+        if (isAdaptive(rule)) {
+            return rule;
+        }
+        if (rule instanceof BooleanRule) {
+            // always the same result, whatever the index
+            return constant(rule.isSatisfied(0, null));
+        }
+        if (rule instanceof FixedRule && ((FixedRule) rule).getIndexes().length == 0) {
+            return BooleanRule.FALSE;
+        }
+        if (rule instanceof NotRule) {
+            Rule negated = simplify(((NotRule) rule).getRuleToNegate());
+            if (isConstant(negated)) {
+                return constant(negated != BooleanRule.TRUE);
+            }
+            if (negated instanceof NotRule) {
+                return ((NotRule) negated).getRuleToNegate();
+            }
+            return new NotRule(negated);
+        }
+        if (rule instanceof AndRule) {
+            Rule rule1 = simplify(((AndRule) rule).getRule1());
+            if (rule1 == BooleanRule.FALSE) {
+                return BooleanRule.FALSE;
+            }
+            Rule rule2 = simplify(((AndRule) rule).getRule2());
+            if (rule1 == BooleanRule.TRUE) {
+                return rule2;
+            }
+            return rule2 == BooleanRule.TRUE ? rule1 : new AndRule(rule1, rule2);
+        }
+        if (rule instanceof OrRule) {
+            Rule rule1 = simplify(((OrRule) rule).getRule1());
+            if (rule1 == BooleanRule.TRUE) {
+                return BooleanRule.TRUE;
+            }
+            Rule rule2 = simplify(((OrRule) rule).getRule2());
+            if (rule1 == BooleanRule.FALSE) {
+                return rule2;
+            }
+            return rule2 == BooleanRule.FALSE ? rule1 : new OrRule(rule1, rule2);
+        }
+        if (rule instanceof XorRule) {
+            Rule rule1 = simplify(((XorRule) rule).getRule1());
+            Rule rule2 = simplify(((XorRule) rule).getRule2());
+            if (isConstant(rule1)) {
+                return rule1 == BooleanRule.TRUE ? simplify(new NotRule(rule2)) : rule2;
+            }
+            if (isConstant(rule2)) {
+                return rule2 == BooleanRule.TRUE ? simplify(new NotRule(rule1)) : rule1;
+            }
+            return new XorRule(rule1, rule2);
+        }
+        return rule;
+    }
+
+    /** @return true if the rule is an AND/OR rule with an adaptive order */
+    private static boolean isAdaptive(Rule rule) {
+        if (rule instanceof AndRule) {
+            return ((AndRule) rule).getEvaluationOrder() != EvaluationOrder.FIXED;
+        }
+        if (rule instanceof OrRule) {
+            return ((OrRule) rule).getEvaluationOrder() != EvaluationOrder.FIXED;
+        }
+        return false;
+    }
+
+    private void emit(Rule rule) {
+        if (isConstant(rule)) {
+            add(CompiledRule.CONSTANT, rule == BooleanRule.TRUE ? 1 : 0);
+        } else if (rule instanceof FixedRule) {
+            int[] indexes = ((FixedRule) rule).getIndexes();
+            Arrays.sort(indexes);
+            fixedIndexes.add(indexes);
+            add(CompiledRule.FIXED, fixedIndexes.size() - 1);
+        } else if (rule instanceof NotRule) {
+            emit(((NotRule) rule).getRuleToNegate());
+            add(CompiledRule.NOT, 0);
+        } else if (isAdaptive(rule)) {
+            rules.add(rule);
+            add(CompiledRule.RULE, rules.size() - 1);
+        } else if (rule instanceof AndRule) {
+            emit(((AndRule) rule).getRule1());
+            int jump = add(CompiledRule.JUMP_IF_FALSE, 0);
+            emit(((AndRule) rule).getRule2());
+            code.set(jump, CompiledRule.JUMP_IF_FALSE | code.size() << 8);
+        } else if (rule instanceof OrRule) {
+            emit(((OrRule) rule).getRule1());
+            int jump = add(CompiledRule.JUMP_IF_TRUE, 0);
+            emit(((OrRule) rule).getRule2());
+            code.set(jump, CompiledRule.JUMP_IF_TRUE | code.size() << 8);
+        } else if (rule instanceof XorRule && stackDepth < MAX_STACK_DEPTH) {
+            emit(((XorRule) rule).getRule1());
+            add(CompiledRule.PUSH, 0);
+            stackDepth++;
+            emit(((XorRule) rule).getRule2());
+            stackDepth--;
+            add(CompiledRule.XOR, 0);
+        } else {
+            rules.add(rule);
+            add(CompiledRule.RULE, rules.size() - 1);
+        }
+    }
+
+    private int add(int opcode, int operand) {
+        code.add(opcode | operand << 8);
+        return code.size() - 1;
+    }
+
+    /**
+     * Lets the jumps which land on another jump go directly to its destination
+     * (e.g. for nested AND combinations).
+     *
+     * @param program the program
+     */
+    private static void threadJumps(int[] program) {
+        for (int pc = 0; pc < program.length; pc++) {
+            int opcode = program[pc] & 0xFF;
+            if (opcode != CompiledRule.JUMP_IF_FALSE && opcode != CompiledRule.JUMP_IF_TRUE) {
+                continue;
+            }
+            int target = program[pc] >>> 8;
+            while (target < program.length) {
+                int targetOpcode = program[target] & 0xFF;
+                if (targetOpcode == opcode) {
+                    // same condition: the other jump is taken too
+                    target = program[target] >>> 8;
+                } else if (targetOpcode == CompiledRule.JUMP_IF_FALSE || targetOpcode == CompiledRule.JUMP_IF_TRUE) {
+                    // opposite condition: the other jump is not taken
+                    target++;
+                } else {
+                    break;
+                }
+            }
+            program[pc] = opcode | target << 8;
+        }
+    }
+
+    private static boolean isConstant(Rule rule) {
+        return rule == BooleanRule.TRUE || rule == BooleanRule.FALSE;
+    }
+
+    private static Rule constant(boolean satisfied) {
+        return satisfied ? BooleanRule.TRUE : BooleanRule.FALSE;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The events recorded by a {@link RuleTracer}, in the order of their recording,
+ * e.g. read from a trace file for an offline analysis.
+ *
+ * <p>
+ * A rule evaluation is recorded when it has finished, so the evaluations of the
+ * rules of a composite rule are recorded before the one of the composite rule
+ * itself. The evaluations leading to a decision of a strategy are therefore the
+ * ones recorded since its previous decision (see {@link #explain(int)}).
+ */
+public class RuleTrace {
+
+    private final String[] sourceNames;
+    private final long[] events;
+    private final long droppedEventCount;
+
+    /**
+     * Constructor.
+     *
+     * @param sourceNames       the names of the rules and strategies by id
+     * @param events            the encoded events
+     * @param droppedEventCount the number of events dropped before the first one
+     */
+    RuleTrace(String[] sourceNames, long[] events, long droppedEventCount) {
+        this.sourceNames = sourceNames;
+        this.events = events;
+        this.droppedEventCount = droppedEventCount;
+    }
+
+    /**
+     * Reads a trace file written by {@link RuleTracer#write(Path)}.
+     *
+     * @param file the trace file
+     * @return the trace
+     * @throws IOException if the file cannot be read
+     */
+    public static RuleTrace read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a trace written by {@link RuleTracer#write(java.io.OutputStream)}.
+     *
+     * @param in the input stream (not closed)
+     * @return the trace
+     * @throws IOException           if the stream cannot be read
+     * @throws IllegalStateException if the stream is not a (complete) trace
+     */
+    public static RuleTrace read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if (data.readInt() != RuleTracer.MAGIC) {
+                throw new IllegalStateException("Not a rule trace");
+            }
+            int version = data.readInt();
+            if (version != RuleTracer.VERSION) {
+                throw new IllegalStateException("Unsupported rule trace version: " + version);
+            }
+            long droppedEventCount = data.readLong();
+            String[] sourceNames = new String[data.readInt()];
+            for (int id = 0; id < sourceNames.length; id++) {
+                sourceNames[id] = data.readUTF();
+            }
+            long[] events = new long[data.readInt()];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = data.readLong();
+            }
+            return new RuleTrace(sourceNames, events, droppedEventCount);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Incomplete rule trace", e);
+        }
+    }
+
+    /** @return the number of events */
+    public int size() {
+        return events.length;
+    }
+
+    /** @return {@link #droppedEventCount} */
+    public long getDroppedEventCount() {
+        return droppedEventCount;
+    }
+
+    /** @return the number of traced rules and strategies */
+    public int getSourceCount() {
+        return sourceNames.length;
+    }
+
+    /**
+     * @param id the id of a rule or strategy
+     * @return its name (the simple class name for a rule)
+     */
+    public String getSourceName(int id) {
+        return sourceNames[id];
+    }
+
+    /**
+     * @param position the position of the event
+     * @return the id of the rule or strategy of the event
+     */
+    public int getSourceId(int position) {
+        return (int) (events[position] >>> 35);
+    }
+
+    /**
+     * @param position the position of the event
+     * @return the bar index of the event
+     */
+    public int getIndex(int position) {
+        return (int) events[position];
+    }
+
+    /**
+     * @param position the position of the event
+     * @return the result of the event (rule satisfied or strategy should
+     *         enter/exit)
+     */
+    public boolean getResult(int position) {
+        return (events[position] >>> 32 & 1) != 0;
+    }
+
+    /**
+     * @param position the position of the event
+     * @return true if the event is an entry decision of a strategy
+     */
+    public boolean isEntry(int position) {
+        return getKind(position) == RuleTracer.ENTRY;
+    }
+
+    /**
+     * @param position the position of the event
+     * @return true if the event is an exit decision of a strategy
+     */
+    public boolean isExit(int position) {
+        return getKind(position) == RuleTracer.EXIT;
+    }
+
+    /**
+     * @return the positions of the decisions which were positive (i.e. the strategy
+     *         should enter or exit)
+     */
+    public List<Integer> getSignals() {
+        List<Integer> signals = new ArrayList<>();
+        for (int i = 0; i < events.length; i++) {
+            if (getKind(i) != RuleTracer.RULE && getResult(i)) {
+                signals.add(i);
+            }
+        }
+        return signals;
+    }
+
+    /**
+     * Explains a decision of a strategy by the rule evaluations which led to it.
+     *
+     * @param position the position of the decision event
+     * @return one line per event, from the first rule evaluation after the previous
+     *         decision to the decision itself
+     * @throws IllegalArgumentException if the event is not a decision
+     */
+    public List<String> explain(int position) {
+        if (getKind(position) == RuleTracer.RULE) {
+            throw new IllegalArgumentException("Event " + position + " is not a decision of a strategy");
+        }
+        int first = position;
+        while (first > 0 && getKind(first - 1) == RuleTracer.RULE) {
+            first--;
+        }
+        List<String> lines = new ArrayList<>();
+        for (int i = first; i <= position; i++) {
+            lines.add(toString(i));
+        }
+        return lines;
+    }
+
+    /**
+     * @param position the position of the event
+     * @return the event as text, e.g.
+     *         {@code "CrossedUpIndicatorRule#isSatisfied(42): true"}
+     */
+    public String toString(int position) {
+        String method;
+        switch (getKind(position)) {
+        case RuleTracer.ENTRY:
+            method = "shouldEnter";
+            break;
+        case RuleTracer.EXIT:
+            method = "shouldExit";
+            break;
+        default:
+            method = "isSatisfied";
+        }
+        return sourceNames[getSourceId(position)] + "#" + method + "(" + getIndex(position) + "): "
+                + getResult(position);
+    }
+
+    /** @return the encoded event */
+    long getEvent(int position) {
+        return events[position];
+    }
+
+    private int getKind(int position) {
+        return (int) (events[position] >>> 33 & 3);
+    }
+
+    /**
+     * @return the event encoded as: source id (bits 35-63), kind (bits 33-34),
+     *         result (bit 32), bar index (bits 0-31)
+     */
+    static long event(int id, int kind, int index, boolean result) {
+        return (long) id << 35 | (long) kind << 33 | (result ? 1L : 0L) << 32 | (index & 0xFFFFFFFFL);
+    }
+}
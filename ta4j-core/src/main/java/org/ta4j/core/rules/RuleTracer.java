@@ -0,0 +1,261 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ta4j.core.Strategy;
+
+/**
+ * A low-overhead tracer of the {@link AbstractRule rule} evaluations and the
+ * {@link Strategy strategy} decisions, as an alternative to the (text) trace
+ * logging.
+ *
+ * <p>
+ * While it is {@link #start() started}, each traced evaluation is recorded as a
+ * single {@code long} (source id, bar index, result) in a preallocated ring
+ * buffer, which keeps the last {@code capacity} events. When no tracer is
+ * started, tracing costs a single (volatile) field read. The events can be
+ * {@link #write(Path) written} to a binary file and analysed offline with
+ * {@link RuleTrace}.
+ *
+ * <p>
+ * Only one tracer can be started at a time. It records the events of all
+ * threads in one sequence, so it is meant to trace a single run.
+ */
+public class RuleTracer {
+
+    /** The first 4 bytes of a trace file ("TA4T"). */
+    static final int MAGIC = 0x54413454;
+
+    /** The version of the trace file format. */
+    static final int VERSION = 1;
+
+    /** The kind of the event of a rule evaluation. */
+    static final int RULE = 0;
+
+    /** The kind of the event of an entry decision of a strategy. */
+    static final int ENTRY = 1;
+
+    /** The kind of the event of an exit decision of a strategy. */
+    static final int EXIT = 2;
+
+    /** The maximum number of sources (rules and strategies). */
+    static final int MAX_SOURCES = 1 << 29;
+
+    /** The started tracer (null if none). */
+    private static volatile RuleTracer active;
+
+    /** The ring buffer of the events. */
+    private final long[] events;
+
+    /** The total number of recorded events. */
+    private long count;
+
+    /** The names of the sources (rules and strategies) by id. */
+    private final List<String> sourceNames = new ArrayList<>();
+
+    /** The ids of the strategies. */
+    private final Map<Strategy, Integer> strategyIds = new IdentityHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of kept events (the last ones)
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public RuleTracer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.events = new long[capacity];
+    }
+
+    /**
+     * Starts recording the events.
+     *
+     * @throws IllegalStateException if another tracer is started
+     */
+    public void start() {
+        synchronized (RuleTracer.class) {
+            if (active != null && active != this) {
+                throw new IllegalStateException("Another tracer is already started");
+            }
+            active = this;
+        }
+    }
+
+    /** Stops recording the events. */
+    public void stop() {
+        synchronized (RuleTracer.class) {
+            if (active == this) {
+                active = null;
+            }
+        }
+    }
+
+    /** @return true if this tracer is started */
+    public boolean isStarted() {
+        return active == this;
+    }
+
+    /** @return the total number of recorded events (including the dropped ones) */
+    public synchronized long getEventCount() {
+        return count;
+    }
+
+    /** @return the number of events dropped because the ring buffer was full */
+    public synchronized long getDroppedEventCount() {
+        return Math.max(0, count - events.length);
+    }
+
+    /**
+     * @return the trace of the kept events
+     */
+    public synchronized RuleTrace toTrace() {
+        int size = (int) Math.min(count, events.length);
+        long[] kept = new long[size];
+        for (int i = 0; i < size; i++) {
+            kept[i] = events[(int) ((count - size + i) % events.length)];
+        }
+        return new RuleTrace(sourceNames.toArray(new String[0]), kept, getDroppedEventCount());
+    }
+
+    /**
+     * Writes the kept events to a binary trace file.
+     *
+     * @param file the trace file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Writes the kept events in the binary trace format (see
+     * {@link RuleTrace#read(java.io.InputStream)}).
+     *
+     * @param out the output stream (not closed)
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(OutputStream out) throws IOException {
+        RuleTrace trace = toTrace();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeLong(trace.getDroppedEventCount());
+        data.writeInt(trace.getSourceCount());
+        for (int id = 0; id < trace.getSourceCount(); id++) {
+            data.writeUTF(trace.getSourceName(id));
+        }
+        data.writeInt(trace.size());
+        for (int i = 0; i < trace.size(); i++) {
+            data.writeLong(trace.getEvent(i));
+        }
+        data.flush();
+    }
+
+    /**
+     * Records the evaluation of a rule if a tracer is started.
+     *
+     * @param rule        the rule
+     * @param index       the bar index
+     * @param isSatisfied the result
+     */
+    static void traceIsSatisfied(AbstractRule rule, int index, boolean isSatisfied) {
+        RuleTracer tracer = active;
+        if (tracer != null) {
+            tracer.recordRule(rule, index, isSatisfied);
+        }
+    }
+
+    /**
+     * Records the entry decision of a strategy if a tracer is started.
+     *
+     * @param strategy the strategy
+     * @param index    the bar index
+     * @param enter    true if the strategy should enter
+     */
+    public static void traceShouldEnter(Strategy strategy, int index, boolean enter) {
+        RuleTracer tracer = active;
+        if (tracer != null) {
+            tracer.recordStrategy(strategy, ENTRY, index, enter);
+        }
+    }
+
+    /**
+     * Records the exit decision of a strategy if a tracer is started.
+     *
+     * @param strategy the strategy
+     * @param index    the bar index
+     * @param exit     true if the strategy should exit
+     */
+    public static void traceShouldExit(Strategy strategy, int index, boolean exit) {
+        RuleTracer tracer = active;
+        if (tracer != null) {
+            tracer.recordStrategy(strategy, EXIT, index, exit);
+        }
+    }
+
+    private synchronized void recordRule(AbstractRule rule, int index, boolean isSatisfied) {
+        if (rule.tracer != this) {
+            rule.traceId = register(rule.getClass().getSimpleName());
+            rule.tracer = this;
+        }
+        record(rule.traceId, RULE, index, isSatisfied);
+    }
+
+    private synchronized void recordStrategy(Strategy strategy, int kind, int index, boolean result) {
+        Integer id = strategyIds.get(strategy);
+        if (id == null) {
+            id = register(strategy.getName() == null ? strategy.getClass().getSimpleName() : strategy.getName());
+            strategyIds.put(strategy, id);
+        }
+        record(id, kind, index, result);
+    }
+
+    private int register(String name) {
+        if (sourceNames.size() == MAX_SOURCES) {
+            throw new IllegalStateException("Too many traced rules and strategies");
+        }
+        sourceNames.add(name);
+        return sourceNames.size() - 1;
+    }
+
+    private void record(int id, int kind, int index, boolean result) {
+        events[(int) (count % events.length)] = RuleTrace.event(id, kind, index, result);
+        count++;
+    }
+}
@@ -24,9 +24,11 @@
 package org.ta4j.core.rules;
 
 import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.PositionScopedState;
 
 /**
  * A stop-gain rule.
@@ -45,6 +47,15 @@ public class StopGainRule extends AbstractRule {
     /** The gain percentage. */
     private final Num gainPercentage;
 
+    /** The ratio of the entry price to reach for long positions. */
+    private final Num buyRatio;
+
+    /** The ratio of the entry price to reach for short positions. */
+    private final Num sellRatio;
+
+    /** The threshold price of the current position. */
+    private final PositionScopedState<Num> thresholds = new PositionScopedState<>(this::threshold);
+
     /**
      * Constructor.
      *
@@ -65,40 +76,34 @@ public class StopGainRule extends AbstractRule {
         this.closePrice = closePrice;
         this.gainPercentage = gainPercentage;
         HUNDRED = closePrice.getBarSeries().numFactory().hundred();
+        this.buyRatio = HUNDRED.plus(gainPercentage).dividedBy(HUNDRED);
+        this.sellRatio = HUNDRED.minus(gainPercentage).dividedBy(HUNDRED);
     }
 
     /** This rule uses the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
         boolean satisfied = false;
-        // No trading history or no position opened, no loss
-        if (tradingRecord != null) {
-            Position currentPosition = tradingRecord.getCurrentPosition();
-            if (currentPosition.isOpened()) {
-
-                Num entryPrice = currentPosition.getEntry().getNetPrice();
-                Num currentPrice = closePrice.getValue(index);
-
-                if (currentPosition.getEntry().isBuy()) {
-                    satisfied = isBuyGainSatisfied(entryPrice, currentPrice);
-                } else {
-                    satisfied = isSellGainSatisfied(entryPrice, currentPrice);
-                }
+        // No trading history or no position opened, no gain
+        Num threshold = thresholds.get(tradingRecord);
+        if (threshold != null) {
+            Num currentPrice = closePrice.getValue(index);
+            if (tradingRecord.getCurrentPosition().getEntry().isBuy()) {
+                satisfied = currentPrice.isGreaterThanOrEqual(threshold);
+            } else {
+                satisfied = currentPrice.isLessThanOrEqual(threshold);
             }
         }
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
 
-    private boolean isBuyGainSatisfied(Num entryPrice, Num currentPrice) {
-        Num lossRatioThreshold = HUNDRED.plus(gainPercentage).dividedBy(HUNDRED);
-        Num threshold = entryPrice.multipliedBy(lossRatioThreshold);
-        return currentPrice.isGreaterThanOrEqual(threshold);
-    }
-
-    private boolean isSellGainSatisfied(Num entryPrice, Num currentPrice) {
-        Num lossRatioThreshold = HUNDRED.minus(gainPercentage).dividedBy(HUNDRED);
-        Num threshold = entryPrice.multipliedBy(lossRatioThreshold);
-        return currentPrice.isLessThanOrEqual(threshold);
+    /**
+     * @param position the opened position
+     * @return the threshold price of the position
+     */
+    private Num threshold(Position position) {
+        Trade entry = position.getEntry();
+        return entry.getNetPrice().multipliedBy(entry.isBuy() ? buyRatio : sellRatio);
     }
 }
@@ -24,9 +24,11 @@
 package org.ta4j.core.rules;
 
 import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.PositionScopedState;
 
 /**
  * A stop-loss rule.
@@ -42,6 +44,15 @@ public class StopLossRule extends AbstractRule {
     /** The loss percentage. */
     private final Num lossPercentage;
 
+    /** The ratio of the entry price to reach for long positions. */
+    private final Num buyRatio;
+
+    /** The ratio of the entry price to reach for short positions. */
+    private final Num sellRatio;
+
+    /** The threshold price of the current position. */
+    private final PositionScopedState<Num> thresholds = new PositionScopedState<>(this::threshold);
+
     /**
      * Constructor.
      *
@@ -61,6 +72,9 @@ public class StopLossRule extends AbstractRule {
     public StopLossRule(ClosePriceIndicator closePrice, Num lossPercentage) {
         this.closePrice = closePrice;
         this.lossPercentage = lossPercentage;
+        final var hundred = closePrice.getBarSeries().numFactory().hundred();
+        this.buyRatio = hundred.minus(lossPercentage).dividedBy(hundred);
+        this.sellRatio = hundred.plus(lossPercentage).dividedBy(hundred);
     }
 
     /** This rule uses the {@code tradingRecord}. */
@@ -68,35 +82,25 @@ public class StopLossRule extends AbstractRule {
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
         boolean satisfied = false;
         // No trading history or no position opened, no loss
-        if (tradingRecord != null) {
-            Position currentPosition = tradingRecord.getCurrentPosition();
-            if (currentPosition.isOpened()) {
-
-                Num entryPrice = currentPosition.getEntry().getNetPrice();
-                Num currentPrice = closePrice.getValue(index);
-
-                if (currentPosition.getEntry().isBuy()) {
-                    satisfied = isBuyStopSatisfied(entryPrice, currentPrice);
-                } else {
-                    satisfied = isSellStopSatisfied(entryPrice, currentPrice);
-                }
+        Num threshold = thresholds.get(tradingRecord);
+        if (threshold != null) {
+            Num currentPrice = closePrice.getValue(index);
+            if (tradingRecord.getCurrentPosition().getEntry().isBuy()) {
+                satisfied = currentPrice.isLessThanOrEqual(threshold);
+            } else {
+                satisfied = currentPrice.isGreaterThanOrEqual(threshold);
             }
         }
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
 
-    private boolean isBuyStopSatisfied(Num entryPrice, Num currentPrice) {
-        final var hundred = closePrice.getBarSeries().numFactory().hundred();
-        Num lossRatioThreshold = hundred.minus(lossPercentage).dividedBy(hundred);
-        Num threshold = entryPrice.multipliedBy(lossRatioThreshold);
-        return currentPrice.isLessThanOrEqual(threshold);
-    }
-
-    private boolean isSellStopSatisfied(Num entryPrice, Num currentPrice) {
-        final var hundred = closePrice.getBarSeries().numFactory().hundred();
-        Num lossRatioThreshold = hundred.plus(lossPercentage).dividedBy(hundred);
-        Num threshold = entryPrice.multipliedBy(lossRatioThreshold);
-        return currentPrice.isGreaterThanOrEqual(threshold);
+    /**
+     * @param position the opened position
+     * @return the threshold price of the position
+     */
+    private Num threshold(Position position) {
+        Trade entry = position.getEntry();
+        return entry.getNetPrice().multipliedBy(entry.isBuy() ? buyRatio : sellRatio);
     }
 }
@@ -24,11 +24,11 @@
 package org.ta4j.core.rules;
 
 import java.time.LocalTime;
-import java.time.ZoneOffset;
 import java.util.List;
 
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.indicators.helpers.DateTimeIndicator;
+import org.ta4j.core.utils.CalendarIndex;
 
 /**
  * Satisfied when the "local time" value of the {@link DateTimeIndicator} is
@@ -49,6 +49,15 @@ public class TimeRangeRule extends AbstractRule {
     private final List<TimeRange> timeRanges;
     private final DateTimeIndicator timeIndicator;
 
+    /** The time of day of each bar. */
+    private final CalendarIndex calendar;
+
+    /** The nano of day of the start of each time range. */
+    private final long[] fromNanos;
+
+    /** The nano of day of the end of each time range. */
+    private final long[] toNanos;
+
     /**
      * Constructor.
      *
@@ -58,15 +67,23 @@ public class TimeRangeRule extends AbstractRule {
     public TimeRangeRule(List<TimeRange> timeRanges, DateTimeIndicator beginTimeIndicator) {
         this.timeRanges = timeRanges;
         this.timeIndicator = beginTimeIndicator;
+        this.calendar = new CalendarIndex(beginTimeIndicator);
+        this.fromNanos = new long[timeRanges.size()];
+        this.toNanos = new long[timeRanges.size()];
+        for (int i = 0; i < timeRanges.size(); i++) {
+            fromNanos[i] = timeRanges.get(i).from().toNanoOfDay();
+            toNanos[i] = timeRanges.get(i).to().toNanoOfDay();
+        }
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        var localTime = LocalTime.ofInstant(timeIndicator.getValue(index), ZoneOffset.UTC);
-        final boolean satisfied = timeRanges.stream().anyMatch(range -> {
-            return !localTime.isBefore(range.from()) && !localTime.isAfter(range.to());
-        });
+        long nanoOfDay = calendar.getNanoOfDay(index);
+        boolean satisfied = false;
+        for (int i = 0; i < fromNanos.length && !satisfied; i++) {
+            satisfied = nanoOfDay >= fromNanos[i] && nanoOfDay <= toNanos[i];
+        }
         traceIsSatisfied(index, satisfied);
         return satisfied;
     }
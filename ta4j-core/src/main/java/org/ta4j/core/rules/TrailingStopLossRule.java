@@ -26,9 +26,8 @@ package org.ta4j.core.rules;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
-import org.ta4j.core.indicators.helpers.HighestValueIndicator;
-import org.ta4j.core.indicators.helpers.LowestValueIndicator;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.helper.ExtremeValueTracker;
 
 /**
  * A trailing stop-loss rule.
@@ -47,6 +46,12 @@ public class TrailingStopLossRule extends AbstractRule {
     /** the loss-distance as percentage. */
     private final Num lossPercentage;
 
+    /** The highest price since the entry (for long positions). */
+    private final ExtremeValueTracker highestPrice;
+
+    /** The lowest price since the entry (for short positions). */
+    private final ExtremeValueTracker lowestPrice;
+
     /**
      * Constructor.
      *
@@ -58,6 +63,8 @@ public class TrailingStopLossRule extends AbstractRule {
         this.priceIndicator = indicator;
         this.barCount = barCount;
         this.lossPercentage = lossPercentage;
+        this.highestPrice = new ExtremeValueTracker(indicator, barCount, true);
+        this.lowestPrice = new ExtremeValueTracker(indicator, barCount, false);
     }
 
     /**
@@ -93,9 +100,7 @@ public class TrailingStopLossRule extends AbstractRule {
     }
 
     private boolean isBuySatisfied(Num currentPrice, int index, int positionIndex) {
-        HighestValueIndicator highest = new HighestValueIndicator(priceIndicator,
-                getValueIndicatorBarCount(index, positionIndex));
-        Num highestCloseNum = highest.getValue(index);
+        Num highestCloseNum = highestPrice.getValue(positionIndex, index);
         final var hundred = highestCloseNum.getNumFactory().hundred();
         Num lossRatioThreshold = hundred.minus(lossPercentage).dividedBy(hundred);
         Num currentStopLossLimitActivation = highestCloseNum.multipliedBy(lossRatioThreshold);
@@ -103,21 +108,16 @@ public class TrailingStopLossRule extends AbstractRule {
     }
 
     private boolean isSellSatisfied(Num currentPrice, int index, int positionIndex) {
-        LowestValueIndicator lowest = new LowestValueIndicator(priceIndicator,
-                getValueIndicatorBarCount(index, positionIndex));
-        Num lowestCloseNum = lowest.getValue(index);
+        Num lowestCloseNum = lowestPrice.getValue(positionIndex, index);
         final var hundred = lowestCloseNum.getNumFactory().hundred();
         Num lossRatioThreshold = hundred.plus(lossPercentage).dividedBy(hundred);
         Num currentStopLossLimitActivation = lowestCloseNum.multipliedBy(lossRatioThreshold);
         return currentPrice.isGreaterThanOrEqual(currentStopLossLimitActivation);
     }
 
-    private int getValueIndicatorBarCount(int index, int positionIndex) {
-        return Math.min(index - positionIndex + 1, this.barCount);
-    }
-
     @Override
     protected void traceIsSatisfied(int index, boolean isSatisfied) {
+        RuleTracer.traceIsSatisfied(this, index, isSatisfied);
         if (log.isTraceEnabled()) {
             log.trace("{}#isSatisfied({}): {}. Current price: {}", getClass().getSimpleName(), index, isSatisfied,
                     priceIndicator.getValue(index));
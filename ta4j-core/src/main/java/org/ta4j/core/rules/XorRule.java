@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import java.util.BitSet;
+
 import org.ta4j.core.Rule;
 import org.ta4j.core.TradingRecord;
 
@@ -56,6 +58,13 @@ public class XorRule extends AbstractRule {
         return satisfied;
     }
 
+    @Override
+    public BitSet evaluate(int from, int to) {
+        BitSet satisfied = rule1.evaluate(from, to);
+        satisfied.xor(rule2.evaluate(from, to));
+        return satisfied;
+    }
+
     /** @return the first rule */
     public Rule getRule1() {
         return rule1;
@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+
+/**
+ * Evaluates two short-circuiting rules (AND or OR) in an adaptive
+ * {@link EvaluationOrder order}.
+ *
+ * <p>
+ * For each rule, the number of evaluations, the number of decisive results
+ * (i.e. the ones which make the evaluation of the other rule needless) and, in
+ * {@link EvaluationOrder#ADAPTIVE} order, the evaluation time are collected.
+ * The order is revised every {@link #REORDER_INTERVAL} evaluations: the rule
+ * with the lowest cost per decisive result is evaluated first. The statistics
+ * are updated under the lock of the evaluator.
+ */
+public class AdaptiveEvaluator {
+
+    /** The number of evaluations between two revisions of the order. */
+    public static final int REORDER_INTERVAL = 64;
+
+    private final EvaluationOrder order;
+    private final boolean decisiveResult;
+
+    /** The statistics of the first and the second rule (construction order). */
+    private final long[] evaluations = new long[2];
+    private final long[] decisiveResults = new long[2];
+    private final long[] nanos = new long[2];
+
+    /** The number of evaluations since the last revision of the order. */
+    private int sinceReorder;
+
+    /** True if the second rule is evaluated first. */
+    private boolean swapped;
+
+    /**
+     * Constructor.
+     *
+     * @param order          the evaluation order ({@link EvaluationOrder#ADAPTIVE}
+     *                       or {@link EvaluationOrder#ADAPTIVE_DETERMINISTIC})
+     * @param decisiveResult the result which makes the evaluation of the other rule
+     *                       needless ({@code false} for AND, {@code true} for OR)
+     * @throws IllegalArgumentException if the order is
+     *                                  {@link EvaluationOrder#FIXED}
+     */
+    public AdaptiveEvaluator(EvaluationOrder order, boolean decisiveResult) {
+        if (order == EvaluationOrder.FIXED) {
+            throw new IllegalArgumentException("Evaluation order must be adaptive");
+        }
+        this.order = order;
+        this.decisiveResult = decisiveResult;
+    }
+
+    /**
+     * @param rule1         the first rule (construction order)
+     * @param rule2         the second rule (construction order)
+     * @param index         the bar index
+     * @param tradingRecord the potentially needed trading history
+     * @return the combined result of both rules
+     */
+    public synchronized boolean isSatisfied(Rule rule1, Rule rule2, int index, TradingRecord tradingRecord) {
+        if (++sinceReorder > REORDER_INTERVAL) {
+            sinceReorder = 1;
+            swapped = cost(1) < cost(0);
+        }
+        int first = swapped ? 1 : 0;
+        if (evaluate(first, swapped ? rule2 : rule1, index, tradingRecord) == decisiveResult) {
+            return decisiveResult;
+        }
+        return evaluate(1 - first, swapped ? rule1 : rule2, index, tradingRecord);
+    }
+
+    /** @return true if the second rule (construction order) is evaluated first */
+    public synchronized boolean isSwapped() {
+        return swapped;
+    }
+
+    private boolean evaluate(int position, Rule rule, int index, TradingRecord tradingRecord) {
+        boolean satisfied;
+        if (order == EvaluationOrder.ADAPTIVE) {
+            long start = System.nanoTime();
+            satisfied = rule.isSatisfied(index, tradingRecord);
+            nanos[position] += System.nanoTime() - start;
+        } else {
+            satisfied = rule.isSatisfied(index, tradingRecord);
+        }
+        evaluations[position]++;
+        if (satisfied == decisiveResult) {
+            decisiveResults[position]++;
+        }
+        return satisfied;
+    }
+
+    /**
+     * @param position the position of the rule (construction order)
+     * @return the expected cost per decisive result of the rule
+     */
+    private double cost(int position) {
+        if (evaluations[position] == 0) {
+            // not evaluated yet: keep the current order
+            return position == (swapped ? 1 : 0) ? 0 : Double.MAX_VALUE;
+        }
+        double costPerEvaluation = order == EvaluationOrder.ADAPTIVE ? nanos[position] / (double) evaluations[position]
+                : 1;
+        double decisiveRate = decisiveResults[position] / (double) evaluations[position];
+        return decisiveRate == 0 ? Double.MAX_VALUE : costPerEvaluation / decisiveRate;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+/**
+ * The order in which the two rules of an {@link org.ta4j.core.rules.AndRule
+ * AndRule} or {@link org.ta4j.core.rules.OrRule OrRule} are evaluated.
+ *
+ * <p>
+ * Changing the order never changes the result of rules which do not have a
+ * state, but rules which have one (e.g. {@link org.ta4j.core.rules.JustOnceRule
+ * JustOnceRule}) may be evaluated at other bars than in the construction order.
+ * An {@link org.ta4j.core.rules.RuleCompiler compiled} rule keeps the order of
+ * its adaptive AND/OR rules.
+ */
+public enum EvaluationOrder {
+
+    /** The rules are always evaluated in the construction order. */
+    FIXED,
+
+    /**
+     * The rule with the lowest measured evaluation time per decisive result (i.e.
+     * the one which most likely short-circuits the other rule at the lowest cost)
+     * is evaluated first. The order depends on the timings and may differ between
+     * runs.
+     */
+    ADAPTIVE,
+
+    /**
+     * The rule with the highest rate of decisive results is evaluated first. The
+     * order only depends on the results of the rules, so a backtest is
+     * reproducible.
+     */
+    ADAPTIVE_DETERMINISTIC
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import java.util.Arrays;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * Tracks the highest (or lowest) value of an {@link Indicator indicator} from a
+ * start index (e.g. the entry of the current position) within the last
+ * {@code barCount} bars.
+ *
+ * <p>
+ * If the bars are requested in order, a value is updated in amortised constant
+ * time: the running extreme is kept since the start index, or a monotonic deque
+ * of the candidate indexes if the window is limited. The state is reset when
+ * the start index changes (e.g. for a new position) and recalculated if the
+ * bars are not requested in order, so the results are always the ones of a full
+ * scan. The value at the requested index itself is never kept, so a replaced
+ * last bar is taken into account. NaN values are ignored.
+ */
+public class ExtremeValueTracker {
+
+    private final Indicator<Num> indicator;
+    private final int barCount;
+    private final boolean highest;
+
+    /** The start index of the tracked values (-1 if none). */
+    private int startIndex = -1;
+
+    /** The last requested index (-1 if none). */
+    private int lastIndex = -1;
+
+    /**
+     * The extreme value before {@link #lastIndex} (if the window is not limited).
+     */
+    private Num extreme = NaN.NaN;
+
+    /**
+     * The candidate indexes of the extreme value before {@link #lastIndex} (if the
+     * window is limited), in order.
+     */
+    private int[] deque = new int[16];
+    private int head;
+    private int tail;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator
+     * @param barCount  the maximum number of bars of the window (e.g.
+     *                  {@link Integer#MAX_VALUE} to track all bars since the start
+     *                  index)
+     * @param highest   true to track the highest value, false to track the lowest
+     *                  value
+     * @throws IllegalArgumentException if {@code barCount} is not positive
+     */
+    public ExtremeValueTracker(Indicator<Num> indicator, int barCount, boolean highest) {
+        if (barCount < 1) {
+            throw new IllegalArgumentException("Bar count must be positive");
+        }
+        this.indicator = indicator;
+        this.barCount = barCount;
+        this.highest = highest;
+    }
+
+    /**
+     * @param startIndex the first index of the tracked values (e.g. the entry index
+     *                   of the current position)
+     * @param index      the index (not less than {@code startIndex})
+     * @return the extreme value from {@code max(startIndex, index - barCount + 1)}
+     *         to {@code index}, NaN if all values are NaN
+     */
+    public synchronized Num getValue(int startIndex, int index) {
+        if (startIndex != this.startIndex || index < lastIndex || index > lastIndex + 1) {
+            // new start or not in order: recalculate
+            this.startIndex = startIndex;
+            extreme = NaN.NaN;
+            head = tail = 0;
+            for (int i = Math.max(startIndex, windowStart(index)); i < index; i++) {
+                add(i);
+            }
+        } else if (index == lastIndex + 1) {
+            add(lastIndex);
+        }
+        lastIndex = index;
+
+        // the value at the index is not tracked, it may change (e.g. last bar)
+        Num value = indicator.getValue(index);
+        Num previous = NaN.NaN;
+        if (!isWindowLimited()) {
+            previous = extreme;
+        } else {
+            int windowStart = windowStart(index);
+            while (head < tail && deque[head] < windowStart) {
+                head++;
+            }
+            if (head < tail) {
+                previous = indicator.getValue(deque[head]);
+            }
+        }
+        if (value.isNaN() || (!previous.isNaN() && isBeyond(previous, value))) {
+            return previous;
+        }
+        return value;
+    }
+
+    private void add(int index) {
+        Num value = indicator.getValue(index);
+        if (value.isNaN()) {
+            return;
+        }
+        if (!isWindowLimited()) {
+            if (extreme.isNaN() || isBeyond(value, extreme)) {
+                extreme = value;
+            }
+            return;
+        }
+        // remove the candidates which can no longer be the extreme
+        while (head < tail && !isBeyond(indicator.getValue(deque[tail - 1]), value)) {
+            tail--;
+        }
+        if (tail == deque.length) {
+            if (head > 0) {
+                System.arraycopy(deque, head, deque, 0, tail - head);
+                tail -= head;
+                head = 0;
+            } else {
+                deque = Arrays.copyOf(deque, 2 * deque.length);
+            }
+        }
+        deque[tail++] = index;
+    }
+
+    /** @return true if value is strictly higher (or lower) than other */
+    private boolean isBeyond(Num value, Num other) {
+        return highest ? value.isGreaterThan(other) : value.isLessThan(other);
+    }
+
+    private boolean isWindowLimited() {
+        return barCount != Integer.MAX_VALUE;
+    }
+
+    private int windowStart(int index) {
+        return isWindowLimited() ? index - barCount + 1 : Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+
+/**
+ * A state of a rule that is scoped to the current (open) position of a
+ * {@link TradingRecord trading record}, e.g. a stop price calculated from the
+ * entry price.
+ *
+ * <p>
+ * The state is created once when a position is opened (i.e. when it is first
+ * requested for this position) and kept until another position is opened or
+ * another trading record is used.
+ *
+ * @param <T> the type of the state
+ */
+public class PositionScopedState<T> {
+
+    /** The function to create the state of an opened position. */
+    private final Function<Position, T> initializer;
+
+    /** The trading record of the {@link #state} (null if none). */
+    private TradingRecord tradingRecord;
+
+    /** The entry trade of the position of the {@link #state} (null if none). */
+    private Trade entry;
+
+    private T state;
+
+    /**
+     * Constructor.
+     *
+     * @param initializer the function to create the state of an opened position
+     */
+    public PositionScopedState(Function<Position, T> initializer) {
+        this.initializer = Objects.requireNonNull(initializer, "Initializer must not be null");
+    }
+
+    /**
+     * @param tradingRecord the trading record (can be null)
+     * @return the state of the current position of the {@code tradingRecord}, or
+     *         null if there is no trading record or no open position
+     */
+    public synchronized T get(TradingRecord tradingRecord) {
+        if (tradingRecord == null) {
+            return null;
+        }
+        Position position = tradingRecord.getCurrentPosition();
+        if (!position.isOpened()) {
+            return null;
+        }
+        Trade currentEntry = position.getEntry();
+        if (tradingRecord != this.tradingRecord || currentEntry != entry) {
+            state = initializer.apply(position);
+            this.tradingRecord = tradingRecord;
+            entry = currentEntry;
+        }
+        return state;
+    }
+
+    /**
+     * Discards the current state, so that it is created again on the next request.
+     */
+    public synchronized void reset() {
+        tradingRecord = null;
+        entry = null;
+        state = null;
+    }
+}
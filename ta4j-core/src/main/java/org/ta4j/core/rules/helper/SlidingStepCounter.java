@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Counts the rising (or falling) steps of an {@link Indicator indicator} within
+ * the last {@code barCount} bars, i.e. the indexes {@code i} with
+ * {@code value(i) > value(i - 1)} (or {@code <}). The step of the first bar
+ * compares the value with itself and is never counted.
+ *
+ * <p>
+ * If the bars are requested in order, the count is updated in constant time by
+ * adding the step entering the window and removing the one leaving it. It is
+ * recalculated if the bars are not requested in order. The step of the
+ * requested index itself is never kept, so a replaced last bar is taken into
+ * account.
+ */
+public class SlidingStepCounter {
+
+    private final Indicator<Num> indicator;
+    private final int barCount;
+    private final boolean rising;
+
+    /** The last requested index (-1 if none). */
+    private int lastIndex = -1;
+
+    /** The number of steps within the window before {@link #lastIndex}. */
+    private int previousCount;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator
+     * @param barCount  the number of bars of the window
+     * @param rising    true to count the rising steps, false to count the falling
+     *                  steps
+     * @throws IllegalArgumentException if {@code barCount} is not positive
+     */
+    public SlidingStepCounter(Indicator<Num> indicator, int barCount, boolean rising) {
+        if (barCount < 1) {
+            throw new IllegalArgumentException("Bar count must be positive");
+        }
+        this.indicator = indicator;
+        this.barCount = barCount;
+        this.rising = rising;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the number of steps from {@code max(0, index - barCount + 1)} to
+     *         {@code index}
+     */
+    public synchronized int getCount(int index) {
+        if (lastIndex >= 0 && index == lastIndex + 1) {
+            previousCount += step(lastIndex);
+            int leaving = lastIndex - barCount + 1;
+            if (leaving >= 0) {
+                previousCount -= step(leaving);
+            }
+        } else if (lastIndex < 0 || index != lastIndex) {
+            // not in order: recalculate
+            previousCount = 0;
+            for (int i = Math.max(0, index - barCount + 1); i < index; i++) {
+                previousCount += step(i);
+            }
+        }
+        lastIndex = index;
+        return previousCount + step(index);
+    }
+
+    /** @return 1 if there is a step at the index, 0 otherwise */
+    private int step(int index) {
+        Num value = indicator.getValue(index);
+        Num previous = indicator.getValue(Math.max(0, index - 1));
+        boolean step = rising ? value.isGreaterThan(previous) : value.isLessThan(previous);
+        return step ? 1 : 0;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.ta4j.core.Indicator;
+
+/**
+ * The calendar attributes (time of day, day of week, session, week, month,
+ * year) of the instants of a time {@link Indicator indicator} (e.g. the begin
+ * or end times of the bars), converted once per bar and held in primitive
+ * arrays.
+ *
+ * <p>
+ * The attributes of a bar are converted again if its instant has changed (e.g.
+ * for a replaced last bar). Bars which have been removed from the series (see
+ * {@link org.ta4j.core.BarSeries#getMaximumBarCount()}) are not kept.
+ */
+public class CalendarIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Indicator<Instant> timeIndicator;
+    private final ZoneId zone;
+
+    /** The bar index of the first slot. */
+    private int offset = -1;
+
+    /** The converted instants (null if not converted yet). */
+    private Instant[] instants = new Instant[0];
+    private long[] nanosOfDay = new long[0];
+    private int[] epochDays = new int[0];
+    private int[] dates = new int[0];
+    private int[] weeks = new int[0];
+
+    /**
+     * Constructor for the UTC time zone.
+     *
+     * @param timeIndicator the time indicator
+     */
+    public CalendarIndex(Indicator<Instant> timeIndicator) {
+        this(timeIndicator, ZoneOffset.UTC);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param timeIndicator the time indicator
+     * @param zone          the time zone of the calendar
+     */
+    public CalendarIndex(Indicator<Instant> timeIndicator, ZoneId zone) {
+        this.timeIndicator = Objects.requireNonNull(timeIndicator, "Time indicator must not be null");
+        this.zone = Objects.requireNonNull(zone, "Zone must not be null");
+    }
+
+    /**
+     * @param index the bar index
+     * @return the nano of day (within [0, 86,400,000,000,000))
+     */
+    public long getNanoOfDay(int index) {
+        synchronized (this) {
+            int slot = slot(index);
+            if (slot >= 0) {
+                return nanosOfDay[slot];
+            }
+        }
+        return toDateTime(index).toLocalTime().toNanoOfDay();
+    }
+
+    /**
+     * @param index the bar index
+     * @return the session (i.e. the number of days since 1970-01-01 in the time
+     *         zone of the calendar)
+     */
+    public int getSession(int index) {
+        synchronized (this) {
+            int slot = slot(index);
+            if (slot >= 0) {
+                return epochDays[slot];
+            }
+        }
+        return (int) toDateTime(index).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * @param index the bar index
+     * @return the ISO day of week, from 1 (Monday) to 7 (Sunday)
+     */
+    public int getDayOfWeek(int index) {
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(getSession(index) + 3, 7) + 1;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the day of year, from 1 to 366
+     */
+    public int getDayOfYear(int index) {
+        return getDate(index) & 0x1FF;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the month, from 1 (January) to 12 (December)
+     */
+    public int getMonth(int index) {
+        return getDate(index) >>> 9 & 0xF;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the year
+     */
+    public int getYear(int index) {
+        return getDate(index) >> 13;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the ISO week of week-based-year, from 1 to 53
+     */
+    public int getWeekOfWeekBasedYear(int index) {
+        synchronized (this) {
+            int slot = slot(index);
+            if (slot >= 0) {
+                return weeks[slot];
+            }
+        }
+        return toDateTime(index).get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    /** @return the year, month and day of year packed into an int */
+    private int getDate(int index) {
+        synchronized (this) {
+            int slot = slot(index);
+            if (slot >= 0) {
+                return dates[slot];
+            }
+        }
+        return packDate(toDateTime(index));
+    }
+
+    /**
+     * Converts the instant of the bar if needed.
+     *
+     * @param index the bar index
+     * @return the slot of the bar, -1 if the bar is not kept
+     */
+    private int slot(int index) {
+        int beginIndex = Math.max(timeIndicator.getBarSeries().getBeginIndex(), 0);
+        if (index < beginIndex) {
+            return -1;
+        }
+        if (offset < 0) {
+            offset = beginIndex;
+        } else if (beginIndex - offset > instants.length / 2) {
+            // drop the removed bars
+            int shift = beginIndex - offset;
+            resize(instants.length, shift);
+            offset = beginIndex;
+        }
+        if (index < offset) {
+            return -1;
+        }
+        int slot = index - offset;
+        if (slot >= instants.length) {
+            resize(Math.max(Math.max(INITIAL_CAPACITY, 2 * instants.length), slot + 1), 0);
+        }
+        Instant instant = timeIndicator.getValue(index);
+        if (!instant.equals(instants[slot])) {
+            ZonedDateTime dateTime = instant.atZone(zone);
+            instants[slot] = instant;
+            nanosOfDay[slot] = dateTime.toLocalTime().toNanoOfDay();
+            epochDays[slot] = (int) dateTime.toLocalDate().toEpochDay();
+            dates[slot] = packDate(dateTime);
+            weeks[slot] = dateTime.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+        }
+        return slot;
+    }
+
+    private void resize(int capacity, int shift) {
+        instants = Arrays.copyOfRange(instants, shift, shift + capacity);
+        nanosOfDay = Arrays.copyOfRange(nanosOfDay, shift, shift + capacity);
+        epochDays = Arrays.copyOfRange(epochDays, shift, shift + capacity);
+        dates = Arrays.copyOfRange(dates, shift, shift + capacity);
+        weeks = Arrays.copyOfRange(weeks, shift, shift + capacity);
+    }
+
+    private ZonedDateTime toDateTime(int index) {
+        return timeIndicator.getValue(index).atZone(zone);
+    }
+
+    private static int packDate(ZonedDateTime dateTime) {
+        return dateTime.getYear() << 13 | dateTime.getMonthValue() << 9 | dateTime.getDayOfYear();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+/**
+ * Selection algorithms (Hoare's quickselect) to find the k-th smallest element
+ * of an array in expected {@code O(n)} time without sorting it.
+ *
+ * <p>
+ * Both variants partially reorder the given range in place: after
+ * {@code select(values, from, to, k)} returned, {@code values[k]} holds the
+ * element that would be at index {@code k} if the range was sorted, all
+ * elements in {@code [from, k)} are less than or equal to it and all elements
+ * in {@code (k, to)} are greater than or equal to it. Sorting only
+ * {@code [from, k]} afterwards therefore yields the {@code k - from + 1}
+ * smallest elements in ascending order.
+ */
+public final class QuickSelect {
+
+    private QuickSelect() {
+    }
+
+    /**
+     * Selects the k-th smallest element (0-based) of the array.
+     *
+     * @param values the values (must not contain {@code NaN}), partially reordered
+     *               in place
+     * @param k      the 0-based rank within the array
+     * @return the k-th smallest value
+     * @throws IllegalArgumentException if {@code k} is out of bounds
+     */
+    public static double select(double[] values, int k) {
+        return select(values, 0, values.length, k);
+    }
+
+    /**
+     * Selects the k-th smallest element (0-based) of {@code values[from, to)}.
+     *
+     * @param values the values (must not contain {@code NaN}), partially reordered
+     *               in place
+     * @param from   the first index of the range (inclusive)
+     * @param to     the last index of the range (exclusive)
+     * @param k      the index within {@code [from, to)} to select
+     * @return the k-th smallest value
+     * @throws IllegalArgumentException if the range or {@code k} is out of bounds
+     */
+    public static double select(double[] values, int from, int to, int k) {
+        checkRange(values.length, from, to, k);
+        int lo = from;
+        int hi = to - 1;
+        while (hi > lo) {
+            // median of three: values[lo] <= values[mid] <= values[hi]
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < values[lo]) {
+                swap(values, lo, mid);
+            }
+            if (values[hi] < values[lo]) {
+                swap(values, lo, hi);
+            }
+            if (values[hi] < values[mid]) {
+                swap(values, mid, hi);
+            }
+            double pivot = values[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                // values between j and i are equal to the pivot
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    /**
+     * Selects the k-th smallest element (0-based) of the array.
+     *
+     * @param values the values, partially reordered in place
+     * @param k      the 0-based rank within the array
+     * @param <T>    the type of the values
+     * @return the k-th smallest value
+     * @throws IllegalArgumentException if {@code k} is out of bounds
+     */
+    public static <T extends Comparable<? super T>> T select(T[] values, int k) {
+        return select(values, 0, values.length, k);
+    }
+
+    /**
+     * Selects the k-th smallest element (0-based) of {@code values[from, to)}.
+     *
+     * @param values the values, partially reordered in place
+     * @param from   the first index of the range (inclusive)
+     * @param to     the last index of the range (exclusive)
+     * @param k      the index within {@code [from, to)} to select
+     * @param <T>    the type of the values
+     * @return the k-th smallest value
+     * @throws IllegalArgumentException if the range or {@code k} is out of bounds
+     */
+    public static <T extends Comparable<? super T>> T select(T[] values, int from, int to, int k) {
+        checkRange(values.length, from, to, k);
+        int lo = from;
+        int hi = to - 1;
+        while (hi > lo) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid].compareTo(values[lo]) < 0) {
+                swap(values, lo, mid);
+            }
+            if (values[hi].compareTo(values[lo]) < 0) {
+                swap(values, lo, hi);
+            }
+            if (values[hi].compareTo(values[mid]) < 0) {
+                swap(values, mid, hi);
+            }
+            T pivot = values[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i].compareTo(pivot) < 0) {
+                    i++;
+                }
+                while (values[j].compareTo(pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    private static void checkRange(int length, int from, int to, int k) {
+        if (from < 0 || to > length || from >= to) {
+            throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ") for length " + length);
+        }
+        if (k < from || k >= to) {
+            throw new IllegalArgumentException("Rank " + k + " is not within [" + from + ", " + to + ")");
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static <T> void swap(T[] values, int i, int j) {
+        T tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+}
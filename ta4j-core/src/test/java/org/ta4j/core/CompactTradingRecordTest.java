@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+import static org.ta4j.core.num.NaN.NaN;
+
+import org.junit.Test;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.analysis.cost.LinearBorrowingCostModel;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.DoubleNumFactory;
+
+public class CompactTradingRecordTest {
+
+    @Test
+    public void operate() {
+        TradingRecord record = new CompactTradingRecord();
+        assertTrue(record.getCurrentPosition().isNew());
+        assertNull(record.getLastTrade());
+        assertNull(record.getLastEntry());
+        assertNull(record.getLastExit());
+
+        record.operate(1);
+        assertTrue(record.getCurrentPosition().isOpened());
+        assertEquals(0, record.getPositionCount());
+        assertNull(record.getLastPosition());
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastTrade());
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastTrade(TradeType.BUY));
+        assertNull(record.getLastTrade(TradeType.SELL));
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastEntry());
+        assertNull(record.getLastExit());
+
+        record.operate(3);
+        assertTrue(record.getCurrentPosition().isNew());
+        assertEquals(1, record.getPositionCount());
+        assertEquals(new Position(Trade.buyAt(1, NaN, NaN), Trade.sellAt(3, NaN, NaN)), record.getLastPosition());
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastTrade());
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastTrade(TradeType.BUY));
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastTrade(TradeType.SELL));
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastEntry());
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastExit());
+
+        record.operate(5);
+        assertTrue(record.getCurrentPosition().isOpened());
+        assertEquals(1, record.getPositionCount());
+        assertEquals(3, record.getTrades().size());
+        assertEquals(Trade.buyAt(5, NaN, NaN), record.getLastTrade());
+        assertEquals(Trade.buyAt(5, NaN, NaN), record.getLastEntry());
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastExit());
+    }
+
+    @Test
+    public void sameTradesAndPositionsAsBaseTradingRecord() {
+        var series = new MockBarSeriesBuilder().withNumFactory(DoubleNumFactory.getInstance())
+                .withData(100, 105, 98, 110, 120, 90, 95, 101, 99, 130)
+                .build();
+        var transactionCost = new LinearTransactionCostModel(0.01);
+        var holdingCost = new LinearBorrowingCostModel(0.001);
+        var base = new BaseTradingRecord(TradeType.SELL, transactionCost, holdingCost);
+        var compact = new CompactTradingRecord(TradeType.SELL, transactionCost, holdingCost);
+
+        int[] indexes = { 0, 2, 3, 5, 6, 9 };
+        for (int i = 0; i < indexes.length; i++) {
+            var price = series.getBar(indexes[i]).getClosePrice();
+            var amount = series.numFactory().numOf(i + 1);
+            base.operate(indexes[i], price, amount);
+            compact.operate(indexes[i], price, amount);
+        }
+
+        assertEquals(base.getTrades(), compact.getTrades());
+        assertEquals(base.getPositions(), compact.getPositions());
+        assertEquals(base.getLastTrade(TradeType.BUY), compact.getLastTrade(TradeType.BUY));
+        assertEquals(base.getLastTrade(TradeType.SELL), compact.getLastTrade(TradeType.SELL));
+        assertEquals(6, compact.getTradeCount());
+        assertEquals(TradeType.SELL, compact.getTradeType(0));
+        assertEquals(TradeType.BUY, compact.getTradeType(1));
+        assertEquals(5, compact.getTradeIndex(3));
+        assertEquals(90, compact.getTradePrice(3), 0);
+        assertEquals(4, compact.getTradeAmount(3), 0);
+        assertEquals(base.getTrades().get(3).getCost().doubleValue(), compact.getTradeCost(3), 1e-12);
+        assertNumEquals(new ReturnCriterion().calculate(series, base),
+                new ReturnCriterion().calculate(series, compact));
+        assertNumEquals(new MaximumDrawdownCriterion().calculate(series, base),
+                new MaximumDrawdownCriterion().calculate(series, compact));
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        var record = new CompactTradingRecord();
+        var numFactory = DoubleNumFactory.getInstance();
+        for (int i = 0; i < 1001; i++) {
+            record.operate(i, numFactory.numOf(i + 1), numFactory.one());
+        }
+        assertEquals(1001, record.getTrades().size());
+        assertEquals(500, record.getPositions().size());
+        assertTrue(record.getCurrentPosition().isOpened());
+        assertEquals(Trade.buyAt(1000, numFactory.numOf(1001), numFactory.one()), record.getLastEntry());
+        assertEquals(Trade.sellAt(999, numFactory.numOf(1000), numFactory.one()), record.getLastExit());
+        assertEquals(new Position(Trade.buyAt(998, numFactory.numOf(999), numFactory.one()),
+                Trade.sellAt(999, numFactory.numOf(1000), numFactory.one())), record.getLastPosition());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void positionsViewIsBounded() {
+        var record = new CompactTradingRecord();
+        record.enter(0);
+        record.getPositions().get(0);
+    }
+}
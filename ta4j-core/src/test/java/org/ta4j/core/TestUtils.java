@@ -27,6 +27,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
 import java.math.BigDecimal;
+import java.util.BitSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -245,4 +246,30 @@ public class TestUtils {
         throw new AssertionError("Indicators match to " + delta);
     }
 
+    /**
+     * Verifies that {@link Rule#evaluate(int, int)} agrees with
+     * {@link Rule#isSatisfied(int, TradingRecord)} (without trading record) for
+     * every range within the given bars, including the empty ranges with
+     * {@code from > to}.
+     *
+     * @param rule      the rule
+     * @param lastIndex the last bar index of the ranges
+     * @throws AssertionError if a bit of a range differs from {@code isSatisfied}
+     *                        or a bit is set out of the range
+     */
+    public static void assertEvaluateEqualsIsSatisfied(Rule rule, int lastIndex) {
+        for (int from = 0; from <= lastIndex + 1; from++) {
+            for (int to = from - 1; to <= lastIndex; to++) {
+                BitSet satisfied = rule.evaluate(from, to);
+                int count = 0;
+                for (int i = from; i <= to; i++) {
+                    boolean expected = rule.isSatisfied(i, null);
+                    assertEquals("evaluate(" + from + ", " + to + ") at " + i, expected, satisfied.get(i));
+                    count += expected ? 1 : 0;
+                }
+                assertEquals("evaluate(" + from + ", " + to + ")", count, satisfied.cardinality());
+            }
+        }
+    }
+
 }
@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.criteria.CalmarRatioCriterion;
+import org.ta4j.core.criteria.ExpectedShortfallCriterion;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
+import org.ta4j.core.criteria.NumberOfWinningPositionsCriterion;
+import org.ta4j.core.criteria.OmegaRatioCriterion;
+import org.ta4j.core.criteria.SharpeRatioCriterion;
+import org.ta4j.core.criteria.SortinoRatioCriterion;
+import org.ta4j.core.criteria.UlcerIndexCriterion;
+import org.ta4j.core.criteria.ValueAtRiskCriterion;
+import org.ta4j.core.criteria.pnl.LossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossPercentageCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.reports.TradingStatement;
+import org.ta4j.core.reports.TradingStatementGenerator;
+
+public class AnalysisContextTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private TradingRecord tradingRecord;
+
+    public AnalysisContextTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 95, 100, 80, 85, 70, 70, 90, 110, 100)
+                .build();
+        tradingRecord = new BaseTradingRecord(Trade.TradeType.BUY, new LinearTransactionCostModel(0.01),
+                new ZeroCostModel());
+        // loss
+        tradingRecord.enter(0, series.getBar(0).getClosePrice(), numOf(1));
+        tradingRecord.exit(1, series.getBar(1).getClosePrice(), numOf(1));
+        // profit
+        tradingRecord.enter(3, series.getBar(3).getClosePrice(), numOf(2));
+        tradingRecord.exit(4, series.getBar(4).getClosePrice(), numOf(2));
+        // gross break even, net loss
+        tradingRecord.enter(5, series.getBar(5).getClosePrice(), numOf(1));
+        tradingRecord.exit(6, series.getBar(6).getClosePrice(), numOf(1));
+        // profit
+        tradingRecord.enter(7, series.getBar(7).getClosePrice(), numOf(1));
+        tradingRecord.exit(8, series.getBar(8).getClosePrice(), numOf(1));
+        // open position
+        tradingRecord.enter(9, series.getBar(9).getClosePrice(), numOf(1));
+    }
+
+    @Test
+    public void criteriaReadSameValuesFromContext() {
+        var context = new AnalysisContext(series, tradingRecord);
+        List<AnalysisCriterion> criteria = List.of(new ProfitLossCriterion(), new ProfitLossPercentageCriterion(),
+                new ProfitCriterion(false), new ProfitCriterion(true), new LossCriterion(false),
+                new LossCriterion(true), new NumberOfWinningPositionsCriterion(),
+                new NumberOfLosingPositionsCriterion(), new NumberOfBreakEvenPositionsCriterion(),
+                new MaximumDrawdownCriterion(), new ValueAtRiskCriterion(0.9), new ExpectedShortfallCriterion(0.9),
+                new ReturnCriterion());
+        for (AnalysisCriterion criterion : criteria) {
+            assertNumEquals(criterion.calculate(series, tradingRecord), criterion.calculate(context));
+        }
+        // shared returns are not changed by the criteria
+        var returns = context.getReturns(Returns.ReturnType.LOG);
+        assertNumEquals(new Returns(series, tradingRecord, Returns.ReturnType.LOG).getValue(1), returns.getValue(1));
+    }
+
+    @Test
+    public void positionStatistics() {
+        var context = new AnalysisContext(series, tradingRecord);
+        assertEquals(4, context.getClosedPositions().size());
+        assertEquals(4, context.getProfits().size());
+        assertEquals(2, context.getWinningPositionCount());
+        assertEquals(2, context.getLosingPositionCount());
+        assertEquals(0, context.getBreakEvenPositionCount());
+        assertNumEquals(-5, context.getGrossProfits().get(0));
+        assertNumEquals(0, context.getGrossProfits().get(2));
+        assertNumEquals(-5, context.getTotalLoss(true));
+        assertNumEquals(30, context.getTotalProfit(true));
+        assertNumEquals(context.getTotalProfit(false).plus(context.getTotalLoss(false)), context.getTotalProfitLoss());
+    }
+
+    @Test
+    public void sharedDataIsCalculatedOnce() {
+        var context = new AnalysisContext(series, tradingRecord);
+        assertSame(context.getCashFlow(), context.getCashFlow());
+        assertSame(context.getReturns(Returns.ReturnType.LOG), context.getReturns(Returns.ReturnType.LOG));
+        assertSame(context.getProfits(), context.getProfits());
+        assertEquals(Returns.ReturnType.ARITHMETIC, context.getReturns(Returns.ReturnType.ARITHMETIC).getType());
+    }
+
+    @Test
+    public void tradingStatementFromContext() {
+        var generator = new TradingStatementGenerator();
+        TradingStatement statement = generator.generate(null, tradingRecord, series);
+        assertNumEquals(new ProfitLossCriterion().calculate(series, tradingRecord),
+                statement.getPerformanceReport().getTotalProfitLoss());
+        assertNumEquals(new LossCriterion().calculate(series, tradingRecord),
+                statement.getPerformanceReport().getTotalLoss());
+        assertNumEquals(2, statement.getPositionStatsReport().getProfitCount());
+        assertNumEquals(2, statement.getPositionStatsReport().getLossCount());
+        assertNumEquals(0, statement.getPositionStatsReport().getBreakEvenCount());
+    }
+
+    @Test
+    public void riskAdjustedReturnCriteriaShareReturnStatistics() {
+        var context = new AnalysisContext(series, tradingRecord);
+        assertSame(context.getReturnStatistics(), context.getReturnStatistics());
+
+        List<AnalysisCriterion> criteria = List.of(new SharpeRatioCriterion(0.02), new SortinoRatioCriterion(),
+                new SortinoRatioCriterion(0.1), new CalmarRatioCriterion(), new OmegaRatioCriterion(),
+                new UlcerIndexCriterion());
+        for (AnalysisCriterion criterion : criteria) {
+            assertNumEquals(criterion.calculate(series, tradingRecord), criterion.calculate(context));
+        }
+    }
+}
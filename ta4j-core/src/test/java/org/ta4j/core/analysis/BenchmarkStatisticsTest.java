@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+/**
+ * Tests {@link BenchmarkStatistics} and provides the fixture and reference
+ * values shared by the tests of the benchmark-relative criteria.
+ */
+public class BenchmarkStatisticsTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    /** The close prices of the daily fixture series. */
+    public static final double[] CLOSE_PRICES = { 100, 110, 99, 120, 90, 108, 105, 112 };
+
+    /** The arithmetic returns of {@link #CLOSE_PRICES} (i.e. enter-and-hold). */
+    public static final double[] BENCHMARK_RETURNS = { 0.1, -0.1, 120d / 99 - 1, -0.25, 0.2, 105d / 108 - 1,
+            112d / 105 - 1 };
+
+    /** The returns of {@link #createTradingRecord}, flat from bar 3 to bar 4. */
+    public static final double[] RETURNS = { 0.1, -0.1, 120d / 99 - 1, 0, 0.2, 105d / 108 - 1, 112d / 105 - 1 };
+
+    public BenchmarkStatisticsTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    /**
+     * @param series a series with the {@link #CLOSE_PRICES}
+     * @return a trading record that is in the market except from bar 3 to bar 4
+     */
+    public static TradingRecord createTradingRecord(BarSeries series) {
+        return new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(3, series), Trade.buyAt(4, series),
+                Trade.sellAt(7, series));
+    }
+
+    public static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    public static double beta(double[] returns, double[] benchmark) {
+        double mean = mean(returns);
+        double benchmarkMean = mean(benchmark);
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < returns.length; i++) {
+            covariance += (returns[i] - mean) * (benchmark[i] - benchmarkMean);
+            variance += (benchmark[i] - benchmarkMean) * (benchmark[i] - benchmarkMean);
+        }
+        return covariance / variance;
+    }
+
+    /** @return the alpha annualised with 365 daily bars per year */
+    public static double alpha(double[] returns, double[] benchmark) {
+        return (mean(returns) - beta(returns, benchmark) * mean(benchmark)) * 365;
+    }
+
+    /** @return the tracking error annualised with 365 daily bars per year */
+    public static double trackingError(double[] returns, double[] benchmark) {
+        double[] active = activeReturns(returns, benchmark);
+        double mean = mean(active);
+        double variance = 0;
+        for (double value : active) {
+            variance += (value - mean) * (value - mean) / (active.length - 1);
+        }
+        return Math.sqrt(variance) * Math.sqrt(365);
+    }
+
+    /** @return the information ratio annualised with 365 daily bars per year */
+    public static double informationRatio(double[] returns, double[] benchmark) {
+        return mean(activeReturns(returns, benchmark)) * 365 / trackingError(returns, benchmark);
+    }
+
+    private static double[] activeReturns(double[] returns, double[] benchmark) {
+        double[] active = new double[returns.length];
+        for (int i = 0; i < returns.length; i++) {
+            active[i] = returns[i] - benchmark[i];
+        }
+        return active;
+    }
+
+    private BarSeries createDailySeries(double... closePrices) {
+        BarSeries series = new BaseBarSeriesBuilder().withNumFactory(numFactory).build();
+        for (int i = 0; i < closePrices.length; i++) {
+            series.barBuilder()
+                    .timePeriod(Duration.ofDays(1))
+                    .endTime(Instant.EPOCH.plus(Duration.ofDays(i + 1)))
+                    .closePrice(closePrices[i])
+                    .add();
+        }
+        return series;
+    }
+
+    private BenchmarkStatistics addAll(double[] returns, double[] benchmark) {
+        var statistics = new BenchmarkStatistics(numFactory, Duration.ofDays(1));
+        for (int i = 0; i < returns.length; i++) {
+            statistics.add(numOf(returns[i]), numOf(benchmark[i]));
+        }
+        return statistics;
+    }
+
+    @Test
+    public void add() {
+        var statistics = addAll(RETURNS, BENCHMARK_RETURNS);
+        assertEquals(RETURNS.length, statistics.getCount());
+        assertNumEquals(365, statistics.getPeriodsPerYear());
+        assertNumEquals(mean(RETURNS), statistics.getMean());
+        assertNumEquals(mean(BENCHMARK_RETURNS), statistics.getBenchmarkMean());
+        assertNumEquals(beta(RETURNS, BENCHMARK_RETURNS), statistics.getBeta());
+        assertNumEquals(alpha(RETURNS, BENCHMARK_RETURNS), statistics.getAlpha());
+        assertNumEquals(trackingError(RETURNS, BENCHMARK_RETURNS), statistics.getTrackingError());
+        assertNumEquals(informationRatio(RETURNS, BENCHMARK_RETURNS), statistics.getInformationRatio());
+    }
+
+    @Test
+    public void enterAndHoldBenchmarkOfReturns() {
+        BarSeries series = createDailySeries(CLOSE_PRICES);
+        var returns = new Returns(series, createTradingRecord(series), Returns.ReturnType.ARITHMETIC);
+        var statistics = new BenchmarkStatistics(returns, null, series.getBeginIndex(), series.getEndIndex());
+        assertEquals(RETURNS.length, statistics.getCount());
+        assertNumEquals(beta(RETURNS, BENCHMARK_RETURNS), statistics.getBeta());
+        assertNumEquals(alpha(RETURNS, BENCHMARK_RETURNS), statistics.getAlpha());
+        assertNumEquals(trackingError(RETURNS, BENCHMARK_RETURNS), statistics.getTrackingError());
+
+        // the returns of the trading record itself as benchmark
+        var itself = new BenchmarkStatistics(returns, returns, series.getBeginIndex(), series.getEndIndex());
+        assertNumEquals(1, itself.getBeta());
+        assertNumEquals(0, itself.getAlpha());
+        assertNumEquals(0, itself.getTrackingError());
+    }
+
+    @Test
+    public void undefinedWithoutBenchmarkVariance() {
+        var statistics = addAll(new double[] { 0.1, -0.1, 0.2 }, new double[] { 0.05, 0.05, 0.05 });
+        assertTrue(statistics.getBeta().isNaN());
+        assertTrue(statistics.getAlpha().isNaN());
+    }
+
+    @Test
+    public void undefinedForLessThanTwoReturns() {
+        var statistics = addAll(new double[] { 0.1 }, new double[] { 0.2 });
+        assertTrue(statistics.getBeta().isNaN());
+        assertNumEquals(0, statistics.getTrackingError());
+        assertTrue(statistics.getInformationRatio().isNaN());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void logReturns() {
+        BarSeries series = createDailySeries(CLOSE_PRICES);
+        var returns = new Returns(series, createTradingRecord(series), Returns.ReturnType.LOG);
+        new BenchmarkStatistics(returns, null, series.getBeginIndex(), series.getEndIndex());
+    }
+}
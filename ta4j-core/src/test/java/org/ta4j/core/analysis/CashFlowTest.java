@@ -26,12 +26,21 @@ package org.ta4j.core.analysis;
 import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 
 import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
 import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.analysis.cost.CostModel;
+import org.ta4j.core.analysis.cost.LinearBorrowingCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
 import org.ta4j.core.num.Num;
@@ -312,4 +321,55 @@ public class CashFlowTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
         assertNumEquals(1, cashFlow.getValue(size - 1));
     }
 
+    @Test
+    public void incrementalCashFlowEqualsRecalculatedCashFlow() {
+        double[] prices = { 100, 105, 98, 110, 104, 95, 120, 118, 90, 100, 102, 97 };
+        for (TradeType tradeType : TradeType.values()) {
+            for (CostModel holdingCostModel : new CostModel[] { new ZeroCostModel(),
+                    new LinearBorrowingCostModel(0.01) }) {
+                BarSeries series = new BaseBarSeriesBuilder().withNumFactory(numFactory).build();
+                var tradingRecord = new BaseTradingRecord(tradeType, new ZeroCostModel(), holdingCostModel);
+                var cashFlow = new CashFlow(series, tradingRecord);
+                var maximumDrawdown = new MaximumDrawdownCriterion();
+                for (int i = 0; i < prices.length; i++) {
+                    series.barBuilder()
+                            .timePeriod(Duration.ofDays(1))
+                            .endTime(Instant.EPOCH.plus(Duration.ofDays(i + 1)))
+                            .closePrice(prices[i])
+                            .add();
+                    if (i == 1 || i == 3 || i == 5 || i == 8 || i == 9) {
+                        tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+                    }
+
+                    var expected = new CashFlow(series, tradingRecord);
+                    for (int j = 0; j <= i; j++) {
+                        assertNumEquals(expected.getValue(j), cashFlow.getValue(j));
+                    }
+                    assertNumEquals(maximumDrawdown.calculate(series, tradingRecord), cashFlow.getMaximumDrawdown());
+                    assertNumEquals(expected.getValue(i).minus(numOf(1)), cashFlow.getReturn());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void runningPeakAndDrawdown() {
+        var sampleBarSeries = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 120, 90, 105, 150)
+                .build();
+        var tradingRecord = new BaseTradingRecord();
+        tradingRecord.enter(0, sampleBarSeries.getBar(0).getClosePrice(), numOf(1));
+        var cashFlow = new CashFlow(sampleBarSeries, tradingRecord);
+
+        assertNumEquals(1.5, cashFlow.getPeak());
+        assertNumEquals(0, cashFlow.getDrawdown());
+        assertNumEquals(0.25, cashFlow.getMaximumDrawdown());
+        assertNumEquals(0.5, cashFlow.getReturn());
+
+        var closedRecord = new BaseTradingRecord(Trade.buyAt(0, sampleBarSeries), Trade.sellAt(3, sampleBarSeries));
+        cashFlow = new CashFlow(sampleBarSeries, closedRecord);
+        assertNumEquals(1.2, cashFlow.getPeak());
+        assertNumEquals(0.125, cashFlow.getDrawdown());
+        assertNumEquals(0.05, cashFlow.getReturn());
+    }
 }
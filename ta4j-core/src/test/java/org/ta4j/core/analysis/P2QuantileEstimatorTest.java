@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class P2QuantileEstimatorTest {
+
+    @Test
+    public void exactForFewObservations() {
+        var estimator = new P2QuantileEstimator(0.5);
+        assertTrue(Double.isNaN(estimator.getQuantile()));
+        estimator.add(3);
+        estimator.add(1);
+        estimator.add(2);
+        assertEquals(3, estimator.getCount());
+        assertEquals(2, estimator.getQuantile(), 0);
+        assertEquals(1, estimator.getMin(), 0);
+        assertEquals(3, estimator.getMax(), 0);
+    }
+
+    @Test
+    public void originalPaperExample() {
+        // example of Jain and Chlamtac, 1985 (the paper reports 4.44 because its
+        // table was computed with rounded intermediate marker heights)
+        double[] values = { 0.02, 0.5, 0.74, 3.39, 0.83, 22.37, 10.15, 15.43, 38.62, 15.92, 34.6, 10.28, 1.47, 0.4,
+                0.05, 11.39, 0.27, 0.42, 0.09, 11.37 };
+        var estimator = new P2QuantileEstimator(0.5);
+        for (double value : values) {
+            estimator.add(value);
+        }
+        assertEquals(4.2462, estimator.getQuantile(), 0.0001);
+    }
+
+    @Test
+    public void convergesToQuantileOfLargeSample() {
+        Random random = new Random(1);
+        double[] values = new double[100_000];
+        var estimator = new P2QuantileEstimator(0.05);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 0.01;
+            estimator.add(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values[(int) (0.05 * values.length) - 1], estimator.getQuantile(), 0.0002);
+        assertEquals(values[0], estimator.getMin(), 0);
+        assertEquals(values[values.length - 1], estimator.getMax(), 0);
+    }
+
+    @Test
+    public void ignoresNaNAndResets() {
+        var estimator = new P2QuantileEstimator(0.5);
+        estimator.add(Double.NaN);
+        assertEquals(0, estimator.getCount());
+        estimator.add(1);
+        estimator.reset();
+        assertEquals(0, estimator.getCount());
+        assertTrue(Double.isNaN(estimator.getQuantile()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void quantileMustBeWithinUnitInterval() {
+        new P2QuantileEstimator(1.5);
+    }
+}
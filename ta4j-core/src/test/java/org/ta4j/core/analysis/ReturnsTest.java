@@ -26,8 +26,12 @@ package org.ta4j.core.analysis;
 import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.time.Duration;
+import java.time.Instant;
+
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
 import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
@@ -156,4 +160,51 @@ public class ReturnsTest {
         assertNumEquals(DoubleNum.valueOf(-0.08701137698962969), logDouble);
         assertNumEquals(DecimalNum.valueOf("-0.087011376989629766167765901873746"), logPrecision);
     }
+
+    @Test
+    public void lowestRates() {
+        for (NumFactory factory : new NumFactory[] { DoubleNumFactory.getInstance(),
+                DecimalNumFactory.getInstance() }) {
+            var sampleBarSeries = new MockBarSeriesBuilder().withNumFactory(factory)
+                    .withData(100, 110, 99, 120, 90, 95, 130, 120, 80, 100)
+                    .build();
+            TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, sampleBarSeries),
+                    Trade.sellAt(9, sampleBarSeries));
+            Returns returns = new Returns(sampleBarSeries, tradingRecord, Returns.ReturnType.ARITHMETIC);
+
+            var lowest = returns.getLowestRates(3);
+            assertEquals(3, lowest.size());
+            assertNumEquals(80d / 120 - 1, lowest.get(0));
+            assertNumEquals(90d / 120 - 1, lowest.get(1));
+            assertNumEquals(99d / 110 - 1, lowest.get(2));
+            assertEquals(9, returns.getLowestRates(20).size());
+            assertEquals(0, returns.getLowestRates(0).size());
+        }
+    }
+
+    @Test
+    public void incrementalReturnsEqualRecalculatedReturns() {
+        double[] prices = { 100, 105, 98, 110, 104, 95, 120, 118, 90, 100, 102, 97 };
+        for (Returns.ReturnType type : Returns.ReturnType.values()) {
+            BarSeries series = new BaseBarSeriesBuilder().withNumFactory(numFactory).build();
+            var tradingRecord = new BaseTradingRecord();
+            var returns = new Returns(series, tradingRecord, type);
+            for (int i = 0; i < prices.length; i++) {
+                series.barBuilder()
+                        .timePeriod(Duration.ofDays(1))
+                        .endTime(Instant.EPOCH.plus(Duration.ofDays(i + 1)))
+                        .closePrice(prices[i])
+                        .add();
+                if (i == 1 || i == 3 || i == 5 || i == 8 || i == 9) {
+                    tradingRecord.operate(i, series.getBar(i).getClosePrice(), numFactory.one());
+                }
+
+                var expected = new Returns(series, tradingRecord, type);
+                assertEquals(expected.getValues().size(), returns.getValues().size());
+                for (int j = 1; j <= i; j++) {
+                    assertNumEquals(expected.getValue(j), returns.getValue(j));
+                }
+            }
+        }
+    }
 }
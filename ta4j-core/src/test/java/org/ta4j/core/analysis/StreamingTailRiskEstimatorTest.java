@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.ExpectedShortfallCriterion;
+import org.ta4j.core.criteria.ValueAtRiskCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class StreamingTailRiskEstimatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    public StreamingTailRiskEstimatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void zeroWithoutReturns() {
+        var estimator = new StreamingTailRiskEstimator(numFactory, 0.95);
+        assertNumEquals(0, estimator.getValueAtRisk());
+        assertNumEquals(0, estimator.getExpectedShortfall());
+    }
+
+    @Test
+    public void nonPositive() {
+        var estimator = new StreamingTailRiskEstimator(numFactory, 0.95);
+        for (int i = 1; i <= 10; i++) {
+            estimator.add(numOf(i));
+        }
+        assertNumEquals(0, estimator.getValueAtRisk());
+        assertNumEquals(0, estimator.getExpectedShortfall());
+    }
+
+    @Test
+    public void approximatesExactCriteria() {
+        Random random = new Random(3);
+        double[] prices = new double[5_000];
+        prices[0] = 100;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] * Math.exp(random.nextGaussian() * 0.01);
+        }
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(prices).build();
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        tradingRecord.enter(0, series.getBar(0).getClosePrice(), numOf(1));
+        tradingRecord.exit(series.getEndIndex(), series.getLastBar().getClosePrice(), numOf(1));
+
+        var estimator = new StreamingTailRiskEstimator(numFactory, 0.95);
+        estimator.addAll(new Returns(series, tradingRecord, Returns.ReturnType.LOG));
+
+        Num valueAtRisk = new ValueAtRiskCriterion(0.95).calculate(series, tradingRecord);
+        Num expectedShortfall = new ExpectedShortfallCriterion(0.95).calculate(series, tradingRecord);
+        assertEquals(valueAtRisk.doubleValue(), estimator.getValueAtRisk().doubleValue(), 0.001);
+        // the tail mean is approximated by the quantiles within the tail
+        assertEquals(expectedShortfall.doubleValue(), estimator.getExpectedShortfall().doubleValue(), 0.001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void confidenceMustBeLessThanOne() {
+        new StreamingTailRiskEstimator(numFactory, 1);
+    }
+}
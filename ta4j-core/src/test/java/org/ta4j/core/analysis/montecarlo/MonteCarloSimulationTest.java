@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis.montecarlo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.Returns;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
+import org.ta4j.core.criteria.SqnCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class MonteCarloSimulationTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private TradingRecord tradingRecord;
+
+    public MonteCarloSimulationTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 110, 99, 120, 90, 95, 130, 120, 80, 100)
+                .build();
+        tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(1, series), Trade.buyAt(2, series),
+                Trade.sellAt(3, series), Trade.buyAt(3, series), Trade.sellAt(4, series), Trade.buyAt(5, series),
+                Trade.sellAt(6, series), Trade.buyAt(7, series), Trade.sellAt(8, series));
+    }
+
+    @Test
+    public void shufflePreservesTotalReturn() {
+        var simulation = new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.SHUFFLE, 200, 42);
+        var returnCriterion = new ReturnCriterion();
+        var distribution = simulation.run(returnCriterion);
+
+        Num originalReturn = returnCriterion.calculate(series, tradingRecord);
+        assertEquals(200, distribution.getSize());
+        assertNumEquals(originalReturn.doubleValue(), distribution.getMin());
+        assertNumEquals(originalReturn.doubleValue(), distribution.getMax());
+    }
+
+    @Test
+    public void shuffleChangesDrawdown() {
+        var simulation = new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.SHUFFLE, 500, 42);
+        var distribution = simulation.run(new MaximumDrawdownCriterion());
+
+        // the worst case sequence has both losing positions (120 -> 90, 120 -> 80)
+        // in a row: 1 - 0.75 * 2 / 3
+        assertNumEquals(0.5, distribution.getMax());
+        assertTrue(distribution.getMin().isLessThan(distribution.getMax()));
+        assertTrue(distribution.getPercentile(5).isLessThanOrEqual(distribution.getMedian()));
+        assertTrue(distribution.getMedian().isLessThanOrEqual(distribution.getPercentile(95)));
+    }
+
+    @Test
+    public void sameSeedGivesSameDistribution() {
+        List<AnalysisCriterion> criteria = List.of(new ReturnCriterion(), new MaximumDrawdownCriterion(),
+                new SqnCriterion());
+        var first = new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.BOOTSTRAP, 300, 7).run(criteria);
+        var second = new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.BOOTSTRAP, 300, 7).run(criteria);
+
+        assertEquals(3, first.size());
+        for (int c = 0; c < criteria.size(); c++) {
+            assertEquals(criteria.get(c), first.get(c).getCriterion());
+            assertEquals(first.get(c).getValues(), second.get(c).getValues());
+        }
+    }
+
+    @Test
+    public void resampledRecordHasSameNumberOfPositions() {
+        var simulation = new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.BLOCK_BOOTSTRAP, 2, 0, 50, 1);
+        var distribution = simulation.run(new NumberOfPositionsCriterion());
+
+        assertEquals(5, simulation.getSampleCount());
+        assertEquals(6, simulation.getBarSeries().getBarCount());
+        assertNumEquals(5, distribution.getMin());
+        assertNumEquals(5, distribution.getMax());
+    }
+
+    @Test
+    public void entrySlippageReducesReturn() {
+        var returnCriterion = new ReturnCriterion();
+        Num originalReturn = returnCriterion.calculate(series, tradingRecord);
+        var simulation = new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.SHUFFLE, 1, 0.01, 100, 3);
+        var distribution = simulation.run(returnCriterion);
+
+        assertTrue(distribution.getMax().isLessThan(originalReturn));
+    }
+
+    @Test
+    public void shuffleOfReturns() {
+        var returns = new Returns(series, tradingRecord, Returns.ReturnType.ARITHMETIC);
+        var simulation = new MonteCarloSimulation(returns, ResamplingMethod.SHUFFLE, 3, 100, 11);
+        var distribution = simulation.run(new ReturnCriterion());
+
+        // shuffling per-bar rates keeps the compounded return
+        Num compounded = compoundedReturn(returns);
+        assertEquals(returns.getSize(), simulation.getSampleCount());
+        assertNumEquals(compounded.doubleValue(), distribution.getMin());
+        assertNumEquals(compounded.doubleValue(), distribution.getMax());
+    }
+
+    @Test
+    public void blockBootstrapOfReturns() {
+        var returns = new Returns(series, tradingRecord, Returns.ReturnType.ARITHMETIC);
+        Num compounded = compoundedReturn(returns);
+
+        // a single circular block of all rates is a rotation: same compounded return
+        var rotations = new MonteCarloSimulation(returns, ResamplingMethod.BLOCK_BOOTSTRAP, returns.getSize(), 100, 11)
+                .run(new ReturnCriterion());
+        assertNumEquals(compounded.doubleValue(), rotations.getMin());
+        assertNumEquals(compounded.doubleValue(), rotations.getMax());
+
+        // shorter blocks are drawn with replacement
+        var blocks = new MonteCarloSimulation(returns, ResamplingMethod.BLOCK_BOOTSTRAP, 2, 100, 11)
+                .run(new ReturnCriterion());
+        assertTrue(blocks.getMin().isLessThan(compounded));
+        assertTrue(blocks.getMax().isGreaterThan(compounded));
+    }
+
+    @Test
+    public void emptyTradingRecord() {
+        var simulation = new MonteCarloSimulation(series, new BaseTradingRecord(), ResamplingMethod.BOOTSTRAP, 10, 1);
+        var distribution = simulation.run(new MaximumDrawdownCriterion());
+        assertNumEquals(0, distribution.getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void iterationsMustBePositive() {
+        new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.SHUFFLE, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void slippageMustNotBeNegative() {
+        new MonteCarloSimulation(series, tradingRecord, ResamplingMethod.SHUFFLE, 1, -0.1, 10, 1);
+    }
+
+    @Test
+    public void percentiles() {
+        Num[] values = new Num[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = numOf(100 - i);
+        }
+        var distribution = new MonteCarloDistribution(new ReturnCriterion(), values);
+        assertNumEquals(1, distribution.getMin());
+        assertNumEquals(100, distribution.getMax());
+        assertNumEquals(1, distribution.getPercentile(0));
+        assertNumEquals(5, distribution.getPercentile(5));
+        assertNumEquals(50, distribution.getMedian());
+        assertNumEquals(95, distribution.getPercentile(95));
+        assertNumEquals(100, distribution.getPercentile(100));
+        assertNumEquals(50.5, distribution.getMean());
+    }
+
+    private Num compoundedReturn(Returns returns) {
+        Num compounded = numOf(1);
+        for (int i = 1; i <= returns.getSize(); i++) {
+            compounded = compounded.multipliedBy(numOf(1).plus(returns.getValue(i)));
+        }
+        return compounded;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.Before;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+/**
+ * The bar series and strategy shared by the tests of the
+ * {@link TradeExecutionModel trade execution models}.
+ */
+public abstract class AbstractTradeExecutionModelTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    protected BarSeries series;
+
+    /** Enters at bars 0 and 3, exits at bars 2 and 4. */
+    protected Strategy strategy;
+
+    protected AbstractTradeExecutionModelTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        // open, high, low, close, volume
+        addBar(10, 11, 9, 10, 1000);
+        addBar(10, 12, 9, 11, 1000);
+        addBar(11, 13, 8, 12, 500);
+        addBar(12.5, 14, 10, 13, 100);
+        addBar(13, 15, 11, 14, 0);
+        addBar(14, 16, 12, 15, 1000);
+
+        strategy = new BaseStrategy(new FixedRule(0, 3), new FixedRule(2, 4));
+    }
+
+    protected void addBar(double open, double high, double low, double close, double volume) {
+        Instant endTime = Instant.EPOCH.plus(Duration.ofDays(series.getBarCount() + 1));
+        series.barBuilder()
+                .timePeriod(Duration.ofDays(1))
+                .endTime(endTime)
+                .openPrice(open)
+                .highPrice(high)
+                .lowPrice(low)
+                .closePrice(close)
+                .volume(volume)
+                .add();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.RecursiveCachedIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.reports.TradingStatement;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+public class BacktestCheckpointTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @org.junit.Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BarSeries series;
+
+    public BacktestCheckpointTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 7d) + i % 5;
+        }
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+    }
+
+    /** A recursive moving average counting its calculations. */
+    private static class CountingAverageIndicator extends RecursiveCachedIndicator<Num> {
+
+        private final Indicator<Num> indicator;
+        private int calculations;
+
+        CountingAverageIndicator(Indicator<Num> indicator) {
+            super(indicator);
+            this.indicator = indicator;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            calculations++;
+            if (index == 0) {
+                return indicator.getValue(0);
+            }
+            Num half = getBarSeries().numFactory().numOf(0.5);
+            return getValue(index - 1).plus(indicator.getValue(index)).multipliedBy(half);
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return 0;
+        }
+    }
+
+    private Strategy strategy(CountingAverageIndicator average, int failAtIndex) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        Rule entryRule = new OverIndicatorRule(closePrice, average);
+        Rule failingRule = (index, tradingRecord) -> {
+            if (index == failAtIndex) {
+                throw new IllegalStateException("Interrupted at " + index);
+            }
+            return false;
+        };
+        Rule exitRule = new UnderIndicatorRule(closePrice, average);
+        return new BaseStrategy("average", failingRule.or(entryRule), failingRule.or(exitRule));
+    }
+
+    @Test
+    public void resumesInterruptedRun() {
+        Path file = folder.getRoot().toPath().resolve("run.ckpt");
+        var manager = new BarSeriesManager(series);
+        Num amount = numOf(2);
+        TradingRecord expected = manager.run(
+                strategy(new CountingAverageIndicator(new ClosePriceIndicator(series)), -1), TradeType.BUY, amount);
+
+        var interruptedAverage = new CountingAverageIndicator(new ClosePriceIndicator(series));
+        try {
+            manager.run(strategy(interruptedAverage, 250), TradeType.BUY, amount, 0, series.getEndIndex(),
+                    new BacktestCheckpoint(file, 100, List.of(interruptedAverage)));
+            fail("Run should have been interrupted");
+        } catch (IllegalStateException e) {
+            assertTrue(file.toFile().exists());
+        }
+
+        var average = new CountingAverageIndicator(new ClosePriceIndicator(series));
+        var checkpoint = new BacktestCheckpoint(file, 100, List.of(average));
+        TradingRecord resumed = manager.run(strategy(average, -1), TradeType.BUY, amount, 0, series.getEndIndex(),
+                checkpoint);
+
+        // resumed at index 200, the average is not recalculated before
+        assertTrue(average.calculations <= series.getBarCount() - 200 + 1);
+        assertFalse(checkpoint.exists());
+        assertEquals(expected.getTrades().size(), resumed.getTrades().size());
+        for (int i = 0; i < expected.getTrades().size(); i++) {
+            Trade expectedTrade = expected.getTrades().get(i);
+            Trade resumedTrade = resumed.getTrades().get(i);
+            assertEquals(expectedTrade.getIndex(), resumedTrade.getIndex());
+            assertEquals(expectedTrade.getType(), resumedTrade.getType());
+            assertNumEquals(expectedTrade.getNetPrice(), resumedTrade.getNetPrice());
+            assertNumEquals(expectedTrade.getAmount(), resumedTrade.getAmount());
+        }
+        assertEquals(expected.getStartIndex(), resumed.getStartIndex());
+        assertEquals(expected.getEndIndex(), resumed.getEndIndex());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void checkpointOfAnotherRun() {
+        Path file = folder.getRoot().toPath().resolve("other.ckpt");
+        var manager = new BarSeriesManager(series);
+        var average = new CountingAverageIndicator(new ClosePriceIndicator(series));
+        var checkpoint = new BacktestCheckpoint(file, 10, List.of(average));
+        checkpoint.save("average", manager.run(strategy(average, -1), 0, 50), 20);
+        manager.run(strategy(average, -1), TradeType.SELL, numOf(1), 0, 50, checkpoint);
+    }
+
+    @Test
+    public void resumesInterruptedBatch() {
+        Path file = folder.getRoot().toPath().resolve("batch.ckpt");
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            strategies.add(strategy(new CountingAverageIndicator(new ClosePriceIndicator(series)), -1));
+        }
+        var executor = new BacktestExecutor(series);
+        List<TradingStatement> expected = executor.execute(strategies, numOf(1), TradeType.BUY);
+
+        List<Strategy> failing = new ArrayList<>(strategies);
+        failing.set(4, strategy(new CountingAverageIndicator(new ClosePriceIndicator(series)), 10));
+        try {
+            executor.execute(failing, numOf(1), TradeType.BUY, file, 2);
+            fail("Batch should have been interrupted");
+        } catch (IllegalStateException e) {
+            assertTrue(file.toFile().exists());
+        }
+
+        List<CountingAverageIndicator> averages = new ArrayList<>();
+        List<Strategy> resumedStrategies = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            var average = new CountingAverageIndicator(new ClosePriceIndicator(series));
+            averages.add(average);
+            resumedStrategies.add(strategy(average, -1));
+        }
+        List<TradingStatement> resumed = executor.execute(resumedStrategies, numOf(1), TradeType.BUY, file, 2);
+
+        assertFalse(file.toFile().exists());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, averages.get(i).calculations);
+        }
+        assertTrue(averages.get(4).calculations > 0);
+        assertEquals(expected.size(), resumed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertNumEquals(expected.get(i).getPositionStatsReport().getProfitCount(),
+                    resumed.get(i).getPositionStatsReport().getProfitCount());
+            assertNumEquals(expected.get(i).getPerformanceReport().getTotalProfitLoss(),
+                    resumed.get(i).getPerformanceReport().getTotalProfitLoss());
+        }
+    }
+}
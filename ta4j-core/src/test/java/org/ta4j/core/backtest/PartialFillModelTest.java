@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class PartialFillModelTest extends AbstractTradeExecutionModelTest {
+
+    public PartialFillModelTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void entryIsCappedByVolume() {
+        var manager = new BarSeriesManager(series, new PartialFillModel(0.1));
+        TradingRecord record = manager.run(strategy, TradeType.BUY, numOf(500));
+
+        assertEquals(2, record.getPositionCount());
+        // 10% of 1000
+        Position first = record.getPositions().get(0);
+        assertNumEquals(100, first.getEntry().getAmount());
+        assertNumEquals(100, first.getExit().getAmount());
+        assertEquals(1, first.getEntry().getIndex());
+        // 10% of 100
+        Position second = record.getPositions().get(1);
+        assertNumEquals(10, second.getEntry().getAmount());
+        assertNumEquals(10, second.getExit().getAmount());
+    }
+
+    @Test
+    public void amountBelowCapIsNotChanged() {
+        var manager = new BarSeriesManager(series, new PartialFillModel(new TradeOnCurrentCloseModel(), 0.5));
+        TradingRecord record = manager.run(strategy, TradeType.BUY, numOf(20));
+
+        Position position = record.getPositions().get(0);
+        assertEquals(0, position.getEntry().getIndex());
+        assertNumEquals(20, position.getEntry().getAmount());
+        assertNumEquals(20, position.getExit().getAmount());
+    }
+
+    @Test
+    public void noEntryWithoutVolume() {
+        var manager = new BarSeriesManager(series, new PartialFillModel(0.1));
+        TradingRecord record = manager.run(new BaseStrategy(new FixedRule(4), new FixedRule(5)));
+        assertTrue(record.getTrades().isEmpty());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class StrategyRankerTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+    private List<Strategy> strategies;
+
+    public StrategyRankerTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 90, 80, 95, 110, 120, 100, 105, 130, 90)
+                .build();
+        // every combination of a single entry and a later exit
+        strategies = new ArrayList<>();
+        for (int entry = 0; entry < series.getBarCount(); entry++) {
+            for (int exit = entry + 1; exit < series.getBarCount(); exit++) {
+                strategies.add(new BaseStrategy(entry + "-" + exit, new FixedRule(entry), new FixedRule(exit)));
+            }
+        }
+    }
+
+    @Test
+    public void topKEqualsFullSort() {
+        var manager = new BarSeriesManager(series, new TradeOnCurrentCloseModel());
+        var criterion = new ReturnCriterion();
+        List<Ranked<Strategy>> top = new StrategyRanker(manager).getTop(strategies, criterion, 5);
+
+        List<Num> allValues = strategies.stream()
+                .map(strategy -> criterion.calculate(series, manager.run(strategy)))
+                .sorted((a, b) -> b.compareTo(a))
+                .collect(Collectors.toList());
+        assertEquals(5, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertNumEquals(allValues.get(i), top.get(i).getValue());
+        }
+        // buy at 80, sell at 130
+        assertEquals("2-8", top.get(0).getItem().getName());
+        assertNumEquals(130d / 80, top.get(0).getValue());
+    }
+
+    @Test
+    public void topKBreaksTiesByInputOrder() {
+        var manager = new BarSeriesManager(series, new TradeOnCurrentCloseModel());
+        List<Ranked<Strategy>> top = new StrategyRanker(manager).getTop(strategies, new NumberOfPositionsCriterion(),
+                3);
+        // fewer positions are better, all strategies have one position
+        assertEquals(List.of(0, 1, 2), top.stream().map(Ranked::getIndex).collect(Collectors.toList()));
+        assertSame(strategies.get(0), top.get(0).getItem());
+    }
+
+    @Test
+    public void topKOfTradingRecords() {
+        var manager = new BarSeriesManager(series, new TradeOnCurrentCloseModel());
+        List<TradingRecord> tradingRecords = strategies.stream().map(manager::run).collect(Collectors.toList());
+        List<Ranked<TradingRecord>> top = StrategyRanker.getTop(series, tradingRecords, new ReturnCriterion(), 1);
+        assertEquals(1, top.size());
+        assertEquals(2, top.get(0).getItem().getPositions().get(0).getEntry().getIndex());
+        assertEquals(8, top.get(0).getItem().getPositions().get(0).getExit().getIndex());
+    }
+
+    @Test
+    public void paretoFront() {
+        var manager = new BarSeriesManager(series, new TradeOnCurrentCloseModel());
+        List<AnalysisCriterion> criteria = List.of(new ReturnCriterion(), new MaximumDrawdownCriterion());
+        List<Ranked<Strategy>> front = new StrategyRanker(manager).getParetoFront(strategies, criteria);
+
+        // brute force: keep every strategy not dominated by another one
+        List<Num[]> values = strategies.stream().map(strategy -> {
+            TradingRecord tradingRecord = manager.run(strategy);
+            return new Num[] { criteria.get(0).calculate(series, tradingRecord),
+                    criteria.get(1).calculate(series, tradingRecord) };
+        }).collect(Collectors.toList());
+        List<Integer> expected = IntStream.range(0, strategies.size()).filter(i -> {
+            for (int j = 0; j < strategies.size(); j++) {
+                boolean atLeastAsGood = !values.get(i)[0].isGreaterThan(values.get(j)[0])
+                        && !values.get(j)[1].isGreaterThan(values.get(i)[1]);
+                boolean better = values.get(j)[0].isGreaterThan(values.get(i)[0])
+                        || values.get(j)[1].isLessThan(values.get(i)[1]);
+                if (atLeastAsGood && better) {
+                    return false;
+                }
+            }
+            return true;
+        }).boxed().collect(Collectors.toList());
+
+        assertEquals(expected, front.stream().map(Ranked::getIndex).collect(Collectors.toList()));
+        assertEquals(2, front.get(0).getValues().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void topKIsNotModifiable() {
+        new StrategyRanker(series).getTop(strategies, new ReturnCriterion(), 3).clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void paretoFrontIsNotModifiable() {
+        new StrategyRanker(series).getParetoFront(strategies, List.of(new ReturnCriterion())).clear();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void kMustBePositive() {
+        new StrategyRanker(series).getTop(strategies, new ReturnCriterion(), 0);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class TradeOnLimitPriceModelTest extends AbstractTradeExecutionModelTest {
+
+    public TradeOnLimitPriceModelTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void fillsWhenLimitIsTouched() {
+        var manager = new BarSeriesManager(series, new TradeOnLimitPriceModel(0.05));
+        TradingRecord record = manager.run(strategy);
+
+        Position position = record.getPositions().get(0);
+        // buy limit 10 * 0.95 = 9.5 touched by low 9 of bar 1
+        assertEquals(1, position.getEntry().getIndex());
+        assertNumEquals(9.5, position.getEntry().getPricePerAsset());
+        // sell limit 12 * 1.05 = 12.6 touched by high 14 of bar 3
+        assertEquals(3, position.getExit().getIndex());
+        assertNumEquals(12.6, position.getExit().getPricePerAsset());
+    }
+
+    @Test
+    public void fillsAtBetterOpenPrice() {
+        var manager = new BarSeriesManager(series, new TradeOnLimitPriceModel(0));
+        TradingRecord record = manager.run(new BaseStrategy(new FixedRule(1), new FixedRule(2)));
+
+        Position position = record.getPositions().get(0);
+        // buy limit 11: bar 2 opens at the limit
+        assertNumEquals(11, position.getEntry().getPricePerAsset());
+        // sell limit 12: bar 3 opens above the limit
+        assertNumEquals(12.5, position.getExit().getPricePerAsset());
+
+        record = manager.run(new BaseStrategy(new FixedRule(0), new FixedRule(1)), TradeType.SELL);
+        // sell limit 10: bar 1 opens at the limit
+        assertNumEquals(10, record.getPositions().get(0).getEntry().getPricePerAsset());
+    }
+
+    @Test
+    public void expiresWhenLimitIsNotTouched() {
+        var manager = new BarSeriesManager(series, new TradeOnLimitPriceModel(0.2));
+        TradingRecord record = manager.run(strategy);
+        // buy limit 8 is not reached by bar 1, buy limit 10.4 of bar 3 not by bar 4
+        assertTrue(record.getTrades().isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class TradeOnNextOpenWithSlippageModelTest extends AbstractTradeExecutionModelTest {
+
+    public TradeOnNextOpenWithSlippageModelTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void slippageProportionalToVolumeShare() {
+        var manager = new BarSeriesManager(series, new TradeOnNextOpenWithSlippageModel(0.1));
+        TradingRecord record = manager.run(strategy, TradeType.BUY, numOf(100));
+
+        Position position = record.getPositions().get(0);
+        // 100 / 1000 of the volume: 10 + 10 * 0.1 * 0.1
+        assertEquals(1, position.getEntry().getIndex());
+        assertNumEquals(10.1, position.getEntry().getPricePerAsset());
+        // 100 / 100 of the volume: 12.5 - 12.5 * 0.1
+        assertEquals(3, position.getExit().getIndex());
+        assertNumEquals(11.25, position.getExit().getPricePerAsset());
+    }
+
+    @Test
+    public void fullSlippageIfVolumeIsExceededOrMissing() {
+        var manager = new BarSeriesManager(series, new TradeOnNextOpenWithSlippageModel(0.1));
+        TradingRecord record = manager.run(new BaseStrategy(new FixedRule(2), new FixedRule(3)), TradeType.SELL,
+                numOf(200));
+
+        Position position = record.getPositions().get(0);
+        // 200 > 100 (volume of bar 3): 12.5 - 12.5 * 0.1
+        assertNumEquals(11.25, position.getEntry().getPricePerAsset());
+        // no volume in bar 4: 13 + 13 * 0.1
+        assertNumEquals(14.3, position.getExit().getPricePerAsset());
+        assertTrue(position.getProfit().isNegative());
+    }
+
+    @Test
+    public void noTradeAfterLastBar() {
+        var manager = new BarSeriesManager(series, new TradeOnNextOpenWithSlippageModel(0.1));
+        TradingRecord record = manager.run(new BaseStrategy(new FixedRule(5), new FixedRule()));
+        assertTrue(record.getTrades().isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class TradeOnStopPriceModelTest extends AbstractTradeExecutionModelTest {
+
+    public TradeOnStopPriceModelTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Test
+    public void triggersWhenStopIsTouched() {
+        var manager = new BarSeriesManager(series, new TradeOnStopPriceModel(0.1));
+        TradingRecord record = manager.run(strategy);
+
+        Position position = record.getPositions().get(0);
+        // buy stop 10 * 1.1 = 11 touched by high 12 of bar 1
+        assertEquals(1, position.getEntry().getIndex());
+        assertNumEquals(11, position.getEntry().getPricePerAsset());
+        // sell stop 12 * 0.9 = 10.8 touched by low 10 of bar 3
+        assertEquals(3, position.getExit().getIndex());
+        assertNumEquals(10.8, position.getExit().getPricePerAsset());
+    }
+
+    @Test
+    public void gapIsFilledAtOpenPrice() {
+        var manager = new BarSeriesManager(series, new TradeOnStopPriceModel(0));
+        TradingRecord record = manager.run(new BaseStrategy(new FixedRule(2), new FixedRule()));
+        // buy stop 12: bar 3 opens above at 12.5
+        assertNumEquals(12.5, record.getCurrentPosition().getEntry().getPricePerAsset());
+
+        record = manager.run(new BaseStrategy(new FixedRule(2), new FixedRule()), TradeType.SELL);
+        // sell stop 12: bar 3 opens above, triggered by the low price
+        assertNumEquals(12, record.getCurrentPosition().getEntry().getPricePerAsset());
+    }
+
+    @Test
+    public void expiresWhenStopIsNotTouched() {
+        var manager = new BarSeriesManager(series, new TradeOnStopPriceModel(0.3));
+        TradingRecord record = manager.run(strategy);
+        assertTrue(record.getTrades().isEmpty());
+    }
+}
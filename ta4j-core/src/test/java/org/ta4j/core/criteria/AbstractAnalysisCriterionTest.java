@@ -78,6 +78,15 @@ public class AbstractAnalysisCriterionTest extends AbstractCriterionTest {
         assertEquals(buyAndHoldStrategy, bestStrategy);
     }
 
+    @Test
+    public void bestShouldUseTradeTypeForAllStrategies() {
+        var series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(6.0, 3.0, 6.0, 6.0).build();
+        var manager = new BarSeriesManager(series, new TradeOnCurrentCloseModel());
+        // short selling 6 -> 3 is only profitable if the first strategy also sells
+        Strategy bestStrategy = getCriterion().chooseBest(manager, TradeType.SELL, strategies);
+        assertEquals(alwaysStrategy, bestStrategy);
+    }
+
     @Test
     public void toStringMethod() {
         AbstractAnalysisCriterion c1 = new AverageReturnPerBarCriterion();
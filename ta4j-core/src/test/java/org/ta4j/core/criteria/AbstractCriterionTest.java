@@ -23,11 +23,15 @@
  */
 package org.ta4j.core.criteria;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
 import org.ta4j.core.CriterionFactory;
 import org.ta4j.core.num.DecimalNumFactory;
 import org.ta4j.core.num.DoubleNumFactory;
@@ -71,4 +75,22 @@ public abstract class AbstractCriterionTest {
         return numFactory.numOf(n);
     }
 
+    /**
+     * Creates a series of daily bars.
+     *
+     * @param closePrices the close prices
+     * @return the bar series
+     */
+    protected BarSeries createDailySeries(double... closePrices) {
+        BarSeries series = new BaseBarSeriesBuilder().withNumFactory(numFactory).build();
+        for (int i = 0; i < closePrices.length; i++) {
+            series.barBuilder()
+                    .timePeriod(Duration.ofDays(1))
+                    .endTime(Instant.EPOCH.plus(Duration.ofDays(i + 1)))
+                    .closePrice(closePrices[i])
+                    .add();
+        }
+        return series;
+    }
+
 }
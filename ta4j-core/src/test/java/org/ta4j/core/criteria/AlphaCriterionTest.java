@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+import static org.ta4j.core.analysis.BenchmarkStatisticsTest.BENCHMARK_RETURNS;
+import static org.ta4j.core.analysis.BenchmarkStatisticsTest.CLOSE_PRICES;
+import static org.ta4j.core.analysis.BenchmarkStatisticsTest.RETURNS;
+import static org.ta4j.core.analysis.BenchmarkStatisticsTest.alpha;
+import static org.ta4j.core.analysis.BenchmarkStatisticsTest.createTradingRecord;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class AlphaCriterionTest extends AbstractCriterionTest {
+
+    public AlphaCriterionTest(NumFactory numFactory) {
+        super(params -> params.length == 0 ? new AlphaCriterion() : new AlphaCriterion((Indicator<Num>) params[0]),
+                numFactory);
+    }
+
+    @Test
+    public void calculateAgainstEnterAndHold() {
+        BarSeries series = createDailySeries(CLOSE_PRICES);
+        TradingRecord tradingRecord = createTradingRecord(series);
+        assertNumEquals(alpha(RETURNS, BENCHMARK_RETURNS), getCriterion().calculate(series, tradingRecord));
+        assertNumEquals(alpha(RETURNS, BENCHMARK_RETURNS),
+                getCriterion().calculate(new AnalysisContext(series, tradingRecord)));
+    }
+
+    @Test
+    public void enterAndHoldHasNoAlpha() {
+        BarSeries series = createDailySeries(CLOSE_PRICES);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(7, series));
+        assertNumEquals(0, getCriterion().calculate(series, tradingRecord));
+    }
+
+    @Test
+    public void betterThan() {
+        var criterion = getCriterion();
+        assertTrue(criterion.betterThan(numOf(0.2), numOf(0.1)));
+        assertFalse(criterion.betterThan(numOf(0.1), numOf(0.2)));
+    }
+}
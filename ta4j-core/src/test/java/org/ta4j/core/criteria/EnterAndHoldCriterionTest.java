@@ -23,20 +23,27 @@
  */
 package org.ta4j.core.criteria;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Position;
 import org.ta4j.core.Trade;
 import org.ta4j.core.Trade.TradeType;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
 import org.ta4j.core.criteria.pnl.ProfitLossPercentageCriterion;
 import org.ta4j.core.criteria.pnl.ReturnCriterion;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
 import org.ta4j.core.num.NumFactory;
 
 public class EnterAndHoldCriterionTest extends AbstractCriterionTest {
@@ -137,6 +144,88 @@ public class EnterAndHoldCriterionTest extends AbstractCriterionTest {
         assertNumEquals(-5, sellAndHoldPnlPercentage.calculate(series, position));
     }
 
+    @Test
+    public void resultIsCachedPerSeriesAndRange() {
+        var series = createDailySeries(100, 105, 110, 100, 95, 105);
+        var calculations = new AtomicInteger();
+        AnalysisCriterion countingReturn = new AbstractAnalysisCriterion() {
+            private final ReturnCriterion returnCriterion = new ReturnCriterion();
+
+            @Override
+            public Num calculate(BarSeries series, Position position) {
+                calculations.incrementAndGet();
+                return returnCriterion.calculate(series, position);
+            }
+
+            @Override
+            public Num calculate(BarSeries series, TradingRecord tradingRecord) {
+                calculations.incrementAndGet();
+                return returnCriterion.calculate(series, tradingRecord);
+            }
+
+            @Override
+            public boolean betterThan(Num criterionValue1, Num criterionValue2) {
+                return returnCriterion.betterThan(criterionValue1, criterionValue2);
+            }
+        };
+        AnalysisCriterion buyAndHoldReturn = getCriterion(countingReturn);
+
+        for (int i = 0; i < 3; i++) {
+            TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(i, series), Trade.sellAt(i + 1, series));
+            assertNumEquals(1.05, buyAndHoldReturn.calculate(series, tradingRecord));
+        }
+        assertEquals(1, calculations.get());
+
+        // other range
+        TradingRecord tradingRecord = new BaseTradingRecord(TradeType.BUY, 1, 4, new ZeroCostModel(),
+                new ZeroCostModel());
+        assertNumEquals(95d / 105, buyAndHoldReturn.calculate(series, tradingRecord));
+        assertEquals(2, calculations.get());
+
+        // the last bar is replaced
+        var lastEndTime = series.getLastBar().getEndTime().plus(Duration.ofDays(1));
+        series.barBuilder().timePeriod(Duration.ofDays(1)).endTime(lastEndTime).closePrice(110).add();
+        assertNumEquals(1.1, buyAndHoldReturn.calculate(series, new BaseTradingRecord()));
+        series.addBar(series.barBuilder().timePeriod(Duration.ofDays(1)).endTime(lastEndTime).closePrice(120).build(),
+                true);
+        assertNumEquals(1.2, buyAndHoldReturn.calculate(series, new BaseTradingRecord()));
+        assertEquals(4, calculations.get());
+    }
+
+    @Test
+    public void changedLastBarIsCalculatedAgain() {
+        var series = createDailySeries(100, 105, 110);
+        AnalysisCriterion buyAndHoldReturn = getCriterion(new ReturnCriterion());
+        assertNumEquals(1.1, buyAndHoldReturn.calculate(series, new BaseTradingRecord()));
+
+        series.addPrice(120);
+        assertNumEquals(1.2, buyAndHoldReturn.calculate(series, new BaseTradingRecord()));
+        Position position = new Position(Trade.buyAt(1, series), Trade.sellAt(2, series));
+        assertNumEquals(120d / 105, buyAndHoldReturn.calculate(series, position));
+        series.addPrice(126);
+        assertNumEquals(1.2, buyAndHoldReturn.calculate(series, position));
+    }
+
+    @Test
+    public void cacheDoesNotGrowWithSeries() {
+        var series = createDailySeries(100);
+        series.setMaximumBarCount(10);
+        var buyAndHoldReturn = (EnterAndHoldCriterion) getCriterion(new ReturnCriterion());
+
+        for (int i = 0; i < 200; i++) {
+            var endTime = series.getLastBar().getEndTime().plus(Duration.ofDays(1));
+            series.barBuilder().timePeriod(Duration.ofDays(1)).endTime(endTime).closePrice(100 + i % 7).add();
+            int endIndex = series.getEndIndex();
+            Num expected = series.getBar(endIndex).getClosePrice().dividedBy(series.getFirstBar().getClosePrice());
+            assertNumEquals(expected, buyAndHoldReturn.calculate(series, new BaseTradingRecord()));
+            buyAndHoldReturn.calculate(series, new Position(Trade.buyAt(endIndex - 1, series),
+                    Trade.sellAt(endIndex, series), new ZeroCostModel(), new ZeroCostModel()));
+            buyAndHoldReturn.calculate(series, new Position(Trade.buyAt(series.getBeginIndex(), series),
+                    Trade.sellAt(endIndex, series), new ZeroCostModel(), new ZeroCostModel()));
+            assertTrue(buyAndHoldReturn.getCachedResultCount(series) <= 2 * (series.getBarCount() + 1));
+        }
+    }
+
     @Test
     public void betterThan() {
 
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+
+public class OmegaRatioCriterionTest extends AbstractCriterionTest {
+
+    public OmegaRatioCriterionTest(NumFactory numFactory) {
+        super(params -> params.length == 0 ? new OmegaRatioCriterion() : new OmegaRatioCriterion((double) params[0]),
+                numFactory);
+    }
+
+    @Test
+    public void calculateOnTradingRecord() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        double gains = 0.1 + (120d / 99 - 1) + 0.2;
+        double losses = 0.1 + 0.25;
+        assertNumEquals(gains / losses, getCriterion().calculate(series, tradingRecord));
+
+        // threshold of 36.5% per year = 0.1% per day
+        double threshold = 0.001;
+        gains = (0.1 - threshold) + (120d / 99 - 1 - threshold) + (0.2 - threshold);
+        losses = (0.1 + threshold) + (0.25 + threshold);
+        assertNumEquals(gains / losses, getCriterion(0.365).calculate(series, tradingRecord));
+    }
+
+    @Test
+    public void calculateOnPosition() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        Position position = tradingRecord.getPositions().get(0);
+        assertNumEquals((0.1 + (120d / 99 - 1) + 0.2) / 0.35, getCriterion().calculate(series, position));
+    }
+
+    @Test
+    public void nanWithoutLosses() {
+        BarSeries series = createDailySeries(100, 110, 120);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(2, series));
+        assertTrue(getCriterion().calculate(series, tradingRecord).isNaN());
+    }
+
+    @Test
+    public void betterThan() {
+        var criterion = getCriterion();
+        assertTrue(criterion.betterThan(numOf(2.0), numOf(1.5)));
+        assertFalse(criterion.betterThan(numOf(1.5), numOf(2.0)));
+    }
+}
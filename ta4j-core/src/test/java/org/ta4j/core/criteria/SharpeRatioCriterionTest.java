@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+
+public class SharpeRatioCriterionTest extends AbstractCriterionTest {
+
+    // arithmetic returns of the daily series 100, 110, 99, 120, 90, 108
+    private static final double[] RETURNS = { 0.1, -0.1, 120d / 99 - 1, -0.25, 0.2 };
+
+    public SharpeRatioCriterionTest(NumFactory numFactory) {
+        super(params -> params.length == 0 ? new SharpeRatioCriterion() : new SharpeRatioCriterion((double) params[0]),
+                numFactory);
+    }
+
+    private static double sharpe(double annualRiskFreeRate) {
+        double mean = 0;
+        for (double r : RETURNS) {
+            mean += r / RETURNS.length;
+        }
+        double variance = 0;
+        for (double r : RETURNS) {
+            variance += (r - mean) * (r - mean) / (RETURNS.length - 1);
+        }
+        return (mean - annualRiskFreeRate / 365) / Math.sqrt(variance) * Math.sqrt(365);
+    }
+
+    @Test
+    public void calculateOnTradingRecord() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        assertNumEquals(sharpe(0), getCriterion().calculate(series, tradingRecord));
+        assertNumEquals(sharpe(0.05), getCriterion(0.05).calculate(series, tradingRecord));
+    }
+
+    @Test
+    public void calculateOnPosition() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        Position position = tradingRecord.getPositions().get(0);
+        assertNumEquals(sharpe(0), getCriterion().calculate(series, position));
+    }
+
+    @Test
+    public void nanWithoutVolatility() {
+        BarSeries series = createDailySeries(100, 110, 99);
+        assertTrue(getCriterion().calculate(series, new BaseTradingRecord()).isNaN());
+    }
+
+    @Test
+    public void betterThan() {
+        var criterion = getCriterion();
+        assertTrue(criterion.betterThan(numOf(2.0), numOf(1.5)));
+        assertFalse(criterion.betterThan(numOf(1.5), numOf(2.0)));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+
+public class SortinoRatioCriterionTest extends AbstractCriterionTest {
+
+    // arithmetic returns of the daily series 100, 110, 99, 120, 90, 108
+    private static final double[] RETURNS = { 0.1, -0.1, 120d / 99 - 1, -0.25, 0.2 };
+
+    public SortinoRatioCriterionTest(NumFactory numFactory) {
+        super(params -> params.length == 0 ? new SortinoRatioCriterion()
+                : new SortinoRatioCriterion((double) params[0]), numFactory);
+    }
+
+    private static double sortino(double annualMinimumAcceptableReturn) {
+        double target = annualMinimumAcceptableReturn / 365;
+        double mean = 0;
+        double downside = 0;
+        for (double r : RETURNS) {
+            mean += r / RETURNS.length;
+            if (r < target) {
+                downside += (r - target) * (r - target) / RETURNS.length;
+            }
+        }
+        return (mean - target) / Math.sqrt(downside) * Math.sqrt(365);
+    }
+
+    @Test
+    public void calculateOnTradingRecord() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        assertNumEquals(sortino(0), getCriterion().calculate(series, tradingRecord));
+        assertNumEquals(sortino(0.1), getCriterion(0.1).calculate(series, tradingRecord));
+    }
+
+    @Test
+    public void calculateOnPosition() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        Position position = tradingRecord.getPositions().get(0);
+        assertNumEquals(sortino(0), getCriterion().calculate(series, position));
+    }
+
+    @Test
+    public void nanWithoutLosses() {
+        BarSeries series = createDailySeries(100, 110, 120);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(2, series));
+        assertTrue(getCriterion().calculate(series, tradingRecord).isNaN());
+    }
+
+    @Test
+    public void betterThan() {
+        var criterion = getCriterion();
+        assertTrue(criterion.betterThan(numOf(2.0), numOf(1.5)));
+        assertFalse(criterion.betterThan(numOf(1.5), numOf(2.0)));
+    }
+}
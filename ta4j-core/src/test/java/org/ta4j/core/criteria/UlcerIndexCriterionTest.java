@@ -0,0 +1,72 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.NumFactory;
+
+public class UlcerIndexCriterionTest extends AbstractCriterionTest {
+
+    public UlcerIndexCriterionTest(NumFactory numFactory) {
+        super(params -> new UlcerIndexCriterion(), numFactory);
+    }
+
+    @Test
+    public void calculateOnTradingRecord() {
+        BarSeries series = createDailySeries(100, 110, 99, 120, 90, 108);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        // drawdowns of the equity 1.1, 0.99, 1.2, 0.9, 1.08
+        double[] drawdowns = { 0, 0.1, 0, 0.25, 0.1 };
+        double sumOfSquares = 0;
+        for (double drawdown : drawdowns) {
+            sumOfSquares += drawdown * drawdown;
+        }
+        assertNumEquals(Math.sqrt(sumOfSquares / 5), getCriterion().calculate(series, tradingRecord));
+    }
+
+    @Test
+    public void zeroWithoutDrawdown() {
+        BarSeries series = createDailySeries(100, 110, 120);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(2, series));
+        assertNumEquals(0, getCriterion().calculate(series, tradingRecord));
+        Position position = tradingRecord.getPositions().get(0);
+        assertNumEquals(0, getCriterion().calculate(series, position));
+    }
+
+    @Test
+    public void betterThan() {
+        var criterion = getCriterion();
+        assertTrue(criterion.betterThan(numOf(1.5), numOf(2.0)));
+        assertFalse(criterion.betterThan(numOf(2.0), numOf(1.5)));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.dsl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+public class StrategyParserTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+
+    private StrategyParser parser;
+
+    public StrategyParserTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(10, 9, 8, 7, 6, 5, 6, 7, 8, 9, 10, 11, 12, 11, 10, 9, 8, 9, 10, 11, 12, 13)
+                .build();
+        parser = new StrategyParser(series);
+    }
+
+    @Test
+    public void parseRuleMatchesHandBuiltRule() {
+        Rule parsed = parser.parseRule("crossUp(sma(close, 2), sma(close, 4)) or rsi(close, 3) < 30");
+
+        var close = new ClosePriceIndicator(series);
+        Rule expected = new CrossedUpIndicatorRule(new SMAIndicator(close, 2), new SMAIndicator(close, 4))
+                .or(new UnderIndicatorRule(new RSIIndicator(close, 3), 30));
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals("index " + i, expected.isSatisfied(i), parsed.isSatisfied(i));
+        }
+    }
+
+    @Test
+    public void identicalSubExpressionsAreInterned() {
+        Indicator<Num> sma = parser.parseIndicator("sma(close, 5)");
+        assertSame(sma, parser.parseIndicator("SMA( Close , 5.0 )"));
+        assertSame(parser.parseIndicator("close"), parser.parseIndicator("close()"));
+
+        parser.parseRule("crossUp(sma(close, 5), sma(close, 20)) and sma(close, 5) > 10");
+        // close, sma(close,5), sma(close,20) and the constant 10
+        assertEquals(4, parser.getIndicatorCount());
+
+        assertSame(parser.parseIndicator("(sma(close,5) - sma(close,20)) * 2"),
+                parser.parseIndicator("(sma(close, 5) - sma(close, 20)) * 2"));
+    }
+
+    @Test
+    public void arithmetic() {
+        Indicator<Num> indicator = parser.parseIndicator("-close * 2 + close / 4 - 1");
+        assertNumEquals(-18.5, indicator.getValue(0));
+        assertNumEquals(-16.75, indicator.getValue(1));
+
+        assertNumEquals(7, parser.parseIndicator("1 + 2 * 3").getValue(0));
+        assertNumEquals(9, parser.parseIndicator("(1 + 2) * 3").getValue(0));
+        assertNumEquals(5, parser.parseIndicator("10 - close").getValue(5));
+        assertNumEquals(8, parser.parseIndicator("max(close, 8)").getValue(5));
+        assertNumEquals(9, parser.parseIndicator("prev(close)").getValue(2));
+    }
+
+    @Test
+    public void comparisons() {
+        // close: 10, 9, 8, ...
+        assertTrue(parser.parseRule("close >= 10").isSatisfied(0));
+        assertTrue(parser.parseRule("close <= 10").isSatisfied(0));
+        assertTrue(parser.parseRule("close == 10").isSatisfied(0));
+        assertTrue(parser.parseRule("close = 10").isSatisfied(0));
+        assertTrue(parser.parseRule("close != 10").isSatisfied(1));
+        assertTrue(parser.parseRule("close < prev(close)").isSatisfied(1));
+        assertTrue(!parser.parseRule("close > 10").isSatisfied(0));
+        assertTrue(!parser.parseRule("close >= 10").isSatisfied(1));
+    }
+
+    @Test
+    public void logicalOperatorPrecedence() {
+        // and binds tighter than or, not binds tightest
+        assertTrue(parser.parseRule("true or false and false").isSatisfied(0));
+        assertTrue(!parser.parseRule("(true or false) and false").isSatisfied(0));
+        assertTrue(parser.parseRule("not false and true").isSatisfied(0));
+        assertTrue(!parser.parseRule("!(false || true)").isSatisfied(0));
+        assertTrue(parser.parseRule("true xor false && true").isSatisfied(0));
+        assertTrue(!parser.parseRule("true xor true").isSatisfied(0));
+    }
+
+    @Test
+    public void parseStrategy() {
+        Strategy strategy = parser.parseStrategy("sma", "close > sma(close, 3)", "close < sma(close, 3) or stopLoss(5)",
+                3);
+        assertEquals("sma", strategy.getName());
+        assertEquals(3, strategy.getUnstableBars());
+        assertTrue(!strategy.shouldEnter(2));
+        assertTrue(strategy.shouldEnter(7));
+    }
+
+    @Test
+    public void invalidExpressions() {
+        assertInvalid("sma(close)", "takes 2 argument(s) at position 0");
+        assertInvalid("foo(close, 3)", "Unknown function 'foo'");
+        assertInvalid("sma(close, 2.5)", "Expected an integer");
+        assertInvalid("close > 10 and close", "Expected a rule");
+        assertInvalid("sma(close > 1, 3)", "Expected an indicator");
+        assertInvalid("close > 10)", "Unexpected ')' at position 10");
+        assertInvalid("close > ", "Unexpected end of expression");
+        assertInvalid("close # 1", "Unexpected character '#' at position 6");
+        assertInvalid("(close > 1", "Expected ')'");
+        try {
+            parser.parseRule("close");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Not a rule: close", e.getMessage());
+        }
+    }
+
+    private void assertInvalid(String expression, String message) {
+        try {
+            parser.parseRule(expression);
+            fail("Parsed " + expression);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+}
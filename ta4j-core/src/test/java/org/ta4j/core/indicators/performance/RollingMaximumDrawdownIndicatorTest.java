@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class RollingMaximumDrawdownIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+
+    public RollingMaximumDrawdownIndicatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 110, 99, 120, 90, 95, 97, 105, 103, 92, 98, 111, 100, 104, 96, 99, 120, 118, 90, 93)
+                .build();
+    }
+
+    @Test
+    public void maximumDrawdownWithinWindow() {
+        var record = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        var drawdown = new RollingMaximumDrawdownIndicator(series, record, 3);
+
+        assertNumEquals(0, drawdown.getValue(0));
+        assertNumEquals(0, drawdown.getValue(1));
+        assertNumEquals(0.1, drawdown.getValue(2));
+        assertNumEquals(0.1, drawdown.getValue(3));
+        assertNumEquals(0.25, drawdown.getValue(4));
+        assertNumEquals(0.25, drawdown.getValue(5));
+        // the peak of 1.2 has left the window
+        assertNumEquals(0, drawdown.getValue(6));
+    }
+
+    @Test
+    public void equalsRecalculatedWindow() {
+        var record = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(4, series), Trade.buyAt(6, series),
+                Trade.sellAt(10, series), Trade.buyAt(12, series), Trade.sellAt(18, series));
+        var cashFlow = new CashFlow(series, record);
+        var sequential = new RollingMaximumDrawdownIndicator(series, record, 5);
+        var reversed = new RollingMaximumDrawdownIndicator(series, record, 5);
+
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(maximumDrawdown(cashFlow, i - 4, i), sequential.getValue(i));
+        }
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertNumEquals(maximumDrawdown(cashFlow, i - 4, i), reversed.getValue(i));
+        }
+    }
+
+    @Test
+    public void usableWhileTradingRecordIsBuilt() {
+        TradingRecord record = new BaseTradingRecord();
+        var drawdown = new RollingMaximumDrawdownIndicator(series, record, 4);
+        int[] tradeIndexes = { 1, 3, 5, 9, 11, 14 };
+        Num[] values = new Num[series.getBarCount()];
+        for (int i = 0, t = 0; i <= series.getEndIndex(); i++) {
+            if (t < tradeIndexes.length && tradeIndexes[t] == i) {
+                record.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+                t++;
+            }
+            values[i] = drawdown.getValue(i);
+        }
+
+        var cashFlow = new CashFlow(series, record);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(maximumDrawdown(cashFlow, i - 3, i), values[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void barCountMustBePositive() {
+        new RollingMaximumDrawdownIndicator(series, new BaseTradingRecord(), 0);
+    }
+
+    private static Num maximumDrawdown(CashFlow cashFlow, int from, int to) {
+        Num peak = cashFlow.getValue(Math.max(from, 0));
+        Num maximumDrawdown = peak.getNumFactory().zero();
+        for (int i = Math.max(from, 0); i <= to; i++) {
+            Num value = cashFlow.getValue(i);
+            peak = peak.max(value);
+            maximumDrawdown = maximumDrawdown.max(peak.minus(value).dividedBy(peak));
+        }
+        return maximumDrawdown;
+    }
+}
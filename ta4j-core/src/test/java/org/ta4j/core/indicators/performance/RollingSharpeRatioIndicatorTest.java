@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.analysis.ReturnStatistics;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.DoubleNumFactory;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class RollingSharpeRatioIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+    private TradingRecord record;
+
+    public RollingSharpeRatioIndicatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 110, 99, 120, 90, 95, 97, 105, 103, 92, 98, 111, 100, 104, 96, 99, 120, 118, 90, 93)
+                .build();
+        record = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(4, series), Trade.buyAt(6, series),
+                Trade.sellAt(10, series), Trade.buyAt(12, series), Trade.sellAt(18, series));
+    }
+
+    @Test
+    public void equalsSharpeRatioOfWindow() {
+        var sharpe = new RollingSharpeRatioIndicator(series, record, 5, 0.02);
+        var cashFlow = new CashFlow(series, record);
+
+        assertTrue(sharpe.getValue(0).isNaN());
+        assertTrue(sharpe.getValue(1).isNaN());
+        for (int i = 2; i <= series.getEndIndex(); i++) {
+            assertEquals(sharpeRatio(cashFlow, i - 4, i, 0.02).doubleValue(), sharpe.getValue(i).doubleValue(), 1e-12);
+        }
+        // out of order
+        var reversed = new RollingSharpeRatioIndicator(series, record, 5, 0.02);
+        for (int i = series.getEndIndex(); i >= 2; i--) {
+            assertEquals(sharpeRatio(cashFlow, i - 4, i, 0.02).doubleValue(), reversed.getValue(i).doubleValue(),
+                    1e-12);
+        }
+    }
+
+    @Test
+    public void longDoubleSeriesMatchesRecalculatedWindows() {
+        var random = new Random(42);
+        double[] prices = new double[20000];
+        prices[0] = 10000;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] * (1.001 + random.nextGaussian() * 0.001);
+        }
+        var doubleSeries = new MockBarSeriesBuilder().withNumFactory(DoubleNumFactory.getInstance())
+                .withData(prices)
+                .build();
+        // flat from bar 8000 to bar 8100
+        var doubleRecord = new BaseTradingRecord(Trade.buyAt(0, doubleSeries), Trade.sellAt(8000, doubleSeries),
+                Trade.buyAt(8100, doubleSeries));
+
+        var sharpe = new RollingSharpeRatioIndicator(doubleSeries, doubleRecord, 50);
+        var recalculated = new RollingSharpeRatioIndicator(doubleSeries, doubleRecord, 50);
+        for (int i = 2; i <= doubleSeries.getEndIndex(); i++) {
+            sharpe.getValue(i);
+        }
+        for (int i = doubleSeries.getEndIndex(); i >= 2; i--) {
+            // requested in reverse order: each window is recalculated
+            Num expected = recalculated.getValue(i);
+            Num actual = sharpe.getValue(i);
+            if (expected.isNaN()) {
+                assertTrue("index " + i, actual.isNaN());
+            } else {
+                assertEquals("index " + i, expected.doubleValue(), actual.doubleValue(),
+                        Math.abs(expected.doubleValue()) * 1e-9);
+            }
+        }
+        assertTrue(sharpe.getValue(8100).isNaN());
+    }
+
+    @Test
+    public void flatWindowIsNaN() {
+        var sharpe = new RollingSharpeRatioIndicator(series, record, 2);
+        // no position from bar 4 to bar 6
+        assertNumEquals(NaN.NaN, sharpe.getValue(6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void barCountMustBeAtLeastTwo() {
+        new RollingSharpeRatioIndicator(series, record, 1);
+    }
+
+    private Num sharpeRatio(CashFlow cashFlow, int from, int to, double riskFreeRate) {
+        var statistics = new ReturnStatistics(numFactory, ReturnStatistics.getBarPeriod(series), numOf(0));
+        for (int i = Math.max(from, 1); i <= to; i++) {
+            statistics.add(cashFlow.getValue(i).dividedBy(cashFlow.getValue(i - 1)).minus(numOf(1)));
+        }
+        Num periodsPerYear = statistics.getPeriodsPerYear();
+        if (statistics.getStandardDeviation().isZero()) {
+            return NaN.NaN;
+        }
+        return statistics.getMean()
+                .minus(numOf(riskFreeRate).dividedBy(periodsPerYear))
+                .dividedBy(statistics.getStandardDeviation())
+                .multipliedBy(periodsPerYear.sqrt());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.performance;
+
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.OverIndicatorRule;
+
+public class RollingWinRateIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+
+    public RollingWinRateIndicatorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 105, 110, 100, 98, 95, 90, 92, 94, 96, 100, 101, 102, 103)
+                .build();
+    }
+
+    @Test
+    public void winRateOfLastPositions() {
+        // win, loss, win, win
+        var record = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(2, series), Trade.buyAt(3, series),
+                Trade.sellAt(5, series), Trade.buyAt(6, series), Trade.sellAt(9, series), Trade.buyAt(10, series),
+                Trade.sellAt(12, series));
+        var winRate = new RollingWinRateIndicator(series, record, 2);
+
+        assertTrue(winRate.getValue(0).isNaN());
+        assertTrue(winRate.getValue(1).isNaN());
+        assertNumEquals(1, winRate.getValue(2));
+        assertNumEquals(1, winRate.getValue(4));
+        assertNumEquals(0.5, winRate.getValue(5));
+        assertNumEquals(0.5, winRate.getValue(8));
+        assertNumEquals(0.5, winRate.getValue(9));
+        assertNumEquals(1, winRate.getValue(12));
+        assertNumEquals(1, winRate.getValue(13));
+    }
+
+    @Test
+    public void usableInRules() {
+        TradingRecord record = new BaseTradingRecord();
+        var winRate = new RollingWinRateIndicator(series, record, 3);
+        var rule = new OverIndicatorRule(winRate, numOf(0.5));
+
+        record.enter(0, series.getBar(0).getClosePrice(), numOf(1));
+        record.exit(2, series.getBar(2).getClosePrice(), numOf(1));
+        assertTrue(rule.isSatisfied(2, record));
+
+        record.enter(3, series.getBar(3).getClosePrice(), numOf(1));
+        record.exit(5, series.getBar(5).getClosePrice(), numOf(1));
+        assertNumEquals(0.5, winRate.getValue(5));
+        assertTrue(!rule.isSatisfied(5, record));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void positionCountMustBePositive() {
+        new RollingWinRateIndicator(series, new BaseTradingRecord(), 0);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class LiveTradingEngineTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final Queue<OrderIntent> intents = new ConcurrentLinkedQueue<>();
+
+    public LiveTradingEngineTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    private BarSeries emptySeries() {
+        return new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+    }
+
+    private Bar bar(BarSeries series, int minute, double closePrice) {
+        return series.barBuilder()
+                .timePeriod(Duration.ofMinutes(1))
+                .endTime(START.plus(Duration.ofMinutes(minute)))
+                .openPrice(closePrice)
+                .highPrice(closePrice)
+                .lowPrice(closePrice)
+                .closePrice(closePrice)
+                .volume(1)
+                .build();
+    }
+
+    @Test
+    public void evaluatesStrategiesOfEachInstrument() throws InterruptedException {
+        BarSeries btc = emptySeries();
+        BarSeries eth = emptySeries();
+        List<MarketEvent> events = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            events.add(MarketEvent.bar("BTC", bar(btc, i, 100 + i)));
+            events.add(MarketEvent.bar("ETH", bar(eth, i, 10 + i)));
+        }
+        Strategy btcStrategy = new BaseStrategy("btc", new FixedRule(1, 4), new FixedRule(2, 5));
+        Strategy ethFirst = new BaseStrategy("eth-1", new FixedRule(0), new FixedRule(3));
+        Strategy ethSecond = new BaseStrategy("eth-2", new FixedRule(2), new FixedRule(4));
+
+        var engine = new LiveTradingEngine(new IterableMarketEventSource(events), intents::add);
+        engine.addInstrument("BTC", btc, List.of(btcStrategy));
+        engine.addInstrument("ETH", eth, List.of(ethFirst, ethSecond));
+        engine.run();
+
+        assertEquals(6, btc.getBarCount());
+        assertEquals(6, eth.getBarCount());
+        assertEquals(12, engine.getProcessedEventCount());
+        assertEquals(12, engine.getLatencyHistogram().getCount());
+        assertEquals(8, engine.getOrderIntentCount());
+        assertEquals(8, intents.size());
+
+        List<OrderIntent> btcIntents = intents.stream().filter(intent -> intent.getInstrument().equals("BTC")).toList();
+        assertEquals(4, btcIntents.size());
+        OrderIntent entry = btcIntents.get(0);
+        assertEquals("btc", entry.getStrategyName());
+        assertEquals(1, entry.getIndex());
+        assertEquals(TradeType.BUY, entry.getType());
+        assertTrue(entry.isEntry());
+        assertNumEquals(102, entry.getPrice());
+        assertNumEquals(1, entry.getAmount());
+        assertEquals(START.plus(Duration.ofMinutes(2)), entry.getTime());
+        OrderIntent exit = btcIntents.get(1);
+        assertEquals(TradeType.SELL, exit.getType());
+        assertFalse(exit.isEntry());
+        assertEquals(2, engine.getTradingRecord("BTC", btcStrategy).getPositionCount());
+        assertEquals(1, engine.getTradingRecord("ETH", ethFirst).getPositionCount());
+        assertEquals(1, engine.getTradingRecord("ETH", ethSecond).getPositionCount());
+    }
+
+    @Test
+    public void aggregatesTradesIntoBars() throws InterruptedException {
+        BarSeries series = emptySeries();
+        List<MarketEvent> events = List.of(MarketEvent.trade("BTC", START.plusSeconds(10), 1, 100),
+                MarketEvent.trade("BTC", START.plusSeconds(20), 2, 105),
+                MarketEvent.trade("BTC", START.plusSeconds(50), 1, 95),
+                MarketEvent.trade("BTC", START.plusSeconds(60), 3, 101),
+                MarketEvent.trade("BTC", START.plusSeconds(200), 1, 102),
+                // outdated
+                MarketEvent.trade("BTC", START.plusSeconds(30), 1, 1));
+
+        var engine = new LiveTradingEngine(new IterableMarketEventSource(events), intents::add);
+        engine.addInstrument("BTC", series, List.of(), Duration.ofMinutes(1), 1);
+        engine.run();
+
+        assertEquals(3, series.getBarCount());
+        Bar first = series.getBar(0);
+        assertEquals(START.plusSeconds(60), first.getEndTime());
+        assertNumEquals(100, first.getOpenPrice());
+        assertNumEquals(105, first.getHighPrice());
+        assertNumEquals(95, first.getLowPrice());
+        assertNumEquals(95, first.getClosePrice());
+        assertNumEquals(4, first.getVolume());
+        assertEquals(3, first.getTrades());
+        assertEquals(START.plusSeconds(120), series.getBar(1).getEndTime());
+        assertNumEquals(3, series.getBar(1).getVolume());
+        assertEquals(START.plusSeconds(240), series.getBar(2).getEndTime());
+        assertEquals(5, engine.getProcessedEventCount());
+        assertEquals(1, engine.getSkippedEventCount());
+    }
+
+    @Test
+    public void replacesBarWithSameEndTime() throws InterruptedException {
+        BarSeries series = emptySeries();
+        List<MarketEvent> events = List.of(MarketEvent.bar("BTC", bar(series, 1, 100)),
+                MarketEvent.bar("BTC", bar(series, 1, 110)), MarketEvent.bar("BTC", bar(series, 2, 120)),
+                MarketEvent.bar("ETH", bar(series, 3, 10)));
+
+        var engine = new LiveTradingEngine(new IterableMarketEventSource(events), intents::add);
+        engine.addInstrument("BTC", series, List.of());
+        engine.run();
+
+        assertEquals(2, series.getBarCount());
+        assertNumEquals(110, series.getBar(0).getClosePrice());
+        assertEquals(1, engine.getSkippedEventCount());
+    }
+
+    @Test
+    public void shardedEngineWithBackpressure() throws InterruptedException {
+        int instrumentCount = 5;
+        int barCount = 200;
+        var source = new QueueMarketEventSource(4);
+        var engine = new LiveTradingEngine(source, intents::add, 1, 2);
+        List<BarSeries> series = new ArrayList<>();
+        for (int i = 0; i < instrumentCount; i++) {
+            BarSeries s = emptySeries();
+            series.add(s);
+            engine.addInstrument("I" + i, s, List.of(new BaseStrategy(new FixedRule(10), new FixedRule(20))));
+        }
+        engine.start();
+        for (int b = 1; b <= barCount; b++) {
+            for (int i = 0; i < instrumentCount; i++) {
+                source.publish(MarketEvent.bar("I" + i, bar(series.get(i), b, b)));
+            }
+        }
+        source.close();
+        engine.awaitTermination();
+
+        for (BarSeries s : series) {
+            assertEquals(barCount, s.getBarCount());
+        }
+        assertEquals(instrumentCount * barCount, engine.getProcessedEventCount());
+        assertEquals(instrumentCount * 2, intents.size());
+        assertTrue(engine.getLatencyHistogram().getMax() >= engine.getLatencyHistogram().getValueAtPercentile(50));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void instrumentsMustBeAddedBeforeStart() throws InterruptedException {
+        try (var engine = new LiveTradingEngine(new IterableMarketEventSource(List.of()), intents::add)) {
+            engine.start();
+            engine.addInstrument("BTC", emptySeries(), List.of());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.FixedRule;
+
+public class ReplayEngineTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public ReplayEngineTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(folder.getRoot().toPath().resolve(name), List.of(lines));
+    }
+
+    @Test
+    public void mergesRecordingsDeterministically() throws Exception {
+        // most recent trade at the top as in the Bitstamp history
+        Path btc = write("btc.csv", "timestamp,price,amount", "120,103,1", "60,102,2", "0,101,1");
+        Path eth = write("eth.csv", "timestamp,price,amount", "0,11,5", "60,12,5", "90,13,5");
+        var replay = new ReplayEngine(0);
+        replay.addTrades("BTC", btc);
+        replay.addTrades("ETH", eth);
+
+        List<String> sequence = new ArrayList<>();
+        MarketEvent event;
+        while ((event = replay.next()) != null) {
+            sequence.add(event.getInstrument() + "@" + event.getTime().getEpochSecond() + ":" + event.getTradePrice());
+        }
+        assertEquals(
+                List.of("BTC@0:101.0", "ETH@0:11.0", "BTC@60:102.0", "ETH@60:12.0", "ETH@90:13.0", "BTC@120:103.0"),
+                sequence);
+        assertEquals(6, replay.getEventCount());
+        assertEquals(Instant.ofEpochSecond(120), replay.getClock().instant());
+        assertTrue(replay.getEventsPerSecond() > 0);
+        assertNull(replay.next());
+    }
+
+    @Test
+    public void replaysThroughLiveEngine() throws Exception {
+        Path bars = write("bars.csv", "Date,Open,High,Low,Close,Volume", "2013-01-02,1,2,0.5,1.5,100",
+                "2013-01-03,1.5,3,1,2.5,200", "2013-01-04,2.5,3,2,2,300");
+        var replay = new ReplayEngine(0);
+        replay.addBars("AAPL", bars, Duration.ofDays(1), numFactory);
+
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).build();
+        List<OrderIntent> intents = new ArrayList<>();
+        var engine = new LiveTradingEngine(replay, intents::add);
+        engine.addInstrument("AAPL", series, List.of(new BaseStrategy(new FixedRule(0), new FixedRule(2))));
+        replay.run(engine);
+
+        assertEquals(3, series.getBarCount());
+        assertNumEquals(2.5, series.getBar(1).getClosePrice());
+        assertNumEquals(300, series.getBar(2).getVolume());
+        assertEquals(Instant.parse("2013-01-04T00:00:00Z"), series.getLastBar().getEndTime());
+        assertEquals(2, intents.size());
+        assertNumEquals(1.5, intents.get(0).getPrice());
+        assertNumEquals(2, intents.get(1).getPrice());
+        assertEquals(3, replay.getEventCount());
+        assertEquals(3, engine.getLatencyHistogram().getCount());
+        assertTrue(replay.getEventsPerSecond() > 0);
+    }
+
+    @Test
+    public void scaledRealTime() throws Exception {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        List<MarketEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(MarketEvent.trade("BTC", start.plusSeconds(i), 1, 100));
+        }
+        // 4 seconds at 100x speed
+        var replay = new ReplayEngine(100);
+        replay.addEvents(events);
+        long startNanos = System.nanoTime();
+        while (replay.next() != null) {
+            // consume
+        }
+        assertTrue(System.nanoTime() - startNanos >= Duration.ofMillis(40).toNanos());
+        assertEquals(start.plusSeconds(4), replay.getClock().instant());
+    }
+
+    @Test
+    public void statisticsDuringPacedWait() throws Exception {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        // the second event is due after 2 seconds
+        var replay = new ReplayEngine(1);
+        replay.addEvents(List.of(MarketEvent.trade("BTC", start, 1, 100),
+                MarketEvent.trade("BTC", start.plusSeconds(2), 1, 100)));
+        replay.next();
+        var consumer = new Thread(() -> {
+            try {
+                replay.next();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(100);
+        long startNanos = System.nanoTime();
+        assertEquals(1, replay.getEventCount());
+        assertTrue(replay.getEventsPerSecond() > 0);
+        assertTrue(System.nanoTime() - startNanos < Duration.ofSeconds(1).toNanos());
+        consumer.interrupt();
+        consumer.join();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unsortedRecording() throws Exception {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        var replay = new ReplayEngine(0);
+        replay.addEvents(List.of(MarketEvent.trade("BTC", start.plusSeconds(1), 1, 100),
+                MarketEvent.trade("BTC", start, 1, 100)));
+        replay.next();
+        replay.next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void engineMustUseReplayAsSource() throws Exception {
+        var engine = new LiveTradingEngine(new IterableMarketEventSource(List.of()), intent -> {
+        });
+        new ReplayEngine(0).run(engine);
+    }
+}
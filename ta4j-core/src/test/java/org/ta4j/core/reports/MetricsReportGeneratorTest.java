@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.reports;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.AnalysisContext;
+import org.ta4j.core.backtest.BacktestExecutor;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.SharpeRatioCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+
+public class MetricsReportGeneratorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+    private TradingRecord tradingRecord;
+
+    public MetricsReportGeneratorTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().withNumFactory(numFactory)
+                .withData(100, 105, 98, 110, 120, 90, 95, 101, 99, 130)
+                .build();
+        tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(2, series), Trade.buyAt(3, series),
+                Trade.sellAt(5, series), Trade.buyAt(6, series), Trade.sellAt(9, series));
+    }
+
+    @Test
+    public void defaultCriteriaMatchTradingStatement() {
+        var report = new MetricsReportGenerator().generate(null, tradingRecord, series);
+        var statement = new TradingStatementGenerator().generate(null, tradingRecord, series);
+
+        assertEquals(7, report.size());
+        assertNumEquals(statement.getPerformanceReport().getTotalProfitLoss(), report.getValue("totalProfitLoss"));
+        assertNumEquals(statement.getPerformanceReport().getTotalProfitLossPercentage(),
+                report.getValue("totalProfitLossPercentage"));
+        assertNumEquals(statement.getPerformanceReport().getTotalProfit(), report.getValue("totalProfit"));
+        assertNumEquals(statement.getPerformanceReport().getTotalLoss(), report.getValue("totalLoss"));
+        assertNumEquals(statement.getPositionStatsReport().getProfitCount(), report.getValue("profitCount"));
+        assertNumEquals(statement.getPositionStatsReport().getLossCount(), report.getValue("lossCount"));
+        assertNumEquals(statement.getPositionStatsReport().getBreakEvenCount(), report.getValue("breakEvenCount"));
+    }
+
+    @Test
+    public void parallelEqualsSequential() {
+        Map<String, AnalysisCriterion> criteria = MetricsReportGenerator.defaultCriteria();
+        criteria.put("maxDrawdown", new MaximumDrawdownCriterion());
+        criteria.put("sharpe", new SharpeRatioCriterion());
+        var context = new AnalysisContext(series, tradingRecord);
+
+        var sequential = new MetricsReportGenerator(criteria, false).generate(null, context);
+        var parallel = new MetricsReportGenerator(criteria, true).generate(null, context);
+
+        assertEquals(9, parallel.size());
+        assertEquals(sequential.getMetricNames(), parallel.getMetricNames());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertNumEquals(sequential.getValue(i), parallel.getValue(i));
+        }
+        assertNumEquals(new MaximumDrawdownCriterion().calculate(series, tradingRecord),
+                parallel.getValue("maxDrawdown"));
+    }
+
+    @Test
+    public void reportIsMapLike() {
+        var report = new MetricsReportGenerator().generate(null, tradingRecord, series);
+        Map<String, Num> map = report.asMap();
+
+        assertEquals(report.getMetricNames(), List.copyOf(map.keySet()));
+        assertTrue(report.contains("lossCount"));
+        assertFalse(report.contains("unknown"));
+        assertNumEquals(map.get("lossCount"), report.getValue("lossCount"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void reportMapIsNotModifiable() {
+        new MetricsReportGenerator().generate(null, tradingRecord, series).asMap().put("lossCount", numOf(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownMetric() {
+        new MetricsReportGenerator().generate(null, tradingRecord, series).getValue("unknown");
+    }
+
+    @Test
+    public void executeStrategies() {
+        var closePrice = new ClosePriceIndicator(series);
+        List<Strategy> strategies = List.of(
+                new BaseStrategy("sma2", new CrossedUpIndicatorRule(closePrice, new SMAIndicator(closePrice, 2)),
+                        new CrossedDownIndicatorRule(closePrice, new SMAIndicator(closePrice, 2))),
+                new BaseStrategy("sma3", new CrossedUpIndicatorRule(closePrice, new SMAIndicator(closePrice, 3)),
+                        new CrossedDownIndicatorRule(closePrice, new SMAIndicator(closePrice, 3))));
+        var executor = new BacktestExecutor(series);
+
+        var reports = executor.execute(strategies, numOf(1), Trade.TradeType.BUY, new MetricsReportGenerator());
+        var statements = executor.execute(strategies, numOf(1));
+
+        assertEquals(2, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            assertEquals(strategies.get(i), reports.get(i).getStrategy());
+            assertNumEquals(statements.get(i).getPerformanceReport().getTotalProfitLoss(),
+                    reports.get(i).getValue("totalProfitLoss"));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.reports;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.backtest.BacktestExecutor;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+
+public class ReportWriterTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<TradingStatement> tradingStatements;
+
+    public ReportWriterTest(NumFactory numFactory) {
+        super(numFactory);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[120];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 5d) + i % 3;
+        }
+        BarSeries series = new MockBarSeriesBuilder().withNumFactory(numFactory).withData(data).build();
+        var closePrice = new ClosePriceIndicator(series);
+        List<Strategy> strategies = new ArrayList<>();
+        for (int barCount = 2; barCount <= 6; barCount++) {
+            var sma = new SMAIndicator(closePrice, barCount);
+            strategies.add(new BaseStrategy("sma," + barCount, new CrossedUpIndicatorRule(closePrice, sma),
+                    new CrossedDownIndicatorRule(closePrice, sma)));
+        }
+        tradingStatements = new BacktestExecutor(series).execute(strategies, numOf(1));
+    }
+
+    @Test
+    public void writeColumnarReport() throws IOException {
+        Path file = folder.newFile().toPath();
+        try (var writer = new ReportWriter(file, null, ReportWriter.defaultColumns(), 2)) {
+            writer.writeAll(tradingStatements);
+            assertEquals(5, writer.getRowCount());
+        }
+
+        var report = ColumnarReport.read(file);
+        assertEquals(5, report.getRowCount());
+        assertEquals(List.copyOf(ReportWriter.defaultColumns().keySet()), report.getColumnNames());
+        double[] profitLoss = report.getColumn("totalProfitLoss");
+        for (int i = 0; i < tradingStatements.size(); i++) {
+            var statement = tradingStatements.get(i);
+            assertEquals(statement.getStrategy().getName(), report.getStrategyNames().get(i));
+            assertEquals(statement.getPerformanceReport().getTotalProfitLoss().doubleValue(), profitLoss[i], 0);
+            assertEquals(statement.getPositionStatsReport().getProfitCount().doubleValue(),
+                    report.getValue(i, "profitCount"), 0);
+        }
+    }
+
+    @Test
+    public void writeCsvReport() throws IOException {
+        Path columnarFile = folder.newFile().toPath();
+        Path csvFile = folder.newFile().toPath();
+        ReportWriter.write(tradingStatements, columnarFile, csvFile);
+
+        List<String> lines = Files.readAllLines(csvFile);
+        assertEquals(6, lines.size());
+        assertEquals("strategy,totalProfitLoss,totalProfitLossPercentage,totalProfit,totalLoss,"
+                + "profitCount,lossCount,breakEvenCount", lines.get(0));
+        var statement = tradingStatements.get(0);
+        assertTrue(lines.get(1).startsWith("\"sma,2\","));
+        String[] fields = lines.get(1).substring("\"sma,2\",".length()).split(",");
+        assertEquals(7, fields.length);
+        assertEquals(statement.getPerformanceReport().getTotalProfitLoss().doubleValue(), Double.parseDouble(fields[0]),
+                0);
+        assertEquals(ColumnarReport.read(columnarFile).getRowCount(), lines.size() - 1);
+    }
+
+    @Test
+    public void emptyReport() throws IOException {
+        Path file = folder.newFile().toPath();
+        new ReportWriter(file, null).close();
+        var report = ColumnarReport.read(file);
+        assertEquals(0, report.getRowCount());
+        assertEquals(0, report.getColumn("totalProfit").length);
+    }
+
+    @Test
+    public void closeTwice() throws IOException {
+        Path file = folder.newFile().toPath();
+        var writer = new ReportWriter(file, null, ReportWriter.defaultColumns(), 2);
+        writer.writeAll(tradingStatements);
+        writer.close();
+        writer.close();
+        assertEquals(writer.getRowCount(), ColumnarReport.read(file).getRowCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void incompleteReport() throws IOException {
+        Path file = folder.newFile().toPath();
+        var writer = new ReportWriter(file, null, ReportWriter.defaultColumns(), 2);
+        writer.writeAll(tradingStatements);
+        // not closed: the last row group and the end mark are missing
+        ColumnarReport.read(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reservedColumnName() {
+        var columns = ReportWriter.defaultColumns();
+        columns.put(ReportWriter.STRATEGY_COLUMN, s -> null);
+        new ReportWriter(folder.getRoot().toPath().resolve("report"), null, columns, 2);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void csvFileCannotBeCreated() throws IOException {
+        Path columnarFile = folder.newFile().toPath();
+        Path csvFile = folder.getRoot().toPath().resolve("missing").resolve("report.csv");
+        new ReportWriter(columnarFile, csvFile);
+    }
+}
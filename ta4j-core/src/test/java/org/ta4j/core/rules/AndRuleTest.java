@@ -23,12 +23,18 @@
  */
 package org.ta4j.core.rules;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.BitSet;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.helper.AdaptiveEvaluator;
+import org.ta4j.core.rules.helper.EvaluationOrder;
 
 public class AndRuleTest {
 
@@ -53,4 +59,58 @@ public class AndRuleTest {
         assertFalse(unsatisfiedRule.and(BooleanRule.TRUE).isSatisfied(10));
         assertFalse(BooleanRule.TRUE.and(unsatisfiedRule).isSatisfied(10));
     }
+
+    @Test
+    public void evaluate() {
+        var rule = new FixedRule(1, 2, 5, 8).and(new FixedRule(2, 3, 5, 9).or(BooleanRule.FALSE));
+        assertEquals(BitSet.valueOf(new long[] { 0b100100 }), rule.evaluate(0, 9));
+        assertEquals(BitSet.valueOf(new long[] { 0b100000 }), rule.evaluate(3, 9));
+        assertEquals(BitSet.valueOf(new long[] { 0b0111010011 }),
+                new FixedRule(2, 5).xor(new FixedRule(3, 9)).negation().evaluate(0, 9));
+        assertEquals(BitSet.valueOf(new long[] { 0b1110 }), satisfiedRule.evaluate(1, 3));
+        assertTrue(unsatisfiedRule.evaluate(1, 3).isEmpty());
+    }
+
+    @Test
+    public void deterministicAdaptiveOrder() {
+        var calls = new int[2];
+        // rarely decisive
+        var rule1 = new AbstractRule() {
+            @Override
+            public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+                calls[0]++;
+                return index % 10 != 0;
+            }
+        };
+        // mostly decisive
+        var rule2 = new AbstractRule() {
+            @Override
+            public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+                calls[1]++;
+                return index % 10 == 0;
+            }
+        };
+        var fixed = rule1.and(rule2);
+        var adaptive = rule1.and(rule2, EvaluationOrder.ADAPTIVE_DETERMINISTIC);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(fixed.isSatisfied(i), adaptive.isSatisfied(i));
+        }
+        calls[0] = 0;
+        calls[1] = 0;
+        for (int i = 0; i < 1000; i++) {
+            adaptive.isSatisfied(i);
+        }
+        // the second rule is evaluated first and decides 90% of the bars
+        assertEquals(1000, calls[1]);
+        assertEquals(100, calls[0]);
+    }
+
+    @Test
+    public void adaptiveOrderKeepsResults() {
+        var rule = new FixedRule(1, 2, 3, 50, 70).and(new FixedRule(3, 4, 50), EvaluationOrder.ADAPTIVE);
+        var expected = new FixedRule(3, 50);
+        for (int i = 0; i < 3 * AdaptiveEvaluator.REORDER_INTERVAL; i++) {
+            assertEquals(expected.isSatisfied(i), rule.isSatisfied(i));
+        }
+    }
 }
@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -51,4 +52,9 @@ public class BooleanIndicatorRuleTest {
         assertFalse(rule.isSatisfied(3));
         assertTrue(rule.isSatisfied(4));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(rule, 4);
+    }
 }
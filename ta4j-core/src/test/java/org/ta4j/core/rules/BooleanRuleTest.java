@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -52,4 +53,10 @@ public class BooleanRuleTest {
         assertFalse(unsatisfiedRule.isSatisfied(2));
         assertFalse(unsatisfiedRule.isSatisfied(10));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(satisfiedRule, 10);
+        assertEvaluateEqualsIsSatisfied(unsatisfiedRule, 10);
+    }
 }
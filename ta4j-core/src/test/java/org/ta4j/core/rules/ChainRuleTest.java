@@ -23,11 +23,19 @@
  */
 package org.ta4j.core.rules;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.FixedDecimalIndicator;
 import org.ta4j.core.mocks.MockBarSeriesBuilder;
 import org.ta4j.core.rules.helper.ChainLink;
@@ -54,4 +62,48 @@ public class ChainRuleTest {
         assertTrue(chainRule.isSatisfied(6));
         assertFalse(chainRule.isSatisfied(7));
     }
+
+    @Test
+    public void linkResultsAreMemoised() {
+        var calls = new int[1];
+        var link = new AbstractRule() {
+            @Override
+            public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+                calls[0]++;
+                return index % 7 == 0;
+            }
+        };
+        var rule = new ChainRule(BooleanRule.TRUE, new ChainLink(link, 5), new ChainLink(new FixedRule(1, 8, 9), 4));
+        for (int i = 0; i < 50; i++) {
+            var expected = new ChainRule(BooleanRule.TRUE,
+                    new ChainLink(new FixedRule(0, 7, 14, 21, 28, 35, 42, 49), 5),
+                    new ChainLink(new FixedRule(1, 8, 9), 4));
+            assertEquals(expected.isSatisfied(i), rule.isSatisfied(i));
+        }
+        // each bar is evaluated as the current bar and (if needed) once as a previous
+        // bar, then memoised
+        assertEquals(92, calls[0]);
+    }
+
+    @Test
+    public void changedLastBarIsEvaluatedAgain() {
+        var series = new BaseBarSeriesBuilder().build();
+        addBar(series, 5);
+        var closePrice = new ClosePriceIndicator(series);
+        var rule = new ChainRule(BooleanRule.TRUE, new ChainLink(new OverIndicatorRule(closePrice, 10), 1));
+        assertFalse(rule.isSatisfied(0));
+
+        // the last bar changes, then the next bar starts
+        series.addPrice(20);
+        addBar(series, 5);
+        assertTrue(rule.isSatisfied(1));
+    }
+
+    private static void addBar(BarSeries series, double closePrice) {
+        series.barBuilder()
+                .timePeriod(Duration.ofDays(1))
+                .endTime(Instant.EPOCH.plus(Duration.ofDays(series.getBarCount() + 1)))
+                .closePrice(closePrice)
+                .add();
+    }
 }
@@ -23,9 +23,12 @@
  */
 package org.ta4j.core.rules;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.BitSet;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
@@ -80,4 +83,17 @@ public class CrossedDownIndicatorRuleTest {
         assertFalse(rule.isSatisfied(5));
         assertFalse(rule.isSatisfied(6));
     }
+
+    @Test
+    public void evaluate() {
+        var evaluatedIndicator = new FixedDecimalIndicator(series, 11, 10, 10, 9, 10, 11, 10, 10, 8);
+        var rule = new CrossedDownIndicatorRule(evaluatedIndicator, 10);
+
+        BitSet expected = new BitSet();
+        expected.set(3);
+        expected.set(8);
+        assertEquals(expected, rule.evaluate(0, 8));
+        expected.clear(3);
+        assertEquals(expected, rule.evaluate(6, 8));
+    }
 }
@@ -23,9 +23,12 @@
  */
 package org.ta4j.core.rules;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.BitSet;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
@@ -81,4 +84,22 @@ public class CrossedUpIndicatorRuleTest {
         assertFalse(rule.isSatisfied(5));
         assertFalse(rule.isSatisfied(6));
     }
+
+    @Test
+    public void evaluate() {
+        var evaluatedIndicator = new FixedDecimalIndicator(series, 9, 10, 10, 11, 10, 9, 10, 10, 12, 12);
+        var rule = new CrossedUpIndicatorRule(evaluatedIndicator, 10);
+
+        for (int from = 0; from < 10; from++) {
+            BitSet expected = new BitSet();
+            for (int i = from; i < 10; i++) {
+                if (rule.isSatisfied(i)) {
+                    expected.set(i);
+                }
+            }
+            assertEquals(expected, rule.evaluate(from, 9));
+        }
+        assertEquals(BitSet.valueOf(new long[] { 0b1_0000_1000 }), rule.evaluate(0, 9));
+        assertTrue(rule.evaluate(4, 2).isEmpty());
+    }
 }
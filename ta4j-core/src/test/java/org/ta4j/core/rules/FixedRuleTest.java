@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Test;
 
@@ -51,4 +52,10 @@ public class FixedRuleTest {
         assertFalse(fixedRule.isSatisfied(9));
         assertFalse(fixedRule.isSatisfied(10));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(new FixedRule(), 10);
+        assertEvaluateEqualsIsSatisfied(new FixedRule(0, 1, 2, 3, 7, 10, 12), 10);
+    }
 }
@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -55,4 +56,9 @@ public class InPipeRuleTest {
         assertFalse(rule.isSatisfied(8));
         assertFalse(rule.isSatisfied(9));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(rule, 9);
+    }
 }
@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -49,4 +50,9 @@ public class IsEqualRuleTest {
         assertFalse(rule.isSatisfied(2));
         assertFalse(rule.isSatisfied(3));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(rule, 3);
+    }
 }
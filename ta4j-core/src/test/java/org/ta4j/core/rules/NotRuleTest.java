@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -49,4 +50,11 @@ public class NotRuleTest {
         assertFalse(satisfiedRule.negation().isSatisfied(10));
         assertTrue(unsatisfiedRule.negation().isSatisfied(10));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(satisfiedRule.negation(), 10);
+        assertEvaluateEqualsIsSatisfied(unsatisfiedRule.negation(), 10);
+        assertEvaluateEqualsIsSatisfied(new FixedRule(0, 3, 4, 9).negation(), 10);
+    }
 }
@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -53,4 +54,11 @@ public class OrRuleTest {
         assertTrue(unsatisfiedRule.or(BooleanRule.TRUE).isSatisfied(10));
         assertTrue(BooleanRule.TRUE.or(unsatisfiedRule).isSatisfied(10));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(satisfiedRule.or(BooleanRule.FALSE), 10);
+        assertEvaluateEqualsIsSatisfied(unsatisfiedRule.or(BooleanRule.FALSE), 10);
+        assertEvaluateEqualsIsSatisfied(new FixedRule(0, 2, 5, 9).or(new FixedRule(2, 3, 10)), 10);
+    }
 }
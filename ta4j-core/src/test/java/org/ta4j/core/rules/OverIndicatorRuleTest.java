@@ -23,9 +23,12 @@
  */
 package org.ta4j.core.rules;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.BitSet;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
@@ -56,4 +59,12 @@ public class OverIndicatorRuleTest {
         assertFalse(rule.isSatisfied(6));
         assertTrue(rule.isSatisfied(7));
     }
+
+    @Test
+    public void evaluate() {
+        BitSet expected = new BitSet();
+        expected.set(1, 3);
+        expected.set(7);
+        assertEquals(expected, rule.evaluate(1, 7));
+    }
 }
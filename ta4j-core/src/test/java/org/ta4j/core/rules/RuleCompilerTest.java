@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.ta4j.core.Rule;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.rules.helper.EvaluationOrder;
+
+public class RuleCompilerTest {
+
+    /** A rule which counts its calls. */
+    private static class CountingRule extends AbstractRule {
+
+        private final int modulo;
+        private int calls;
+
+        CountingRule(int modulo) {
+            this.modulo = modulo;
+        }
+
+        @Override
+        public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+            calls++;
+            return index % modulo == 0;
+        }
+    }
+
+    @Test
+    public void sameResultsAndCallsAsRuleTree() {
+        var random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            CountingRule[] leaves = { new CountingRule(2), new CountingRule(3), new CountingRule(5) };
+            Rule tree = randomRule(random, leaves, 5);
+            int[] expectedCalls = new int[leaves.length];
+            boolean[] expected = new boolean[30];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = tree.isSatisfied(i);
+            }
+            for (int l = 0; l < leaves.length; l++) {
+                expectedCalls[l] = leaves[l].calls;
+                leaves[l].calls = 0;
+            }
+
+            CompiledRule compiled = RuleCompiler.compile(tree);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(compiled.toString(), expected[i], compiled.isSatisfied(i));
+            }
+            for (int l = 0; l < leaves.length; l++) {
+                assertEquals(expectedCalls[l], leaves[l].calls);
+            }
+        }
+    }
+
+    @Test
+    public void constantFolding() {
+        var rule = new CountingRule(2);
+        assertEquals(1, RuleCompiler.compile(BooleanRule.FALSE.and(rule)).getInstructionCount());
+        assertEquals(1, RuleCompiler.compile(BooleanRule.TRUE.or(rule)).getInstructionCount());
+        assertEquals(1, RuleCompiler.compile(new NotRule(new FixedRule())).getInstructionCount());
+        assertEquals(1, RuleCompiler.compile(rule.and(BooleanRule.TRUE).or(BooleanRule.FALSE)).getInstructionCount());
+        assertEquals(2, RuleCompiler.compile(new BooleanRule(true).xor(rule)).getInstructionCount());
+        assertEquals(1, RuleCompiler.compile(rule.negation().negation()).getInstructionCount());
+
+        assertTrue(RuleCompiler.compile(BooleanRule.TRUE.xor(BooleanRule.FALSE)).isSatisfied(0));
+        assertEquals(0, rule.calls);
+    }
+
+    @Test
+    public void nestedJumpsAreThreaded() {
+        var compiled = RuleCompiler.compile(new FixedRule(1, 2).and(new FixedRule(2)).and(new FixedRule(2, 3)));
+        // FIXED, JUMP_IF_FALSE, FIXED, JUMP_IF_FALSE, FIXED
+        assertEquals(5, compiled.getInstructionCount());
+        assertTrue(compiled.toString().startsWith("0: FIXED [1, 2]" + System.lineSeparator() + "1: JUMP_IF_FALSE 5"));
+        assertTrue(compiled.isSatisfied(2));
+        assertFalse(compiled.isSatisfied(1));
+        assertFalse(compiled.isSatisfied(3));
+    }
+
+    @Test
+    public void deeplyNestedXor() {
+        Rule rule = new FixedRule(3);
+        Rule tree = rule;
+        for (int i = 0; i < 100; i++) {
+            tree = new FixedRule(i % 7).xor(tree);
+        }
+        CompiledRule compiled = RuleCompiler.compile(tree);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(tree.isSatisfied(i), compiled.isSatisfied(i));
+        }
+    }
+
+    @Test
+    public void adaptiveRulesKeepTheirOrder() {
+        Rule adaptive = new FixedRule(1, 2).and(BooleanRule.TRUE, EvaluationOrder.ADAPTIVE_DETERMINISTIC);
+        CompiledRule compiled = RuleCompiler.compile(adaptive.or(new FixedRule(3)));
+        // RULE, JUMP_IF_TRUE, FIXED
+        assertEquals(3, compiled.getInstructionCount());
+        assertTrue(compiled.toString().startsWith("0: RULE AndRule"));
+        assertTrue(compiled.isSatisfied(2));
+        assertTrue(compiled.isSatisfied(3));
+        assertFalse(compiled.isSatisfied(4));
+    }
+
+    @Test
+    public void compiledRuleIsNotCompiledAgain() {
+        CompiledRule compiled = RuleCompiler.compile(new FixedRule(1));
+        assertSame(compiled, RuleCompiler.compile(compiled));
+    }
+
+    private static Rule randomRule(Random random, Rule[] leaves, int depth) {
+        int choice = depth == 0 ? random.nextInt(3) : random.nextInt(8);
+        switch (choice) {
+        case 0:
+            return leaves[random.nextInt(leaves.length)];
+        case 1:
+            return random.nextBoolean() ? BooleanRule.TRUE : new BooleanRule(false);
+        case 2:
+            return new FixedRule(random.nextInt(30), random.nextInt(30), random.nextInt(30));
+        case 3:
+            return new NotRule(randomRule(random, leaves, depth - 1));
+        case 4:
+        case 5:
+            return new AndRule(randomRule(random, leaves, depth - 1), randomRule(random, leaves, depth - 1));
+        case 6:
+            return new OrRule(randomRule(random, leaves, depth - 1), randomRule(random, leaves, depth - 1));
+        default:
+            return new XorRule(randomRule(random, leaves, depth - 1), randomRule(random, leaves, depth - 1));
+        }
+    }
+}
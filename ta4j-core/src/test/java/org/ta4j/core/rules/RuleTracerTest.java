@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+
+public class RuleTracerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RuleTracer tracer = new RuleTracer(1000);
+
+    @After
+    public void tearDown() {
+        tracer.stop();
+    }
+
+    @Test
+    public void explainEntryAndExit() throws Exception {
+        var series = new MockBarSeriesBuilder().withData(1, 2, 3, 4, 5, 4, 3, 2, 1).build();
+        var closePrice = new ClosePriceIndicator(series);
+        var strategy = new BaseStrategy("test", new OverIndicatorRule(closePrice, 2.5).and(new FixedRule(3, 4)),
+                new UnderIndicatorRule(closePrice, 3.5));
+
+        tracer.start();
+        new BarSeriesManager(series).run(strategy);
+        tracer.stop();
+
+        RuleTrace trace = tracer.toTrace();
+        assertEquals(0, trace.getDroppedEventCount());
+        List<Integer> signals = trace.getSignals();
+        assertEquals(2, signals.size());
+
+        int entry = signals.get(0);
+        assertTrue(trace.isEntry(entry));
+        assertEquals(3, trace.getIndex(entry));
+        assertEquals(List.of("OverIndicatorRule#isSatisfied(3): true", "FixedRule#isSatisfied(3): true",
+                "AndRule#isSatisfied(3): true", "test#shouldEnter(3): true"), trace.explain(entry));
+
+        int exit = signals.get(1);
+        assertTrue(trace.isExit(exit));
+        assertEquals(6, trace.getIndex(exit));
+        assertEquals(List.of("UnderIndicatorRule#isSatisfied(6): true", "test#shouldExit(6): true"),
+                trace.explain(exit));
+
+        // offline
+        Path file = folder.newFile("trace.bin").toPath();
+        tracer.write(file);
+        RuleTrace read = RuleTrace.read(file);
+        assertEquals(trace.size(), read.size());
+        assertEquals(trace.explain(entry), read.explain(entry));
+        assertEquals(trace.getSourceCount(), read.getSourceCount());
+    }
+
+    @Test
+    public void ringBufferKeepsLastEvents() throws Exception {
+        var smallTracer = new RuleTracer(3);
+        var rule = new FixedRule(5);
+        smallTracer.start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                rule.isSatisfied(i);
+            }
+        } finally {
+            smallTracer.stop();
+        }
+        rule.isSatisfied(10);
+
+        assertEquals(10, smallTracer.getEventCount());
+        assertEquals(7, smallTracer.getDroppedEventCount());
+        var out = new ByteArrayOutputStream();
+        smallTracer.write(out);
+        RuleTrace trace = RuleTrace.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(3, trace.size());
+        assertEquals(7, trace.getDroppedEventCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(7 + i, trace.getIndex(i));
+            assertEquals("FixedRule", trace.getSourceName(trace.getSourceId(i)));
+            assertFalse(trace.getResult(i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void onlyOneStartedTracer() {
+        tracer.start();
+        new RuleTracer(1).start();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void explainOnlyDecisions() {
+        tracer.start();
+        new FixedRule(1).isSatisfied(1);
+        tracer.toTrace().explain(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readInvalidTrace() throws Exception {
+        RuleTrace.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+    }
+}
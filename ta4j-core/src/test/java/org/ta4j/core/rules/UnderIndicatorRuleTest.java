@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -53,4 +54,9 @@ public class UnderIndicatorRuleTest {
         assertFalse(rule.isSatisfied(6));
         assertFalse(rule.isSatisfied(7));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(rule, 7);
+    }
 }
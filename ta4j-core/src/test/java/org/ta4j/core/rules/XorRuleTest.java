@@ -25,6 +25,7 @@ package org.ta4j.core.rules;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertEvaluateEqualsIsSatisfied;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -53,4 +54,11 @@ public class XorRuleTest {
         assertTrue(unsatisfiedRule.xor(BooleanRule.TRUE).isSatisfied(10));
         assertTrue(BooleanRule.TRUE.xor(unsatisfiedRule).isSatisfied(10));
     }
+
+    @Test
+    public void evaluate() {
+        assertEvaluateEqualsIsSatisfied(satisfiedRule.xor(BooleanRule.TRUE), 10);
+        assertEvaluateEqualsIsSatisfied(unsatisfiedRule.xor(BooleanRule.TRUE), 10);
+        assertEvaluateEqualsIsSatisfied(new FixedRule(0, 2, 5, 9).xor(new FixedRule(2, 3, 9, 10)), 10);
+    }
 }
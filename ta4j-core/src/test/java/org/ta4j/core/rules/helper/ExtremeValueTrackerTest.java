@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.FixedIndicator;
+import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.indicators.helpers.LowestValueIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+public class ExtremeValueTrackerTest {
+
+    private BarSeries series;
+    private Indicator<Num> indicator;
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeriesBuilder().build();
+        var numFactory = series.numFactory();
+        Num[] values = new Num[40];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 7 == 3 ? NaN.NaN : numFactory.numOf((i * 37) % 17 - (i % 5) * 2);
+        }
+        indicator = new FixedIndicator<>(series, values);
+    }
+
+    @Test
+    public void sameAsHighestValueIndicatorInOrder() {
+        for (int barCount : new int[] { 1, 2, 3, 5, 12 }) {
+            var tracker = new ExtremeValueTracker(indicator, barCount, true);
+            var highest = new HighestValueIndicator(indicator, barCount);
+            for (int i = 0; i < 40; i++) {
+                assertSame(highest.getValue(i), tracker.getValue(0, i));
+            }
+        }
+    }
+
+    @Test
+    public void sameAsLowestValueIndicatorOutOfOrder() {
+        int[] indexes = { 10, 11, 11, 12, 5, 6, 39, 20, 21, 22, 0, 1, 2 };
+        for (int barCount : new int[] { 1, 4, 9 }) {
+            var tracker = new ExtremeValueTracker(indicator, barCount, false);
+            var lowest = new LowestValueIndicator(indicator, barCount);
+            for (int index : indexes) {
+                assertSame(lowest.getValue(index), tracker.getValue(0, index));
+            }
+        }
+    }
+
+    @Test
+    public void resetOnNewStartIndex() {
+        var tracker = new ExtremeValueTracker(indicator, Integer.MAX_VALUE, true);
+        for (int start : new int[] { 0, 15, 16, 2 }) {
+            for (int i = start; i < start + 10; i++) {
+                var highest = new HighestValueIndicator(indicator, i - start + 1);
+                assertSame(highest.getValue(i), tracker.getValue(start, i));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void barCountMustBePositive() {
+        new ExtremeValueTracker(indicator, 0, true);
+    }
+
+    private static void assertSame(Num expected, Num actual) {
+        if (expected.isNaN()) {
+            assertTrue(actual.isNaN());
+        } else {
+            assertEquals(expected.doubleValue(), actual.doubleValue(), 0);
+        }
+    }
+}
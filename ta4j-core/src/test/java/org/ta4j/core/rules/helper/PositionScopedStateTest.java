@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.NumFactory;
+
+public class PositionScopedStateTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    private NumFactory numFactory;
+
+    private PositionScopedState<Num> entryPrices;
+
+    @Before
+    public void setUp() {
+        numFactory = new MockBarSeriesBuilder().build().numFactory();
+        entryPrices = new PositionScopedState<>(position -> {
+            created.incrementAndGet();
+            return position.getEntry().getNetPrice();
+        });
+    }
+
+    @Test
+    public void createdOncePerPosition() {
+        TradingRecord record = new BaseTradingRecord();
+        assertNull(entryPrices.get(null));
+        assertNull(entryPrices.get(record));
+
+        record.enter(0, numFactory.numOf(10), numFactory.one());
+        assertEquals(numFactory.numOf(10), entryPrices.get(record));
+        assertEquals(numFactory.numOf(10), entryPrices.get(record));
+        assertEquals(1, created.get());
+
+        record.exit(1, numFactory.numOf(11), numFactory.one());
+        assertNull(entryPrices.get(record));
+
+        record.enter(2, numFactory.numOf(12), numFactory.one());
+        assertEquals(numFactory.numOf(12), entryPrices.get(record));
+        assertEquals(numFactory.numOf(12), entryPrices.get(record));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void createdAgainForAnotherRecordOrAfterReset() {
+        TradingRecord record1 = new BaseTradingRecord();
+        TradingRecord record2 = new BaseTradingRecord();
+        record1.enter(0, numFactory.numOf(10), numFactory.one());
+        record2.enter(0, numFactory.numOf(20), numFactory.one());
+
+        assertEquals(numFactory.numOf(10), entryPrices.get(record1));
+        assertEquals(numFactory.numOf(20), entryPrices.get(record2));
+        assertEquals(numFactory.numOf(10), entryPrices.get(record1));
+        assertEquals(3, created.get());
+
+        entryPrices.reset();
+        assertEquals(numFactory.numOf(10), entryPrices.get(record1));
+        assertEquals(4, created.get());
+    }
+}
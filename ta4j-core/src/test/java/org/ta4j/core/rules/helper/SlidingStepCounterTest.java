@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.rules.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.FixedDecimalIndicator;
+import org.ta4j.core.mocks.MockBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+
+public class SlidingStepCounterTest {
+
+    private Indicator<Num> indicator;
+
+    @Before
+    public void setUp() {
+        var series = new MockBarSeriesBuilder().build();
+        indicator = new FixedDecimalIndicator(series, 5, 6, 6, 7, 4, 3, 8, 9, 9, 2, 1, 5, 6, 7, 3);
+    }
+
+    @Test
+    public void sameAsFullScanInOrder() {
+        for (int barCount = 1; barCount <= 6; barCount++) {
+            var rising = new SlidingStepCounter(indicator, barCount, true);
+            var falling = new SlidingStepCounter(indicator, barCount, false);
+            for (int i = 0; i < 15; i++) {
+                assertEquals(count(barCount, i, true), rising.getCount(i));
+                assertEquals(count(barCount, i, false), falling.getCount(i));
+            }
+        }
+    }
+
+    @Test
+    public void sameAsFullScanOutOfOrder() {
+        int[] indexes = { 7, 8, 8, 3, 4, 5, 14, 0, 1, 12, 13 };
+        var rising = new SlidingStepCounter(indicator, 4, true);
+        for (int index : indexes) {
+            assertEquals(count(4, index, true), rising.getCount(index));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void barCountMustBePositive() {
+        new SlidingStepCounter(indicator, 0, true);
+    }
+
+    private int count(int barCount, int index, boolean rising) {
+        int count = 0;
+        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+            Num previous = indicator.getValue(Math.max(0, i - 1));
+            if (rising ? indicator.getValue(i).isGreaterThan(previous) : indicator.getValue(i).isLessThan(previous)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.IsoFields;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.helpers.DateTimeIndicator;
+
+public class CalendarIndexTest {
+
+    private static final Duration PERIOD = Duration.ofHours(7).plusMinutes(13);
+
+    private BarSeries series;
+    private DateTimeIndicator endTime;
+
+    @Before
+    public void setUp() {
+        series = new BaseBarSeriesBuilder().build();
+        Instant time = Instant.parse("2023-12-25T22:30:00.5Z");
+        for (int i = 0; i < 500; i++) {
+            time = time.plus(PERIOD);
+            series.barBuilder().timePeriod(PERIOD).endTime(time).closePrice(i).add();
+        }
+        endTime = new DateTimeIndicator(series, Bar::getEndTime);
+    }
+
+    @Test
+    public void sameAsJavaTime() {
+        for (ZoneId zone : new ZoneId[] { ZoneOffset.UTC, ZoneId.of("America/New_York") }) {
+            var calendar = new CalendarIndex(endTime, zone);
+            for (int i = series.getEndIndex(); i >= 0; i -= 3) {
+                assertAttributes(calendar, i, endTime.getValue(i).atZone(zone));
+            }
+        }
+    }
+
+    @Test
+    public void replacedLastBar() {
+        var calendar = new CalendarIndex(endTime);
+        int last = series.getEndIndex();
+        assertAttributes(calendar, last, endTime.getValue(last).atZone(ZoneOffset.UTC));
+
+        Instant replaced = Instant.parse("2024-05-04T03:02:01Z");
+        series.addBar(series.barBuilder().timePeriod(PERIOD).endTime(replaced).closePrice(1).build(), true);
+        assertAttributes(calendar, last, replaced.atZone(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void removedBars() {
+        var calendar = new CalendarIndex(endTime);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            calendar.getSession(i);
+        }
+        series.setMaximumBarCount(100);
+        Instant time = series.getLastBar().getEndTime();
+        for (int i = 0; i < 300; i++) {
+            time = time.plus(PERIOD);
+            series.barBuilder().timePeriod(PERIOD).endTime(time).closePrice(i).add();
+            int index = series.getEndIndex();
+            assertAttributes(calendar, index, time.atZone(ZoneOffset.UTC));
+            assertAttributes(calendar, series.getBeginIndex(),
+                    endTime.getValue(series.getBeginIndex()).atZone(ZoneOffset.UTC));
+        }
+    }
+
+    private static void assertAttributes(CalendarIndex calendar, int index, ZonedDateTime expected) {
+        assertEquals(expected.toLocalTime().toNanoOfDay(), calendar.getNanoOfDay(index));
+        assertEquals(expected.toLocalDate().toEpochDay(), calendar.getSession(index));
+        assertEquals(expected.getDayOfWeek().getValue(), calendar.getDayOfWeek(index));
+        assertEquals(expected.getDayOfYear(), calendar.getDayOfYear(index));
+        assertEquals(expected.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR), calendar.getWeekOfWeekBasedYear(index));
+        assertEquals(expected.getMonthValue(), calendar.getMonth(index));
+        assertEquals(expected.getYear(), calendar.getYear(index));
+    }
+}
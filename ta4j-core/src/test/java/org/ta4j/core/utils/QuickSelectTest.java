@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2024 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class QuickSelectTest {
+
+    @Test
+    public void selectMatchesSortedOrder() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            double[] values = new double[1 + random.nextInt(200)];
+            for (int i = 0; i < values.length; i++) {
+                // few distinct values to exercise duplicates
+                values[i] = random.nextInt(20) - 10;
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int k = random.nextInt(values.length);
+
+            double[] copy = values.clone();
+            assertEquals(sorted[k], QuickSelect.select(copy, k), 0);
+            for (int i = 0; i < k; i++) {
+                assertTrue(copy[i] <= copy[k]);
+            }
+            for (int i = k + 1; i < copy.length; i++) {
+                assertTrue(copy[i] >= copy[k]);
+            }
+            Arrays.sort(copy, 0, k + 1);
+            assertArrayEquals(Arrays.copyOf(sorted, k + 1), Arrays.copyOf(copy, k + 1), 0);
+        }
+    }
+
+    @Test
+    public void selectComparables() {
+        Integer[] values = { 5, 3, 9, 1, 7, 3, 8 };
+        assertEquals(Integer.valueOf(1), QuickSelect.select(values.clone(), 0));
+        assertEquals(Integer.valueOf(3), QuickSelect.select(values.clone(), 2));
+        assertEquals(Integer.valueOf(7), QuickSelect.select(values.clone(), 4));
+        assertEquals(Integer.valueOf(9), QuickSelect.select(values.clone(), 6));
+    }
+
+    @Test
+    public void selectWithinRange() {
+        double[] values = { 100, 4, 2, 3, 1, -100 };
+        assertEquals(3, QuickSelect.select(values, 1, 5, 3), 0);
+        assertEquals(100, values[0], 0);
+        assertEquals(-100, values[5], 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rankOutOfRange() {
+        QuickSelect.select(new double[] { 1, 2 }, 2);
+    }
+}